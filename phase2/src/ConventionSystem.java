@@ -1,24 +1,43 @@
 import contact.ContactController;
 import contact.ContactManager;
+import contact.ContactManagerCodec;
 import convention.ConferenceController;
 import convention.EventController;
 import convention.RoomController;
 import convention.ScheduleController;
 import convention.conference.ConferenceManager;
+import convention.conference.ConferenceManagerCodec;
+import convention.schedule.ScheduleConstants;
 import gateway.CSVReader;
+import gateway.Checkpoint;
 import gateway.DocumentPrinter;
+import gateway.FilePrinter;
 import gateway.IDocumentPrinter;
+import gateway.Journal;
 import gateway.Serializer;
 import gui.MainFrame;
+import gui.util.EventDispatchExecutor;
 import messaging.ConversationController;
 import messaging.ConversationManager;
+import messaging.ConversationManagerCodec;
+import messaging.MessageLog;
+import server.ConventionServer;
 import user.UserController;
 import user.UserManager;
+import user.UserManagerCodec;
 import util.ControllerBundle;
+import util.DomainEventBus;
 
+import javax.swing.*;
 import java.io.IOException;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.Handler;
 import java.util.logging.Level;
@@ -30,74 +49,363 @@ import java.util.logging.Logger;
 public class ConventionSystem {
     private Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
 
+    // Number of journaled operations after which the journal is compacted into a new snapshot
+    private final int JOURNAL_COMPACTION_THRESHOLD = 1000;
+
+    // One thread for each store and one for the god users file
+    private final int STARTUP_THREADS = 5;
+
+    // Set by loadStores()
+    private Journal journal;
+    private CompletableFuture<UserManager> userManagerFuture;
+    private CompletableFuture<ContactManager> contactManagerFuture;
+    private CompletableFuture<ConversationManager> conversationManagerFuture;
+    private CompletableFuture<ConferenceManager> conferenceManagerFuture;
+    private CompletableFuture<List<String[]>> godUsersFuture;
+    private Runnable compaction;
+
     /**
      * Runs the Convention System
      */
     public void run() {
-        // Setup logger
+        long startTime = System.nanoTime();
+
+        setupLogger();
+        loadStores();
+
+        // The journal triggers compaction while a controller still holds its locks, so it is done on another thread
+        Runnable backgroundCompaction = backgroundCompaction(compaction);
+
+        // User controller
+        UserManager userManager = userManagerFuture.join();
+        UserController userController = new UserController(userManager, journal);
+
+        CompletableFuture<ControllerBundle> controllerBundleFuture;
+
+        if (journal.hasEntries()) {
+            // Replaying needs every store, so the UI has to wait for all of them
+            ControllerBundle controllerBundle = createUIControllerBundle(userController, userManager);
+
+            int numReplayed = replayJournal(controllerBundle);
+            int numNewGodUsers = loadGodUsers(userManager, godUsersFuture.join());
+
+            journal.setCompaction(backgroundCompaction);
+
+            if (numReplayed > 0 || numNewGodUsers > 0) {
+                compaction.run();
+            }
+
+            controllerBundleFuture = CompletableFuture.completedFuture(controllerBundle);
+        } else {
+            // Nothing to replay, so users can log in as soon as the user store is ready. The rest of the controllers
+            // are created on the event dispatch thread once their stores are loaded, so that the god users snapshot
+            // can't run at the same time as an action from the UI.
+            int numNewGodUsers = loadGodUsers(userManager, godUsersFuture.join());
+
+            controllerBundleFuture = CompletableFuture.allOf(contactManagerFuture, conversationManagerFuture, conferenceManagerFuture).thenApplyAsync(ignored -> {
+                ControllerBundle controllerBundle = createUIControllerBundle(userController, userManager);
+
+                journal.setCompaction(backgroundCompaction);
+
+                if (numNewGodUsers > 0) {
+                    compaction.run();
+                }
+
+                System.out.printf("Loaded all stores in %d ms.\n", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+
+                return controllerBundle;
+            }, SwingUtilities::invokeLater);
+        }
+
+        MainFrame uiSystem = new MainFrame(userController, controllerBundleFuture, this::shutdown);
+        uiSystem.run();
+
+        System.out.printf("Time to login: %d ms.\n", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+    }
+
+    /**
+     * Runs the Convention System without a UI, serving the controllers to clients on this machine until the process
+     * is stopped
+     *
+     * @param port port to listen on
+     */
+    public void runServer(int port) {
+        long startTime = System.nanoTime();
+
+        // Clients can't see the server's desktop, so printed documents are only saved
+        ControllerBundle controllerBundle = createHeadlessControllerBundle(new FilePrinter());
+
+        ConventionServer server;
+
+        try {
+            server = new ConventionServer(controllerBundle, port);
+        } catch (IOException e) {
+            System.out.println("Unable to start the server: " + e);
+            return;
+        }
+
+        // Stopping the process is the only way to stop the server
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            shutdown();
+        }));
+
+        System.out.printf("Serving on port %d after %d ms.\n", server.getPort(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        server.run();
+    }
+
+    /**
+     * Runs the Convention System without a UI, saving the schedule of every user to a directory and then exiting.
+     * Meant for nightly jobs on machines without a desktop.
+     *
+     * @param exportFormat format to save the schedules in
+     * @param directory    directory to save the schedules to
+     */
+    public void runExport(ScheduleConstants.exportFormats exportFormat, String directory) {
+        long startTime = System.nanoTime();
+
+        ControllerBundle controllerBundle = createHeadlessControllerBundle(new FilePrinter(directory));
+
+        try {
+            int numExported = controllerBundle.getScheduleController().exportUserSchedules(exportFormat);
+            System.out.printf("Exported %d schedules to %s in %d ms.\n", numExported, directory, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        } catch (IOException e) {
+            System.out.println("Unable to export the schedules: " + e);
+        }
+
+        shutdown();
+    }
+
+    /**
+     * Loads every store and creates the controllers for running without a UI
+     *
+     * @param documentPrinter printer the schedule controller saves documents with
+     * @return bundle with every controller
+     */
+    private ControllerBundle createHeadlessControllerBundle(IDocumentPrinter documentPrinter) {
+        setupLogger();
+        loadStores();
+
+        // There is no UI to update, so changes are published on the thread that makes them
+        UserManager userManager = userManagerFuture.join();
+        ControllerBundle controllerBundle = createControllerBundle(new UserController(userManager, journal), userManager, new DomainEventBus(), new ReentrantLock(), documentPrinter);
+
+        int numReplayed = journal.hasEntries() ? replayJournal(controllerBundle) : 0;
+        int numNewGodUsers = loadGodUsers(userManager, godUsersFuture.join());
+
+        journal.setCompaction(backgroundCompaction(compaction));
+
+        if (numReplayed > 0 || numNewGodUsers > 0) {
+            compaction.run();
+        }
+
+        return controllerBundle;
+    }
+
+    private void setupLogger() {
         Handler handlerObj = new ConsoleHandler();
         handlerObj.setLevel(Level.OFF);
         LOGGER.addHandler(handlerObj);
         LOGGER.setLevel(Level.ALL);
         LOGGER.setUseParentHandlers(false);
+    }
+
+    /**
+     * Opens the journal and starts reading every store from disk. The stores are read in the background, so the
+     * futures have to be joined before they are used.
+     */
+    private void loadStores() {
+        // Older messages are kept on disk instead of in the conversation manager
+        MessageLog messageLog = new MessageLog("messages");
 
         // Create serializers
-        Serializer<UserManager> userManagerSerializer = new Serializer<>("userManager.ser");
-        Serializer<ContactManager> contactManagerSerializer = new Serializer<>("contactManager.ser");
-        Serializer<ConversationManager> conversationManagerSerializer = new Serializer<>("conversationManager.ser");
-        Serializer<ConferenceManager> conferenceManagerSerializer = new Serializer<>("conferenceManager.ser");
+        Serializer<UserManager> userManagerSerializer = new Serializer<>("userManager.bin", new UserManagerCodec(), "userManager.ser");
+        Serializer<ContactManager> contactManagerSerializer = new Serializer<>("contactManager.bin", new ContactManagerCodec(), "contactManager.ser");
+        Serializer<ConversationManager> conversationManagerSerializer = new Serializer<>("conversationManager.bin", new ConversationManagerCodec(messageLog), "conversationManager.ser");
+        Serializer<ConferenceManager> conferenceManagerSerializer = new Serializer<>("conferenceManager.bin", new ConferenceManagerCodec(), "conferenceManager.ser");
+
+        // Operations since the last snapshot are kept in the journal
+        journal = new Journal("journal.log", JOURNAL_COMPACTION_THRESHOLD);
+        Checkpoint checkpoint = new Checkpoint("checkpoint.pending", journal, userManagerSerializer, contactManagerSerializer, conversationManagerSerializer, conferenceManagerSerializer);
+
+        // Finish writing the snapshots if the last run stopped part way through a checkpoint
+        checkpoint.recover();
 
         // Create managers
-        // These store the entities and other important stuff
+        // These store the entities and other important stuff. The stores don't depend on each other, so they are read
+        // in parallel along with the god users file.
         System.out.println("Reading from disk...");
-        UserManager userManager = userManagerSerializer.load(new UserManager());
-        ContactManager contactManager = contactManagerSerializer.load(new ContactManager());
-        ConversationManager conversationManager = conversationManagerSerializer.load(new ConversationManager());
-        ConferenceManager conferenceManager = conferenceManagerSerializer.load(new ConferenceManager());
+        ExecutorService executor = Executors.newFixedThreadPool(STARTUP_THREADS);
 
-        // Create god mode accounts
-        try {
-            Set<UUID> newGodUUIDs = userManager.loadGodUsers(new CSVReader("godUsers.csv").read());
+        userManagerFuture = CompletableFuture.supplyAsync(() -> userManagerSerializer.load(new UserManager()), executor);
+        contactManagerFuture = CompletableFuture.supplyAsync(() -> contactManagerSerializer.load(new ContactManager()), executor);
+        conversationManagerFuture = CompletableFuture.supplyAsync(() -> conversationManagerSerializer.load(new ConversationManager(messageLog)), executor);
+        conferenceManagerFuture = CompletableFuture.supplyAsync(() -> conferenceManagerSerializer.load(new ConferenceManager()), executor);
+        godUsersFuture = CompletableFuture.supplyAsync(this::readGodUsers, executor);
 
-            if (newGodUUIDs.size() > 0) {
-                System.out.printf("Added %d new god users: %s\n", newGodUUIDs.size(), newGodUUIDs.toString());
-            } else {
-                System.out.println("No new god users added.");
-            }
+        // Lets the threads exit once the loads are done
+        executor.shutdown();
+
+        // Compact the journal into a new snapshot. This has to happen after replaying, since the replayed entities
+        // have different UUIDs than the ones that were recorded. God users aren't journaled, so they need to be
+        // included in the snapshot too.
+        compaction = () -> compact(checkpoint, userManagerFuture.join(), contactManagerFuture.join(), conversationManagerFuture.join(), conferenceManagerFuture.join());
+    }
+
+    /**
+     * Reapplies the operations that happened after the last snapshot
+     *
+     * @param controllerBundle controllers to replay the operations on
+     * @return number of operations replayed
+     */
+    private int replayJournal(ControllerBundle controllerBundle) {
+        int numReplayed = journal.replay(controllerBundle.getControllers());
+        System.out.printf("Replayed %d journal entries.\n", numReplayed);
+
+        return numReplayed;
+    }
+
+    /**
+     * Compacts the journal when the program exits, so that the next startup is quick. Everything is already in the
+     * journal, so nothing is lost if this doesn't run.
+     */
+    private void shutdown() {
+        if (journal.size() > 0) {
+            System.out.println("Writing to disk...");
+            compaction.run();
+        }
+    }
+
+    /**
+     * Reads the god users file
+     *
+     * @return rows of the god users file, or an empty list if it could not be read
+     */
+    private List<String[]> readGodUsers() {
+        try {
+            return new CSVReader("godUsers.csv").read();
         } catch (IOException e) {
             System.out.println("Unable to load god mode users" + e);
+            return Collections.emptyList();
         }
+    }
 
-        // Create the document writer
-        IDocumentPrinter documentPrinter = new DocumentPrinter();
+    /**
+     * Creates god mode accounts that don't exist yet
+     *
+     * @param userManager user manager to add the accounts to
+     * @param godUsers    rows of the god users file
+     * @return number of accounts created
+     */
+    private int loadGodUsers(UserManager userManager, List<String[]> godUsers) {
+        Set<UUID> newGodUUIDs = userManager.loadGodUsers(godUsers);
 
-        // User controller
-        UserController userController = new UserController(userManager);
+        if (newGodUUIDs.size() > 0) {
+            System.out.printf("Added %d new god users: %s\n", newGodUUIDs.size(), newGodUUIDs.toString());
+        } else {
+            System.out.println("No new god users added.");
+        }
+
+        return newGodUUIDs.size();
+    }
+
+    /**
+     * Writes a snapshot of every store and clears the journal. Every conference and conversation lock, and the monitors
+     * of the user and contact managers, are held while the snapshot is written, so that no operation is part way
+     * through. This way every operation is either in the snapshot or in the journal after it.
+     *
+     * @param checkpoint          checkpoint that writes the snapshots
+     * @param userManager         user manager to write
+     * @param contactManager      contact manager to write
+     * @param conversationManager conversation manager to write
+     * @param conferenceManager   conference manager to write
+     */
+    private void compact(Checkpoint checkpoint, UserManager userManager, ContactManager contactManager, ConversationManager conversationManager, ConferenceManager conferenceManager) {
+        // Same order that the controllers take them in
+        conferenceManager.getConferenceLocks().writeAll(() -> conversationManager.getConversationLocks().writeAll(() -> {
+            synchronized (userManager) {
+                synchronized (contactManager) {
+                    checkpoint.run(userManager, contactManager, conversationManager, conferenceManager);
+                }
+            }
+        }));
+    }
+
+    /**
+     * Wraps a compaction task so that it runs on a background thread. Requests made while a compaction is waiting to
+     * run are dropped, since it will include their operations anyway.
+     *
+     * @param compaction compaction task
+     * @return task that starts the compaction and returns right away
+     */
+    private Runnable backgroundCompaction(Runnable compaction) {
+        AtomicBoolean pending = new AtomicBoolean();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Journal compaction");
+
+            // The journal is compacted on shutdown anyway
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        return () -> {
+            if (pending.compareAndSet(false, true)) {
+                executor.execute(() -> {
+                    pending.set(false);
+                    compaction.run();
+                });
+            }
+        };
+    }
+
+    /**
+     * Creates the controllers that need every store, for use by the UI
+     *
+     * @param userController user controller, which is created first so that users can log in early
+     * @param userManager    loaded user manager
+     * @return bundle with every controller
+     */
+    private ControllerBundle createUIControllerBundle(UserController userController, UserManager userManager) {
+        // The UI calls the controllers from the event dispatch thread and from background tasks
+        Lock controllerLock = new ReentrantLock();
+
+        // Changes made through the controllers are published here so that the UI can update only what changed. The
+        // handlers update the UI, so they always run on the event dispatch thread.
+        DomainEventBus eventBus = new DomainEventBus(new EventDispatchExecutor(controllerLock));
+
+        return createControllerBundle(userController, userManager, eventBus, controllerLock, new DocumentPrinter());
+    }
+
+    /**
+     * Creates the controllers that need every store, waiting for the stores to finish loading
+     *
+     * @param userController  user controller, which is created first so that users can log in early
+     * @param userManager     loaded user manager
+     * @param eventBus        bus the controllers publish changes on
+     * @param controllerLock  lock held by callers of the controllers
+     * @param documentPrinter printer the schedule controller prints documents with
+     * @return bundle with every controller
+     */
+    private ControllerBundle createControllerBundle(UserController userController, UserManager userManager, DomainEventBus eventBus, Lock controllerLock, IDocumentPrinter documentPrinter) {
+        ContactManager contactManager = contactManagerFuture.join();
+        ConversationManager conversationManager = conversationManagerFuture.join();
+        ConferenceManager conferenceManager = conferenceManagerFuture.join();
 
         // Messaging controllers
-        ContactController contactController = new ContactController(contactManager);
-        ConversationController conversationController = new ConversationController(contactManager, conversationManager, userManager);
+        ContactController contactController = new ContactController(contactManager, journal);
+        ConversationController conversationController = new ConversationController(contactManager, conversationManager, userManager, journal);
 
         // Convention controllers
-        RoomController roomController = new RoomController(conferenceManager, userManager);
-        EventController eventController = new EventController(conferenceManager, conversationManager, userManager);
+        EventController eventController = new EventController(conferenceManager, conversationManager, userManager, journal, eventBus);
+        RoomController roomController = new RoomController(eventController, conferenceManager, userManager, journal, eventBus);
+        ConferenceController conferenceController = new ConferenceController(conversationManager, eventController, conferenceManager, userManager, journal, eventBus);
+
         ScheduleController scheduleController = new ScheduleController(documentPrinter, userManager, conferenceManager, eventController);
-        ConferenceController conferenceController = new ConferenceController(conversationManager, eventController, conferenceManager, userManager);
 
         // Packages up all the controllers in a nice bundle to make it easy to pass around UI components
         // without super long parameter lists
-        ControllerBundle controllerBundle = new ControllerBundle(userController, contactController, conversationController, roomController, eventController, conferenceController, scheduleController);
-
-        Runnable shutdown = () -> {
-            // Serialize everything for the next run
-            System.out.println("Writing to disk...");
-            userManagerSerializer.save(userManager);
-            contactManagerSerializer.save(contactManager);
-            conversationManagerSerializer.save(conversationManager);
-            conferenceManagerSerializer.save(conferenceManager);
-        };
-
-        MainFrame uiSystem = new MainFrame(controllerBundle, shutdown);
-        uiSystem.run();
+        return new ControllerBundle(userController, contactController, conversationController, roomController, eventController, conferenceController, scheduleController, eventBus, controllerLock);
     }
 }
@@ -1,9 +1,24 @@
+import convention.schedule.ScheduleConstants;
+import server.ConventionServer;
+
 /**
  * Entry point of the application
+ * <p>
+ * Pass --server to run without a UI, serving clients on this machine instead. The port can be given after it.
+ * <p>
+ * Pass --export followed by a format (HTML, CSV, ICALENDAR or JSON) to save the schedule of every user and exit. The
+ * directory to save them to can be given after it.
  */
 public class MainSystem {
     public static void main(String[] args) {
         ConventionSystem cs = new ConventionSystem();
-        cs.run();
+
+        if (args.length > 0 && args[0].equals("--server")) {
+            cs.runServer(args.length > 1 ? Integer.parseInt(args[1]) : ConventionServer.DEFAULT_PORT);
+        } else if (args.length > 1 && args[0].equals("--export")) {
+            cs.runExport(ScheduleConstants.exportFormats.valueOf(args[1].toUpperCase()), args.length > 2 ? args[2] : "schedules");
+        } else {
+            cs.run();
+        }
     }
 }
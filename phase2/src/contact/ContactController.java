@@ -3,7 +3,9 @@ package contact;
 import contact.exception.GhostAcceptDeniedException;
 import contact.exception.GhostDeleteException;
 import contact.exception.RequestDeniedException;
+import gateway.IJournal;
 
+import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 
@@ -11,7 +13,12 @@ import java.util.UUID;
  * Controls operations on user contacts
  */
 public class ContactController {
+    private static final String JOURNAL_TARGET = "ContactController";
+
+    // Changes to contacts are made while holding the monitor of the contact manager, so that they are journaled in the
+    // order they were made and aren't split by a snapshot. Reads don't need it.
     private contact.ContactManager contactManager;
+    private final IJournal journal;
 
     /**
      * Construct contact controller
@@ -19,7 +26,18 @@ public class ContactController {
      * @param contactManager
      */
     public ContactController(contact.ContactManager contactManager) {
+        this(contactManager, IJournal.NONE);
+    }
+
+    /**
+     * Construct contact controller that records changes to a journal
+     *
+     * @param contactManager
+     * @param journal        journal to record changes to
+     */
+    public ContactController(contact.ContactManager contactManager, IJournal journal) {
         this.contactManager = contactManager;
+        this.journal = journal;
     }
 
     /**
@@ -29,16 +47,19 @@ public class ContactController {
      * @param potentialContact UUID of the user receiving this request.
      */
     public void sendRequest(UUID userUUID, UUID potentialContact) {
-        Set<UUID> requestList = contactManager.getRequests(potentialContact);
-        Set<UUID> sentList = contactManager.getSentRequests(userUUID);
-
-        if (!requestList.contains(userUUID)) {
-            requestList.add(userUUID);
-            sentList.add(potentialContact);
-            contactManager.setRequests(potentialContact, requestList);
-            contactManager.setSentRequests(userUUID, sentList);
-        } else {
-            throw new RequestDeniedException(userUUID, potentialContact);
+        synchronized (contactManager) {
+            if (!contactManager.hasRequest(potentialContact, userUUID)) {
+                Set<UUID> requestList = new HashSet<>(contactManager.getRequests(potentialContact));
+                Set<UUID> sentList = new HashSet<>(contactManager.getSentRequests(userUUID));
+
+                requestList.add(userUUID);
+                sentList.add(potentialContact);
+                contactManager.setRequests(potentialContact, requestList);
+                contactManager.setSentRequests(userUUID, sentList);
+                journal.record(JOURNAL_TARGET, "sendRequest", null, userUUID, potentialContact);
+            } else {
+                throw new RequestDeniedException(userUUID, potentialContact);
+            }
         }
     }
 
@@ -49,11 +70,11 @@ public class ContactController {
      * @param recipientUUID UUID of the recipient who has rejected the request from the sender.
      */
     private void deleteRequest(UUID senderUUID, UUID recipientUUID) {
-        Set<UUID> senderSentList = contactManager.getSentRequests(senderUUID);
+        Set<UUID> senderSentList = new HashSet<>(contactManager.getSentRequests(senderUUID));
         senderSentList.remove(recipientUUID);
         contactManager.setSentRequests(senderUUID, senderSentList);
 
-        Set<UUID> recipientRequestList = contactManager.getRequests(recipientUUID);
+        Set<UUID> recipientRequestList = new HashSet<>(contactManager.getRequests(recipientUUID));
         recipientRequestList.remove(senderUUID);
         contactManager.setRequests(recipientUUID, recipientRequestList);
     }
@@ -65,22 +86,26 @@ public class ContactController {
      * @param potentialContactUUID UUID of the user whose request is being considered.
      */
     public void acceptRequest(UUID userUUID, UUID potentialContactUUID) {
-        if (showRequests(userUUID).contains(potentialContactUUID)) {
-            Set<UUID> myContacts = showContacts(userUUID);
-            Set<UUID> theirContacts = showContacts(potentialContactUUID);
-
-            // Add to each other's contact list
-            myContacts.add(potentialContactUUID);
-            contactManager.setContacts(userUUID, myContacts);
-
-            theirContacts.add(userUUID);
-            contactManager.setContacts(potentialContactUUID, theirContacts);
-
-            // Erase requests now that the connection is established
-            deleteRequest(userUUID, potentialContactUUID);
-            deleteRequest(potentialContactUUID, userUUID);
-        } else {
-            throw new GhostAcceptDeniedException(userUUID, potentialContactUUID);
+        synchronized (contactManager) {
+            if (contactManager.hasRequest(userUUID, potentialContactUUID)) {
+                Set<UUID> myContacts = new HashSet<>(showContacts(userUUID));
+                Set<UUID> theirContacts = new HashSet<>(showContacts(potentialContactUUID));
+
+                // Add to each other's contact list
+                myContacts.add(potentialContactUUID);
+                contactManager.setContacts(userUUID, myContacts);
+
+                theirContacts.add(userUUID);
+                contactManager.setContacts(potentialContactUUID, theirContacts);
+
+                // Erase requests now that the connection is established
+                deleteRequest(userUUID, potentialContactUUID);
+                deleteRequest(potentialContactUUID, userUUID);
+
+                journal.record(JOURNAL_TARGET, "acceptRequest", null, userUUID, potentialContactUUID);
+            } else {
+                throw new GhostAcceptDeniedException(userUUID, potentialContactUUID);
+            }
         }
     }
 
@@ -91,10 +116,13 @@ public class ContactController {
      * @param potentialContactUUID UUID of the user whose request is being rejected :(
      */
     public void rejectRequest(UUID userUUID, UUID potentialContactUUID) {
-        if (showRequests(userUUID).contains(potentialContactUUID)) {
-            deleteRequest(potentialContactUUID, userUUID);
-        } else {
-            throw new GhostAcceptDeniedException(userUUID, potentialContactUUID);
+        synchronized (contactManager) {
+            if (contactManager.hasRequest(userUUID, potentialContactUUID)) {
+                deleteRequest(potentialContactUUID, userUUID);
+                journal.record(JOURNAL_TARGET, "rejectRequest", null, userUUID, potentialContactUUID);
+            } else {
+                throw new GhostAcceptDeniedException(userUUID, potentialContactUUID);
+            }
         }
     }
 
@@ -105,17 +133,20 @@ public class ContactController {
      * @param targetUserUUID UUID of the user whose contact is being deleted.
      */
     public void deleteContacts(UUID userUUID, UUID targetUserUUID) {
-        Set<UUID> myContactList = showContacts(userUUID);
-        Set<UUID> theirContactList = showContacts(targetUserUUID);
-
-        if (!showContacts(userUUID).contains(targetUserUUID)) {
-            throw new GhostDeleteException(userUUID, targetUserUUID);
+        synchronized (contactManager) {
+            if (!contactManager.isContact(userUUID, targetUserUUID)) {
+                throw new GhostDeleteException(userUUID, targetUserUUID);
+            }
+
+            Set<UUID> myContactList = new HashSet<>(showContacts(userUUID));
+            Set<UUID> theirContactList = new HashSet<>(showContacts(targetUserUUID));
+
+            myContactList.remove(targetUserUUID);
+            theirContactList.remove(userUUID);
+            contactManager.setContacts(targetUserUUID, theirContactList);
+            contactManager.setContacts(userUUID, myContactList);
+            journal.record(JOURNAL_TARGET, "deleteContacts", null, userUUID, targetUserUUID);
         }
-
-        myContactList.remove(targetUserUUID);
-        theirContactList.remove(userUUID);
-        contactManager.setContacts(targetUserUUID, theirContactList);
-        contactManager.setContacts(userUUID, myContactList);
     }
 
     /**
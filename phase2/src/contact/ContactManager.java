@@ -1,12 +1,19 @@
 package contact;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Stores and performs actions on contacts
  */
 public class ContactManager implements Serializable {
+    private static final long serialVersionUID = -8272238091565320375L;
+
+    // The maps are concurrent and the sets in them are replaced instead of changed, so that they can be read without a
+    // lock. Changes are made while holding the monitor of this manager, see ContactController.
     private Map<UUID, Set<UUID>> contactsMap;
 
     private Map<UUID, Set<UUID>> requestsMap;
@@ -18,48 +25,75 @@ public class ContactManager implements Serializable {
      */
     public ContactManager() {
         super();
-        this.contactsMap = new HashMap<UUID, Set<UUID>>();
-        this.sentRequestsMap = new HashMap<UUID, Set<UUID>>();
-        this.requestsMap = new HashMap<UUID, Set<UUID>>();
+        this.contactsMap = new ConcurrentHashMap<UUID, Set<UUID>>();
+        this.sentRequestsMap = new ConcurrentHashMap<UUID, Set<UUID>>();
+        this.requestsMap = new ConcurrentHashMap<UUID, Set<UUID>>();
+    }
+
+    /**
+     * Constructs a ContactManager holding contacts that were saved to disk
+     *
+     * @param contactsMap     map from user UUID to their contacts
+     * @param requestsMap     map from user UUID to the requests they received
+     * @param sentRequestsMap map from user UUID to the requests they sent
+     */
+    ContactManager(Map<UUID, Set<UUID>> contactsMap, Map<UUID, Set<UUID>> requestsMap, Map<UUID, Set<UUID>> sentRequestsMap) {
+        this.contactsMap = new ConcurrentHashMap<>(contactsMap);
+        this.requestsMap = new ConcurrentHashMap<>(requestsMap);
+        this.sentRequestsMap = new ConcurrentHashMap<>(sentRequestsMap);
     }
 
     /**
      * returns the Contacts (friends) list of a particular user
      *
      * @param userUUID the userUUID of the person for whom we need a list of contacts
-     * @return The Set of UUID's of the contacts
+     * @return A read-only view of the Set of UUID's of the contacts
      */
     public Set<UUID> getContacts(UUID userUUID) {
-        if (contactsMap.get(userUUID) == null) {
-            contactsMap.put(userUUID, new HashSet<>());
-        }
-        return new HashSet<>(contactsMap.get(userUUID));
+        return Collections.unmodifiableSet(contactsMap.getOrDefault(userUUID, Collections.emptySet()));
+    }
+
+    /**
+     * Checks if a user is in the Contacts list of another user
+     *
+     * @param userUUID    the userUUID of the person whose contacts are checked
+     * @param contactUUID the userUUID of the potential contact
+     * @return true iff contactUUID is one of the contacts of userUUID
+     */
+    public boolean isContact(UUID userUUID, UUID contactUUID) {
+        return contactsMap.getOrDefault(userUUID, Collections.emptySet()).contains(contactUUID);
     }
 
     /**
      * Returns connection requests received by a user
      *
      * @param userUUID the userUUID of the person for whom we want to run the requests
-     * @return The Set of UUID's of the users who have made a connection request
+     * @return A read-only view of the Set of UUID's of the users who have made a connection request
      */
     public Set<UUID> getRequests(UUID userUUID) {
-        if (requestsMap.get(userUUID) == null) {
-            requestsMap.put(userUUID, new HashSet<>());
-        }
-        return new HashSet<>(requestsMap.get(userUUID));
+        return Collections.unmodifiableSet(requestsMap.getOrDefault(userUUID, Collections.emptySet()));
+    }
+
+    /**
+     * Checks if a user has received a connection request from another user
+     *
+     * @param userUUID   the userUUID of the person who received the request
+     * @param senderUUID the userUUID of the person who sent the request
+     * @return true iff senderUUID has sent a connection request to userUUID
+     */
+    public boolean hasRequest(UUID userUUID, UUID senderUUID) {
+        return requestsMap.getOrDefault(userUUID, Collections.emptySet()).contains(senderUUID);
     }
 
     /**
      * Returns connection requests sent by a user
      *
      * @param userUUID the userUUID of the person for whom we need to run the requests
-     * @return The Set of UUID's of the users to whom this particular user have made a connection request
+     * @return A read-only view of the Set of UUID's of the users to whom this particular user have made a connection
+     * request
      */
     public Set<UUID> getSentRequests(UUID userUUID) {
-        if (sentRequestsMap.get(userUUID) == null) {
-            sentRequestsMap.put(userUUID, new HashSet<>());
-        }
-        return new HashSet<>(sentRequestsMap.get(userUUID));
+        return Collections.unmodifiableSet(sentRequestsMap.getOrDefault(userUUID, Collections.emptySet()));
     }
 
     /**
@@ -102,4 +136,40 @@ public class ContactManager implements Serializable {
             sentRequestsMap.putIfAbsent(userUUID, sentRequests);
         }
     }
+
+    /**
+     * Gets the contacts of every user so that they can be saved to disk
+     *
+     * @return map from user UUID to their contacts
+     */
+    Map<UUID, Set<UUID>> getContactsMap() {
+        return contactsMap;
+    }
+
+    /**
+     * Gets the received requests of every user so that they can be saved to disk
+     *
+     * @return map from user UUID to the requests they received
+     */
+    Map<UUID, Set<UUID>> getRequestsMap() {
+        return requestsMap;
+    }
+
+    /**
+     * Gets the sent requests of every user so that they can be saved to disk
+     *
+     * @return map from user UUID to the requests they sent
+     */
+    Map<UUID, Set<UUID>> getSentRequestsMap() {
+        return sentRequestsMap;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+
+        // Older files hold plain hash maps
+        contactsMap = new ConcurrentHashMap<>(contactsMap);
+        requestsMap = new ConcurrentHashMap<>(requestsMap);
+        sentRequestsMap = new ConcurrentHashMap<>(sentRequestsMap);
+    }
 }
@@ -0,0 +1,24 @@
+package contact;
+
+import gateway.BinaryReader;
+import gateway.BinaryWriter;
+import gateway.Codec;
+
+import java.io.IOException;
+
+/**
+ * Codec for ContactManager
+ */
+public class ContactManagerCodec implements Codec<ContactManager> {
+    @Override
+    public void write(BinaryWriter out, ContactManager contactManager) throws IOException {
+        out.writeUUIDSetMap(contactManager.getContactsMap());
+        out.writeUUIDSetMap(contactManager.getRequestsMap());
+        out.writeUUIDSetMap(contactManager.getSentRequestsMap());
+    }
+
+    @Override
+    public ContactManager read(BinaryReader in) throws IOException {
+        return new ContactManager(in.readUUIDSetMap(), in.readUUIDSetMap(), in.readUUIDSetMap());
+    }
+}
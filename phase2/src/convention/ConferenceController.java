@@ -3,13 +3,16 @@ package convention;
 import convention.calendar.TimeRange;
 import convention.conference.ConferenceManager;
 import convention.event.EventManager;
+import convention.notification.*;
 import convention.permission.PermissionManager;
+import gateway.IJournal;
 import messaging.ConversationManager;
 import user.UserManager;
+import util.DomainEventBus;
+import util.StripedLock;
 
-import java.util.HashSet;
-import java.util.Set;
-import java.util.UUID;
+import java.time.LocalDateTime;
+import java.util.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -18,13 +21,19 @@ import java.util.logging.Logger;
  */
 public class ConferenceController {
 
+    private static final String JOURNAL_TARGET = "ConferenceController";
+
     private final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
 
     private final UserManager userManager;
     private final ConversationManager conversationManager;
     private final EventController eventController;
     private final ConferenceManager conferenceManager;
+    private final StripedLock conferenceLocks;
+    private final StripedLock conversationLocks;
     private final PermissionManager permissionManager;
+    private final IJournal journal;
+    private final DomainEventBus eventBus;
 
     /**
      * Creates an instance of ConferenceController. We store an instance of conversationController so we can
@@ -35,11 +44,41 @@ public class ConferenceController {
      * @param conferenceManager   an instance of conferenceManager
      */
     public ConferenceController(ConversationManager conversationManager, EventController eventController, ConferenceManager conferenceManager, UserManager userManager) {
+        this(conversationManager, eventController, conferenceManager, userManager, IJournal.NONE);
+    }
+
+    /**
+     * Creates an instance of ConferenceController that records changes to a journal.
+     *
+     * @param conversationManager an instance of conversationManager
+     * @param eventController     an instance of eventController
+     * @param conferenceManager   an instance of conferenceManager
+     * @param journal             journal to record changes to
+     */
+    public ConferenceController(ConversationManager conversationManager, EventController eventController, ConferenceManager conferenceManager, UserManager userManager, IJournal journal) {
+        this(conversationManager, eventController, conferenceManager, userManager, journal, new DomainEventBus());
+    }
+
+    /**
+     * Creates an instance of ConferenceController that records changes to a journal and publishes them on an event
+     * bus.
+     *
+     * @param conversationManager an instance of conversationManager
+     * @param eventController     an instance of eventController
+     * @param conferenceManager   an instance of conferenceManager
+     * @param journal             journal to record changes to
+     * @param eventBus            bus to publish changes on
+     */
+    public ConferenceController(ConversationManager conversationManager, EventController eventController, ConferenceManager conferenceManager, UserManager userManager, IJournal journal, DomainEventBus eventBus) {
         this.conversationManager = conversationManager;
         this.eventController = eventController;
         this.conferenceManager = conferenceManager;
+        this.conferenceLocks = conferenceManager.getConferenceLocks();
+        this.conversationLocks = conversationManager.getConversationLocks();
         this.userManager = userManager;
         this.permissionManager = new PermissionManager(conferenceManager, userManager);
+        this.journal = journal;
+        this.eventBus = eventBus;
     }
 
     /* Conference operations */
@@ -66,7 +105,7 @@ public class ConferenceController {
         Set<UUID> myConferences = new HashSet<>();
 
         for (UUID conferenceUUID : conferenceManager.getConferences()) {
-            if (conferenceManager.isAffiliated(conferenceUUID, userUUID, userManager)) {
+            if (isAffiliated(conferenceUUID, userUUID)) {
                 myConferences.add(conferenceUUID);
             }
         }
@@ -74,6 +113,19 @@ public class ConferenceController {
         return myConferences;
     }
 
+    /**
+     * Tests if a user is part of a conference.
+     * <p>
+     * Required Permission: NONE
+     *
+     * @param conferenceUUID UUID of the conference
+     * @param userUUID       UUID of the user
+     * @return true iff the conference exists and the user is part of it
+     */
+    public boolean isAffiliated(UUID conferenceUUID, UUID userUUID) {
+        return conferenceLocks.read(conferenceUUID, () -> conferenceManager.conferenceExists(conferenceUUID) && conferenceManager.isAffiliated(conferenceUUID, userUUID, userManager));
+    }
+
     /**
      * Get a set of all conference that a user is not a part of.
      * <p>
@@ -85,7 +137,10 @@ public class ConferenceController {
         Set<UUID> myNotConferences = new HashSet<>();
 
         for (UUID conferenceUUID : conferenceManager.getConferences()) {
-            if (!conferenceManager.isAffiliated(conferenceUUID, userUUID, userManager)) {
+            // Conferences deleted since getting the set are skipped
+            boolean notAffiliated = conferenceLocks.read(conferenceUUID, () -> conferenceManager.conferenceExists(conferenceUUID) && !conferenceManager.isAffiliated(conferenceUUID, userUUID, userManager));
+
+            if (notAffiliated) {
                 myNotConferences.add(conferenceUUID);
             }
         }
@@ -114,7 +169,7 @@ public class ConferenceController {
      * @return the name of the conference
      */
     public String getConferenceName(UUID conferenceUUID) {
-        return conferenceManager.getConferenceName(conferenceUUID);
+        return conferenceLocks.readOptimistic(conferenceUUID, () -> conferenceManager.getConferenceName(conferenceUUID));
     }
 
     /**
@@ -126,7 +181,7 @@ public class ConferenceController {
      * @return the TimeRange of the conference
      */
     public TimeRange getConferenceTimeRange(UUID conferenceUUID) {
-        return conferenceManager.getTimeRange(conferenceUUID);
+        return conferenceLocks.readOptimistic(conferenceUUID, () -> conferenceManager.getTimeRange(conferenceUUID));
     }
 
     /**
@@ -142,9 +197,13 @@ public class ConferenceController {
      * @return UUID of the new conference
      */
     public UUID createConference(String conferenceName, TimeRange timeRange, UUID organizerUUID) {
-        UUID conferenceUUID = conferenceManager.createConference(conferenceName, timeRange, organizerUUID);
-        LOGGER.log(Level.INFO, String.format("Conference Created\n UUID: %s\n Conference Name: %s\n Executor: %s\n Time Range: %s", conferenceUUID, conferenceName, organizerUUID, timeRange));
-        return conferenceUUID;
+        return conferenceLocks.create(() -> {
+            UUID conferenceUUID = conferenceManager.createConference(conferenceName, timeRange, organizerUUID);
+            LOGGER.log(Level.INFO, String.format("Conference Created\n UUID: %s\n Conference Name: %s\n Executor: %s\n Time Range: %s", conferenceUUID, conferenceName, organizerUUID, timeRange));
+            journal.record(JOURNAL_TARGET, "createConference", conferenceUUID, conferenceName, timeRange, organizerUUID);
+            eventBus.publish(new ConferenceCreated(conferenceUUID));
+            return conferenceUUID;
+        });
     }
 
     /**
@@ -157,9 +216,13 @@ public class ConferenceController {
      * @param timeRange      new TimeRange for the conference
      */
     public void setConferenceTimeRange(UUID conferenceUUID, UUID executorUUID, TimeRange timeRange) {
-        permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
-        conferenceManager.setTimeRange(conferenceUUID, timeRange);
-        LOGGER.log(Level.INFO, String.format("Conference Time Range Updated\n Conference UUID: %s\n Executor: %s\n Time Range: %s", conferenceUUID, executorUUID, timeRange));
+        conferenceLocks.write(conferenceUUID, () -> {
+            permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
+            conferenceManager.setTimeRange(conferenceUUID, timeRange);
+            journal.record(JOURNAL_TARGET, "setConferenceTimeRange", null, conferenceUUID, executorUUID, timeRange);
+            eventBus.publish(new ConferenceChanged(conferenceUUID));
+            LOGGER.log(Level.INFO, String.format("Conference Time Range Updated\n Conference UUID: %s\n Executor: %s\n Time Range: %s", conferenceUUID, executorUUID, timeRange));
+        });
     }
 
     /**
@@ -172,9 +235,13 @@ public class ConferenceController {
      * @param newName        new name for the conference (must be non-empty)
      */
     public void setConferenceName(UUID conferenceUUID, UUID executorUUID, String newName) {
-        permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
-        conferenceManager.setConferenceName(conferenceUUID, newName);
-        LOGGER.log(Level.INFO, String.format("Conference Name Updated\n Conference UUID: %s\n Executor: %s\n Name: %s", conferenceUUID, executorUUID, newName));
+        conferenceLocks.write(conferenceUUID, () -> {
+            permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
+            conferenceManager.setConferenceName(conferenceUUID, newName);
+            journal.record(JOURNAL_TARGET, "setConferenceName", null, conferenceUUID, executorUUID, newName);
+            eventBus.publish(new ConferenceChanged(conferenceUUID));
+            LOGGER.log(Level.INFO, String.format("Conference Name Updated\n Conference UUID: %s\n Executor: %s\n Name: %s", conferenceUUID, executorUUID, newName));
+        });
     }
 
     /**
@@ -186,9 +253,13 @@ public class ConferenceController {
      * @param executorUUID   UUID of the user executing the command
      */
     public void deleteConference(UUID conferenceUUID, UUID executorUUID) {
-        permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
-        conferenceManager.deleteConference(conferenceUUID);
-        LOGGER.log(Level.INFO, String.format("Conference Deleted\n Conference UUID: %s\n Executor: %s", conferenceUUID, executorUUID));
+        conferenceLocks.write(conferenceUUID, () -> {
+            permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
+            conferenceManager.deleteConference(conferenceUUID);
+            journal.record(JOURNAL_TARGET, "deleteConference", null, conferenceUUID, executorUUID);
+            eventBus.publish(new ConferenceDeleted(conferenceUUID));
+            LOGGER.log(Level.INFO, String.format("Conference Deleted\n Conference UUID: %s\n Executor: %s", conferenceUUID, executorUUID));
+        });
     }
 
     /**
@@ -202,8 +273,12 @@ public class ConferenceController {
      * @param executorUUID   UUID of the user executing the command
      */
     public void addAttendee(UUID conferenceUUID, UUID executorUUID) {
-        conferenceManager.addAttendee(conferenceUUID, executorUUID);
-        LOGGER.log(Level.INFO, String.format("User joined conference\n Conference UUID: %s\n Executor: %s", conferenceUUID, executorUUID));
+        conferenceLocks.write(conferenceUUID, () -> {
+            conferenceManager.addAttendee(conferenceUUID, executorUUID);
+            journal.record(JOURNAL_TARGET, "addAttendee", null, conferenceUUID, executorUUID);
+            eventBus.publish(new ConferenceUsersChanged(conferenceUUID, executorUUID));
+            LOGGER.log(Level.INFO, String.format("User joined conference\n Conference UUID: %s\n Executor: %s", conferenceUUID, executorUUID));
+        });
     }
 
     /**
@@ -220,39 +295,72 @@ public class ConferenceController {
      * @param targetUserUUID UUID of the user to operate on
      */
     public void leaveConference(UUID conferenceUUID, UUID executorUUID, UUID targetUserUUID) {
-        permissionManager.testIsAttendeeSelfOrAdmin(conferenceUUID, executorUUID, targetUserUUID);
-        EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+        conferenceLocks.write(conferenceUUID, () -> {
+            permissionManager.testIsAttendeeSelfOrAdmin(conferenceUUID, executorUUID, targetUserUUID);
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+
+            // We must revoke all their roles
+            // We must check that the target user is part of the organizer set in case they are an organizer thru god mode,
+            // in which case, they aren't actually registered to this conference.
+            if (conferenceManager.getOrganizers(conferenceUUID).contains(targetUserUUID) && conferenceManager.isOrganizer(conferenceUUID, targetUserUUID, userManager)) {
+                doRemoveOrganizer(conferenceUUID, targetUserUUID);
+            }
 
-        // We must revoke all their roles
-        // We must check that the target user is part of the organizer set in case they are an organizer thru god mode,
-        // in which case, they aren't actually registered to this conference.
-        if (conferenceManager.getOrganizers(conferenceUUID).contains(targetUserUUID) && conferenceManager.isOrganizer(conferenceUUID, targetUserUUID, userManager)) {
-            removeOrganizer(conferenceUUID, targetUserUUID, targetUserUUID);
-        }
+            // Events are only published once the user has left, so that subscribers don't see a partially updated conference
+            Set<UUID> speakerEventUUIDs = new HashSet<>();
+            Set<UUID> attendeeEventUUIDs = new HashSet<>();
+            Map<UUID, List<UUID>> promotedUUIDs = new HashMap<>();
 
-        if (conferenceManager.isSpeaker(conferenceUUID, targetUserUUID)) {
-            // We'll handle revoking speaker access in updateSpeakers, since having speaker permissions is linked to
-            // whether or not a user is a speaker of an events.
-            for (UUID eventUUID : eventController.getSpeakerEvents(conferenceUUID, targetUserUUID)) {
-                eventManager.removeEventSpeaker(eventUUID, targetUserUUID);
+            if (conferenceManager.isSpeaker(conferenceUUID, targetUserUUID)) {
+                speakerEventUUIDs.addAll(eventController.getSpeakerEvents(conferenceUUID, targetUserUUID));
+
+                // We'll handle revoking speaker access in updateSpeakers, since having speaker permissions is linked to
+                // whether or not a user is a speaker of an events.
+                for (UUID eventUUID : speakerEventUUIDs) {
+                    eventManager.removeEventSpeaker(eventUUID, targetUserUUID);
+                }
+
+                // Refresh the list of speakers for this conference
+                eventController.updateSpeakers(conferenceUUID);
             }
 
-            // Refresh the list of speakers for this conference
-            eventController.updateSpeakers(conferenceUUID);
-        }
+            if (conferenceManager.isAttendee(conferenceUUID, targetUserUUID)) {
+                attendeeEventUUIDs.addAll(eventController.getAttendeeEvents(conferenceUUID, targetUserUUID));
+
+                for (UUID eventUUID : attendeeEventUUIDs) {
+                    promotedUUIDs.put(eventUUID, eventController.doUnregisterForEvent(conferenceUUID, targetUserUUID, eventUUID));
+                }
 
-        if (conferenceManager.isAttendee(conferenceUUID, targetUserUUID)) {
-            for (UUID eventUUID : eventController.getAttendeeEvents(conferenceUUID, targetUserUUID)) {
-                eventController.doUnregisterForEvent(conferenceUUID, targetUserUUID, eventUUID);
+                conferenceManager.removeAttendee(conferenceUUID, targetUserUUID);
             }
 
-            conferenceManager.removeAttendee(conferenceUUID, targetUserUUID);
-        }
+            Set<UUID> waitlistEventUUIDs = eventManager.leaveAllWaitlists(targetUserUUID);
 
-        // Update the event conversation members in case it was missed for some reason
-        updateConferenceEventsConversationMembers(conferenceUUID);
+            // Update the event conversation members in case it was missed for some reason
+            updateConferenceEventsConversationMembers(conferenceUUID);
+
+            LOGGER.log(Level.INFO, String.format("User left conference\n Conference UUID: %s\n Target: %s\n Executor: %s", conferenceUUID, targetUserUUID, executorUUID));
+            journal.record(JOURNAL_TARGET, "leaveConference", null, conferenceUUID, executorUUID, targetUserUUID);
+
+            for (UUID eventUUID : speakerEventUUIDs) {
+                eventBus.publish(new EventChanged(conferenceUUID, eventUUID));
+            }
+
+            for (UUID eventUUID : attendeeEventUUIDs) {
+                eventBus.publish(new AttendeeUnregistered(conferenceUUID, eventUUID, targetUserUUID));
+
+                // Users on the waitlist get the free seats
+                for (UUID promotedUUID : promotedUUIDs.get(eventUUID)) {
+                    eventBus.publish(new AttendeeRegistered(conferenceUUID, eventUUID, promotedUUID));
+                }
+            }
 
-        LOGGER.log(Level.INFO, String.format("User left conference\n Conference UUID: %s\n Target: %s\n Executor: %s", conferenceUUID, targetUserUUID, executorUUID));
+            for (UUID eventUUID : waitlistEventUUIDs) {
+                eventBus.publish(new WaitlistChanged(conferenceUUID, eventUUID, targetUserUUID));
+            }
+
+            eventBus.publish(new ConferenceUsersChanged(conferenceUUID, targetUserUUID));
+        });
     }
 
     /**
@@ -266,17 +374,38 @@ public class ConferenceController {
      * @return UUID of the new conversation
      */
     public UUID createConversationWithUsers(UUID conferenceUUID, UUID executorUUID, Set<UUID> targetUUIDs) {
-        permissionManager.testIsSpeaker(conferenceUUID, executorUUID);
-        permissionManager.testTargetsAreAttendee(conferenceUUID, executorUUID, targetUUIDs);
+        return createConversationWithUsersAt(conferenceUUID, executorUUID, targetUUIDs, LocalDateTime.now());
+    }
+
+    /**
+     * Creates a conversation with conference members whose first message was sent at the given time. The journal
+     * records these conversations this way, so that replaying it keeps the time of the first message.
+     * <p>
+     * Required Permission: SPEAKER
+     *
+     * @param conferenceUUID UUID of the conference to operate on
+     * @param executorUUID   UUID of the user executing the command
+     * @param targetUUIDs    UUIDs of the users to add to the conversation
+     * @param timestamp      date and time the first message was sent
+     * @return UUID of the new conversation
+     */
+    public UUID createConversationWithUsersAt(UUID conferenceUUID, UUID executorUUID, Set<UUID> targetUUIDs, LocalDateTime timestamp) {
+        return conferenceLocks.write(conferenceUUID, () -> {
+            permissionManager.testIsSpeaker(conferenceUUID, executorUUID);
+            permissionManager.testTargetsAreAttendee(conferenceUUID, executorUUID, targetUUIDs);
+
+            // Allow all the target users + the organizer running this to have read/write access to the new conversation
+            Set<UUID> conversationUsers = new HashSet<>(targetUUIDs);
+            conversationUsers.add(executorUUID);
 
-        // Allow all the target users + the organizer running this to have read/write access to the new conversation
-        Set<UUID> conversationUsers = new HashSet<>(targetUUIDs);
-        conversationUsers.add(executorUUID);
+            String executorName = userManager.getUserFirstName(executorUUID);
+            String conversationName = String.format("Executive chat with %s @ %s", executorName, getConferenceName(conferenceUUID));
 
-        String executorName = userManager.getUserFirstName(executorUUID);
-        String conversationName = String.format("Executive chat with %s @ %s", executorName, getConferenceName(conferenceUUID));
+            UUID conversationUUID = conversationLocks.create(() -> conversationManager.createConversation(conversationName, conversationUsers, conversationUsers, executorUUID, String.format("Hi, this is %s.", executorName), timestamp));
+            journal.record(JOURNAL_TARGET, "createConversationWithUsersAt", conversationUUID, conferenceUUID, executorUUID, targetUUIDs, timestamp);
 
-        return conversationManager.createConversation(conversationName, conversationUsers, conversationUsers, executorUUID, String.format("Hi, this is %s.", executorName));
+            return conversationUUID;
+        });
     }
 
     /* Organizer operations */
@@ -291,10 +420,15 @@ public class ConferenceController {
      * @param targetUserUUID UUID of the user to operate on
      */
     public void addOrganizer(UUID conferenceUUID, UUID executorUUID, UUID targetUserUUID) {
-        permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
-        conferenceManager.addOrganizer(conferenceUUID, targetUserUUID);
+        conferenceLocks.write(conferenceUUID, () -> {
+            permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
+            conferenceManager.addOrganizer(conferenceUUID, targetUserUUID);
 
-        updateConferenceEventsConversationMembers(conferenceUUID);
+            updateConferenceEventsConversationMembers(conferenceUUID);
+
+            journal.record(JOURNAL_TARGET, "addOrganizer", null, conferenceUUID, executorUUID, targetUserUUID);
+            eventBus.publish(new ConferenceUsersChanged(conferenceUUID, targetUserUUID));
+        });
     }
 
     /**
@@ -308,7 +442,23 @@ public class ConferenceController {
      * @param targetUserUUID UUID of the user to operate on
      */
     public void removeOrganizer(UUID conferenceUUID, UUID executorUUID, UUID targetUserUUID) {
-        permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
+        conferenceLocks.write(conferenceUUID, () -> {
+            permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
+            doRemoveOrganizer(conferenceUUID, targetUserUUID);
+
+            journal.record(JOURNAL_TARGET, "removeOrganizer", null, conferenceUUID, executorUUID, targetUserUUID);
+            eventBus.publish(new ConferenceUsersChanged(conferenceUUID, targetUserUUID));
+        });
+    }
+
+    /**
+     * Actually executes the remove organizer operation. Shared with leaveConference so that the operation is only
+     * journaled once.
+     *
+     * @param conferenceUUID UUID of the conference to operate on
+     * @param targetUserUUID UUID of the user to operate on
+     */
+    private void doRemoveOrganizer(UUID conferenceUUID, UUID targetUserUUID) {
         conferenceManager.removeOrganizer(conferenceUUID, targetUserUUID);
 
         updateConferenceEventsConversationMembers(conferenceUUID);
@@ -333,8 +483,10 @@ public class ConferenceController {
      * @return set of organizer UUIDs
      */
     public Set<UUID> getOrganizers(UUID conferenceUUID, UUID executorUUID) {
-        permissionManager.testIsAttendee(conferenceUUID, executorUUID);
-        return conferenceManager.getOrganizers(conferenceUUID);
+        return conferenceLocks.read(conferenceUUID, () -> {
+            permissionManager.testIsAttendee(conferenceUUID, executorUUID);
+            return new HashSet<>(conferenceManager.getOrganizers(conferenceUUID));
+        });
     }
 
     /**
@@ -348,8 +500,10 @@ public class ConferenceController {
      * @return true iff target user is an organizer
      */
     public boolean isOrganizer(UUID conferenceUUID, UUID executorUUID, UUID targetUUID) {
-        permissionManager.testIsAttendee(conferenceUUID, executorUUID);
-        return conferenceManager.isOrganizer(conferenceUUID, targetUUID, userManager);
+        return conferenceLocks.read(conferenceUUID, () -> {
+            permissionManager.testIsAttendee(conferenceUUID, executorUUID);
+            return conferenceManager.isOrganizer(conferenceUUID, targetUUID, userManager);
+        });
     }
 
     /* Some more getters */
@@ -364,8 +518,10 @@ public class ConferenceController {
      * @return set of speaker UUIDs
      */
     public Set<UUID> getSpeakers(UUID conferenceUUID, UUID executorUUID) {
-        permissionManager.testIsAttendee(conferenceUUID, executorUUID);
-        return conferenceManager.getSpeakers(conferenceUUID);
+        return conferenceLocks.read(conferenceUUID, () -> {
+            permissionManager.testIsAttendee(conferenceUUID, executorUUID);
+            return new HashSet<>(conferenceManager.getSpeakers(conferenceUUID));
+        });
     }
 
     /**
@@ -379,8 +535,10 @@ public class ConferenceController {
      * @return true iff target user is a speaker
      */
     public boolean isSpeaker(UUID conferenceUUID, UUID executorUUID, UUID targetUUID) {
-        permissionManager.testIsAttendee(conferenceUUID, executorUUID);
-        return conferenceManager.isSpeaker(conferenceUUID, targetUUID);
+        return conferenceLocks.read(conferenceUUID, () -> {
+            permissionManager.testIsAttendee(conferenceUUID, executorUUID);
+            return conferenceManager.isSpeaker(conferenceUUID, targetUUID);
+        });
     }
 
     /**
@@ -393,8 +551,10 @@ public class ConferenceController {
      * @return set of attendee UUIDs
      */
     public Set<UUID> getAttendees(UUID conferenceUUID, UUID executorUUID) {
-        permissionManager.testIsAttendee(conferenceUUID, executorUUID);
-        return conferenceManager.getAttendees(conferenceUUID);
+        return conferenceLocks.read(conferenceUUID, () -> {
+            permissionManager.testIsAttendee(conferenceUUID, executorUUID);
+            return new HashSet<>(conferenceManager.getAttendees(conferenceUUID));
+        });
     }
 
     /**
@@ -408,8 +568,10 @@ public class ConferenceController {
      * @return true iff target user is a attendee
      */
     public boolean isAttendee(UUID conferenceUUID, UUID executorUUID, UUID targetUUID) {
-        permissionManager.testIsAttendee(conferenceUUID, executorUUID);
-        return conferenceManager.isAttendee(conferenceUUID, targetUUID);
+        return conferenceLocks.read(conferenceUUID, () -> {
+            permissionManager.testIsAttendee(conferenceUUID, executorUUID);
+            return conferenceManager.isAttendee(conferenceUUID, targetUUID);
+        });
     }
 
     /**
@@ -422,14 +584,16 @@ public class ConferenceController {
      * @return set of user UUIDs
      */
     public Set<UUID> getUsers(UUID conferenceUUID, UUID executorUUID) {
-        permissionManager.testIsAttendee(conferenceUUID, executorUUID);
+        return conferenceLocks.read(conferenceUUID, () -> {
+            permissionManager.testIsAttendee(conferenceUUID, executorUUID);
 
-        Set<UUID> userUUIDs = new HashSet<>();
-        userUUIDs.addAll(conferenceManager.getAttendees(conferenceUUID));
-        userUUIDs.addAll(conferenceManager.getSpeakers(conferenceUUID));
-        userUUIDs.addAll(conferenceManager.getOrganizers(conferenceUUID));
+            Set<UUID> userUUIDs = new HashSet<>();
+            userUUIDs.addAll(conferenceManager.getAttendees(conferenceUUID));
+            userUUIDs.addAll(conferenceManager.getSpeakers(conferenceUUID));
+            userUUIDs.addAll(conferenceManager.getOrganizers(conferenceUUID));
 
-        return userUUIDs;
+            return userUUIDs;
+        });
     }
 }
 
@@ -8,13 +8,20 @@ import convention.exception.CalendarDoubleBookingException;
 import convention.exception.FullEventException;
 import convention.exception.InvalidEventTimeException;
 import convention.exception.SpeakerDoubleBookingException;
+import convention.notification.*;
 import convention.permission.PermissionManager;
 import convention.room.RoomManager;
+import gateway.IJournal;
 import messaging.ConversationManager;
 import user.UserManager;
+import util.DomainEventBus;
+import util.StripedLock;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -22,15 +29,49 @@ import java.util.UUID;
  * Operations on Events
  */
 public class EventController {
+    private static final String JOURNAL_TARGET = "EventController";
 
     private ConferenceManager conferenceManager;
+    private StripedLock conferenceLocks;
+    private StripedLock conversationLocks;
     private PermissionManager permissionManager;
     private ConversationManager conversationManager;
+    private IJournal journal;
+    private DomainEventBus eventBus;
 
     public EventController(ConferenceManager conferenceManager, ConversationManager conversationManager, UserManager userManager) {
+        this(conferenceManager, conversationManager, userManager, IJournal.NONE);
+    }
+
+    /**
+     * Constructs EventController that records changes to a journal
+     *
+     * @param conferenceManager   instance of conference manager
+     * @param conversationManager instance of conversation manager
+     * @param userManager         instance of user manager
+     * @param journal             journal to record changes to
+     */
+    public EventController(ConferenceManager conferenceManager, ConversationManager conversationManager, UserManager userManager, IJournal journal) {
+        this(conferenceManager, conversationManager, userManager, journal, new DomainEventBus());
+    }
+
+    /**
+     * Constructs EventController that records changes to a journal and publishes them on an event bus
+     *
+     * @param conferenceManager   instance of conference manager
+     * @param conversationManager instance of conversation manager
+     * @param userManager         instance of user manager
+     * @param journal             journal to record changes to
+     * @param eventBus            bus to publish changes on
+     */
+    public EventController(ConferenceManager conferenceManager, ConversationManager conversationManager, UserManager userManager, IJournal journal, DomainEventBus eventBus) {
         this.conferenceManager = conferenceManager;
+        this.conferenceLocks = conferenceManager.getConferenceLocks();
         this.conversationManager = conversationManager;
+        this.conversationLocks = conversationManager.getConversationLocks();
         this.permissionManager = new PermissionManager(conferenceManager, userManager);
+        this.journal = journal;
+        this.eventBus = eventBus;
     }
 
     /**
@@ -42,10 +83,12 @@ public class EventController {
      * @param executorUUID   UUID of the user executing the command
      */
     public Set<UUID> getEvents(UUID conferenceUUID, UUID executorUUID) {
-        permissionManager.testIsAttendee(conferenceUUID, executorUUID);
+        return conferenceLocks.read(conferenceUUID, () -> {
+            permissionManager.testIsAttendee(conferenceUUID, executorUUID);
 
-        EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
-        return eventManager.getEvents();
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+            return new HashSet<>(eventManager.getEvents());
+        });
     }
 
     /**
@@ -57,19 +100,12 @@ public class EventController {
      * @param executorUUID   UUID of the user executing the command
      */
     public Set<UUID> getAttendeeEvents(UUID conferenceUUID, UUID executorUUID) {
-        permissionManager.testIsAttendee(conferenceUUID, executorUUID);
-
-        Set<UUID> registeredEventsUUIDs = new HashSet<>();
+        return conferenceLocks.read(conferenceUUID, () -> {
+            permissionManager.testIsAttendee(conferenceUUID, executorUUID);
 
-        EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
-
-        for (UUID eventUUID : eventManager.getEvents()) {
-            if (eventManager.getEventAttendees(eventUUID).contains(executorUUID)) {
-                registeredEventsUUIDs.add(eventUUID);
-            }
-        }
-
-        return registeredEventsUUIDs;
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+            return eventManager.getAttendeeEvents(executorUUID);
+        });
     }
 
     /**
@@ -81,18 +117,12 @@ public class EventController {
      * @param executorUUID   UUID of the user executing the command
      */
     public Set<UUID> getSpeakerEvents(UUID conferenceUUID, UUID executorUUID) {
-        permissionManager.testIsSpeaker(conferenceUUID, executorUUID);
+        return conferenceLocks.read(conferenceUUID, () -> {
+            permissionManager.testIsSpeaker(conferenceUUID, executorUUID);
 
-        Set<UUID> registeredEventsUUIDs = new HashSet<>();
-        EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
-
-        for (UUID eventUUID : eventManager.getEvents()) {
-            if (eventManager.getEventSpeakers(eventUUID).contains(executorUUID)) {
-                registeredEventsUUIDs.add(eventUUID);
-            }
-        }
-
-        return registeredEventsUUIDs;
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+            return eventManager.getSpeakerEvents(executorUUID);
+        });
     }
 
     /**
@@ -104,20 +134,46 @@ public class EventController {
      * @return list of events on that day
      */
     public Set<UUID> getDayEvents(UUID conferenceUUID, LocalDate day) {
-        Set<UUID> eventsUUIDsOnDay = new HashSet<>();
-        EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+        return conferenceLocks.read(conferenceUUID, () -> {
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+            return eventManager.getDayEvents(day);
+        });
+    }
 
-        for (UUID eventUUID : eventManager.getEvents()) {
-            if (eventManager.getEvent(eventUUID).getTimeRange().isInDay(day)) {
-                eventsUUIDsOnDay.add(eventUUID);
+    /**
+     * Sign up for an events. A user must be an attendee of the parent conference to sign up.
+     * <p>
+     * Required Permission: ATTENDEE (self) or ORGANIZER
+     *
+     * @param conferenceUUID UUID of the conference to operate on
+     * @param executorUUID   UUID of the user executing the command
+     * @param targetUserUUID UUID of the user to operate on
+     * @param eventUUID      UUID of the events to register to
+     */
+    public void registerForEvent(UUID conferenceUUID, UUID executorUUID, UUID targetUserUUID, UUID eventUUID) {
+        conferenceLocks.write(conferenceUUID, () -> {
+            permissionManager.testIsAttendeeSelfOrAdmin(conferenceUUID, executorUUID, targetUserUUID);
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+
+            // Verify the events can take additional attendees, and take a seat in the same step. Like joining the
+            // waitlist, users don't skip ahead of others who are already waiting.
+            boolean registered = eventManager.isEventAttendee(eventUUID, targetUserUUID) || eventManager.getEventWaitlist(eventUUID).isEmpty()
+                    && eventManager.registerAttendee(eventUUID, targetUserUUID, getEventCapacity(conferenceUUID, eventUUID));
+
+            if (!registered) {
+                throw new FullEventException();
             }
-        }
 
-        return eventsUUIDsOnDay;
+            addEventConversationMember(conferenceUUID, eventUUID, targetUserUUID);
+
+            journal.record(JOURNAL_TARGET, "registerForEvent", null, conferenceUUID, executorUUID, targetUserUUID, eventUUID);
+            eventBus.publish(new AttendeeRegistered(conferenceUUID, eventUUID, targetUserUUID));
+        });
     }
 
     /**
-     * Sign up for an events. A user must be an attendee of the parent conference to sign up.
+     * Sign up for an events, or join its waitlist if it is full. Users on the waitlist are registered in the order they
+     * joined when seats become free. A user must be an attendee of the parent conference to sign up.
      * <p>
      * Required Permission: ATTENDEE (self) or ORGANIZER
      *
@@ -125,37 +181,101 @@ public class EventController {
      * @param executorUUID   UUID of the user executing the command
      * @param targetUserUUID UUID of the user to operate on
      * @param eventUUID      UUID of the events to register to
+     * @return true iff the user was registered right away, false if they are on the waitlist
      */
-    public void registerForEvent(UUID conferenceUUID, UUID executorUUID, UUID targetUserUUID, UUID eventUUID) {
-        permissionManager.testIsAttendeeSelfOrAdmin(conferenceUUID, executorUUID, targetUserUUID);
-        EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
-        RoomManager roomManager = conferenceManager.getRoomManager(conferenceUUID);
+    public boolean joinWaitlist(UUID conferenceUUID, UUID executorUUID, UUID targetUserUUID, UUID eventUUID) {
+        return conferenceLocks.write(conferenceUUID, () -> {
+            permissionManager.testIsAttendeeSelfOrAdmin(conferenceUUID, executorUUID, targetUserUUID);
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+
+            // Users don't skip ahead of others who joined the waitlist earlier, even if a seat is free
+            boolean registered = eventManager.isEventAttendee(eventUUID, targetUserUUID) || eventManager.getEventWaitlist(eventUUID).isEmpty()
+                    && eventManager.registerAttendee(eventUUID, targetUserUUID, getEventCapacity(conferenceUUID, eventUUID));
+
+            if (registered) {
+                addEventConversationMember(conferenceUUID, eventUUID, targetUserUUID);
+            } else {
+                eventManager.joinWaitlist(eventUUID, targetUserUUID);
+            }
 
-        int currentEventAttendeeCount = eventManager.getEventAttendees(eventUUID).size();
-        UUID roomUUID = eventManager.getEventRoom(eventUUID);
+            journal.record(JOURNAL_TARGET, "joinWaitlist", registered, conferenceUUID, executorUUID, targetUserUUID, eventUUID);
+            eventBus.publish(registered ? new AttendeeRegistered(conferenceUUID, eventUUID, targetUserUUID) : new WaitlistChanged(conferenceUUID, eventUUID, targetUserUUID));
 
-        // Verify the events can take additional attendees
-        if (currentEventAttendeeCount + 1 > roomManager.getRoomCapacity(roomUUID)) {
-            throw new FullEventException();
+            return registered;
+        });
+    }
+
+    /**
+     * Leave the waitlist of an events.
+     * <p>
+     * Required Permission: ATTENDEE (self) or ORGANIZER
+     *
+     * @param conferenceUUID UUID of the conference to operate on
+     * @param executorUUID   UUID of the user executing the command
+     * @param targetUserUUID UUID of the user to operate on
+     * @param eventUUID      UUID of the events to operate on
+     */
+    public void leaveWaitlist(UUID conferenceUUID, UUID executorUUID, UUID targetUserUUID, UUID eventUUID) {
+        conferenceLocks.write(conferenceUUID, () -> {
+            permissionManager.testIsAttendeeSelfOrAdmin(conferenceUUID, executorUUID, targetUserUUID);
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+
+            eventManager.leaveWaitlist(eventUUID, targetUserUUID);
+
+            journal.record(JOURNAL_TARGET, "leaveWaitlist", null, conferenceUUID, executorUUID, targetUserUUID, eventUUID);
+            eventBus.publish(new WaitlistChanged(conferenceUUID, eventUUID, targetUserUUID));
+        });
+    }
+
+    /**
+     * Gets the number of seats of the room an event is held in
+     *
+     * @param conferenceUUID UUID of the conference to operate on
+     * @param eventUUID      UUID of the events to operate on
+     * @return capacity of the event's room
+     */
+    private int getEventCapacity(UUID conferenceUUID, UUID eventUUID) {
+        UUID roomUUID = conferenceManager.getEventManager(conferenceUUID).getEventRoom(eventUUID);
+        return conferenceManager.getRoomManager(conferenceUUID).getRoomCapacity(roomUUID);
+    }
+
+    /**
+     * Gives the free seats of an event to the users on its waitlist, in the order they joined. Must be called while
+     * holding the conference's stripe.
+     *
+     * @param conferenceUUID UUID of the conference to operate on
+     * @param eventUUID      UUID of the events to operate on
+     * @return UUIDs of the users on the waitlist who were given a seat
+     */
+    List<UUID> promoteFromWaitlist(UUID conferenceUUID, UUID eventUUID) {
+        List<UUID> promotedUUIDs = conferenceManager.getEventManager(conferenceUUID).promoteFromWaitlist(eventUUID, getEventCapacity(conferenceUUID, eventUUID));
+
+        for (UUID promotedUUID : promotedUUIDs) {
+            addEventConversationMember(conferenceUUID, eventUUID, promotedUUID);
         }
 
-        eventManager.registerAttendee(eventUUID, targetUserUUID);
-        updateEventConversationMembers(conferenceUUID, eventUUID);
+        return promotedUUIDs;
     }
 
     /**
      * Actually executes the unregister operation. We have a separate helper method here so that we don't forget
-     * to run the check to remove the user from the event's conversation.
+     * to run the check to remove the user from the event's conversation. Must be called while holding the conference's
+     * stripe.
      *
      * @param conferenceUUID UUID of the conference to operate on
      * @param targetUserUUID UUID of the user to operate on
      * @param eventUUID      UUID of the events to register to
+     * @return UUIDs of the users on the waitlist who were given the free seat
      */
-    void doUnregisterForEvent(UUID conferenceUUID, UUID targetUserUUID, UUID eventUUID) {
+    List<UUID> doUnregisterForEvent(UUID conferenceUUID, UUID targetUserUUID, UUID eventUUID) {
         EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
 
         eventManager.unregisterAttendee(eventUUID, targetUserUUID);
+        List<UUID> promotedUUIDs = promoteFromWaitlist(conferenceUUID, eventUUID);
+
         updateEventConversationMembers(conferenceUUID, eventUUID);
+
+        return promotedUUIDs;
     }
 
     /**
@@ -169,26 +289,29 @@ public class EventController {
      * @param eventUUID      UUID of the events to register to
      */
     public void unregisterForEvent(UUID conferenceUUID, UUID executorUUID, UUID targetUserUUID, UUID eventUUID) {
-        permissionManager.testIsAttendeeSelfOrAdmin(conferenceUUID, executorUUID, targetUserUUID);
-        doUnregisterForEvent(conferenceUUID, targetUserUUID, eventUUID);
+        conferenceLocks.write(conferenceUUID, () -> {
+            permissionManager.testIsAttendeeSelfOrAdmin(conferenceUUID, executorUUID, targetUserUUID);
+            List<UUID> promotedUUIDs = doUnregisterForEvent(conferenceUUID, targetUserUUID, eventUUID);
+
+            journal.record(JOURNAL_TARGET, "unregisterForEvent", null, conferenceUUID, executorUUID, targetUserUUID, eventUUID);
+            eventBus.publish(new AttendeeUnregistered(conferenceUUID, eventUUID, targetUserUUID));
+
+            for (UUID promotedUUID : promotedUUIDs) {
+                eventBus.publish(new AttendeeRegistered(conferenceUUID, eventUUID, promotedUUID));
+            }
+        });
     }
 
     /**
-     * Helper function to keep the list of speakers at a conference in sync
+     * Helper function to keep the list of speakers at a conference in sync. Must be called while holding the
+     * conference's stripe.
      *
      * @param conferenceUUID UUID of the conference to operate on
      */
     void updateSpeakers(UUID conferenceUUID) {
-        Set<UUID> speakerUUIDs = new HashSet<>();
         EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
 
-        for (UUID eventUUID : eventManager.getEvents()) {
-            Set<UUID> eventSpeakerUUIDs = eventManager.getEventSpeakers(eventUUID);
-
-            speakerUUIDs.addAll(eventSpeakerUUIDs);
-        }
-
-        conferenceManager.setSpeakers(conferenceUUID, speakerUUIDs);
+        conferenceManager.setSpeakers(conferenceUUID, eventManager.getSpeakers());
     }
 
     /**
@@ -200,21 +323,7 @@ public class EventController {
      * @return true iff the speaker is not available at the given time range
      */
     private boolean speakerTimeRangeOccupied(UUID conferenceUUID, UUID speakerUUID, TimeRange timeRange) {
-        EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
-        for (UUID eventUUID : eventManager.getEvents()) {
-            Set<UUID> speakerUUIDs = eventManager.getEventSpeakers(eventUUID);
-
-            // If the speaker is linked to this events, we want to test if there's a conflict
-            if (speakerUUIDs.contains(speakerUUID)) {
-                TimeRange eventTimeRange = eventManager.getEventTimeRange(eventUUID);
-
-                if (eventTimeRange.hasOverlap(timeRange)) {
-                    return true;
-                }
-            }
-        }
-
-        return false;
+        return conferenceManager.getEventManager(conferenceUUID).speakerTimeRangeOccupied(speakerUUID, timeRange);
     }
 
     /**
@@ -259,29 +368,34 @@ public class EventController {
      * @return UUID of the new events
      */
     public UUID createEvent(UUID conferenceUUID, UUID executorUUID, String eventName, TimeRange timeRange, UUID roomUUID, Set<UUID> speakerUUIDs) {
-        permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
+        return conferenceLocks.write(conferenceUUID, () -> {
+            permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
 
-        EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
-        RoomManager roomManager = conferenceManager.getRoomManager(conferenceUUID);
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+            RoomManager roomManager = conferenceManager.getRoomManager(conferenceUUID);
 
-        CalendarManager roomCalendarManager = roomManager.getCalendarManager(roomUUID);
+            CalendarManager roomCalendarManager = roomManager.getCalendarManager(roomUUID);
 
-        // TestView that the speakers are not being double booked
-        testSpeakersTimeRangeOccupied(conferenceUUID, speakerUUIDs, timeRange);
+            // TestView that the speakers are not being double booked
+            testSpeakersTimeRangeOccupied(conferenceUUID, speakerUUIDs, timeRange);
 
-        // TestView that the room is not being double booked
-        if (!isEventDuringConference(conferenceUUID, timeRange)) {
-            throw new InvalidEventTimeException(timeRange, conferenceManager.getTimeRange(conferenceUUID));
-        } else if (roomCalendarManager.timeRangeOccupied(timeRange)) {
-            throw new CalendarDoubleBookingException();
-        } else {
-            UUID eventUUID = eventManager.createEvent(eventName, timeRange, roomUUID, speakerUUIDs);
+            // TestView that the room is not being double booked
+            if (!isEventDuringConference(conferenceUUID, timeRange)) {
+                throw new InvalidEventTimeException(timeRange, conferenceManager.getTimeRange(conferenceUUID));
+            } else if (roomCalendarManager.timeRangeOccupied(timeRange)) {
+                throw new CalendarDoubleBookingException();
+            } else {
+                UUID eventUUID = eventManager.createEvent(eventName, timeRange, roomUUID, speakerUUIDs);
 
-            roomCalendarManager.addTimeBlock(eventUUID, timeRange);
-            updateSpeakers(conferenceUUID);
+                roomCalendarManager.addTimeBlock(eventUUID, timeRange);
+                updateSpeakers(conferenceUUID);
 
-            return eventUUID;
-        }
+                journal.record(JOURNAL_TARGET, "createEvent", eventUUID, conferenceUUID, executorUUID, eventName, timeRange, roomUUID, speakerUUIDs);
+                eventBus.publish(new EventCreated(conferenceUUID, eventUUID));
+
+                return eventUUID;
+            }
+        });
     }
 
     /**
@@ -295,22 +409,27 @@ public class EventController {
      * @param speakerUUID    UUID of the speaker to add
      */
     public void addEventSpeaker(UUID conferenceUUID, UUID executorUUID, UUID eventUUID, UUID speakerUUID) {
-        permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
+        conferenceLocks.write(conferenceUUID, () -> {
+            permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
 
-        EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
 
-        TimeRange eventTimeRange = eventManager.getEventTimeRange(eventUUID);
+            TimeRange eventTimeRange = eventManager.getEventTimeRange(eventUUID);
 
-        // TestView that the speaker is not being double booked
-        testSpeakersTimeRangeOccupied(conferenceUUID, new HashSet<UUID>() {
-            {
-                add(speakerUUID);
-            }
-        }, eventTimeRange);
+            // TestView that the speaker is not being double booked
+            testSpeakersTimeRangeOccupied(conferenceUUID, new HashSet<UUID>() {
+                {
+                    add(speakerUUID);
+                }
+            }, eventTimeRange);
 
-        eventManager.addEventSpeaker(eventUUID, speakerUUID);
-        updateSpeakers(conferenceUUID);
-        updateEventConversationMembers(conferenceUUID, eventUUID);
+            eventManager.addEventSpeaker(eventUUID, speakerUUID);
+            updateSpeakers(conferenceUUID);
+            updateEventConversationMembers(conferenceUUID, eventUUID);
+
+            journal.record(JOURNAL_TARGET, "addEventSpeaker", null, conferenceUUID, executorUUID, eventUUID, speakerUUID);
+            eventBus.publish(new EventChanged(conferenceUUID, eventUUID));
+        });
     }
 
     /**
@@ -325,13 +444,18 @@ public class EventController {
      * @param speakerUUID    UUID of the speaker to add
      */
     public void removeEventSpeaker(UUID conferenceUUID, UUID executorUUID, UUID eventUUID, UUID speakerUUID) {
-        permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
+        conferenceLocks.write(conferenceUUID, () -> {
+            permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
 
-        EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
 
-        eventManager.removeEventSpeaker(eventUUID, speakerUUID);
-        updateSpeakers(conferenceUUID);
-        updateEventConversationMembers(conferenceUUID, eventUUID);
+            eventManager.removeEventSpeaker(eventUUID, speakerUUID);
+            updateSpeakers(conferenceUUID);
+            updateEventConversationMembers(conferenceUUID, eventUUID);
+
+            journal.record(JOURNAL_TARGET, "removeEventSpeaker", null, conferenceUUID, executorUUID, eventUUID, speakerUUID);
+            eventBus.publish(new EventChanged(conferenceUUID, eventUUID));
+        });
     }
 
     /**
@@ -344,25 +468,30 @@ public class EventController {
      * @param eventUUID      UUID of the events to operate on
      */
     public void deleteEvent(UUID conferenceUUID, UUID executorUUID, UUID eventUUID) {
-        permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
+        conferenceLocks.write(conferenceUUID, () -> {
+            permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
 
-        RoomManager roomManager = conferenceManager.getRoomManager(conferenceUUID);
-        EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+            RoomManager roomManager = conferenceManager.getRoomManager(conferenceUUID);
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
 
-        // Free up the room booking
-        UUID roomUUID = eventManager.getEventRoom(eventUUID);
-        CalendarManager roomCalendarManager = roomManager.getCalendarManager(roomUUID);
-        roomCalendarManager.removeTimeBlock(eventUUID);
+            // Free up the room booking
+            UUID roomUUID = eventManager.getEventRoom(eventUUID);
+            CalendarManager roomCalendarManager = roomManager.getCalendarManager(roomUUID);
+            roomCalendarManager.removeTimeBlock(eventUUID);
 
-        // Delete the conversation corresponding to this events
-        UUID eventConversationUUID = eventManager.getEventConversationUUID(eventUUID);
+            // Delete the conversation corresponding to this events
+            UUID eventConversationUUID = eventManager.getEventConversationUUID(eventUUID);
 
-        if (eventConversationUUID != null) {
-            conversationManager.deleteConversation(eventConversationUUID);
-        }
+            if (eventConversationUUID != null) {
+                conversationLocks.write(eventConversationUUID, () -> conversationManager.deleteConversation(eventConversationUUID));
+            }
+
+            eventManager.deleteEvent(eventUUID);
+            updateSpeakers(conferenceUUID);
 
-        eventManager.deleteEvent(eventUUID);
-        updateSpeakers(conferenceUUID);
+            journal.record(JOURNAL_TARGET, "deleteEvent", null, conferenceUUID, executorUUID, eventUUID);
+            eventBus.publish(new EventDeleted(conferenceUUID, eventUUID));
+        });
     }
 
     /**
@@ -376,11 +505,15 @@ public class EventController {
      * @param eventTitle     new events title
      */
     public void setEventTitle(UUID conferenceUUID, UUID executorUUID, UUID eventUUID, String eventTitle) {
-        permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
+        conferenceLocks.write(conferenceUUID, () -> {
+            permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
 
-        EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
 
-        eventManager.setEventTitle(eventUUID, eventTitle);
+            eventManager.setEventTitle(eventUUID, eventTitle);
+            journal.record(JOURNAL_TARGET, "setEventTitle", null, conferenceUUID, executorUUID, eventUUID, eventTitle);
+            eventBus.publish(new EventChanged(conferenceUUID, eventUUID));
+        });
     }
 
     /**
@@ -394,30 +527,42 @@ public class EventController {
      * @param newRoomUUID    UUID of the new room
      */
     public void setEventRoom(UUID conferenceUUID, UUID executorUUID, UUID eventUUID, UUID newRoomUUID) {
-        permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
+        conferenceLocks.write(conferenceUUID, () -> {
+            permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
 
-        EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
-        RoomManager roomManager = conferenceManager.getRoomManager(conferenceUUID);
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+            RoomManager roomManager = conferenceManager.getRoomManager(conferenceUUID);
 
-        TimeRange eventTimeRange = eventManager.getEventTimeRange(eventUUID);
-        UUID oldRoomUUID = eventManager.getEventRoom(eventUUID);
+            TimeRange eventTimeRange = eventManager.getEventTimeRange(eventUUID);
+            UUID oldRoomUUID = eventManager.getEventRoom(eventUUID);
 
-        CalendarManager newRoomCalendarManager = roomManager.getCalendarManager(newRoomUUID);
-        CalendarManager oldRoomCalendarManager = roomManager.getCalendarManager(oldRoomUUID);
+            CalendarManager newRoomCalendarManager = roomManager.getCalendarManager(newRoomUUID);
+            CalendarManager oldRoomCalendarManager = roomManager.getCalendarManager(oldRoomUUID);
 
-        // TestView that the room is not being double booked
-        if (newRoomCalendarManager.timeRangeOccupied(eventTimeRange)) {
-            throw new CalendarDoubleBookingException();
-        } else {
-            // Cancel the booking from the old room
-            oldRoomCalendarManager.removeTimeBlock(eventUUID);
+            // TestView that the room is not being double booked
+            if (newRoomCalendarManager.timeRangeOccupied(eventTimeRange)) {
+                throw new CalendarDoubleBookingException();
+            } else {
+                // Cancel the booking from the old room
+                oldRoomCalendarManager.removeTimeBlock(eventUUID);
 
-            // Create the new booking
-            newRoomCalendarManager.addTimeBlock(eventUUID, eventTimeRange);
+                // Create the new booking
+                newRoomCalendarManager.addTimeBlock(eventUUID, eventTimeRange);
 
-            // Update the events with the new room UUID
-            eventManager.setEventRoom(eventUUID, newRoomUUID);
-        }
+                // Update the events with the new room UUID
+                eventManager.setEventRoom(eventUUID, newRoomUUID);
+            }
+
+            // The new room may have more seats
+            List<UUID> promotedUUIDs = promoteFromWaitlist(conferenceUUID, eventUUID);
+
+            journal.record(JOURNAL_TARGET, "setEventRoom", null, conferenceUUID, executorUUID, eventUUID, newRoomUUID);
+            eventBus.publish(new EventChanged(conferenceUUID, eventUUID));
+
+            for (UUID promotedUUID : promotedUUIDs) {
+                eventBus.publish(new AttendeeRegistered(conferenceUUID, eventUUID, promotedUUID));
+            }
+        });
     }
 
     /**
@@ -431,34 +576,38 @@ public class EventController {
      * @param timeRange      new time range
      */
     public void setEventTimeRange(UUID conferenceUUID, UUID executorUUID, UUID eventUUID, TimeRange timeRange) {
-        permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
+        conferenceLocks.write(conferenceUUID, () -> {
+            permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
 
-        EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
-        RoomManager roomManager = conferenceManager.getRoomManager(conferenceUUID);
-
-        UUID roomUUID = eventManager.getEventRoom(eventUUID);
-        Set<UUID> speakerUUIDs = eventManager.getEventSpeakers(eventUUID);
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+            RoomManager roomManager = conferenceManager.getRoomManager(conferenceUUID);
 
-        CalendarManager roomCalendarManager = roomManager.getCalendarManager(roomUUID);
+            UUID roomUUID = eventManager.getEventRoom(eventUUID);
+            Set<UUID> speakerUUIDs = eventManager.getEventSpeakers(eventUUID);
 
-        // TestView that there are no speaker conflicts
-        testSpeakersTimeRangeOccupied(conferenceUUID, speakerUUIDs, timeRange);
+            CalendarManager roomCalendarManager = roomManager.getCalendarManager(roomUUID);
 
-        // TestView that the room is not being double booked
-        if (!isEventDuringConference(conferenceUUID, timeRange)) {
-            throw new InvalidEventTimeException(timeRange, conferenceManager.getTimeRange(conferenceUUID));
-        }
-        if (roomCalendarManager.timeRangeOccupied(timeRange)) {
-            throw new CalendarDoubleBookingException();
-        } else {
-            // Cancel the booking
-            roomCalendarManager.removeTimeBlock(eventUUID);
+            // TestView that there are no speaker conflicts
+            testSpeakersTimeRangeOccupied(conferenceUUID, speakerUUIDs, timeRange);
 
-            // Create the new booking
-            roomCalendarManager.addTimeBlock(eventUUID, timeRange);
-        }
+            // TestView that the room is not being double booked
+            if (!isEventDuringConference(conferenceUUID, timeRange)) {
+                throw new InvalidEventTimeException(timeRange, conferenceManager.getTimeRange(conferenceUUID));
+            }
+            if (roomCalendarManager.timeRangeOccupied(timeRange)) {
+                throw new CalendarDoubleBookingException();
+            } else {
+                // Cancel the booking
+                roomCalendarManager.removeTimeBlock(eventUUID);
+
+                // Create the new booking
+                roomCalendarManager.addTimeBlock(eventUUID, timeRange);
+            }
 
-        eventManager.setEventTimeRange(eventUUID, timeRange);
+            eventManager.setEventTimeRange(eventUUID, timeRange);
+            journal.record(JOURNAL_TARGET, "setEventTimeRange", null, conferenceUUID, executorUUID, eventUUID, timeRange);
+            eventBus.publish(new EventChanged(conferenceUUID, eventUUID));
+        });
     }
 
     /**
@@ -472,10 +621,12 @@ public class EventController {
      * @return UUID of the events room
      */
     public UUID getEventRoom(UUID conferenceUUID, UUID executorUUID, UUID eventUUID) {
-        permissionManager.testIsAttendee(conferenceUUID, executorUUID);
+        return conferenceLocks.read(conferenceUUID, () -> {
+            permissionManager.testIsAttendee(conferenceUUID, executorUUID);
 
-        EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
-        return eventManager.getEventRoom(eventUUID);
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+            return eventManager.getEventRoom(eventUUID);
+        });
     }
 
     /**
@@ -489,10 +640,12 @@ public class EventController {
      * @return UUID of the events conversation, or null if not available
      */
     public UUID getEventConversationUUID(UUID conferenceUUID, UUID executorUUID, UUID eventUUID) {
-        permissionManager.testIsAttendee(conferenceUUID, executorUUID);
+        return conferenceLocks.read(conferenceUUID, () -> {
+            permissionManager.testIsAttendee(conferenceUUID, executorUUID);
 
-        EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
-        return eventManager.getEventConversationUUID(eventUUID);
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+            return eventManager.getEventConversationUUID(eventUUID);
+        });
     }
 
     /**
@@ -505,10 +658,12 @@ public class EventController {
      * @param eventUUID      UUID of the events to operate on
      */
     public boolean isRegistered(UUID conferenceUUID, UUID executorUUID, UUID eventUUID) {
-        permissionManager.testIsAttendee(conferenceUUID, executorUUID);
+        return conferenceLocks.read(conferenceUUID, () -> {
+            permissionManager.testIsAttendee(conferenceUUID, executorUUID);
 
-        EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
-        return eventManager.getEventAttendees(eventUUID).contains(executorUUID);
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+            return eventManager.isEventAttendee(eventUUID, executorUUID);
+        });
     }
 
     /**
@@ -522,11 +677,13 @@ public class EventController {
      * @return events title
      */
     public String getEventTitle(UUID conferenceUUID, UUID executorUUID, UUID eventUUID) {
-        permissionManager.testIsAttendee(conferenceUUID, executorUUID);
+        return conferenceLocks.read(conferenceUUID, () -> {
+            permissionManager.testIsAttendee(conferenceUUID, executorUUID);
 
-        EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
 
-        return eventManager.getEventTitle(eventUUID);
+            return eventManager.getEventTitle(eventUUID);
+        });
     }
 
     /**
@@ -540,11 +697,13 @@ public class EventController {
      * @return set of speaker UUIDs
      */
     public Set<UUID> getEventSpeakers(UUID conferenceUUID, UUID executorUUID, UUID eventUUID) {
-        permissionManager.testIsAttendee(conferenceUUID, executorUUID);
+        return conferenceLocks.read(conferenceUUID, () -> {
+            permissionManager.testIsAttendee(conferenceUUID, executorUUID);
 
-        EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
 
-        return eventManager.getEventSpeakers(eventUUID);
+            return new HashSet<>(eventManager.getEventSpeakers(eventUUID));
+        });
     }
 
     /**
@@ -558,11 +717,13 @@ public class EventController {
      * @return get the time range for this events
      */
     public TimeRange getEventTimeRange(UUID conferenceUUID, UUID executorUUID, UUID eventUUID) {
-        permissionManager.testIsAttendee(conferenceUUID, executorUUID);
+        return conferenceLocks.read(conferenceUUID, () -> {
+            permissionManager.testIsAttendee(conferenceUUID, executorUUID);
 
-        EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
 
-        return eventManager.getEventTimeRange(eventUUID);
+            return eventManager.getEventTimeRange(eventUUID);
+        });
     }
 
     /**
@@ -576,11 +737,13 @@ public class EventController {
      * @return set of attendee UUIDs
      */
     public Set<UUID> getEventAttendees(UUID conferenceUUID, UUID executorUUID, UUID eventUUID) {
-        permissionManager.testIsSpeaker(conferenceUUID, executorUUID);
+        return conferenceLocks.read(conferenceUUID, () -> {
+            permissionManager.testIsSpeaker(conferenceUUID, executorUUID);
 
-        EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
 
-        return eventManager.getEventAttendees(eventUUID);
+            return new HashSet<>(eventManager.getEventAttendees(eventUUID));
+        });
     }
 
     /**
@@ -594,15 +757,56 @@ public class EventController {
      * @return set of attendee UUIDs
      */
     public int getNumRegistered(UUID conferenceUUID, UUID executorUUID, UUID eventUUID) {
-        permissionManager.testIsAttendee(conferenceUUID, executorUUID);
+        return conferenceLocks.read(conferenceUUID, () -> {
+            permissionManager.testIsAttendee(conferenceUUID, executorUUID);
 
-        EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
 
-        return eventManager.getEventAttendees(eventUUID).size();
+            return eventManager.getNumEventAttendees(eventUUID);
+        });
     }
 
     /**
-     * Triggers an update of the members of an event conversation
+     * Get the users waiting for a seat at this events.
+     * <p>
+     * Required Permission: SPEAKER
+     *
+     * @param conferenceUUID UUID of the conference to operate on
+     * @param executorUUID   UUID of the user executing the command
+     * @param eventUUID      UUID of the events to operate on
+     * @return list of UUIDs of the waiting users, in the order they will be registered
+     */
+    public List<UUID> getEventWaitlist(UUID conferenceUUID, UUID executorUUID, UUID eventUUID) {
+        return conferenceLocks.read(conferenceUUID, () -> {
+            permissionManager.testIsSpeaker(conferenceUUID, executorUUID);
+
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+
+            return new ArrayList<>(eventManager.getEventWaitlist(eventUUID));
+        });
+    }
+
+    /**
+     * Returns if the executor is waiting for a seat at this events
+     * <p>
+     * Required Permission: ATTENDEE
+     *
+     * @param conferenceUUID UUID of the conference to operate on
+     * @param executorUUID   UUID of the user executing the command
+     * @param eventUUID      UUID of the events to operate on
+     * @return true iff the executor is on the waitlist
+     */
+    public boolean isOnWaitlist(UUID conferenceUUID, UUID executorUUID, UUID eventUUID) {
+        return conferenceLocks.read(conferenceUUID, () -> {
+            permissionManager.testIsAttendee(conferenceUUID, executorUUID);
+
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+            return eventManager.isOnWaitlist(eventUUID, executorUUID);
+        });
+    }
+
+    /**
+     * Triggers an update of the members of an event conversation. Must be called while holding the conference's stripe.
      *
      * @param conferenceUUID UUID of the conference to operate on
      * @param eventUUID      UUID of the events to operate on
@@ -613,25 +817,47 @@ public class EventController {
         UUID conversationUUID = eventManager.getEventConversationUUID(eventUUID);
 
         if (conversationUUID != null) {
-            // This is the current list of users
-            Set<UUID> existingMembers = conversationManager.getUsers(conversationUUID);
-
-            // This is what we want
-            Set<UUID> targetUserList = compileEventConversationMembers(conferenceUUID, eventUUID);
+            conversationLocks.write(conversationUUID, () -> {
+                // This is the current list of users
+                Set<UUID> existingMembers = conversationManager.getUsers(conversationUUID);
+
+                // This is what we want
+                Set<UUID> targetUserList = compileEventConversationMembers(conferenceUUID, eventUUID);
+
+                // Remove users no longer on the list
+                for (UUID userUUID : existingMembers) {
+                    if (!targetUserList.contains(userUUID)) {
+                        conversationManager.removeUser(userUUID, conversationUUID);
+                    }
+                }
 
-            // Remove users no longer on the list
-            for (UUID userUUID : existingMembers) {
-                if (!targetUserList.contains(userUUID)) {
-                    conversationManager.removeUser(userUUID, conversationUUID);
+                // Add new users to the list
+                for (UUID userUUID : targetUserList) {
+                    if (!existingMembers.contains(userUUID)) {
+                        conversationManager.addUser(userUUID, conversationUUID);
+                    }
                 }
-            }
+            });
+        }
+    }
 
-            // Add new users to the list
-            for (UUID userUUID : targetUserList) {
-                if (!existingMembers.contains(userUUID)) {
+    /**
+     * Adds a single user to an event conversation, so that registering doesn't need to compile every member. Must be
+     * called while holding the conference's stripe.
+     *
+     * @param conferenceUUID UUID of the conference to operate on
+     * @param eventUUID      UUID of the events to operate on
+     * @param userUUID       UUID of the user to add
+     */
+    private void addEventConversationMember(UUID conferenceUUID, UUID eventUUID, UUID userUUID) {
+        UUID conversationUUID = conferenceManager.getEventManager(conferenceUUID).getEventConversationUUID(eventUUID);
+
+        if (conversationUUID != null) {
+            conversationLocks.write(conversationUUID, () -> {
+                if (!conversationManager.isUserInConversation(userUUID, conversationUUID)) {
                     conversationManager.addUser(userUUID, conversationUUID);
                 }
-            }
+            });
         }
     }
 
@@ -658,22 +884,43 @@ public class EventController {
      * @return UUID of the new conversation
      */
     public UUID createEventConversation(UUID conferenceUUID, UUID executorUUID, UUID eventUUID) {
-        permissionManager.testIsSpeaker(conferenceUUID, executorUUID);
+        return createEventConversationAt(conferenceUUID, executorUUID, eventUUID, LocalDateTime.now());
+    }
 
-        EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
-        String eventTitle = eventManager.getEventTitle(eventUUID);
-        String conferenceName = conferenceManager.getConferenceName(conferenceUUID);
+    /**
+     * Creates an event conversation whose welcome message was sent at the given time. The journal records event
+     * conversations this way, so that replaying it keeps the time of the welcome message.
+     * <p>
+     * Required Permission: SPEAKER
+     *
+     * @param conferenceUUID UUID of the conference to operate on
+     * @param executorUUID   UUID of the user executing the command
+     * @param eventUUID      UUID of the events to operate on
+     * @param timestamp      date and time the welcome message was sent
+     * @return UUID of the new conversation
+     */
+    public UUID createEventConversationAt(UUID conferenceUUID, UUID executorUUID, UUID eventUUID, LocalDateTime timestamp) {
+        return conferenceLocks.write(conferenceUUID, () -> {
+            permissionManager.testIsSpeaker(conferenceUUID, executorUUID);
+
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+            String eventTitle = eventManager.getEventTitle(eventUUID);
+            String conferenceName = conferenceManager.getConferenceName(conferenceUUID);
+
+            String conversationName = String.format("%s Event Chat @ %s", eventTitle, conferenceName);
 
-        String conversationName = String.format("%s Event Chat @ %s", eventTitle, conferenceName);
+            // Give all events speaker and attendees read and write access to the conversation
+            Set<UUID> conversationUsers = compileEventConversationMembers(conferenceUUID, eventUUID);
 
-        // Give all events speaker and attendees read and write access to the conversation
-        Set<UUID> conversationUsers = compileEventConversationMembers(conferenceUUID, eventUUID);
+            UUID conversationUUID = conversationLocks.create(() -> conversationManager.createConversation(conversationName, conversationUsers, conversationUsers, executorUUID, String.format("Welcome to the events: %s", eventTitle), timestamp));
 
-        UUID conversationUUID = conversationManager.createConversation(conversationName, conversationUsers, conversationUsers, executorUUID, String.format("Welcome to the events: %s", eventTitle));
+            // Save the conversation for future reference
+            eventManager.setEventConversationUUID(eventUUID, conversationUUID);
 
-        // Save the conversation for future reference
-        eventManager.setEventConversationUUID(eventUUID, conversationUUID);
+            journal.record(JOURNAL_TARGET, "createEventConversationAt", conversationUUID, conferenceUUID, executorUUID, eventUUID, timestamp);
+            eventBus.publish(new EventChanged(conferenceUUID, eventUUID));
 
-        return conversationUUID;
+            return conversationUUID;
+        });
     }
 }
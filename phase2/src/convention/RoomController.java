@@ -4,10 +4,20 @@ import convention.calendar.TimeRange;
 import convention.conference.ConferenceManager;
 import convention.event.EventManager;
 import convention.exception.RoomInUseException;
+import convention.notification.AttendeeRegistered;
+import convention.notification.RoomChanged;
+import convention.notification.RoomCreated;
+import convention.notification.RoomDeleted;
 import convention.permission.PermissionManager;
 import convention.room.RoomManager;
+import gateway.IJournal;
 import user.UserManager;
+import util.DomainEventBus;
+import util.StripedLock;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -16,19 +26,54 @@ import java.util.UUID;
  * Operations on Rooms
  */
 public class RoomController {
+    private static final String JOURNAL_TARGET = "RoomController";
 
+    private EventController eventController;
     private ConferenceManager conferenceManager;
+    private StripedLock conferenceLocks;
     private PermissionManager permissionManager;
+    private IJournal journal;
+    private DomainEventBus eventBus;
 
     /**
      * Constructs RoomController
      *
+     * @param eventController   instance of event controller
      * @param conferenceManager instance of conference manager
      * @param userManager       instance of user manager
      */
-    public RoomController(ConferenceManager conferenceManager, UserManager userManager) {
+    public RoomController(EventController eventController, ConferenceManager conferenceManager, UserManager userManager) {
+        this(eventController, conferenceManager, userManager, IJournal.NONE);
+    }
+
+    /**
+     * Constructs RoomController that records changes to a journal
+     *
+     * @param eventController   instance of event controller
+     * @param conferenceManager instance of conference manager
+     * @param userManager       instance of user manager
+     * @param journal           journal to record changes to
+     */
+    public RoomController(EventController eventController, ConferenceManager conferenceManager, UserManager userManager, IJournal journal) {
+        this(eventController, conferenceManager, userManager, journal, new DomainEventBus());
+    }
+
+    /**
+     * Constructs RoomController that records changes to a journal and publishes them on an event bus
+     *
+     * @param eventController   instance of event controller
+     * @param conferenceManager instance of conference manager
+     * @param userManager       instance of user manager
+     * @param journal           journal to record changes to
+     * @param eventBus          bus to publish changes on
+     */
+    public RoomController(EventController eventController, ConferenceManager conferenceManager, UserManager userManager, IJournal journal, DomainEventBus eventBus) {
+        this.eventController = eventController;
         this.conferenceManager = conferenceManager;
+        this.conferenceLocks = conferenceManager.getConferenceLocks();
         this.permissionManager = new PermissionManager(conferenceManager, userManager);
+        this.journal = journal;
+        this.eventBus = eventBus;
     }
 
     /**
@@ -41,8 +86,10 @@ public class RoomController {
      * @return set of UUIDs of rooms associated with the conference
      */
     public Set<UUID> getRooms(UUID conferenceUUID, UUID executorUUID) {
-        permissionManager.testIsAttendee(conferenceUUID, executorUUID);
-        return conferenceManager.getRoomManager(conferenceUUID).getRooms();
+        return conferenceLocks.read(conferenceUUID, () -> {
+            permissionManager.testIsAttendee(conferenceUUID, executorUUID);
+            return new HashSet<>(conferenceManager.getRoomManager(conferenceUUID).getRooms());
+        });
     }
 
     /**
@@ -57,11 +104,17 @@ public class RoomController {
      * @return UUID of the new room
      */
     public UUID createRoom(UUID conferenceUUID, UUID executorUUID, String roomLocation, int roomCapacity) {
-        permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
+        return conferenceLocks.write(conferenceUUID, () -> {
+            permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
+
+            RoomManager roomManager = conferenceManager.getRoomManager(conferenceUUID);
 
-        RoomManager roomManager = conferenceManager.getRoomManager(conferenceUUID);
+            UUID roomUUID = roomManager.createRoom(roomLocation, roomCapacity);
+            journal.record(JOURNAL_TARGET, "createRoom", roomUUID, conferenceUUID, executorUUID, roomLocation, roomCapacity);
+            eventBus.publish(new RoomCreated(conferenceUUID, roomUUID));
 
-        return roomManager.createRoom(roomLocation, roomCapacity);
+            return roomUUID;
+        });
     }
 
     /**
@@ -75,15 +128,20 @@ public class RoomController {
      * @param roomLocation   new room location
      */
     public void setRoomLocation(UUID conferenceUUID, UUID executorUUID, UUID roomUUID, String roomLocation) {
-        permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
+        conferenceLocks.write(conferenceUUID, () -> {
+            permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
 
-        RoomManager roomManager = conferenceManager.getRoomManager(conferenceUUID);
+            RoomManager roomManager = conferenceManager.getRoomManager(conferenceUUID);
 
-        roomManager.setRoomLocation(roomUUID, roomLocation);
+            roomManager.setRoomLocation(roomUUID, roomLocation);
+            journal.record(JOURNAL_TARGET, "setRoomLocation", null, conferenceUUID, executorUUID, roomUUID, roomLocation);
+            eventBus.publish(new RoomChanged(conferenceUUID, roomUUID));
+        });
     }
 
     /**
-     * Sets a new room capacity.
+     * Sets a new room capacity. If the room has more seats than before, users on the waitlists of its events are
+     * given the new seats.
      * <p>
      * Required Permission: ORGANIZER
      *
@@ -93,11 +151,31 @@ public class RoomController {
      * @param roomCapacity   new room capacity
      */
     public void setRoomCapacity(UUID conferenceUUID, UUID executorUUID, UUID roomUUID, int roomCapacity) {
-        permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
+        conferenceLocks.write(conferenceUUID, () -> {
+            permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
+
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+            RoomManager roomManager = conferenceManager.getRoomManager(conferenceUUID);
+
+            roomManager.setRoomCapacity(roomUUID, roomCapacity);
+
+            Map<UUID, List<UUID>> promotedUUIDs = new HashMap<>();
+
+            for (UUID eventUUID : eventManager.getEvents()) {
+                if (eventManager.getEventRoom(eventUUID).equals(roomUUID)) {
+                    promotedUUIDs.put(eventUUID, eventController.promoteFromWaitlist(conferenceUUID, eventUUID));
+                }
+            }
 
-        RoomManager roomManager = conferenceManager.getRoomManager(conferenceUUID);
+            journal.record(JOURNAL_TARGET, "setRoomCapacity", null, conferenceUUID, executorUUID, roomUUID, roomCapacity);
+            eventBus.publish(new RoomChanged(conferenceUUID, roomUUID));
 
-        roomManager.setRoomCapacity(roomUUID, roomCapacity);
+            promotedUUIDs.forEach((eventUUID, eventPromotedUUIDs) -> {
+                for (UUID promotedUUID : eventPromotedUUIDs) {
+                    eventBus.publish(new AttendeeRegistered(conferenceUUID, eventUUID, promotedUUID));
+                }
+            });
+        });
     }
 
     /**
@@ -110,19 +188,23 @@ public class RoomController {
      * @param roomUUID       UUID of the room to operate on
      */
     public void deleteRoom(UUID conferenceUUID, UUID executorUUID, UUID roomUUID) {
-        permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
+        conferenceLocks.write(conferenceUUID, () -> {
+            permissionManager.testIsOrganizer(conferenceUUID, executorUUID);
 
-        EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
-        RoomManager roomManager = conferenceManager.getRoomManager(conferenceUUID);
+            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+            RoomManager roomManager = conferenceManager.getRoomManager(conferenceUUID);
 
-        // TestView if this room is being used by any events
-        for (UUID eventUUID : eventManager.getEvents()) {
-            if (eventManager.getEventRoom(eventUUID).equals(roomUUID)) {
-                throw new RoomInUseException(roomUUID, eventUUID);
+            // TestView if this room is being used by any events
+            for (UUID eventUUID : eventManager.getEvents()) {
+                if (eventManager.getEventRoom(eventUUID).equals(roomUUID)) {
+                    throw new RoomInUseException(roomUUID, eventUUID);
+                }
             }
-        }
 
-        roomManager.deleteRoom(roomUUID);
+            roomManager.deleteRoom(roomUUID);
+            journal.record(JOURNAL_TARGET, "deleteRoom", null, conferenceUUID, executorUUID, roomUUID);
+            eventBus.publish(new RoomDeleted(conferenceUUID, roomUUID));
+        });
     }
 
     /**
@@ -136,11 +218,13 @@ public class RoomController {
      * @return room location
      */
     public String getRoomLocation(UUID conferenceUUID, UUID executorUUID, UUID roomUUID) {
-        permissionManager.testIsAttendee(conferenceUUID, executorUUID);
+        return conferenceLocks.read(conferenceUUID, () -> {
+            permissionManager.testIsAttendee(conferenceUUID, executorUUID);
 
-        RoomManager roomManager = conferenceManager.getRoomManager(conferenceUUID);
+            RoomManager roomManager = conferenceManager.getRoomManager(conferenceUUID);
 
-        return roomManager.getRoomLocation(roomUUID);
+            return roomManager.getRoomLocation(roomUUID);
+        });
     }
 
     /**
@@ -154,11 +238,13 @@ public class RoomController {
      * @return room capacity
      */
     public int getRoomCapacity(UUID conferenceUUID, UUID executorUUID, UUID roomUUID) {
-        permissionManager.testIsAttendee(conferenceUUID, executorUUID);
+        return conferenceLocks.read(conferenceUUID, () -> {
+            permissionManager.testIsAttendee(conferenceUUID, executorUUID);
 
-        RoomManager roomManager = conferenceManager.getRoomManager(conferenceUUID);
+            RoomManager roomManager = conferenceManager.getRoomManager(conferenceUUID);
 
-        return roomManager.getRoomCapacity(roomUUID);
+            return roomManager.getRoomCapacity(roomUUID);
+        });
     }
 
     /**
@@ -172,10 +258,12 @@ public class RoomController {
      * @return map of events UUIDs to their time range
      */
     public Map<UUID, TimeRange> getRoomSchedule(UUID conferenceUUID, UUID executorUUID, UUID roomUUID) {
-        permissionManager.testIsAttendee(conferenceUUID, executorUUID);
+        return conferenceLocks.read(conferenceUUID, () -> {
+            permissionManager.testIsAttendee(conferenceUUID, executorUUID);
 
-        RoomManager roomManager = conferenceManager.getRoomManager(conferenceUUID);
+            RoomManager roomManager = conferenceManager.getRoomManager(conferenceUUID);
 
-        return roomManager.getCalendarManager(roomUUID).getUUIDtoTimeRanges();
+            return new HashMap<>(roomManager.getCalendarManager(roomUUID).getUUIDtoTimeRanges());
+        });
     }
 }
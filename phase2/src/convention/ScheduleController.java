@@ -4,24 +4,36 @@ import convention.conference.ConferenceManager;
 import convention.event.EventManager;
 import convention.exception.InvalidSortMethodException;
 import convention.room.RoomManager;
+import convention.schedule.IScheduleWriter;
 import convention.schedule.ScheduleConstants;
+import convention.schedule.ScheduleEntry;
+import convention.schedule.ScheduleWriterFactory;
+import gateway.IDocumentContent;
 import gateway.IDocumentPrinter;
 import user.UserManager;
 import util.Pair;
-import util.TableTools;
+import util.StripedLock;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Generates schedules of events for the user
  */
 public class ScheduleController {
-    private String title;
+    // Writing schedules mostly waits on the disk, so a few more threads than cores keeps it busy
+    private static final int EXPORT_THREADS = Runtime.getRuntime().availableProcessors() * 2;
+
     private IDocumentPrinter documentPrinter;
     private UserManager userManager;
     private ConferenceManager conferenceManager;
+    private StripedLock conferenceLocks;
     private EventController eventController;
 
     /**
@@ -35,52 +47,111 @@ public class ScheduleController {
     public ScheduleController(IDocumentPrinter documentPrinter, UserManager userManager, ConferenceManager conferenceManager, EventController eventController) {
         this.userManager = userManager;
         this.conferenceManager = conferenceManager;
+        this.conferenceLocks = conferenceManager.getConferenceLocks();
         this.documentPrinter = documentPrinter;
         this.eventController = eventController;
     }
 
     /**
-     * Compiles conference-event pairs into a table, which is stringified
+     * Writes conference-event pairs as a schedule, one event at a time, so that the events never have to be held in
+     * memory
      *
-     * @param listOfPairs list of event-conference pairs
-     * @return string of compiled table
+     * @param scheduleWriter writer for the format of the schedule
+     * @param title          title of the schedule
+     * @param listOfPairs    list of event-conference pairs
+     * @throws IOException if the writer fails
      */
-    private String compileSchedule(List<Pair<UUID, UUID>> listOfPairs) {
-        List<List<String>> table = new ArrayList<>();
-
-        table.add(Arrays.asList("Conference Name", "Event Title", "Speakers", "Location"));
+    private void writeSchedule(IScheduleWriter scheduleWriter, String title, List<Pair<UUID, UUID>> listOfPairs) throws IOException {
+        scheduleWriter.writeStart(title);
 
         for (Pair<UUID, UUID> pair : listOfPairs) {
-            List<String> speakerNames = new ArrayList<>();
-
             UUID conferenceUUID = pair.getValue();
             UUID eventUUID = pair.getKey();
 
-            EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
-            RoomManager roomManager = conferenceManager.getRoomManager(conferenceUUID);
+            // Each event is read while no operation on its conference is part way through
+            ScheduleEntry entry = conferenceLocks.read(conferenceUUID, () -> readScheduleEntry(conferenceUUID, eventUUID));
 
-            // Compile list of speakers
-            for (UUID speakerUUID : eventManager.getEvent(eventUUID).getSpeakers()) {
-                speakerNames.add(userManager.getUserFullName(speakerUUID));
-            }
+            // Written outside of the lock, since the writer may be slow
+            scheduleWriter.writeEntry(entry);
+        }
 
-            String speakers = String.join(", ", speakerNames);
+        scheduleWriter.writeEnd(listOfPairs.size());
+    }
 
-            // Add row to the list
-            List<String> eventInfoStrings = new ArrayList<>(
-                    Arrays.asList(
-                            conferenceManager.getConferenceName(conferenceUUID),
-                            eventManager.getEventTitle(eventUUID),
-                            speakers,
-                            roomManager.getRoomLocation(eventManager.getEvent(eventUUID).getRoomUUID())
-                    )
-            );
+    /**
+     * Writes schedule entries that have already been read as a schedule
+     *
+     * @param scheduleWriter writer for the format of the schedule
+     * @param title          title of the schedule
+     * @param entries        entries of the schedule
+     * @throws IOException if the writer fails
+     */
+    private void writeEntries(IScheduleWriter scheduleWriter, String title, Collection<ScheduleEntry> entries) throws IOException {
+        scheduleWriter.writeStart(title);
 
-            table.add(eventInfoStrings);
+        for (ScheduleEntry entry : entries) {
+            scheduleWriter.writeEntry(entry);
         }
 
-        TableTools tableTools = new TableTools(table);
-        return tableTools.stringifyTable(this.title) + (listOfPairs.size() == 0 ? "<br/><br/>NO RECORDS FOUND" : "");
+        scheduleWriter.writeEnd(entries.size());
+    }
+
+    /**
+     * Reads the details of an event that are shown in a schedule. The caller must hold the conference's read lock.
+     *
+     * @param conferenceUUID UUID of the conference the event is part of
+     * @param eventUUID      UUID of the event
+     * @return entry for the event
+     */
+    private ScheduleEntry readScheduleEntry(UUID conferenceUUID, UUID eventUUID) {
+        List<String> speakerNames = new ArrayList<>();
+
+        EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+        RoomManager roomManager = conferenceManager.getRoomManager(conferenceUUID);
+
+        // Compile list of speakers
+        for (UUID speakerUUID : eventManager.getEvent(eventUUID).getSpeakers()) {
+            speakerNames.add(userManager.getUserFullName(speakerUUID));
+        }
+
+        return new ScheduleEntry(
+                eventUUID,
+                conferenceManager.getConferenceName(conferenceUUID),
+                eventManager.getEventTitle(eventUUID),
+                speakerNames,
+                roomManager.getRoomLocation(eventManager.getEvent(eventUUID).getRoomUUID()),
+                eventManager.getEventTimeRange(eventUUID)
+        );
+    }
+
+    /**
+     * Writes a schedule in an export format. HTML schedules are printed, while other formats are saved as a file for
+     * use in other apps.
+     *
+     * @param exportFormat format to write the schedule in
+     * @param title        title of the schedule
+     * @param listOfPairs  list of event-conference pairs
+     * @param fileName     name of the file, without its extension
+     * @throws IOException
+     */
+    private void saveSchedule(ScheduleConstants.exportFormats exportFormat, String title, List<Pair<UUID, UUID>> listOfPairs, String fileName) throws IOException {
+        saveDocument(exportFormat, writer -> writeSchedule(ScheduleWriterFactory.createScheduleWriter(exportFormat, writer), title, listOfPairs), fileName);
+    }
+
+    /**
+     * Saves a document in an export format. HTML documents are printed, while other formats are saved as a file.
+     *
+     * @param exportFormat format the document is written in
+     * @param content      content of the document
+     * @param fileName     name of the file, without its extension
+     * @throws IOException
+     */
+    private void saveDocument(ScheduleConstants.exportFormats exportFormat, IDocumentContent content, String fileName) throws IOException {
+        if (exportFormat == ScheduleConstants.exportFormats.HTML) {
+            documentPrinter.print(content, fileName);
+        } else {
+            documentPrinter.export(content, fileName + "." + ScheduleWriterFactory.getFileExtension(exportFormat));
+        }
     }
 
     /**
@@ -95,7 +166,7 @@ public class ScheduleController {
 
         // Compiles list of relevant conferences
         for (UUID conferenceUUID : conferenceManager.getConferences()) {
-            if (conferenceManager.isAttendee(conferenceUUID, userUUID)) {
+            if (conferenceLocks.read(conferenceUUID, () -> conferenceManager.conferenceExists(conferenceUUID) && conferenceManager.isAttendee(conferenceUUID, userUUID))) {
                 conferenceUUIDSet.add(conferenceUUID);
             }
         }
@@ -124,7 +195,7 @@ public class ScheduleController {
 
         // Compiles list of relevant conferences
         for (UUID conferenceUUID : conferenceManager.getConferences()) {
-            if (conferenceManager.isSpeaker(conferenceUUID, speakerUUID)) {
+            if (conferenceLocks.read(conferenceUUID, () -> conferenceManager.conferenceExists(conferenceUUID) && conferenceManager.isSpeaker(conferenceUUID, speakerUUID))) {
                 conferenceUUIDSet.add(conferenceUUID);
             }
         }
@@ -149,19 +220,17 @@ public class ScheduleController {
      */
     private List<Pair<UUID, UUID>> getDateEventPairs(LocalDate date) {
         List<Pair<UUID, UUID>> listOfPairs = new ArrayList<>();
-        Set<UUID> conferenceUUIDSet = new HashSet<>();
 
-        // Compiles list of relevant conferences
-        for (UUID conferenceUUID : conferenceManager.getConferences()) {
-            if (conferenceManager.getTimeRange(conferenceUUID).isInDay(date)) {
-                conferenceUUIDSet.add(conferenceUUID);
+        // Compiles list of relevant events, grouped by conference
+        for (Map.Entry<UUID, Set<UUID>> entry : conferenceManager.getDayEvents(date).entrySet()) {
+            UUID conferenceUUID = entry.getKey();
+
+            // The conference may have been moved away from this day after the event was created
+            if (!conferenceLocks.readOptimistic(conferenceUUID, () -> conferenceManager.conferenceExists(conferenceUUID) && conferenceManager.getTimeRange(conferenceUUID).isInDay(date))) {
+                continue;
             }
-        }
 
-        // Compiles list of relevant events
-        for (UUID conferenceUUID : conferenceUUIDSet) {
-            Set<UUID> dayEventsInConference = eventController.getDayEvents(conferenceUUID, date);
-            for (UUID eventUUID : dayEventsInConference) {
+            for (UUID eventUUID : entry.getValue()) {
                 Pair<UUID, UUID> eventConferenceUUIDPair = new Pair<>(eventUUID, conferenceUUID);
                 listOfPairs.add(eventConferenceUUIDPair);
             }
@@ -178,7 +247,21 @@ public class ScheduleController {
      * @throws IOException
      */
     public void printSchedule(ScheduleConstants.sortByMethods sortByMethod, Map<String, Object> arguments) throws IOException {
+        printSchedule(sortByMethod, ScheduleConstants.exportFormats.HTML, arguments);
+    }
+
+    /**
+     * Compiles a schedule for the given sort method and data. HTML schedules trigger the system print dialog, while
+     * other formats are saved as a file for use in other apps.
+     *
+     * @param sortByMethod enum of method to sort by
+     * @param exportFormat enum of format to write the schedule in
+     * @param arguments    map of arguments
+     * @throws IOException
+     */
+    public void printSchedule(ScheduleConstants.sortByMethods sortByMethod, ScheduleConstants.exportFormats exportFormat, Map<String, Object> arguments) throws IOException {
         List<Pair<UUID, UUID>> listOfPairs;
+        String title;
 
         // Compile the list of event-conference pairs
         switch (sortByMethod) {
@@ -186,17 +269,17 @@ public class ScheduleController {
                 UUID userUUID = (UUID) arguments.get("userUUID");
 
                 listOfPairs = getRegisteredEventPairs(userUUID);
-                this.title = String.format("Schedule of events %s signed up for", userManager.getUserFullName(userUUID));
+                title = String.format("Schedule of events %s signed up for", userManager.getUserFullName(userUUID));
                 break;
             case SPEAKER:
                 UUID speakerUUID = (UUID) arguments.get("speakerUUID");
-                this.title = String.format("Schedule of events with speaker %s", userManager.getUserFullName(speakerUUID));
+                title = String.format("Schedule of events with speaker %s", userManager.getUserFullName(speakerUUID));
 
                 listOfPairs = getSpeakerEventPairs(speakerUUID);
                 break;
             case DATE:
                 LocalDate date = (LocalDate) arguments.get("date");
-                this.title = String.format("Schedule of events on %s", arguments.get("date").toString());
+                title = String.format("Schedule of events on %s", arguments.get("date").toString());
 
                 listOfPairs = getDateEventPairs(date);
                 break;
@@ -204,11 +287,96 @@ public class ScheduleController {
                 throw new InvalidSortMethodException();
         }
 
-        // Compile string table
-        String scheduleString = compileSchedule(listOfPairs);
+        // Trigger print operation, writing each event as it is read
+        saveSchedule(exportFormat, title, listOfPairs, "schedule");
+    }
+
+    /**
+     * Saves the schedule of events each user signed up for, named after the user's UUID. Used by organizers to send
+     * every attendee their schedule, and by nightly jobs, which run without a desktop.
+     * <p>
+     * Every conference and event is read once, with each event's entry shared by all of its attendees, and the files
+     * are written in parallel. This takes time in proportion to the number of events and registrations, rather than
+     * reading every event again for each user.
+     * <p>
+     * Users who aren't signed up for any events still get a schedule with just the header, so that a schedule saved
+     * before they left their last event is replaced rather than left behind.
+     *
+     * @param exportFormat enum of format to write the schedules in
+     * @return number of schedules saved
+     * @throws IOException if a schedule could not be saved
+     */
+    public int exportUserSchedules(ScheduleConstants.exportFormats exportFormat) throws IOException {
+        Map<UUID, List<ScheduleEntry>> userEntries = new HashMap<>();
 
-        // Trigger print operation
-        documentPrinter.print(scheduleString, "schedule");
+        // Copied so that users can sign up while the schedules are written
+        synchronized (userManager) {
+            for (UUID userUUID : userManager.getAllUsers()) {
+                userEntries.put(userUUID, new ArrayList<>());
+            }
+        }
+
+        // Sort each registration into its user's schedule in a single pass
+        for (UUID conferenceUUID : conferenceManager.getConferences()) {
+            conferenceLocks.read(conferenceUUID, () -> {
+                if (!conferenceManager.conferenceExists(conferenceUUID)) {
+                    return null;
+                }
+
+                EventManager eventManager = conferenceManager.getEventManager(conferenceUUID);
+
+                for (UUID eventUUID : eventManager.getEvents()) {
+                    ScheduleEntry entry = null;
+
+                    for (UUID attendeeUUID : eventManager.getEventAttendees(eventUUID)) {
+                        // Users who signed up after the copy was made don't get a schedule this time
+                        if (!userEntries.containsKey(attendeeUUID) || !conferenceManager.isAttendee(conferenceUUID, attendeeUUID)) {
+                            continue;
+                        }
+
+                        // Read the first time it is needed, so that events without attendees aren't read at all
+                        if (entry == null) {
+                            entry = readScheduleEntry(conferenceUUID, eventUUID);
+                        }
+
+                        userEntries.get(attendeeUUID).add(entry);
+                    }
+                }
+
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(EXPORT_THREADS);
+
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+            for (Map.Entry<UUID, List<ScheduleEntry>> userEntry : userEntries.entrySet()) {
+                UUID userUUID = userEntry.getKey();
+                List<ScheduleEntry> entries = userEntry.getValue();
+                String title = String.format("Schedule of events %s signed up for", userManager.getUserFullName(userUUID));
+
+                futures.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        saveDocument(exportFormat, writer -> writeEntries(ScheduleWriterFactory.createScheduleWriter(exportFormat, writer), title, entries), "schedule-" + userUUID);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, executor));
+            }
+
+            CompletableFuture.allOf(futures.toArray(CompletableFuture<?>[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+
+            throw e;
+        } finally {
+            executor.shutdown();
+        }
+
+        return userEntries.size();
     }
 }
-
@@ -1,12 +1,17 @@
 package convention.calendar;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.time.LocalDateTime;
 import java.util.*;
 
 /**
  * Calendar object - stores mappings from events UUID to timeRange and prevents conflicts
  */
 public class Calendar implements Serializable {
+    private static final long serialVersionUID = -5368907910893175018L;
+
     // Look at the LocalDateTime library
     // You can probably just store pairs of LocalDateTime (for start and end), in a set (Maybe make another class for the pair?)
     // To check if a time slot is going to conflict, compare the new pair with the previous pairs
@@ -15,20 +20,21 @@ public class Calendar implements Serializable {
     // Edit: The TimeRange class will actually handle the pair of times for you
     private final Map<UUID, TimeRange> uuidToTimeRange = new HashMap<>();
 
+    // Bookings sorted by start time. Bookings in this index never overlap, so it is also sorted by end time. It is not
+    // serialized, so that existing calendar files still load, and is rebuilt from uuidToTimeRange instead.
+    private transient NavigableMap<LocalDateTime, TimeRange> startToTimeRange = new TreeMap<>();
+
+    // Bookings that overlap a booking in the index, which only data saved by older versions has. There are so few that
+    // they are checked one by one.
+    private transient Map<UUID, TimeRange> overlappingBookings = new HashMap<>();
+
     /**
      * Gets the full mapping from UUID to Time range
      *
-     * @return a map of UUIDs to timeRange
+     * @return an unmodifiable view of the map of UUIDs to timeRange
      */
     Map<UUID, TimeRange> getUUIDToTimeRange() {
-        return new HashMap<>(uuidToTimeRange);
-    }
-
-    /**
-     * @return get a Set of TimeRanges booked on this calendar
-     */
-    private Set<TimeRange> getUUIDtoTimeRanges() {
-        return new HashSet<>(uuidToTimeRange.values());
+        return Collections.unmodifiableMap(uuidToTimeRange);
     }
 
     /**
@@ -36,12 +42,19 @@ public class Calendar implements Serializable {
      * @return true iff t conflicts with an existing TimeRange object
      */
     boolean hasConflict(TimeRange t) {
-        Set<TimeRange> timeRangeSet = this.getUUIDtoTimeRanges();
-        for (TimeRange tr : timeRangeSet) {
-            if (t.hasOverlap(tr)) {
+        // Out of the bookings that start before t ends, the last one also ends last, so it is the only one to check
+        Map.Entry<LocalDateTime, TimeRange> candidate = startToTimeRange.floorEntry(t.getEnd());
+
+        if (candidate != null && t.hasOverlap(candidate.getValue())) {
+            return true;
+        }
+
+        for (TimeRange timeRange : overlappingBookings.values()) {
+            if (t.hasOverlap(timeRange)) {
                 return true;
             }
         }
+
         return false;
     }
 
@@ -52,7 +65,17 @@ public class Calendar implements Serializable {
      * @param timeRange Time range of the events
      */
     void addTimeBlock(UUID eventUUID, TimeRange timeRange) {
+        removeTimeBlock(eventUUID);
         this.uuidToTimeRange.put(eventUUID, timeRange);
+        indexTimeBlock(eventUUID, timeRange);
+    }
+
+    private void indexTimeBlock(UUID eventUUID, TimeRange timeRange) {
+        if (hasConflict(timeRange)) {
+            this.overlappingBookings.put(eventUUID, timeRange);
+        } else {
+            this.startToTimeRange.put(timeRange.getStart(), timeRange);
+        }
     }
 
     /**
@@ -61,7 +84,11 @@ public class Calendar implements Serializable {
      * @param eventUUID UUID of the event
      */
     void removeTimeBlock(UUID eventUUID) {
-        this.uuidToTimeRange.remove(eventUUID);
+        TimeRange timeRange = this.uuidToTimeRange.remove(eventUUID);
+
+        if (timeRange != null && this.overlappingBookings.remove(eventUUID) == null) {
+            this.startToTimeRange.remove(timeRange.getStart(), timeRange);
+        }
     }
 
     /**
@@ -72,4 +99,13 @@ public class Calendar implements Serializable {
     TimeRange getBooking(UUID eventUUID) {
         return this.uuidToTimeRange.get(eventUUID);
     }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+
+        startToTimeRange = new TreeMap<>();
+        overlappingBookings = new HashMap<>();
+
+        uuidToTimeRange.forEach(this::indexTimeBlock);
+    }
 }
@@ -0,0 +1,32 @@
+package convention.calendar;
+
+import gateway.BinaryReader;
+import gateway.BinaryWriter;
+import gateway.Codec;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Codec for Calendar. Only the bookings are written, the start time index is rebuilt as they are read.
+ */
+public class CalendarCodec implements Codec<Calendar> {
+    private final TimeRangeCodec timeRangeCodec = new TimeRangeCodec();
+
+    @Override
+    public void write(BinaryWriter out, Calendar calendar) throws IOException {
+        out.writeUUIDMap(calendar.getUUIDToTimeRange(), timeRangeCodec);
+    }
+
+    @Override
+    public Calendar read(BinaryReader in) throws IOException {
+        Calendar calendar = new Calendar();
+
+        for (Map.Entry<UUID, TimeRange> entry : in.readUUIDMap(timeRangeCodec).entrySet()) {
+            calendar.addTimeBlock(entry.getKey(), entry.getValue());
+        }
+
+        return calendar;
+    }
+}
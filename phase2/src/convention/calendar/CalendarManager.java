@@ -53,6 +53,17 @@ public class CalendarManager {
         }
     }
 
+    /**
+     * Adds a booking to the calendar even if it conflicts with another booking. Only used to load data saved by older
+     * versions, which didn't always prevent conflicts.
+     *
+     * @param eventUUID the UUID of the events object
+     * @param timeRange the TimeRange of the events object
+     */
+    public void addConflictingTimeBlock(UUID eventUUID, TimeRange timeRange) {
+        calendar.addTimeBlock(eventUUID, timeRange);
+    }
+
     /**
      * Removes a booking from the calendar
      *
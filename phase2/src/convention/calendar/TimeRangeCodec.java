@@ -0,0 +1,23 @@
+package convention.calendar;
+
+import gateway.BinaryReader;
+import gateway.BinaryWriter;
+import gateway.Codec;
+
+import java.io.IOException;
+
+/**
+ * Codec for TimeRange. The start and end are written as epoch seconds.
+ */
+public class TimeRangeCodec implements Codec<TimeRange> {
+    @Override
+    public void write(BinaryWriter out, TimeRange timeRange) throws IOException {
+        out.writeDateTime(timeRange.getStart());
+        out.writeDateTime(timeRange.getEnd());
+    }
+
+    @Override
+    public TimeRange read(BinaryReader in) throws IOException {
+        return new TimeRange(in.readDateTime(), in.readDateTime());
+    }
+}
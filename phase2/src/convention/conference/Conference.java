@@ -1,9 +1,14 @@
 package convention.conference;
 
+import convention.calendar.Calendar;
+import convention.calendar.CalendarManager;
 import convention.calendar.TimeRange;
 import convention.event.Event;
 import convention.room.Room;
+import util.UUIDSet;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.*;
 
@@ -12,13 +17,23 @@ import java.util.*;
  * the roles of users.
  */
 class Conference implements Serializable {
-    private Set<UUID> organizerUUIDs = new HashSet<>();
-    private Set<UUID> speakerUUIDs = new HashSet<>();
-    private Set<UUID> attendeeUUIDs = new HashSet<>();
+    private static final long serialVersionUID = -251882308033553694L;
+
+    // Stored as IDs, since a conference can have tens of thousands of attendees
+    private Set<UUID> organizerUUIDs = new UUIDSet();
+    private Set<UUID> speakerUUIDs = new UUIDSet();
+    private Set<UUID> attendeeUUIDs = new UUIDSet();
 
     private Map<UUID, Event> events = new HashMap<>();
     private Map<UUID, Room> rooms = new HashMap<>();
 
+    // Index of the events each speaker is speaking at, so that speaker conflicts can be found without visiting every
+    // events. Rebuilt from the events when the conference is deserialized.
+    private transient Map<UUID, Calendar> speakerCalendars = new HashMap<>();
+
+    // Index of the events each attendee is registered in. Rebuilt from the events when the conference is deserialized.
+    private transient Map<UUID, Set<UUID>> attendeeEventUUIDs = new HashMap<>();
+
     private String conferenceName;
     private UUID uuid;
 
@@ -38,6 +53,31 @@ class Conference implements Serializable {
         this.organizerUUIDs.add(organizerUUID);
     }
 
+    /**
+     * Constructor for a conference that was saved to disk
+     *
+     * @param uuid           UUID of the conference
+     * @param conferenceName name of the conference
+     * @param timeRange      TimeRange of the conference
+     * @param organizerUUIDs set of organizers
+     * @param speakerUUIDs   set of speakers
+     * @param attendeeUUIDs  set of attendees
+     * @param events         map from event UUID to Event object
+     * @param rooms          map from room UUID to Room object
+     */
+    Conference(UUID uuid, String conferenceName, TimeRange timeRange, UUIDSet organizerUUIDs, UUIDSet speakerUUIDs, UUIDSet attendeeUUIDs, Map<UUID, Event> events, Map<UUID, Room> rooms) {
+        this.uuid = uuid;
+        this.conferenceName = conferenceName;
+        this.timeRange = timeRange;
+        this.organizerUUIDs = organizerUUIDs;
+        this.speakerUUIDs = speakerUUIDs;
+        this.attendeeUUIDs = attendeeUUIDs;
+        this.events = events;
+        this.rooms = rooms;
+
+        buildIndexes();
+    }
+
     /**
      * Gets events associated with this convention
      *
@@ -47,6 +87,24 @@ class Conference implements Serializable {
         return events;
     }
 
+    /**
+     * Gets the calendars of the events each speaker is speaking at
+     *
+     * @return Map from speaker UUID to Calendar object
+     */
+    public Map<UUID, Calendar> getSpeakerCalendars() {
+        return speakerCalendars;
+    }
+
+    /**
+     * Gets the events each attendee is registered in
+     *
+     * @return Map from attendee UUID to a set of event UUIDs
+     */
+    public Map<UUID, Set<UUID>> getAttendeeEventUUIDs() {
+        return attendeeEventUUIDs;
+    }
+
     /**
      * Gets rooms associated with this convention
      *
@@ -161,7 +219,7 @@ class Conference implements Serializable {
      * Sets speaker UUIDs
      */
     public void setSpeakerUUIDs(Set<UUID> speakerUUIDs) {
-        this.speakerUUIDs = speakerUUIDs;
+        this.speakerUUIDs = new UUIDSet(speakerUUIDs);
     }
 
     /**
@@ -217,4 +275,36 @@ class Conference implements Serializable {
     public boolean removeAttendee(UUID attendeeUUID) {
         return attendeeUUIDs.remove(attendeeUUID);
     }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+
+        // Older files hold hash sets
+        organizerUUIDs = new UUIDSet(organizerUUIDs);
+        speakerUUIDs = new UUIDSet(speakerUUIDs);
+        attendeeUUIDs = new UUIDSet(attendeeUUIDs);
+
+        buildIndexes();
+    }
+
+    /**
+     * Builds the speaker and attendee indexes from the events
+     */
+    private void buildIndexes() {
+        speakerCalendars = new HashMap<>();
+        attendeeEventUUIDs = new HashMap<>();
+
+        for (Event event : events.values()) {
+            for (UUID attendeeUUID : event.getAttendeeUUIDs()) {
+                attendeeEventUUIDs.computeIfAbsent(attendeeUUID, k -> new HashSet<>()).add(event.getUUID());
+            }
+
+            for (UUID speakerUUID : event.getSpeakers()) {
+                Calendar calendar = speakerCalendars.computeIfAbsent(speakerUUID, k -> new Calendar());
+
+                // Data saved by older versions may have a double booked speaker, whose overlapping events are all kept
+                new CalendarManager(calendar).addConflictingTimeBlock(event.getUUID(), event.getTimeRange());
+            }
+        }
+    }
 }
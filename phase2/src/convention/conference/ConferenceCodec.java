@@ -0,0 +1,36 @@
+package convention.conference;
+
+import convention.calendar.TimeRangeCodec;
+import convention.event.EventCodec;
+import convention.room.RoomCodec;
+import gateway.BinaryReader;
+import gateway.BinaryWriter;
+import gateway.Codec;
+
+import java.io.IOException;
+
+/**
+ * Codec for Conference. The speaker and attendee indexes are not written, they are rebuilt from the events.
+ */
+class ConferenceCodec implements Codec<Conference> {
+    private final TimeRangeCodec timeRangeCodec = new TimeRangeCodec();
+    private final EventCodec eventCodec = new EventCodec();
+    private final RoomCodec roomCodec = new RoomCodec();
+
+    @Override
+    public void write(BinaryWriter out, Conference conference) throws IOException {
+        out.writeUUID(conference.getUUID());
+        out.writeString(conference.getConferenceName());
+        timeRangeCodec.write(out, conference.getTimeRange());
+        out.writeUUIDSet(conference.getOrganizerUUIDs());
+        out.writeUUIDSet(conference.getSpeakerUUIDs());
+        out.writeUUIDSet(conference.getAttendeeUUIDs());
+        out.writeUUIDMap(conference.getEvents(), eventCodec);
+        out.writeUUIDMap(conference.getRooms(), roomCodec);
+    }
+
+    @Override
+    public Conference read(BinaryReader in) throws IOException {
+        return new Conference(in.readUUID(), in.readString(), timeRangeCodec.read(in), in.readCompactUUIDSet(), in.readCompactUUIDSet(), in.readCompactUUIDSet(), in.readUUIDMap(eventCodec), in.readUUIDMap(roomCodec));
+    }
+}
@@ -3,23 +3,62 @@ package convention.conference;
 import convention.calendar.CalendarManager;
 import convention.calendar.TimeRange;
 import convention.event.Event;
+import convention.event.EventDayIndex;
 import convention.event.EventManager;
 import convention.exception.InvalidNameException;
 import convention.exception.LoneOrganizerException;
 import convention.exception.NullConferenceException;
 import convention.exception.NullUserException;
-import convention.room.Room;
 import convention.room.RoomManager;
 import user.UserManager;
+import util.StripedLock;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages conferences
  */
 public class ConferenceManager implements Serializable {
-    private final Map<UUID, Conference> conferences = new HashMap<>();
+    private static final long serialVersionUID = 4718881216905206343L;
+
+    // Number of locks shared by the conferences
+    private static final int LOCK_STRIPES = 64;
+
+    // Conferences can be added and removed while other conferences are in use, so the map has to be thread safe. The
+    // data inside of each conference is guarded by its stripe of the conference locks instead.
+    private Map<UUID, Conference> conferences = new ConcurrentHashMap<>();
+
+    // Guards the data of each conference. The controllers hold a conference's stripe for the whole of each operation.
+    private transient StripedLock conferenceLocks = new StripedLock(LOCK_STRIPES);
+
+    // Index of the events happening on each day across all conferences. Rebuilt from the conferences when deserialized.
+    private transient EventDayIndex dayIndex = new EventDayIndex();
+
+    // Managers only wrap the conference's maps, so one instance per conference is reused instead of creating a new one
+    // on every call. Dropped when the conference is deleted.
+    private transient Map<UUID, EventManager> eventManagers = new ConcurrentHashMap<>();
+    private transient Map<UUID, RoomManager> roomManagers = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs an empty ConferenceManager
+     */
+    public ConferenceManager() {
+    }
+
+    /**
+     * Constructs a ConferenceManager holding conferences that were saved to disk
+     *
+     * @param conferences map from conference UUID to Conference object
+     */
+    ConferenceManager(Map<UUID, Conference> conferences) {
+        this.conferences.putAll(conferences);
+        buildIndexes();
+    }
 
     /**
      * Conference names must be non-empty; this method tests for that condition
@@ -51,21 +90,36 @@ public class ConferenceManager implements Serializable {
     }
 
     /**
-     * Generates an EventManager object to control events for a conference
+     * Gets the EventManager object to control events for a conference
      *
      * @param conferenceUUID UUID of the conference to operate on
      * @return the events manager object
      */
     public EventManager getEventManager(UUID conferenceUUID) {
-        Map<UUID, Event> events = getConference(conferenceUUID).getEvents();
+        return eventManagers.computeIfAbsent(conferenceUUID, k -> {
+            Conference conference = getConference(conferenceUUID);
+            return new EventManager(conference.getEvents(), conference.getSpeakerCalendars(), conference.getAttendeeEventUUIDs(), dayIndex, conferenceUUID);
+        });
+    }
 
-        return new EventManager(events);
+    /**
+     * Gets the events happening on a day across all conferences
+     *
+     * @param day day to filter with
+     * @return map of conference UUIDs to the UUIDs of their events on that day
+     */
+    public Map<UUID, Set<UUID>> getDayEvents(LocalDate day) {
+        return dayIndex.getDayEvents(day);
     }
 
+    /**
+     * Gets the RoomManager object to control rooms for a conference
+     *
+     * @param conferenceUUID UUID of the conference to operate on
+     * @return the room manager object
+     */
     public RoomManager getRoomManager(UUID conferenceUUID) {
-        Map<UUID, Room> rooms = getConference(conferenceUUID).getRooms();
-
-        return new RoomManager(rooms);
+        return roomManagers.computeIfAbsent(conferenceUUID, k -> new RoomManager(getConference(conferenceUUID).getRooms()));
     }
 
     /**
@@ -111,7 +165,13 @@ public class ConferenceManager implements Serializable {
             throw new NullConferenceException(conferenceUUID);
         }
 
+        for (Event event : getConference(conferenceUUID).getEvents().values()) {
+            dayIndex.remove(conferenceUUID, event.getUUID(), event.getTimeRange());
+        }
+
         conferences.remove(conferenceUUID);
+        eventManagers.remove(conferenceUUID);
+        roomManagers.remove(conferenceUUID);
     }
 
     /**
@@ -122,20 +182,22 @@ public class ConferenceManager implements Serializable {
      * @return Conference object
      */
     private Conference getConference(UUID conferenceUUID) {
-        if (!conferenceExists(conferenceUUID)) {
+        Conference conference = conferences.get(conferenceUUID);
+
+        if (conference == null) {
             throw new NullConferenceException(conferenceUUID);
         }
 
-        return conferences.get(conferenceUUID);
+        return conference;
     }
 
     /**
      * Gets a set of all the convention UUIDs in the system.
      *
-     * @return Set of convention UUIDs
+     * @return read-only view of the set of convention UUIDs
      */
     public Set<UUID> getConferences() {
-        return new HashSet<>(conferences.keySet());
+        return Collections.unmodifiableSet(conferences.keySet());
     }
 
     /**
@@ -236,10 +298,10 @@ public class ConferenceManager implements Serializable {
      * Throws NullConferenceException if the conferenceUUID does not correspond to a valid convention.
      *
      * @param conferenceUUID UUID of the conference to operate on
-     * @return set of UUIDs of organizer users
+     * @return read-only view of the set of UUIDs of organizer users
      */
     public Set<UUID> getOrganizers(UUID conferenceUUID) {
-        return new HashSet<>(getConference(conferenceUUID).getOrganizerUUIDs());
+        return Collections.unmodifiableSet(getConference(conferenceUUID).getOrganizerUUIDs());
     }
 
     /**
@@ -281,10 +343,10 @@ public class ConferenceManager implements Serializable {
      * Throws NullConferenceException if the conferenceUUID does not correspond to a valid convention.
      *
      * @param conferenceUUID UUID of the conference to operate on
-     * @return set of UUIDs of attendee users
+     * @return read-only view of the set of UUIDs of attendee users
      */
     public Set<UUID> getAttendees(UUID conferenceUUID) {
-        return new HashSet<>(getConference(conferenceUUID).getAttendeeUUIDs());
+        return Collections.unmodifiableSet(getConference(conferenceUUID).getAttendeeUUIDs());
     }
 
     /**
@@ -324,10 +386,10 @@ public class ConferenceManager implements Serializable {
      * Throws NullConferenceException if the conferenceUUID does not correspond to a valid convention.
      *
      * @param conferenceUUID UUID of the conference to operate on
-     * @return set of UUIDs speaker users
+     * @return read-only view of the set of UUIDs speaker users
      */
     public Set<UUID> getSpeakers(UUID conferenceUUID) {
-        return new HashSet<>(getConference(conferenceUUID).getSpeakerUUIDs());
+        return Collections.unmodifiableSet(getConference(conferenceUUID).getSpeakerUUIDs());
     }
 
     /**
@@ -371,4 +433,49 @@ public class ConferenceManager implements Serializable {
             conference.removeSpeaker(userUUID);
         }
     }
+
+    /**
+     * Gets the locks that guard the data of each conference. Operations on a conference should hold its stripe while
+     * they change it, and read it through read().
+     *
+     * @return conference locks, keyed by conference UUID
+     */
+    public StripedLock getConferenceLocks() {
+        return conferenceLocks;
+    }
+
+    /**
+     * Gets the conferences so that they can be saved to disk
+     *
+     * @return map from conference UUID to Conference object
+     */
+    Map<UUID, Conference> getConferenceMap() {
+        return conferences;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+
+        // Older files hold a HashMap
+        conferences = new ConcurrentHashMap<>(conferences);
+        conferenceLocks = new StripedLock(LOCK_STRIPES);
+
+        eventManagers = new ConcurrentHashMap<>();
+        roomManagers = new ConcurrentHashMap<>();
+
+        buildIndexes();
+    }
+
+    /**
+     * Builds the day index from the events of every conference
+     */
+    private void buildIndexes() {
+        dayIndex = new EventDayIndex();
+
+        for (Conference conference : conferences.values()) {
+            for (Event event : conference.getEvents().values()) {
+                dayIndex.add(conference.getUUID(), event.getUUID(), event.getTimeRange());
+            }
+        }
+    }
 }
@@ -0,0 +1,24 @@
+package convention.conference;
+
+import gateway.BinaryReader;
+import gateway.BinaryWriter;
+import gateway.Codec;
+
+import java.io.IOException;
+
+/**
+ * Codec for ConferenceManager
+ */
+public class ConferenceManagerCodec implements Codec<ConferenceManager> {
+    private final ConferenceCodec conferenceCodec = new ConferenceCodec();
+
+    @Override
+    public void write(BinaryWriter out, ConferenceManager conferenceManager) throws IOException {
+        out.writeUUIDMap(conferenceManager.getConferenceMap(), conferenceCodec);
+    }
+
+    @Override
+    public ConferenceManager read(BinaryReader in) throws IOException {
+        return new ConferenceManager(in.readUUIDMap(conferenceCodec));
+    }
+}
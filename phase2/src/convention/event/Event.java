@@ -1,9 +1,13 @@
 package convention.event;
 
 import convention.calendar.TimeRange;
+import util.UUIDSet;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.UUID;
 
@@ -11,10 +15,19 @@ import java.util.UUID;
  * Event object. Stores details about the room, attendees, speakers, etc.
  */
 public class Event implements Serializable {
+    private static final long serialVersionUID = -8575362791327626710L;
+
     private UUID uuid;
     private String title;
     private Set<UUID> speakerUUIDs;
-    private Set<UUID> attendeeUUIDs = new HashSet<>();
+    private Set<UUID> attendeeUUIDs = new UUIDSet();
+
+    // Users waiting for a seat, in the order they joined
+    private Set<UUID> waitlistUUIDs = new LinkedHashSet<>();
+
+    // Number of seats taken, which is the number of attendees, so that it can be read without walking the set.
+    // Rebuilt from the attendees when deserialized.
+    private transient int numSeatsTaken;
 
     private TimeRange timeRange;
 
@@ -32,11 +45,35 @@ public class Event implements Serializable {
     public Event(String title, TimeRange timeRange, UUID roomUUID, Set<UUID> speakerUUIDs) {
         this.title = title;
         this.uuid = UUID.randomUUID();
-        this.speakerUUIDs = speakerUUIDs;
+        this.speakerUUIDs = new HashSet<>(speakerUUIDs);
         this.timeRange = timeRange;
         this.roomUUID = roomUUID;
     }
 
+    /**
+     * Constructor for an event that was saved to disk
+     *
+     * @param uuid             UUID of the event
+     * @param title            name of the event
+     * @param timeRange        TimeRange of the event
+     * @param roomUUID         UUID of the room in which the event is held
+     * @param speakerUUIDs     set of speakers for this event
+     * @param attendeeUUIDs    set of attendees registered for this event
+     * @param waitlistUUIDs    users waiting for a seat, in the order they joined
+     * @param conversationUUID UUID of the conversation for this event, or null if there is none
+     */
+    Event(UUID uuid, String title, TimeRange timeRange, UUID roomUUID, Set<UUID> speakerUUIDs, UUIDSet attendeeUUIDs, Set<UUID> waitlistUUIDs, UUID conversationUUID) {
+        this.uuid = uuid;
+        this.title = title;
+        this.timeRange = timeRange;
+        this.roomUUID = roomUUID;
+        this.speakerUUIDs = speakerUUIDs;
+        this.attendeeUUIDs = attendeeUUIDs;
+        this.waitlistUUIDs = waitlistUUIDs;
+        this.conversationUUID = conversationUUID;
+        this.numSeatsTaken = attendeeUUIDs.size();
+    }
+
     /**
      * Gets the UUID of this events
      *
@@ -111,12 +148,37 @@ public class Event implements Serializable {
     }
 
     /**
-     * Registers a user for this events
+     * Registers a user for this events, even if it is over capacity
      *
      * @param attendeeUUID user being registered
      */
     public void addAttendee(UUID attendeeUUID) {
-        attendeeUUIDs.add(attendeeUUID);
+        if (attendeeUUIDs.add(attendeeUUID)) {
+            numSeatsTaken++;
+        }
+    }
+
+    /**
+     * Registers a user for this events if a seat is free. Users who are already registered keep their seat.
+     * <p>
+     * The capacity check and the registration are separate steps, so the caller must hold the conference's write
+     * lock, as every other change to this events does.
+     *
+     * @param attendeeUUID user being registered
+     * @param capacity     number of seats in the room
+     * @return true iff the user is registered
+     */
+    public boolean reserveSeat(UUID attendeeUUID, int capacity) {
+        if (attendeeUUIDs.contains(attendeeUUID)) {
+            return true;
+        }
+
+        if (numSeatsTaken >= capacity) {
+            return false;
+        }
+
+        addAttendee(attendeeUUID);
+        return true;
     }
 
     /**
@@ -125,7 +187,27 @@ public class Event implements Serializable {
      * @param attendeeUUID user being removed
      */
     public void removeAttendee(UUID attendeeUUID) {
-        attendeeUUIDs.remove(attendeeUUID);
+        if (attendeeUUIDs.remove(attendeeUUID)) {
+            numSeatsTaken--;
+        }
+    }
+
+    /**
+     * Gets the number of seats taken, without looking at the set of attendees
+     *
+     * @return number of users registered for this events
+     */
+    public int getNumSeatsTaken() {
+        return numSeatsTaken;
+    }
+
+    /**
+     * Gets the users waiting for a seat
+     *
+     * @return set of UUIDs of the users on the waitlist, in the order they joined
+     */
+    public Set<UUID> getWaitlistUUIDs() {
+        return waitlistUUIDs;
     }
 
     /**
@@ -191,4 +273,18 @@ public class Event implements Serializable {
     public void setConversationUUID(UUID conversationUUID) {
         this.conversationUUID = conversationUUID;
     }
-}
\ No newline at end of file
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+
+        // Older files don't have a waitlist
+        if (waitlistUUIDs == null) {
+            waitlistUUIDs = new LinkedHashSet<>();
+        }
+
+        // Older files hold a hash set
+        attendeeUUIDs = new UUIDSet(attendeeUUIDs);
+
+        numSeatsTaken = attendeeUUIDs.size();
+    }
+}
@@ -0,0 +1,37 @@
+package convention.event;
+
+import convention.calendar.TimeRangeCodec;
+import gateway.BinaryReader;
+import gateway.BinaryWriter;
+import gateway.Codec;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+
+/**
+ * Codec for Event
+ */
+public class EventCodec implements Codec<Event> {
+    // Schema version that added the waitlist
+    private static final int WAITLIST_VERSION = 3;
+
+    private final TimeRangeCodec timeRangeCodec = new TimeRangeCodec();
+
+    @Override
+    public void write(BinaryWriter out, Event event) throws IOException {
+        out.writeUUID(event.getUUID());
+        out.writeString(event.getTitle());
+        timeRangeCodec.write(out, event.getTimeRange());
+        out.writeNullableUUID(event.getRoomUUID());
+        out.writeUUIDSet(event.getSpeakers());
+        out.writeUUIDSet(event.getAttendeeUUIDs());
+        out.writeUUIDSet(event.getWaitlistUUIDs());
+        out.writeNullableUUID(event.getConversationUUID());
+    }
+
+    @Override
+    public Event read(BinaryReader in) throws IOException {
+        return new Event(in.readUUID(), in.readString(), timeRangeCodec.read(in), in.readNullableUUID(), in.readUUIDSet(), in.readCompactUUIDSet(),
+                in.getVersion() >= WAITLIST_VERSION ? in.readOrderedUUIDSet() : new LinkedHashSet<>(), in.readNullableUUID());
+    }
+}
@@ -0,0 +1,143 @@
+package convention.event;
+
+import convention.calendar.TimeRange;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Index of the events happening on each day, across all conferences. An event is added to the bucket of every day it
+ * overlaps, so multi-day events are found on each of their days.
+ * <p>
+ * Events longer than MAX_BUCKETED_DAYS are kept in a separate list and tested one at a time instead, so that a single
+ * event lasting years doesn't fill thousands of buckets.
+ * <p>
+ * The index is shared by every conference, so it can't rely on the conference locks and is synchronized instead.
+ */
+public class EventDayIndex {
+    private static final long MAX_BUCKETED_DAYS = 31;
+
+    // Day -> Conference UUID -> Event UUIDs
+    private final Map<LocalDate, Map<UUID, Set<UUID>>> dayToEventUUIDs = new HashMap<>();
+
+    // Conference UUID -> Event UUID -> TimeRange
+    private final Map<UUID, Map<UUID, TimeRange>> longEventTimeRanges = new HashMap<>();
+
+    private boolean isLong(TimeRange timeRange) {
+        return ChronoUnit.DAYS.between(timeRange.getStart().toLocalDate(), timeRange.getEnd().toLocalDate()) >= MAX_BUCKETED_DAYS;
+    }
+
+    /**
+     * Adds an event to the index
+     *
+     * @param conferenceUUID UUID of the conference the event belongs to
+     * @param eventUUID      UUID of the event
+     * @param timeRange      TimeRange of the event
+     */
+    public synchronized void add(UUID conferenceUUID, UUID eventUUID, TimeRange timeRange) {
+        if (isLong(timeRange)) {
+            longEventTimeRanges.computeIfAbsent(conferenceUUID, k -> new HashMap<>()).put(eventUUID, timeRange);
+            return;
+        }
+
+        LocalDate end = timeRange.getEnd().toLocalDate();
+
+        for (LocalDate day = timeRange.getStart().toLocalDate(); !day.isAfter(end); day = day.plusDays(1)) {
+            dayToEventUUIDs.computeIfAbsent(day, k -> new HashMap<>())
+                    .computeIfAbsent(conferenceUUID, k -> new HashSet<>())
+                    .add(eventUUID);
+        }
+    }
+
+    /**
+     * Removes an event from the index
+     *
+     * @param conferenceUUID UUID of the conference the event belongs to
+     * @param eventUUID      UUID of the event
+     * @param timeRange      TimeRange the event was added with
+     */
+    public synchronized void remove(UUID conferenceUUID, UUID eventUUID, TimeRange timeRange) {
+        if (isLong(timeRange)) {
+            Map<UUID, TimeRange> eventTimeRanges = longEventTimeRanges.get(conferenceUUID);
+
+            if (eventTimeRanges != null) {
+                eventTimeRanges.remove(eventUUID);
+
+                if (eventTimeRanges.isEmpty()) {
+                    longEventTimeRanges.remove(conferenceUUID);
+                }
+            }
+
+            return;
+        }
+
+        LocalDate end = timeRange.getEnd().toLocalDate();
+
+        for (LocalDate day = timeRange.getStart().toLocalDate(); !day.isAfter(end); day = day.plusDays(1)) {
+            Map<UUID, Set<UUID>> conferenceEventUUIDs = dayToEventUUIDs.get(day);
+
+            if (conferenceEventUUIDs == null || conferenceEventUUIDs.get(conferenceUUID) == null) {
+                continue;
+            }
+
+            conferenceEventUUIDs.get(conferenceUUID).remove(eventUUID);
+
+            if (conferenceEventUUIDs.get(conferenceUUID).isEmpty()) {
+                conferenceEventUUIDs.remove(conferenceUUID);
+            }
+
+            if (conferenceEventUUIDs.isEmpty()) {
+                dayToEventUUIDs.remove(day);
+            }
+        }
+    }
+
+    /**
+     * Gets the events happening on a day, grouped by conference
+     *
+     * @param day day to filter with
+     * @return map of conference UUIDs to the UUIDs of their events on that day
+     */
+    public synchronized Map<UUID, Set<UUID>> getDayEvents(LocalDate day) {
+        Map<UUID, Set<UUID>> conferenceEventUUIDs = new HashMap<>();
+
+        for (Map.Entry<UUID, Set<UUID>> entry : dayToEventUUIDs.getOrDefault(day, Collections.emptyMap()).entrySet()) {
+            conferenceEventUUIDs.put(entry.getKey(), new HashSet<>(entry.getValue()));
+        }
+
+        for (UUID conferenceUUID : longEventTimeRanges.keySet()) {
+            addLongDayEvents(conferenceUUID, day, conferenceEventUUIDs);
+        }
+
+        return conferenceEventUUIDs;
+    }
+
+    /**
+     * Gets the events of a conference happening on a day
+     *
+     * @param conferenceUUID UUID of the conference
+     * @param day            day to filter with
+     * @return set of UUIDs of the events on that day
+     */
+    public synchronized Set<UUID> getDayEvents(UUID conferenceUUID, LocalDate day) {
+        Map<UUID, Set<UUID>> conferenceEventUUIDs = new HashMap<>();
+        Set<UUID> eventUUIDs = dayToEventUUIDs.getOrDefault(day, Collections.emptyMap()).get(conferenceUUID);
+
+        if (eventUUIDs != null) {
+            conferenceEventUUIDs.put(conferenceUUID, new HashSet<>(eventUUIDs));
+        }
+
+        addLongDayEvents(conferenceUUID, day, conferenceEventUUIDs);
+
+        return conferenceEventUUIDs.getOrDefault(conferenceUUID, new HashSet<>());
+    }
+
+    private void addLongDayEvents(UUID conferenceUUID, LocalDate day, Map<UUID, Set<UUID>> conferenceEventUUIDs) {
+        for (Map.Entry<UUID, TimeRange> entry : longEventTimeRanges.getOrDefault(conferenceUUID, Collections.emptyMap()).entrySet()) {
+            if (entry.getValue().isInDay(day)) {
+                conferenceEventUUIDs.computeIfAbsent(conferenceUUID, k -> new HashSet<>()).add(entry.getKey());
+            }
+        }
+    }
+}
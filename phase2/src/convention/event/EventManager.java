@@ -1,39 +1,52 @@
 package convention.event;
 
+import convention.calendar.Calendar;
+import convention.calendar.CalendarManager;
 import convention.calendar.TimeRange;
 import convention.exception.InvalidNameException;
 import convention.exception.NullEventException;
+import convention.exception.SpeakerDoubleBookingException;
 
 import java.io.Serializable;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
-import java.util.UUID;
+import java.time.LocalDate;
+import java.util.*;
 
 /**
  * Manager for Event entities
  */
 public class EventManager implements Serializable {
     private Map<UUID, Event> events;
+    private Map<UUID, Calendar> speakerCalendars;
+    private Map<UUID, Set<UUID>> attendeeEventUUIDs;
+    private EventDayIndex dayIndex;
+    private UUID conferenceUUID;
 
     /**
      * Event Manager constructor
      * <p>
      * holds all events objects for this conference
      *
-     * @param events map of UUIDs for all events in this conference
+     * @param events             map of UUIDs for all events in this conference
+     * @param speakerCalendars   map of speaker UUIDs to the calendar of the events they are speaking at
+     * @param attendeeEventUUIDs map of attendee UUIDs to the UUIDs of the events they are registered in
+     * @param dayIndex           index of the events happening on each day
+     * @param conferenceUUID     UUID of this conference
      */
-    public EventManager(Map<UUID, Event> events) {
+    public EventManager(Map<UUID, Event> events, Map<UUID, Calendar> speakerCalendars, Map<UUID, Set<UUID>> attendeeEventUUIDs, EventDayIndex dayIndex, UUID conferenceUUID) {
         this.events = events;
+        this.speakerCalendars = speakerCalendars;
+        this.attendeeEventUUIDs = attendeeEventUUIDs;
+        this.dayIndex = dayIndex;
+        this.conferenceUUID = conferenceUUID;
     }
 
     /**
      * Gets the set of all events in this conference
      *
-     * @return the set of all events in this conference
+     * @return read-only view of the set of all events in this conference
      */
     public Set<UUID> getEvents() {
-        return new HashSet<>(events.keySet());
+        return Collections.unmodifiableSet(events.keySet());
     }
 
     /**
@@ -83,9 +96,19 @@ public class EventManager implements Serializable {
             throw new InvalidNameException();
         }
 
+        for (UUID speakerUUID : speakerUUIDs) {
+            testSpeakerAvailable(speakerUUID, timeRange);
+        }
+
         Event event = new Event(title, timeRange, roomUUID, speakerUUIDs);
         events.put(event.getUUID(), event);
 
+        for (UUID speakerUUID : speakerUUIDs) {
+            bookSpeaker(speakerUUID, event.getUUID(), timeRange);
+        }
+
+        dayIndex.add(conferenceUUID, event.getUUID(), timeRange);
+
         return event.getUUID();
     }
 
@@ -99,6 +122,16 @@ public class EventManager implements Serializable {
             throw new NullEventException(eventUUID);
         }
 
+        for (UUID speakerUUID : getEvent(eventUUID).getSpeakers()) {
+            unbookSpeaker(speakerUUID, eventUUID);
+        }
+
+        for (UUID attendeeUUID : getEvent(eventUUID).getAttendeeUUIDs()) {
+            removeAttendeeEvent(attendeeUUID, eventUUID);
+        }
+
+        dayIndex.remove(conferenceUUID, eventUUID, getEventTimeRange(eventUUID));
+
         events.remove(eventUUID);
     }
 
@@ -106,10 +139,21 @@ public class EventManager implements Serializable {
      * gets the set of speakers for an events
      *
      * @param eventUUID UUID of events
-     * @return set of UUIDs of speakers for this events
+     * @return read-only view of the set of UUIDs of speakers for this events
      */
     public Set<UUID> getEventSpeakers(UUID eventUUID) {
-        return new HashSet<>(getEvent(eventUUID).getSpeakers());
+        return Collections.unmodifiableSet(getEvent(eventUUID).getSpeakers());
+    }
+
+    /**
+     * Checks if a user is a speaker for an events
+     *
+     * @param eventUUID   UUID of events
+     * @param speakerUUID UUID of user in question
+     * @return true iff the user is a speaker for this events
+     */
+    public boolean isEventSpeaker(UUID eventUUID, UUID speakerUUID) {
+        return getEvent(eventUUID).isSpeaker(speakerUUID);
     }
 
     /**
@@ -120,7 +164,11 @@ public class EventManager implements Serializable {
      */
     public void addEventSpeaker(UUID eventUUID, UUID speakerUUID) {
         if (!getEvent(eventUUID).isSpeaker(speakerUUID)) {
+            TimeRange timeRange = getEventTimeRange(eventUUID);
+            testSpeakerAvailable(speakerUUID, timeRange);
+
             getEvent(eventUUID).addSpeaker(speakerUUID);
+            bookSpeaker(speakerUUID, eventUUID, timeRange);
         }
     }
 
@@ -133,6 +181,7 @@ public class EventManager implements Serializable {
     public void removeEventSpeaker(UUID eventUUID, UUID speakerUUID) {
         if (getEvent(eventUUID).isSpeaker(speakerUUID)) {
             getEvent(eventUUID).removeSpeaker(speakerUUID);
+            unbookSpeaker(speakerUUID, eventUUID);
         }
     }
 
@@ -164,9 +213,85 @@ public class EventManager implements Serializable {
      *
      * @param eventUUID UUID of this events
      * @param timeRange new TimeRange of this events
+     * @throws SpeakerDoubleBookingException if one of the speakers is at another events during the new time range
      */
     public void setEventTimeRange(UUID eventUUID, TimeRange timeRange) {
-        getEvent(eventUUID).setTimeRange(timeRange);
+        Event event = getEvent(eventUUID);
+        TimeRange oldTimeRange = event.getTimeRange();
+
+        // The old bookings are cancelled first so that the events does not conflict with itself
+        for (UUID speakerUUID : event.getSpeakers()) {
+            unbookSpeaker(speakerUUID, eventUUID);
+        }
+
+        try {
+            for (UUID speakerUUID : event.getSpeakers()) {
+                testSpeakerAvailable(speakerUUID, timeRange);
+            }
+        } catch (SpeakerDoubleBookingException e) {
+            for (UUID speakerUUID : event.getSpeakers()) {
+                bookSpeaker(speakerUUID, eventUUID, oldTimeRange);
+            }
+
+            throw e;
+        }
+
+        event.setTimeRange(timeRange);
+
+        dayIndex.remove(conferenceUUID, eventUUID, oldTimeRange);
+        dayIndex.add(conferenceUUID, eventUUID, timeRange);
+
+        for (UUID speakerUUID : event.getSpeakers()) {
+            bookSpeaker(speakerUUID, eventUUID, timeRange);
+        }
+    }
+
+    /**
+     * Tests whether a speaker is speaking at an events during a given time range
+     *
+     * @param speakerUUID UUID of the speaker
+     * @param timeRange   TimeRange to test for overlap
+     * @return true iff the speaker is not available at the given time range
+     */
+    public boolean speakerTimeRangeOccupied(UUID speakerUUID, TimeRange timeRange) {
+        Calendar calendar = speakerCalendars.get(speakerUUID);
+
+        return calendar != null && new CalendarManager(calendar).timeRangeOccupied(timeRange);
+    }
+
+    /**
+     * @param speakerUUID UUID of the speaker
+     * @param timeRange   TimeRange to test for overlap
+     * @throws SpeakerDoubleBookingException iff the speaker is not available at the given time range
+     */
+    private void testSpeakerAvailable(UUID speakerUUID, TimeRange timeRange) {
+        if (speakerTimeRangeOccupied(speakerUUID, timeRange)) {
+            throw new SpeakerDoubleBookingException(speakerUUID, timeRange);
+        }
+    }
+
+    private void bookSpeaker(UUID speakerUUID, UUID eventUUID, TimeRange timeRange) {
+        Calendar calendar = speakerCalendars.computeIfAbsent(speakerUUID, k -> new Calendar());
+
+        new CalendarManager(calendar).addTimeBlock(eventUUID, timeRange);
+    }
+
+    private void unbookSpeaker(UUID speakerUUID, UUID eventUUID) {
+        Calendar calendar = speakerCalendars.get(speakerUUID);
+
+        if (calendar == null) {
+            return;
+        }
+
+        CalendarManager calendarManager = new CalendarManager(calendar);
+
+        if (calendarManager.getUUIDtoTimeRanges().containsKey(eventUUID)) {
+            calendarManager.removeTimeBlock(eventUUID);
+        }
+
+        if (calendarManager.getUUIDtoTimeRanges().isEmpty()) {
+            speakerCalendars.remove(speakerUUID);
+        }
     }
 
     /**
@@ -224,20 +349,54 @@ public class EventManager implements Serializable {
      * Gets the set of all users registered for an events
      *
      * @param eventUUID UUID of this events
-     * @return set of UUIDs of users registered for this events
+     * @return read-only view of the set of UUIDs of users registered for this events
      */
     public Set<UUID> getEventAttendees(UUID eventUUID) {
-        return new HashSet<>(getEvent(eventUUID).getAttendeeUUIDs());
+        return Collections.unmodifiableSet(getEvent(eventUUID).getAttendeeUUIDs());
+    }
+
+    /**
+     * Checks if a user is registered for an events
+     *
+     * @param eventUUID    UUID of this events
+     * @param attendeeUUID UUID of user in question
+     * @return true iff the user is registered for this events
+     */
+    public boolean isEventAttendee(UUID eventUUID, UUID attendeeUUID) {
+        return getEvent(eventUUID).getAttendeeUUIDs().contains(attendeeUUID);
+    }
+
+    /**
+     * Gets the number of users registered for an events
+     *
+     * @param eventUUID UUID of this events
+     * @return number of users registered for this events
+     */
+    public int getNumEventAttendees(UUID eventUUID) {
+        return getEvent(eventUUID).getNumSeatsTaken();
     }
 
     /**
-     * registers a new attendee for this events
+     * Registers a new attendee for an events if a seat is free. The caller must hold the conference's write lock, so
+     * that concurrent registrations can't take more seats than the room has. Users who get a seat are removed from the
+     * waitlist.
      *
      * @param eventUUID    UUID of this events
      * @param attendeeUUID UUID of the user being registered
+     * @param capacity     number of seats in the room
+     * @return true iff the user is registered
      */
-    public void registerAttendee(UUID eventUUID, UUID attendeeUUID) {
-        getEvent(eventUUID).addAttendee(attendeeUUID);
+    public boolean registerAttendee(UUID eventUUID, UUID attendeeUUID, int capacity) {
+        Event event = getEvent(eventUUID);
+
+        if (!event.reserveSeat(attendeeUUID, capacity)) {
+            return false;
+        }
+
+        event.getWaitlistUUIDs().remove(attendeeUUID);
+        attendeeEventUUIDs.computeIfAbsent(attendeeUUID, k -> new HashSet<>()).add(eventUUID);
+
+        return true;
     }
 
     /**
@@ -248,6 +407,153 @@ public class EventManager implements Serializable {
      */
     public void unregisterAttendee(UUID eventUUID, UUID attendeeUUID) {
         getEvent(eventUUID).removeAttendee(attendeeUUID);
+        removeAttendeeEvent(attendeeUUID, eventUUID);
+    }
+
+    /**
+     * Adds a user to the end of the waitlist of an events. Users who are registered or already waiting are left as
+     * they are.
+     *
+     * @param eventUUID UUID of this events
+     * @param userUUID  UUID of the user to add
+     */
+    public void joinWaitlist(UUID eventUUID, UUID userUUID) {
+        Event event = getEvent(eventUUID);
+
+        if (!event.isAttendee(userUUID)) {
+            event.getWaitlistUUIDs().add(userUUID);
+        }
+    }
+
+    /**
+     * Removes a user from the waitlist of an events
+     *
+     * @param eventUUID UUID of this events
+     * @param userUUID  UUID of the user to remove
+     */
+    public void leaveWaitlist(UUID eventUUID, UUID userUUID) {
+        getEvent(eventUUID).getWaitlistUUIDs().remove(userUUID);
+    }
+
+    /**
+     * Removes a user from the waitlist of every events in this conference
+     *
+     * @param userUUID UUID of the user to remove
+     * @return set of UUIDs of the events the user was waiting for
+     */
+    public Set<UUID> leaveAllWaitlists(UUID userUUID) {
+        Set<UUID> eventUUIDs = new HashSet<>();
+
+        for (Event event : events.values()) {
+            if (event.getWaitlistUUIDs().remove(userUUID)) {
+                eventUUIDs.add(event.getUUID());
+            }
+        }
+
+        return eventUUIDs;
+    }
+
+    /**
+     * Gets the users waiting for a seat at an events
+     *
+     * @param eventUUID UUID of this events
+     * @return read-only view of the UUIDs of the waiting users, in the order they joined
+     */
+    public Set<UUID> getEventWaitlist(UUID eventUUID) {
+        return Collections.unmodifiableSet(getEvent(eventUUID).getWaitlistUUIDs());
+    }
+
+    /**
+     * Checks if a user is waiting for a seat at an events
+     *
+     * @param eventUUID UUID of this events
+     * @param userUUID  UUID of user in question
+     * @return true iff the user is on the waitlist
+     */
+    public boolean isOnWaitlist(UUID eventUUID, UUID userUUID) {
+        return getEvent(eventUUID).getWaitlistUUIDs().contains(userUUID);
+    }
+
+    /**
+     * Gives free seats to the users at the front of the waitlist, in the order they joined
+     *
+     * @param eventUUID UUID of this events
+     * @param capacity  number of seats in the room
+     * @return UUIDs of the users who were registered, in the order they were registered
+     */
+    public List<UUID> promoteFromWaitlist(UUID eventUUID, int capacity) {
+        Event event = getEvent(eventUUID);
+        List<UUID> promotedUUIDs = new ArrayList<>();
+        Iterator<UUID> waitlist = event.getWaitlistUUIDs().iterator();
+
+        while (waitlist.hasNext() && event.getNumSeatsTaken() < capacity) {
+            UUID userUUID = waitlist.next();
+
+            if (event.reserveSeat(userUUID, capacity)) {
+                waitlist.remove();
+                attendeeEventUUIDs.computeIfAbsent(userUUID, k -> new HashSet<>()).add(eventUUID);
+                promotedUUIDs.add(userUUID);
+            }
+        }
+
+        return promotedUUIDs;
+    }
+
+    /**
+     * Gets the set of events an attendee is registered in
+     *
+     * @param attendeeUUID UUID of the attendee
+     * @return set of UUIDs of the events the attendee is registered in
+     */
+    public Set<UUID> getAttendeeEvents(UUID attendeeUUID) {
+        return new HashSet<>(attendeeEventUUIDs.getOrDefault(attendeeUUID, Collections.emptySet()));
+    }
+
+    /**
+     * Gets the set of users speaking at any events in this conference
+     *
+     * @return set of UUIDs of the speakers
+     */
+    public Set<UUID> getSpeakers() {
+        return new HashSet<>(speakerCalendars.keySet());
+    }
+
+    /**
+     * Gets the set of events a speaker is speaking at
+     *
+     * @param speakerUUID UUID of the speaker
+     * @return set of UUIDs of the events the speaker is speaking at
+     */
+    public Set<UUID> getSpeakerEvents(UUID speakerUUID) {
+        Calendar calendar = speakerCalendars.get(speakerUUID);
+
+        if (calendar == null) {
+            return new HashSet<>();
+        }
+
+        return new HashSet<>(new CalendarManager(calendar).getUUIDtoTimeRanges().keySet());
+    }
+
+    /**
+     * Gets the set of events happening on a day
+     *
+     * @param day day to filter with
+     * @return set of UUIDs of the events on that day
+     */
+    public Set<UUID> getDayEvents(LocalDate day) {
+        return dayIndex.getDayEvents(conferenceUUID, day);
+    }
+
+    private void removeAttendeeEvent(UUID attendeeUUID, UUID eventUUID) {
+        Set<UUID> eventUUIDs = attendeeEventUUIDs.get(attendeeUUID);
+
+        if (eventUUIDs != null) {
+            eventUUIDs.remove(eventUUID);
+
+            if (eventUUIDs.isEmpty()) {
+                attendeeEventUUIDs.remove(attendeeUUID);
+            }
+        }
     }
 
 }
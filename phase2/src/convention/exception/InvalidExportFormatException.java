@@ -0,0 +1,10 @@
+package convention.exception;
+
+/**
+ * Throw this when an invalid schedule export format is provided
+ */
+public class InvalidExportFormatException extends RuntimeException {
+    public InvalidExportFormatException() {
+        super("Export format must be one of \"HTML\", \"CSV\", \"ICALENDAR\", or \"JSON\". ");
+    }
+}
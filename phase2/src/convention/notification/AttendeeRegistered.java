@@ -0,0 +1,40 @@
+package convention.notification;
+
+import java.util.UUID;
+
+/**
+ * Published after a user registers for an event
+ */
+public class AttendeeRegistered extends ConferenceDomainEvent {
+    private final UUID eventUUID;
+    private final UUID userUUID;
+
+    /**
+     * @param conferenceUUID UUID of the conference
+     * @param eventUUID      UUID of the event
+     * @param userUUID       UUID of the attendee
+     */
+    public AttendeeRegistered(UUID conferenceUUID, UUID eventUUID, UUID userUUID) {
+        super(conferenceUUID);
+        this.eventUUID = eventUUID;
+        this.userUUID = userUUID;
+    }
+
+    /**
+     * Gets the UUID of the event
+     *
+     * @return UUID of the event
+     */
+    public UUID getEventUUID() {
+        return eventUUID;
+    }
+
+    /**
+     * Gets the UUID of the attendee
+     *
+     * @return UUID of the attendee
+     */
+    public UUID getUserUUID() {
+        return userUUID;
+    }
+}
@@ -0,0 +1,15 @@
+package convention.notification;
+
+import java.util.UUID;
+
+/**
+ * Published after the name or time range of a conference is changed
+ */
+public class ConferenceChanged extends ConferenceDomainEvent {
+    /**
+     * @param conferenceUUID UUID of the conference
+     */
+    public ConferenceChanged(UUID conferenceUUID) {
+        super(conferenceUUID);
+    }
+}
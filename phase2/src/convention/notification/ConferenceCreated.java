@@ -0,0 +1,15 @@
+package convention.notification;
+
+import java.util.UUID;
+
+/**
+ * Published after a conference is created
+ */
+public class ConferenceCreated extends ConferenceDomainEvent {
+    /**
+     * @param conferenceUUID UUID of the conference
+     */
+    public ConferenceCreated(UUID conferenceUUID) {
+        super(conferenceUUID);
+    }
+}
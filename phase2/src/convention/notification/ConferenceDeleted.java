@@ -0,0 +1,15 @@
+package convention.notification;
+
+import java.util.UUID;
+
+/**
+ * Published after a conference is deleted
+ */
+public class ConferenceDeleted extends ConferenceDomainEvent {
+    /**
+     * @param conferenceUUID UUID of the conference
+     */
+    public ConferenceDeleted(UUID conferenceUUID) {
+        super(conferenceUUID);
+    }
+}
@@ -0,0 +1,29 @@
+package convention.notification;
+
+import util.DomainEvent;
+
+import java.util.UUID;
+
+/**
+ * Base class for domain events that happen within a conference, so that views of a conference can subscribe to every
+ * change in it at once
+ */
+public abstract class ConferenceDomainEvent extends DomainEvent {
+    private final UUID conferenceUUID;
+
+    /**
+     * @param conferenceUUID UUID of the conference the change happened in
+     */
+    protected ConferenceDomainEvent(UUID conferenceUUID) {
+        this.conferenceUUID = conferenceUUID;
+    }
+
+    /**
+     * Gets the UUID of the conference the change happened in
+     *
+     * @return conference UUID
+     */
+    public UUID getConferenceUUID() {
+        return conferenceUUID;
+    }
+}
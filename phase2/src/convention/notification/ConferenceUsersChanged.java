@@ -0,0 +1,28 @@
+package convention.notification;
+
+import java.util.UUID;
+
+/**
+ * Published after a user joins or leaves a conference, or gains or loses organizer permissions
+ */
+public class ConferenceUsersChanged extends ConferenceDomainEvent {
+    private final UUID userUUID;
+
+    /**
+     * @param conferenceUUID UUID of the conference
+     * @param userUUID       UUID of the user whose roles changed
+     */
+    public ConferenceUsersChanged(UUID conferenceUUID, UUID userUUID) {
+        super(conferenceUUID);
+        this.userUUID = userUUID;
+    }
+
+    /**
+     * Gets the UUID of the user whose roles changed
+     *
+     * @return UUID of the user whose roles changed
+     */
+    public UUID getUserUUID() {
+        return userUUID;
+    }
+}
@@ -0,0 +1,28 @@
+package convention.notification;
+
+import java.util.UUID;
+
+/**
+ * Published after the title, time range, room or speakers of an event are changed, or an event conversation is created
+ */
+public class EventChanged extends ConferenceDomainEvent {
+    private final UUID eventUUID;
+
+    /**
+     * @param conferenceUUID UUID of the conference
+     * @param eventUUID      UUID of the event
+     */
+    public EventChanged(UUID conferenceUUID, UUID eventUUID) {
+        super(conferenceUUID);
+        this.eventUUID = eventUUID;
+    }
+
+    /**
+     * Gets the UUID of the event
+     *
+     * @return UUID of the event
+     */
+    public UUID getEventUUID() {
+        return eventUUID;
+    }
+}
@@ -0,0 +1,28 @@
+package convention.notification;
+
+import java.util.UUID;
+
+/**
+ * Published after the location or capacity of a room is changed
+ */
+public class RoomChanged extends ConferenceDomainEvent {
+    private final UUID roomUUID;
+
+    /**
+     * @param conferenceUUID UUID of the conference
+     * @param roomUUID       UUID of the room
+     */
+    public RoomChanged(UUID conferenceUUID, UUID roomUUID) {
+        super(conferenceUUID);
+        this.roomUUID = roomUUID;
+    }
+
+    /**
+     * Gets the UUID of the room
+     *
+     * @return UUID of the room
+     */
+    public UUID getRoomUUID() {
+        return roomUUID;
+    }
+}
@@ -9,6 +9,7 @@ import java.util.UUID;
  * Room entity
  */
 public class Room implements Serializable {
+    private static final long serialVersionUID = -5299936349247156441L;
 
     //unique ID for the room
     private UUID roomUUID;
@@ -32,6 +33,21 @@ public class Room implements Serializable {
         this.calendar = new Calendar();
     }
 
+    /**
+     * Constructor for a room that was saved to disk
+     *
+     * @param roomUUID     UUID of the room
+     * @param roomLocation location of the room
+     * @param capacity     capacity of this room
+     * @param calendar     bookings of this room
+     */
+    Room(UUID roomUUID, String roomLocation, int capacity, Calendar calendar) {
+        this.roomUUID = roomUUID;
+        this.capacity = capacity;
+        this.roomLocation = roomLocation;
+        this.calendar = calendar;
+    }
+
     /**
      * Gets the UUID of the Room
      *
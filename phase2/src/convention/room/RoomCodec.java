@@ -0,0 +1,28 @@
+package convention.room;
+
+import convention.calendar.CalendarCodec;
+import gateway.BinaryReader;
+import gateway.BinaryWriter;
+import gateway.Codec;
+
+import java.io.IOException;
+
+/**
+ * Codec for Room
+ */
+public class RoomCodec implements Codec<Room> {
+    private final CalendarCodec calendarCodec = new CalendarCodec();
+
+    @Override
+    public void write(BinaryWriter out, Room room) throws IOException {
+        out.writeUUID(room.getUUID());
+        out.writeString(room.getRoomLocation());
+        out.writeInt(room.getCapacity());
+        calendarCodec.write(out, room.getCalendar());
+    }
+
+    @Override
+    public Room read(BinaryReader in) throws IOException {
+        return new Room(in.readUUID(), in.readString(), in.readInt(), calendarCodec.read(in));
+    }
+}
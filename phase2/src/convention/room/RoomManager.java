@@ -6,7 +6,8 @@ import convention.exception.InvalidNameException;
 import convention.exception.NullRoomException;
 
 import java.io.Serializable;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -18,6 +19,9 @@ public class RoomManager implements Serializable {
 
     private Map<UUID, Room> rooms;
 
+    // CalendarManagers only wrap the room's calendar, so one instance per room is reused
+    private transient Map<UUID, CalendarManager> calendarManagers = new HashMap<>();
+
     /**
      * Room Locations must be non-empty; this method tests for that condition
      *
@@ -45,10 +49,10 @@ public class RoomManager implements Serializable {
     /**
      * Gets a set of all the Room UUIDs in the system.
      *
-     * @return set of UUIDs
+     * @return read-only view of the set of UUIDs
      */
     public Set<UUID> getRooms() {
-        return new HashSet<>(rooms.keySet());
+        return Collections.unmodifiableSet(rooms.keySet());
     }
 
     /**
@@ -58,7 +62,14 @@ public class RoomManager implements Serializable {
      * @return the CalendarManager associated with this room
      */
     public CalendarManager getCalendarManager(UUID roomUUID) {
-        return new CalendarManager(getRoom(roomUUID).getCalendar());
+        CalendarManager calendarManager = calendarManagers.get(roomUUID);
+
+        if (calendarManager == null) {
+            calendarManager = new CalendarManager(getRoom(roomUUID).getCalendar());
+            calendarManagers.put(roomUUID, calendarManager);
+        }
+
+        return calendarManager;
     }
 
     /**
@@ -143,6 +154,7 @@ public class RoomManager implements Serializable {
         }
 
         rooms.remove(roomUUID);
+        calendarManagers.remove(roomUUID);
     }
 
     /**
@@ -0,0 +1,58 @@
+package convention.schedule;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes a schedule as comma separated values (RFC 4180), with a header row and one row for each event. Speakers are
+ * listed in a single field, separated by commas.
+ */
+class CsvScheduleWriter implements IScheduleWriter {
+    private final Writer writer;
+
+    /**
+     * @param writer writer to write the schedule to
+     */
+    CsvScheduleWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void writeStart(String title) throws IOException {
+        // CSV has no place for a title, so it is left out
+        writeRow("Conference Name", "Event Title", "Speakers", "Location", "Start", "End");
+    }
+
+    @Override
+    public void writeEntry(ScheduleEntry entry) throws IOException {
+        writeRow(entry.getConferenceName(), entry.getEventTitle(), String.join(", ", entry.getSpeakerNames()), entry.getLocation(), entry.getTimeRange().getStart().toString(), entry.getTimeRange().getEnd().toString());
+    }
+
+    @Override
+    public void writeEnd(int numEntries) {
+    }
+
+    private void writeRow(String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+
+            writeField(fields[i]);
+        }
+
+        writer.write("\r\n");
+    }
+
+    private void writeField(String field) throws IOException {
+        // Fields are only quoted when they need to be, and quotes inside of them are doubled
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\r') < 0 && field.indexOf('\n') < 0) {
+            writer.write(field);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(field.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,46 @@
+package convention.schedule;
+
+import util.TableWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes a schedule as a table for printing from the browser
+ */
+class HtmlScheduleWriter implements IScheduleWriter {
+    private static final List<String> COLUMN_NAMES = Arrays.asList("Conference Name", "Event Title", "Speakers", "Location");
+
+    private final Writer writer;
+    private final TableWriter tableWriter;
+
+    /**
+     * @param writer writer to write the schedule to
+     */
+    HtmlScheduleWriter(Writer writer) {
+        this.writer = writer;
+        this.tableWriter = new TableWriter(writer, COLUMN_NAMES.size());
+    }
+
+    @Override
+    public void writeStart(String title) throws IOException {
+        tableWriter.writeTitle(title);
+        tableWriter.writeRow(COLUMN_NAMES);
+    }
+
+    @Override
+    public void writeEntry(ScheduleEntry entry) throws IOException {
+        tableWriter.writeRow(Arrays.asList(entry.getConferenceName(), entry.getEventTitle(), String.join(", ", entry.getSpeakerNames()), entry.getLocation()));
+    }
+
+    @Override
+    public void writeEnd(int numEntries) throws IOException {
+        tableWriter.writeEnd();
+
+        if (numEntries == 0) {
+            writer.write("<br/><br/>NO RECORDS FOUND");
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package convention.schedule;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes a schedule as an iCalendar file (RFC 5545) with an event for each event of the schedule, so that it can be
+ * imported into calendar apps. Event times don't have a time zone, so they are written as floating times, which
+ * calendar apps show in the user's own time zone.
+ */
+class ICalendarScheduleWriter implements IScheduleWriter {
+    // Longer lines have to be folded onto the next line
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("uuuuMMdd'T'HHmmss");
+
+    private final Writer writer;
+
+    // Every event records when the file was made
+    private final String timestamp = DATE_TIME_FORMAT.format(LocalDateTime.now(ZoneOffset.UTC)) + "Z";
+
+    /**
+     * @param writer writer to write the schedule to
+     */
+    ICalendarScheduleWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void writeStart(String title) throws IOException {
+        writeLine("BEGIN:VCALENDAR");
+        writeLine("VERSION:2.0");
+        writeLine("PRODID:-//Convention System//Schedule//EN");
+        writeLine("CALSCALE:GREGORIAN");
+        writeLine("X-WR-CALNAME:" + escape(title));
+    }
+
+    @Override
+    public void writeEntry(ScheduleEntry entry) throws IOException {
+        String description = String.format("Conference: %s\nSpeakers: %s", entry.getConferenceName(), String.join(", ", entry.getSpeakerNames()));
+
+        writeLine("BEGIN:VEVENT");
+        writeLine("UID:" + entry.getEventUUID());
+        writeLine("DTSTAMP:" + timestamp);
+        writeLine("DTSTART:" + DATE_TIME_FORMAT.format(entry.getTimeRange().getStart()));
+        writeLine("DTEND:" + DATE_TIME_FORMAT.format(entry.getTimeRange().getEnd()));
+        writeLine("SUMMARY:" + escape(entry.getEventTitle()));
+        writeLine("LOCATION:" + escape(entry.getLocation()));
+        writeLine("DESCRIPTION:" + escape(description));
+        writeLine("END:VEVENT");
+    }
+
+    @Override
+    public void writeEnd(int numEntries) throws IOException {
+        writeLine("END:VCALENDAR");
+    }
+
+    /**
+     * Escapes the characters that have a meaning in text values
+     *
+     * @param text text to escape
+     * @return escaped text
+     */
+    private String escape(String text) {
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n")
+                .replace("\r", "\\n");
+    }
+
+    /**
+     * Writes a content line, folding it so that no line is longer than 75 octets once encoded as UTF-8. Lines are
+     * never split in the middle of a character.
+     *
+     * @param line content line to write
+     * @throws IOException if the writer fails
+     */
+    private void writeLine(String line) throws IOException {
+        int numOctets = 0;
+
+        for (int i = 0; i < line.length(); ) {
+            int codePoint = line.codePointAt(i);
+            int numChars = Character.charCount(codePoint);
+            int codePointOctets = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+
+            if (numOctets + codePointOctets > MAX_LINE_OCTETS) {
+                // The space that starts the next line counts towards its length
+                writer.write("\r\n ");
+                numOctets = 1;
+            }
+
+            writer.write(line, i, numChars);
+            numOctets += codePointOctets;
+            i += numChars;
+        }
+
+        writer.write("\r\n");
+    }
+}
@@ -0,0 +1,33 @@
+package convention.schedule;
+
+import java.io.IOException;
+
+/**
+ * Writes a schedule in some format, one event at a time, so that schedules of any size can be written without holding
+ * them in memory
+ */
+public interface IScheduleWriter {
+    /**
+     * Writes whatever comes before the events. Must be called first.
+     *
+     * @param title title of the schedule
+     * @throws IOException if the document could not be written
+     */
+    void writeStart(String title) throws IOException;
+
+    /**
+     * Writes an event of the schedule
+     *
+     * @param entry details of the event
+     * @throws IOException if the document could not be written
+     */
+    void writeEntry(ScheduleEntry entry) throws IOException;
+
+    /**
+     * Writes whatever comes after the events. Nothing else should be written after this.
+     *
+     * @param numEntries number of events that were written
+     * @throws IOException if the document could not be written
+     */
+    void writeEnd(int numEntries) throws IOException;
+}
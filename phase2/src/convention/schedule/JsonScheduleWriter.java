@@ -0,0 +1,101 @@
+package convention.schedule;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes a schedule as a JSON object with its title and an array of events. Times are written in ISO 8601 without a
+ * time zone, the same way they are entered.
+ */
+class JsonScheduleWriter implements IScheduleWriter {
+    private final Writer writer;
+
+    // Every entry after the first is preceded by a comma
+    private boolean wroteEntry;
+
+    /**
+     * @param writer writer to write the schedule to
+     */
+    JsonScheduleWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void writeStart(String title) throws IOException {
+        writer.write("{\"title\":");
+        writeString(title);
+        writer.write(",\"events\":[");
+    }
+
+    @Override
+    public void writeEntry(ScheduleEntry entry) throws IOException {
+        if (wroteEntry) {
+            writer.write(',');
+        }
+
+        wroteEntry = true;
+
+        writer.write("\n{\"eventUUID\":");
+        writeString(entry.getEventUUID().toString());
+        writer.write(",\"conferenceName\":");
+        writeString(entry.getConferenceName());
+        writer.write(",\"eventTitle\":");
+        writeString(entry.getEventTitle());
+        writer.write(",\"speakers\":[");
+
+        for (int i = 0; i < entry.getSpeakerNames().size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+
+            writeString(entry.getSpeakerNames().get(i));
+        }
+
+        writer.write("],\"location\":");
+        writeString(entry.getLocation());
+        writer.write(",\"start\":");
+        writeString(entry.getTimeRange().getStart().toString());
+        writer.write(",\"end\":");
+        writeString(entry.getTimeRange().getEnd().toString());
+        writer.write('}');
+    }
+
+    @Override
+    public void writeEnd(int numEntries) throws IOException {
+        writer.write("\n]}\n");
+    }
+
+    private void writeString(String string) throws IOException {
+        writer.write('"');
+
+        for (int i = 0; i < string.length(); i++) {
+            char character = string.charAt(i);
+
+            switch (character) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    if (character < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) character));
+                    } else {
+                        writer.write(character);
+                    }
+            }
+        }
+
+        writer.write('"');
+    }
+}
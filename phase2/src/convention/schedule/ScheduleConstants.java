@@ -7,4 +7,11 @@ public class ScheduleConstants {
     public enum sortByMethods {
         DATE, REGISTERED, SPEAKER
     }
+
+    /**
+     * Formats a schedule can be written in
+     */
+    public enum exportFormats {
+        HTML, CSV, ICALENDAR, JSON
+    }
 }
@@ -0,0 +1,92 @@
+package convention.schedule;
+
+import convention.calendar.TimeRange;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read-only copy of the details of an event that are shown in a schedule. Made while holding the conference's lock,
+ * so that it can be written afterwards without it.
+ */
+public final class ScheduleEntry {
+    private final UUID eventUUID;
+    private final String conferenceName;
+    private final String eventTitle;
+    private final List<String> speakerNames;
+    private final String location;
+    private final TimeRange timeRange;
+
+    /**
+     * Constructor for ScheduleEntry
+     *
+     * @param eventUUID      UUID of the event
+     * @param conferenceName name of the conference the event is part of
+     * @param eventTitle     title of the event
+     * @param speakerNames   full names of the speakers of the event
+     * @param location       location of the event's room
+     * @param timeRange      time range of the event
+     */
+    public ScheduleEntry(UUID eventUUID, String conferenceName, String eventTitle, List<String> speakerNames, String location, TimeRange timeRange) {
+        this.eventUUID = eventUUID;
+        this.conferenceName = conferenceName;
+        this.eventTitle = eventTitle;
+        this.speakerNames = speakerNames;
+        this.location = location;
+        this.timeRange = timeRange;
+    }
+
+    /**
+     * Gets the UUID of the event
+     *
+     * @return UUID of the event
+     */
+    public UUID getEventUUID() {
+        return eventUUID;
+    }
+
+    /**
+     * Gets the name of the conference the event is part of
+     *
+     * @return name of the conference
+     */
+    public String getConferenceName() {
+        return conferenceName;
+    }
+
+    /**
+     * Gets the title of the event
+     *
+     * @return title of the event
+     */
+    public String getEventTitle() {
+        return eventTitle;
+    }
+
+    /**
+     * Gets the full names of the speakers of the event
+     *
+     * @return names of the speakers
+     */
+    public List<String> getSpeakerNames() {
+        return speakerNames;
+    }
+
+    /**
+     * Gets the location of the event's room
+     *
+     * @return location of the room
+     */
+    public String getLocation() {
+        return location;
+    }
+
+    /**
+     * Gets the time range of the event
+     *
+     * @return time range of the event
+     */
+    public TimeRange getTimeRange() {
+        return timeRange;
+    }
+}
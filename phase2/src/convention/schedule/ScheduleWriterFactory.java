@@ -0,0 +1,53 @@
+package convention.schedule;
+
+import convention.exception.InvalidExportFormatException;
+
+import java.io.Writer;
+
+/**
+ * Factory to make schedule writers for each export format
+ */
+public class ScheduleWriterFactory {
+    /**
+     * Creates a writer for a schedule
+     *
+     * @param format format to write the schedule in
+     * @param writer writer to write the schedule to
+     * @return the schedule writer
+     */
+    public static IScheduleWriter createScheduleWriter(ScheduleConstants.exportFormats format, Writer writer) {
+        switch (format) {
+            case HTML:
+                return new HtmlScheduleWriter(writer);
+            case CSV:
+                return new CsvScheduleWriter(writer);
+            case ICALENDAR:
+                return new ICalendarScheduleWriter(writer);
+            case JSON:
+                return new JsonScheduleWriter(writer);
+            default:
+                throw new InvalidExportFormatException();
+        }
+    }
+
+    /**
+     * Gets the extension of files written in a format
+     *
+     * @param format export format
+     * @return file extension, without the dot
+     */
+    public static String getFileExtension(ScheduleConstants.exportFormats format) {
+        switch (format) {
+            case HTML:
+                return "html";
+            case CSV:
+                return "csv";
+            case ICALENDAR:
+                return "ics";
+            case JSON:
+                return "json";
+            default:
+                throw new InvalidExportFormatException();
+        }
+    }
+}
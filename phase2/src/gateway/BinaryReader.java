@@ -0,0 +1,303 @@
+package gateway;
+
+import util.UUIDSet;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Reads values written by BinaryWriter
+ */
+public class BinaryReader {
+    private final DataInputStream in;
+    private final int version;
+
+    // Every UUID read so far, in the order they were first written. UUIDs written more than once are read as the same
+    // instance.
+    private final List<UUID> uuids = new ArrayList<>();
+
+    /**
+     * Creates a reader. The stream should be buffered, since values are read a few bytes at a time.
+     *
+     * @param in      stream to read from
+     * @param version schema version the data was written with, so that codecs can read older layouts
+     */
+    public BinaryReader(InputStream in, int version) {
+        this.in = new DataInputStream(in);
+        this.version = version;
+    }
+
+    /**
+     * Gets the schema version the data was written with
+     *
+     * @return schema version
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Reads an integer written by writeInt
+     *
+     * @return integer that was read
+     * @throws IOException if the value could not be read
+     */
+    public int readInt() throws IOException {
+        return in.readInt();
+    }
+
+    /**
+     * Reads a long written by writeLong
+     *
+     * @return long that was read
+     * @throws IOException if the value could not be read
+     */
+    public long readLong() throws IOException {
+        return in.readLong();
+    }
+
+    /**
+     * Reads a boolean written by writeBoolean
+     *
+     * @return boolean that was read
+     * @throws IOException if the value could not be read
+     */
+    public boolean readBoolean() throws IOException {
+        return in.readBoolean();
+    }
+
+    /**
+     * Reads an integer written by writeVarInt
+     *
+     * @return integer that was read
+     * @throws IOException if the value could not be read
+     */
+    public int readVarInt() throws IOException {
+        int value = 0;
+
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("Malformed variable length integer");
+    }
+
+    /**
+     * Reads a long written by writeVarLong
+     *
+     * @return long that was read
+     * @throws IOException if the value could not be read
+     */
+    public long readVarLong() throws IOException {
+        long zigzag = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+
+        throw new IOException("Malformed variable length integer");
+    }
+
+    /**
+     * Reads a string written by writeString
+     *
+     * @return string that was read, or null if null was written
+     * @throws IOException if the value could not be read
+     */
+    public String readString() throws IOException {
+        int length = readVarInt();
+
+        if (length == 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length - 1];
+        in.readFully(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a UUID written by writeUUID
+     *
+     * @return UUID that was read
+     * @throws IOException if the value could not be read
+     */
+    public UUID readUUID() throws IOException {
+        int index = readVarInt();
+
+        if (index == 0) {
+            UUID value = new UUID(in.readLong(), in.readLong());
+            uuids.add(value);
+            return value;
+        } else if (index > 0 && index <= uuids.size()) {
+            return uuids.get(index - 1);
+        }
+
+        throw new IOException(String.format("Invalid UUID reference %d", index));
+    }
+
+    /**
+     * Reads a UUID written by writeNullableUUID
+     *
+     * @return UUID that was read, or null if null was written
+     * @throws IOException if the value could not be read
+     */
+    public UUID readNullableUUID() throws IOException {
+        return in.readBoolean() ? readUUID() : null;
+    }
+
+    /**
+     * Reads a date written by writeDateTime
+     *
+     * @return date that was read
+     * @throws IOException if the value could not be read
+     */
+    public LocalDateTime readDateTime() throws IOException {
+        long epochSecond = readVarLong();
+        return LocalDateTime.ofEpochSecond(epochSecond, readVarInt(), ZoneOffset.UTC);
+    }
+
+    /**
+     * Reads a set written by writeUUIDSet
+     *
+     * @return mutable set of UUIDs
+     * @throws IOException if the values could not be read
+     */
+    public Set<UUID> readUUIDSet() throws IOException {
+        int size = readSize();
+        Set<UUID> values = new HashSet<>(getCapacity(size));
+
+        for (int i = 0; i < size; i++) {
+            values.add(readUUID());
+        }
+
+        return values;
+    }
+
+    /**
+     * Reads a set written by writeUUIDSet into a set that stores the IDs of the UUIDs, for large sets of users
+     *
+     * @return mutable set of UUIDs
+     * @throws IOException if the values could not be read
+     */
+    public UUIDSet readCompactUUIDSet() throws IOException {
+        int size = readSize();
+        List<UUID> values = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            values.add(readUUID());
+        }
+
+        return new UUIDSet(values);
+    }
+
+    /**
+     * Reads a set written by writeUUIDSet, keeping the order the UUIDs were written in
+     *
+     * @return mutable set of UUIDs in the order they were written
+     * @throws IOException if the values could not be read
+     */
+    public Set<UUID> readOrderedUUIDSet() throws IOException {
+        int size = readSize();
+        Set<UUID> values = new LinkedHashSet<>(getCapacity(size));
+
+        for (int i = 0; i < size; i++) {
+            values.add(readUUID());
+        }
+
+        return values;
+    }
+
+    /**
+     * Reads a map written by writeUUIDSetMap
+     *
+     * @return mutable map from UUID to a mutable set of UUIDs
+     * @throws IOException if the values could not be read
+     */
+    public Map<UUID, Set<UUID>> readUUIDSetMap() throws IOException {
+        int size = readSize();
+        Map<UUID, Set<UUID>> values = new HashMap<>(getCapacity(size));
+
+        for (int i = 0; i < size; i++) {
+            UUID key = readUUID();
+            values.put(key, readUUIDSet());
+        }
+
+        return values;
+    }
+
+    /**
+     * Reads a collection written by writeCollection
+     *
+     * @param codec codec for the elements
+     * @param <E>   type of the elements
+     * @return mutable list of the elements, in the order they were written
+     * @throws IOException if the values could not be read
+     */
+    public <E> List<E> readList(Codec<E> codec) throws IOException {
+        int size = readSize();
+        List<E> values = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            values.add(codec.read(this));
+        }
+
+        return values;
+    }
+
+    /**
+     * Reads a map written by writeUUIDMap
+     *
+     * @param codec codec for the values
+     * @param <E>   type of the values
+     * @return mutable map from UUID to value
+     * @throws IOException if the values could not be read
+     */
+    public <E> Map<UUID, E> readUUIDMap(Codec<E> codec) throws IOException {
+        int size = readSize();
+        Map<UUID, E> values = new HashMap<>(getCapacity(size));
+
+        for (int i = 0; i < size; i++) {
+            UUID key = readUUID();
+            values.put(key, codec.read(this));
+        }
+
+        return values;
+    }
+
+    private int readSize() throws IOException {
+        int size = readVarInt();
+
+        if (size < 0) {
+            throw new IOException(String.format("Invalid collection size %d", size));
+        }
+
+        return size;
+    }
+
+    /**
+     * Gets the initial capacity of a hash based collection that holds size elements without being resized
+     *
+     * @param size number of elements
+     * @return initial capacity
+     */
+    private static int getCapacity(int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+}
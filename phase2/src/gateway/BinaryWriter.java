@@ -0,0 +1,229 @@
+package gateway;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Writes primitive values, UUIDs, strings, dates and collections in the binary format read by BinaryReader.
+ * <p>
+ * Lengths and other small counts are written as variable length integers, and dates as epoch seconds (UTC) followed by
+ * the nanoseconds. The first time a UUID is written it takes two longs; after that it is written as its index in the
+ * order UUIDs were first seen, which is usually 1 to 3 bytes since the same users and events are referred to many times.
+ */
+public class BinaryWriter {
+    private final DataOutputStream out;
+
+    // Index of every UUID written so far, in the order they were first written
+    private final Map<UUID, Integer> uuidIndexes = new HashMap<>();
+
+    /**
+     * Creates a writer. The stream should be buffered, since values are written a few bytes at a time.
+     *
+     * @param out stream to write to
+     */
+    public BinaryWriter(OutputStream out) {
+        this.out = new DataOutputStream(out);
+    }
+
+    /**
+     * Writes an integer in 4 bytes
+     *
+     * @param value integer to write
+     * @throws IOException if the value could not be written
+     */
+    public void writeInt(int value) throws IOException {
+        out.writeInt(value);
+    }
+
+    /**
+     * Writes a long in 8 bytes
+     *
+     * @param value long to write
+     * @throws IOException if the value could not be written
+     */
+    public void writeLong(long value) throws IOException {
+        out.writeLong(value);
+    }
+
+    /**
+     * Writes a boolean in 1 byte
+     *
+     * @param value boolean to write
+     * @throws IOException if the value could not be written
+     */
+    public void writeBoolean(boolean value) throws IOException {
+        out.writeBoolean(value);
+    }
+
+    /**
+     * Writes a non-negative integer in 1 to 5 bytes, 7 bits at a time
+     *
+     * @param value integer to write
+     * @throws IOException if the value could not be written
+     */
+    public void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        out.writeByte(value);
+    }
+
+    /**
+     * Writes a long in 1 to 10 bytes. Small negative values are zigzag encoded so that they stay small.
+     *
+     * @param value long to write
+     * @throws IOException if the value could not be written
+     */
+    public void writeVarLong(long value) throws IOException {
+        long zigzag = (value << 1) ^ (value >> 63);
+
+        while ((zigzag & ~0x7FL) != 0) {
+            out.writeByte((int) (zigzag & 0x7F) | 0x80);
+            zigzag >>>= 7;
+        }
+
+        out.writeByte((int) zigzag);
+    }
+
+    /**
+     * Writes a string as its length followed by its UTF-8 bytes. Unlike DataOutput.writeUTF, strings are not limited
+     * to 64KB.
+     *
+     * @param value string to write, may be null
+     * @throws IOException if the value could not be written
+     */
+    public void writeString(String value) throws IOException {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length + 1);
+        out.write(bytes);
+    }
+
+    /**
+     * Writes a UUID as two longs the first time it is written, and as a reference to the first time afterwards
+     *
+     * @param value UUID to write
+     * @throws IOException if the value could not be written
+     */
+    public void writeUUID(UUID value) throws IOException {
+        Integer index = uuidIndexes.get(value);
+
+        if (index != null) {
+            writeVarInt(index + 1);
+            return;
+        }
+
+        uuidIndexes.put(value, uuidIndexes.size());
+
+        writeVarInt(0);
+        out.writeLong(value.getMostSignificantBits());
+        out.writeLong(value.getLeastSignificantBits());
+    }
+
+    /**
+     * Writes a UUID that may be null
+     *
+     * @param value UUID to write, may be null
+     * @throws IOException if the value could not be written
+     */
+    public void writeNullableUUID(UUID value) throws IOException {
+        out.writeBoolean(value != null);
+
+        if (value != null) {
+            writeUUID(value);
+        }
+    }
+
+    /**
+     * Writes a date as epoch seconds (UTC) followed by the nanoseconds
+     *
+     * @param value date to write
+     * @throws IOException if the value could not be written
+     */
+    public void writeDateTime(LocalDateTime value) throws IOException {
+        writeVarLong(value.toEpochSecond(ZoneOffset.UTC));
+        writeVarInt(value.getNano());
+    }
+
+    /**
+     * Writes a set of UUIDs
+     *
+     * @param values set to write
+     * @throws IOException if the values could not be written
+     */
+    public void writeUUIDSet(Set<UUID> values) throws IOException {
+        writeVarInt(values.size());
+
+        for (UUID value : values) {
+            writeUUID(value);
+        }
+    }
+
+    /**
+     * Writes a map from UUID to a set of UUIDs
+     *
+     * @param values map to write
+     * @throws IOException if the values could not be written
+     */
+    public void writeUUIDSetMap(Map<UUID, Set<UUID>> values) throws IOException {
+        writeVarInt(values.size());
+
+        for (Map.Entry<UUID, Set<UUID>> entry : values.entrySet()) {
+            writeUUID(entry.getKey());
+            writeUUIDSet(entry.getValue());
+        }
+    }
+
+    /**
+     * Writes every element of a collection with a codec
+     *
+     * @param values collection to write
+     * @param codec  codec for the elements
+     * @param <E>    type of the elements
+     * @throws IOException if the values could not be written
+     */
+    public <E> void writeCollection(Collection<E> values, Codec<E> codec) throws IOException {
+        writeVarInt(values.size());
+
+        for (E value : values) {
+            codec.write(this, value);
+        }
+    }
+
+    /**
+     * Writes a map keyed by UUID, writing the values with a codec
+     *
+     * @param values map to write
+     * @param codec  codec for the values
+     * @param <E>    type of the values
+     * @throws IOException if the values could not be written
+     */
+    public <E> void writeUUIDMap(Map<UUID, E> values, Codec<E> codec) throws IOException {
+        writeVarInt(values.size());
+
+        for (Map.Entry<UUID, E> entry : values.entrySet()) {
+            writeUUID(entry.getKey());
+            codec.write(this, entry.getValue());
+        }
+    }
+
+    /**
+     * Flushes the underlying stream
+     *
+     * @throws IOException if the stream could not be flushed
+     */
+    public void flush() throws IOException {
+        out.flush();
+    }
+}
@@ -0,0 +1,85 @@
+package gateway;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Compacts a journal into a new set of snapshots.
+ * <p>
+ * The snapshots are first written to temporary files. Once all of them are complete, a marker file is created, the
+ * temporary files replace the old snapshots and the journal is cleared. If the program stops part way through, recover()
+ * either finishes the checkpoint (if the marker exists) or throws away the incomplete temporary files, so that the
+ * snapshots and the journal always agree with each other.
+ */
+public class Checkpoint {
+    private final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    private final Path markerPath;
+    private final Journal journal;
+    private final List<Serializer<?>> serializers;
+
+    /**
+     * Creates a checkpoint for a journal and the serializers of the objects it operates on
+     *
+     * @param markerFileName name of the file used to mark a checkpoint as complete
+     * @param journal        journal to clear once the snapshots are saved
+     * @param serializers    serializers for every snapshot
+     */
+    public Checkpoint(String markerFileName, Journal journal, Serializer<?>... serializers) {
+        this.markerPath = Paths.get(markerFileName);
+        this.journal = journal;
+        this.serializers = Arrays.asList(serializers);
+    }
+
+    /**
+     * Completes or rolls back a checkpoint that was interrupted. Must be called before the snapshots are loaded.
+     */
+    public synchronized void recover() {
+        try {
+            if (Files.exists(markerPath)) {
+                commit();
+            } else {
+                for (Serializer<?> serializer : serializers) {
+                    serializer.discardTemporary();
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Unable to recover checkpoint", e);
+        }
+    }
+
+    /**
+     * Saves a snapshot of every object and clears the journal
+     *
+     * @param snapshots objects to save, in the same order as the serializers
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized void run(Object... snapshots) {
+        try {
+            for (int i = 0; i < serializers.size(); i++) {
+                ((Serializer<Object>) serializers.get(i)).saveTemporary(snapshots[i]);
+            }
+
+            Files.createFile(markerPath);
+            commit();
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Unable to save checkpoint", e);
+            recover();
+        }
+    }
+
+    private void commit() throws IOException {
+        for (Serializer<?> serializer : serializers) {
+            serializer.commitTemporary();
+        }
+
+        journal.clear();
+        Files.delete(markerPath);
+    }
+}
@@ -0,0 +1,28 @@
+package gateway;
+
+import java.io.IOException;
+
+/**
+ * Converts an object to and from the binary format used by Serializer
+ *
+ * @param <T> type of object being encoded
+ */
+public interface Codec<T> {
+    /**
+     * Writes an object
+     *
+     * @param out   writer to write to
+     * @param value object to write
+     * @throws IOException if the object could not be written
+     */
+    void write(BinaryWriter out, T value) throws IOException;
+
+    /**
+     * Reads an object written by write()
+     *
+     * @param in reader to read from
+     * @return object that was read
+     * @throws IOException if the object could not be read
+     */
+    T read(BinaryReader in) throws IOException;
+}
@@ -3,38 +3,39 @@ package gateway;
 import gateway.exceptions.PrinterException;
 
 import java.awt.*;
-import java.io.*;
-import java.util.Scanner;
+import java.io.File;
+import java.io.IOException;
 
 /**
- * Class to trigger the system print dialog on a string
+ * Class to trigger the system print dialog on a string. Exported files are opened with the app the desktop uses for
+ * their type.
  */
-public class DocumentPrinter implements IDocumentPrinter {
-
+public class DocumentPrinter extends FilePrinter {
     /**
-     * Performs the print operation
+     * Opens the printed document in the browser, which shows the print dialog
      *
-     * @param document document to print as a string
-     * @param fileName path to save the document temporarily
+     * @param file file the document was written to
      * @throws IOException
      */
     @Override
-    public void print(String document, String fileName) throws IOException {
-
-        String htmlHeader = (new Scanner(new FileReader("header.html"))).useDelimiter("\\Z").next();
-        String htmlFooter = (new Scanner(new FileReader("footer.html"))).useDelimiter("\\Z").next();
-
-        fileName = fileName.concat(".html");
-
-        BufferedWriter table = new BufferedWriter(new FileWriter(fileName));
-        table.write(htmlHeader);
-        table.write(document);
-        table.write(htmlFooter);
-        table.flush();
-        table.close();
-
+    protected void printed(File file) throws IOException {
         if (Desktop.isDesktopSupported() && Desktop.getDesktop().isSupported(Desktop.Action.BROWSE)) {
-            Desktop.getDesktop().browse(new File(fileName).toURI());
+            Desktop.getDesktop().browse(file.toURI());
+        } else {
+            throw new PrinterException();
+        }
+    }
+
+    /**
+     * Opens the exported file
+     *
+     * @param file file that was written
+     * @throws IOException
+     */
+    @Override
+    protected void exported(File file) throws IOException {
+        if (Desktop.isDesktopSupported() && Desktop.getDesktop().isSupported(Desktop.Action.OPEN)) {
+            Desktop.getDesktop().open(file);
         } else {
             throw new PrinterException();
         }
@@ -0,0 +1,119 @@
+package gateway;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Writes documents to files without showing them, so that documents can be made on machines without a desktop, such
+ * as from a nightly job
+ */
+public class FilePrinter implements IDocumentPrinter {
+    private final File directory;
+
+    // Read the first time a document is printed, since the templates don't change while the program runs
+    private String htmlHeader;
+    private String htmlFooter;
+
+    /**
+     * Creates a printer that writes to the working directory
+     */
+    public FilePrinter() {
+        this(".");
+    }
+
+    /**
+     * Creates a printer that writes to a directory, which is created if it doesn't exist
+     *
+     * @param directory directory to write to
+     */
+    public FilePrinter(String directory) {
+        this.directory = new File(directory);
+    }
+
+    /**
+     * Writes a document as an HTML page
+     *
+     * @param document document to print as a string
+     * @param fileName name of the page, without its extension
+     * @throws IOException
+     */
+    @Override
+    public void print(String document, String fileName) throws IOException {
+        print(writer -> writer.write(document), fileName);
+    }
+
+    /**
+     * Writes a document as an HTML page, writing the content straight to the file
+     *
+     * @param content  content of the document
+     * @param fileName name of the page, without its extension
+     * @throws IOException
+     */
+    @Override
+    public void print(IDocumentContent content, String fileName) throws IOException {
+        loadTemplates();
+
+        File file = write(writer -> {
+            writer.write(htmlHeader);
+            content.writeTo(writer);
+            writer.write(htmlFooter);
+        }, fileName.concat(".html"));
+
+        printed(file);
+    }
+
+    /**
+     * Writes a data file, writing the content straight to the file
+     *
+     * @param content  content of the file
+     * @param fileName name of the file, including its extension
+     * @throws IOException
+     */
+    @Override
+    public void export(IDocumentContent content, String fileName) throws IOException {
+        exported(write(content, fileName));
+    }
+
+    /**
+     * Called after a document was printed to a file. Does nothing, since files are all that is needed without a
+     * desktop.
+     *
+     * @param file file the document was written to
+     * @throws IOException
+     */
+    protected void printed(File file) throws IOException {
+    }
+
+    /**
+     * Called after a data file was written. Does nothing, since files are all that is needed without a desktop.
+     *
+     * @param file file that was written
+     * @throws IOException
+     */
+    protected void exported(File file) throws IOException {
+    }
+
+    private File write(IDocumentContent content, String fileName) throws IOException {
+        Files.createDirectories(directory.toPath());
+
+        File file = new File(directory, fileName);
+
+        // The header declares the document as UTF-8, which the table borders need. Exports use the same encoding.
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            content.writeTo(writer);
+        }
+
+        return file;
+    }
+
+    private synchronized void loadTemplates() throws IOException {
+        if (htmlHeader == null) {
+            htmlHeader = Files.readString(Paths.get("header.html"));
+            htmlFooter = Files.readString(Paths.get("footer.html"));
+        }
+    }
+}
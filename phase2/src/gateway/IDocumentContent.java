@@ -0,0 +1,18 @@
+package gateway;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Content of a document that is written straight to its destination, so that large documents never have to be held
+ * in memory
+ */
+public interface IDocumentContent {
+    /**
+     * Writes the content
+     *
+     * @param writer writer to write the content to
+     * @throws IOException if the writer fails
+     */
+    void writeTo(Writer writer) throws IOException;
+}
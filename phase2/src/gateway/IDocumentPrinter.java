@@ -7,4 +7,23 @@ import java.io.IOException;
  */
 public interface IDocumentPrinter {
     void print(String document, String fileName) throws IOException;
+
+    /**
+     * Prints a document whose content is written as it is produced
+     *
+     * @param content  content of the document
+     * @param fileName path to save the document temporarily
+     * @throws IOException if the document could not be written
+     */
+    void print(IDocumentContent content, String fileName) throws IOException;
+
+    /**
+     * Saves a data file, such as a spreadsheet or calendar, whose content is written as it is produced. Unlike printed
+     * documents, nothing is added around the content.
+     *
+     * @param content  content of the file
+     * @param fileName name of the file, including its extension
+     * @throws IOException if the file could not be written
+     */
+    void export(IDocumentContent content, String fileName) throws IOException;
 }
@@ -0,0 +1,22 @@
+package gateway;
+
+/**
+ * Interface for recording operations that mutate the state of the system
+ */
+public interface IJournal {
+    /**
+     * Journal that discards every operation. Used when no persistence is required (e.g. tests and scripts)
+     */
+    IJournal NONE = (target, operation, result, arguments) -> {
+    };
+
+    /**
+     * Records an operation that completed successfully
+     *
+     * @param target    name of the object the operation was executed on
+     * @param operation name of the method that was executed
+     * @param result    value returned by the operation, or null if none
+     * @param arguments arguments the operation was executed with
+     */
+    void record(String target, String operation, Object result, Object... arguments);
+}
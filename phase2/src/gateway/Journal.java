@@ -0,0 +1,279 @@
+package gateway;
+
+import gateway.exception.JournalException;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Append-only log of the operations executed since the last snapshot. Each operation is written to disk as it happens,
+ * so a crash only loses the operation in progress instead of the whole session. The journal is replayed on top of the
+ * last snapshot on startup.
+ * <p>
+ * Once the journal holds enough entries, the compaction task is triggered so that the state can be written to a new
+ * snapshot and the journal can be cleared.
+ * <p>
+ * If an entry can't be written, the part that was written is cut off the end of the file, so that later entries can
+ * still be read, and the caller gets a JournalException. The operation has already been carried out at that point, so
+ * it will be lost if the program crashes before the next snapshot. If the file can't be cut either, no more entries
+ * are accepted until the next snapshot clears the journal.
+ */
+public class Journal implements IJournal {
+    private final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    private final String fileName;
+    private final int compactionThreshold;
+
+    private Runnable compaction = () -> {
+    };
+
+    private FileOutputStream fileOutputStream;
+    private DataOutputStream dataOutputStream;
+
+    // Number of entries written since the journal was last cleared
+    private int size;
+
+    // Length of the file up to the end of the last complete entry, or -1 until the file has been read. New entries are
+    // written from here, so that they don't follow an entry that was only partly written.
+    private long validLength = -1;
+
+    // Set if a partly written entry couldn't be cut off the end of the file
+    private boolean broken;
+
+    // Operations executed while replaying must not be recorded a second time
+    private boolean replaying;
+
+    /**
+     * Creates a journal that writes to a file
+     *
+     * @param fileName            name of the journal file
+     * @param compactionThreshold number of entries after which the compaction task is triggered
+     */
+    public Journal(String fileName, int compactionThreshold) {
+        this.fileName = fileName;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Sets the task used to compact the journal. The task is expected to save a snapshot and then call clear().
+     *
+     * @param compaction compaction task
+     */
+    public void setCompaction(Runnable compaction) {
+        this.compaction = compaction;
+    }
+
+    /**
+     * Gets the number of entries written since the journal was last cleared
+     *
+     * @return number of entries
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the journal file has anything in it. Can be called before replay() to find out if there is anything to
+     * replay without reading the entries.
+     *
+     * @return true iff the journal file is not empty
+     */
+    public boolean hasEntries() {
+        return new File(fileName).length() > 0;
+    }
+
+    /**
+     * Appends an operation to the journal and forces it to disk. Throws JournalException if the operation could not be
+     * written.
+     *
+     * @param target    name of the object the operation was executed on
+     * @param operation name of the method that was executed
+     * @param result    value returned by the operation, or null if none
+     * @param arguments arguments the operation was executed with
+     */
+    @Override
+    public synchronized void record(String target, String operation, Object result, Object... arguments) {
+        if (replaying) {
+            return;
+        }
+
+        String name = String.format("%s.%s", target, operation);
+
+        if (broken) {
+            throw new JournalException(name, null);
+        }
+
+        try {
+            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+            ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream);
+            objectOutputStream.writeObject(new JournalEntry(target, operation, result, arguments));
+            objectOutputStream.close();
+
+            open();
+
+            // Entries are length prefixed so that a partially written entry can be detected on replay
+            dataOutputStream.writeInt(byteArrayOutputStream.size());
+            byteArrayOutputStream.writeTo(dataOutputStream);
+            dataOutputStream.flush();
+            fileOutputStream.getFD().sync();
+
+            validLength += Integer.BYTES + byteArrayOutputStream.size();
+            size++;
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, String.format("Unable to journal %s", name), e);
+            discardPartialEntry();
+
+            throw new JournalException(name, e);
+        }
+
+        if (size >= compactionThreshold) {
+            compaction.run();
+        }
+    }
+
+    /**
+     * Opens the journal file for appending if it isn't open yet. Anything after the last complete entry is cut off
+     * first, since entries written after it could not be read.
+     *
+     * @throws IOException if the file could not be opened
+     */
+    private void open() throws IOException {
+        if (dataOutputStream != null) {
+            return;
+        }
+
+        if (validLength < 0) {
+            read();
+        }
+
+        truncate();
+
+        fileOutputStream = new FileOutputStream(fileName, true);
+        dataOutputStream = new DataOutputStream(new BufferedOutputStream(fileOutputStream));
+    }
+
+    private void truncate() throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(fileName, "rw")) {
+            if (file.length() > validLength) {
+                file.setLength(validLength);
+            }
+        }
+    }
+
+    /**
+     * Cuts a partly written entry off the end of the file after a failed write. The file is opened again by the next
+     * write.
+     */
+    private void discardPartialEntry() {
+        try {
+            // The buffered stream isn't closed, since that would write out the rest of the entry
+            if (fileOutputStream != null) {
+                fileOutputStream.close();
+            }
+        } catch (IOException e) {
+            // The file is cut below either way
+        }
+
+        fileOutputStream = null;
+        dataOutputStream = null;
+
+        try {
+            if (validLength >= 0) {
+                truncate();
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Unable to remove a partly written entry from the journal", e);
+            broken = true;
+        }
+    }
+
+    /**
+     * Reads every complete entry from the journal file. A partially written entry at the end of the file (from a crash
+     * during a write) is ignored.
+     *
+     * @return list of journal entries in the order they were written
+     */
+    private List<JournalEntry> read() {
+        List<JournalEntry> entries = new ArrayList<>();
+        long length = 0;
+
+        try (DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(fileName)))) {
+            while (true) {
+                byte[] bytes = new byte[dataInputStream.readInt()];
+                dataInputStream.readFully(bytes);
+
+                ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(bytes));
+                entries.add((JournalEntry) objectInputStream.readObject());
+
+                length += Integer.BYTES + bytes.length;
+            }
+        } catch (FileNotFoundException | EOFException e) {
+            // Reached the end of the journal
+        } catch (IOException | ClassNotFoundException e) {
+            LOGGER.log(Level.SEVERE, "Journal is corrupted, ignoring the remaining entries", e);
+        }
+
+        validLength = length;
+
+        return entries;
+    }
+
+    /**
+     * Executes every entry in the journal again. This should be run once on startup, after the snapshot is loaded and
+     * before any new operations are recorded.
+     * <p>
+     * Replayed creates assign new UUIDs, so users, conferences, events, rooms and conversations created since the last
+     * snapshot get a different UUID after recovering from a crash. Anything that kept the old UUIDs no longer matches,
+     * such as the file names and iCalendar UIDs of exported schedules (so importing them again duplicates entries) and
+     * UUIDs held by server clients. The caller should compact the journal afterwards, so that the new UUIDs are saved.
+     *
+     * @param targets map of target names to the objects to execute operations on
+     * @return number of entries replayed
+     */
+    public synchronized int replay(Map<String, Object> targets) {
+        List<JournalEntry> entries = read();
+        Map<UUID, UUID> remap = new HashMap<>();
+
+        replaying = true;
+
+        try {
+            for (JournalEntry entry : entries) {
+                try {
+                    entry.replay(targets, remap);
+                } catch (ReflectiveOperationException e) {
+                    LOGGER.log(Level.WARNING, String.format("Unable to replay %s", entry), e);
+                }
+            }
+        } finally {
+            replaying = false;
+        }
+
+        size = entries.size();
+
+        return entries.size();
+    }
+
+    /**
+     * Deletes every entry in the journal. Should only be called once the state has been saved in a snapshot.
+     *
+     * @throws IOException if the journal file could not be truncated
+     */
+    public synchronized void clear() throws IOException {
+        if (dataOutputStream != null) {
+            dataOutputStream.close();
+            dataOutputStream = null;
+            fileOutputStream = null;
+        }
+
+        new FileOutputStream(fileName).close();
+        size = 0;
+        validLength = 0;
+        broken = false;
+    }
+}
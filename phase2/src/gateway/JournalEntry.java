@@ -0,0 +1,107 @@
+package gateway;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A single operation stored in the journal
+ */
+class JournalEntry implements Serializable {
+    // The value computed for the class before it was pinned, so that journals written before then can still be read
+    private static final long serialVersionUID = 9056427551696926489L;
+
+    private final String target;
+    private final String operation;
+    private final Object result;
+    private final Object[] arguments;
+
+    /**
+     * Creates a journal entry. Sets are copied since the caller may pass views that are not serializable.
+     *
+     * @param target    name of the object the operation was executed on
+     * @param operation name of the method that was executed
+     * @param result    value returned by the operation, or null if none
+     * @param arguments arguments the operation was executed with
+     */
+    JournalEntry(String target, String operation, Object result, Object[] arguments) {
+        this.target = target;
+        this.operation = operation;
+        this.result = result;
+        this.arguments = new Object[arguments.length];
+
+        for (int i = 0; i < arguments.length; i++) {
+            this.arguments[i] = arguments[i] instanceof Set ? new HashSet<>((Set<?>) arguments[i]) : arguments[i];
+        }
+    }
+
+    /**
+     * Executes this operation again.
+     * <p>
+     * Entities are assigned random UUIDs when they are created, so the UUID returned by a replayed operation will not
+     * match the one that was recorded. The remap table translates recorded UUIDs into the UUIDs of the replayed
+     * entities so that later entries refer to the right objects.
+     *
+     * @param targets map of target names to the objects to execute operations on
+     * @param remap   map of recorded UUIDs to their replayed counterparts
+     * @throws ReflectiveOperationException if the operation could not be executed
+     */
+    void replay(Map<String, Object> targets, Map<UUID, UUID> remap) throws ReflectiveOperationException {
+        Object targetObject = targets.get(target);
+
+        if (targetObject == null) {
+            throw new ClassNotFoundException(target);
+        }
+
+        Object[] replayArguments = new Object[arguments.length];
+
+        for (int i = 0; i < arguments.length; i++) {
+            replayArguments[i] = translate(arguments[i], remap);
+        }
+
+        Object replayResult = findMethod(targetObject).invoke(targetObject, replayArguments);
+
+        if (result instanceof UUID && replayResult instanceof UUID) {
+            remap.put((UUID) result, (UUID) replayResult);
+        }
+    }
+
+    private Method findMethod(Object targetObject) throws NoSuchMethodException {
+        for (Method method : targetObject.getClass().getMethods()) {
+            if (method.getName().equals(operation) && method.getParameterCount() == arguments.length) {
+                return method;
+            }
+        }
+
+        throw new NoSuchMethodException(String.format("%s.%s", target, operation));
+    }
+
+    private Object translate(Object argument, Map<UUID, UUID> remap) {
+        if (argument instanceof UUID) {
+            return remap.getOrDefault(argument, (UUID) argument);
+        } else if (argument instanceof Set) {
+            Set<Object> translated = new HashSet<>();
+
+            for (Object element : (Set<?>) argument) {
+                translated.add(translate(element, remap));
+            }
+
+            return translated;
+        }
+
+        return argument;
+    }
+
+    /**
+     * Gets the string representation of this entry
+     *
+     * @return
+     */
+    @Override
+    public String toString() {
+        return String.format("%s.%s", target, operation);
+    }
+}
@@ -1,22 +1,62 @@
 package gateway;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
- * Serializes an object and writes it to a file. Loads the file into memory if possible, or initialize new object.
+ * Encodes an object with a codec and writes it to a file. Loads the file into memory if possible, or initialize new
+ * object.
+ * <p>
+ * Files start with a magic number and the schema version they were written with. Files saved by older versions of the
+ * program with Java serialization can still be read once: if the file does not exist yet but the legacy file does, the
+ * legacy file is deserialized and immediately saved in the new format.
  *
  * @param <T> type of object being serialized
  */
 public class Serializer<T> {
-    private String fileName;
+    private static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    // "C207" in ASCII
+    private static final int MAGIC = 0x43323037;
+
+    /**
+     * Schema version written to new files. Increment it when a codec changes its layout, and have the codec check
+     * BinaryReader.getVersion() to keep reading the older layout.
+     */
+    public static final int VERSION = 3;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final String fileName;
+    private final String legacyFileName;
+    private final Codec<T> codec;
 
     /**
      * Creates a serializer that serializes an object to a file name
      *
      * @param fileName name of serialized file
+     * @param codec    codec used to encode the object
      */
-    public Serializer(String fileName) {
+    public Serializer(String fileName, Codec<T> codec) {
+        this(fileName, codec, null);
+    }
+
+    /**
+     * Creates a serializer that serializes an object to a file name, migrating a file written with Java serialization
+     *
+     * @param fileName       name of serialized file
+     * @param codec          codec used to encode the object
+     * @param legacyFileName name of the file written by older versions with Java serialization, or null if none
+     */
+    public Serializer(String fileName, Codec<T> codec, String legacyFileName) {
         this.fileName = fileName;
+        this.codec = codec;
+        this.legacyFileName = legacyFileName;
     }
 
     /**
@@ -26,14 +66,79 @@ public class Serializer<T> {
      * @return object deserialized from file, or fallback if applicable
      */
     public T load(T fallback) {
-        try {
-            InputStream fileInputStream = new FileInputStream(fileName);
-            ObjectInputStream objectInputStream = new ObjectInputStream(fileInputStream);
+        if (Files.exists(Paths.get(fileName))) {
+            try {
+                return read();
+            } catch (IOException e) {
+                LOGGER.log(Level.SEVERE, String.format("Unable to read %s", fileName), e);
+                return fallback;
+            }
+        }
+
+        if (legacyFileName != null && Files.exists(Paths.get(legacyFileName))) {
+            return migrate(fallback);
+        }
+
+        return fallback;
+    }
+
+    private T read() throws IOException {
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(Paths.get(fileName)), BUFFER_SIZE)) {
+            DataInputStream dataInputStream = new DataInputStream(inputStream);
+
+            if (dataInputStream.readInt() != MAGIC) {
+                throw new IOException("Not a serialized file");
+            }
+
+            int version = dataInputStream.readInt();
+
+            if (version > VERSION) {
+                throw new IOException(String.format("File was written with a newer schema version (%d)", version));
+            }
+
+            return codec.read(new BinaryReader(inputStream, version));
+        }
+    }
+
+    private void write(T object, Path path) throws IOException {
+        try (FileOutputStream fileOutputStream = new FileOutputStream(path.toFile())) {
+            BinaryWriter binaryWriter = new BinaryWriter(new BufferedOutputStream(fileOutputStream, BUFFER_SIZE));
+
+            binaryWriter.writeInt(MAGIC);
+            binaryWriter.writeInt(VERSION);
+            codec.write(binaryWriter, object);
+            binaryWriter.flush();
+            fileOutputStream.getFD().sync();
+        }
+    }
+
+    /**
+     * Reads the legacy file with Java serialization and saves it in the new format
+     *
+     * @param fallback object to return if unable to read the legacy file
+     * @return object deserialized from the legacy file, or fallback if applicable
+     */
+    @SuppressWarnings("unchecked")
+    private T migrate(T fallback) {
+        T object;
 
-            return (T) objectInputStream.readObject();
+        try (ObjectInputStream objectInputStream = new ObjectInputStream(new BufferedInputStream(new FileInputStream(legacyFileName), BUFFER_SIZE))) {
+            object = (T) objectInputStream.readObject();
         } catch (IOException | ClassNotFoundException e) {
+            LOGGER.log(Level.SEVERE, String.format("Unable to read %s", legacyFileName), e);
             return fallback;
         }
+
+        // The legacy file is left in place, but is ignored from now on since the new file exists
+        try {
+            saveTemporary(object);
+            commitTemporary();
+            LOGGER.log(Level.INFO, String.format("Migrated %s to %s", legacyFileName, fileName));
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, String.format("Unable to migrate %s", legacyFileName), e);
+        }
+
+        return object;
     }
 
     /**
@@ -43,14 +148,44 @@ public class Serializer<T> {
      */
     public void save(T object) {
         try {
-            OutputStream fileOutputStream = new FileOutputStream(fileName);
-            ObjectOutputStream objectOutputStream = new ObjectOutputStream(fileOutputStream);
-
-            objectOutputStream.writeObject(object);
-            fileOutputStream.close();
-
+            write(object, Paths.get(fileName));
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
+
+    private Path getTemporaryPath() {
+        return Paths.get(fileName + ".tmp");
+    }
+
+    /**
+     * Writes the object to a temporary file next to the serialized file. The serialized file is left untouched until
+     * commitTemporary() is called.
+     *
+     * @param object object to serialize
+     * @throws IOException if the object could not be written
+     */
+    public void saveTemporary(T object) throws IOException {
+        write(object, getTemporaryPath());
+    }
+
+    /**
+     * Replaces the serialized file with the temporary file, if there is one
+     *
+     * @throws IOException if the file could not be replaced
+     */
+    public void commitTemporary() throws IOException {
+        if (Files.exists(getTemporaryPath())) {
+            Files.move(getTemporaryPath(), Paths.get(fileName), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    /**
+     * Deletes the temporary file, if there is one
+     *
+     * @throws IOException if the file could not be deleted
+     */
+    public void discardTemporary() throws IOException {
+        Files.deleteIfExists(getTemporaryPath());
+    }
 }
@@ -0,0 +1,10 @@
+package gateway.exception;
+
+/**
+ * raises an error if an operation could not be written to the journal
+ */
+public class JournalException extends RuntimeException {
+    public JournalException(String operation, Throwable cause) {
+        super(String.format("Unable to journal %s", operation), cause);
+    }
+}
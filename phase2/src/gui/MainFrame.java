@@ -1,5 +1,7 @@
 package gui;
 
+import gui.util.BackgroundTaskExecutor;
+import gui.util.EventDispatchExecutor;
 import gui.util.enums.PanelFactoryOptions;
 import gui.util.factories.DialogFactory;
 import gui.util.factories.PanelFactory;
@@ -9,16 +11,27 @@ import gui.util.interfaces.IPanel;
 import gui.util.interfaces.IPanelFactory;
 import util.ControllerBundle;
 
+import user.UserController;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Stores the primary JFrame and the necessary tools to navigate between pages
  */
 public class MainFrame implements IFrame {
-    private ControllerBundle controllerBundle;
+    private final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    private final String title = "Conference Management System";
+
+    // Only holds the user controller until every store is loaded
+    private ControllerBundle partialControllerBundle;
+    private CompletableFuture<ControllerBundle> controllerBundleFuture;
 
     private Runnable shutdown;
     private JFrame frame;
@@ -26,6 +39,11 @@ public class MainFrame implements IFrame {
     private IPanelFactory panelFactory;
     private IDialogFactory dialogFactory;
 
+    private BackgroundTaskExecutor taskExecutor;
+
+    // Set once the window is closed, while the stores are being saved
+    private boolean closing;
+
     private final int initialWidth = 1100;
     private final int initialHeight = 700;
 
@@ -36,21 +54,49 @@ public class MainFrame implements IFrame {
      * @param shutdown         runnable that is executed when JFrame is shut down
      */
     public MainFrame(ControllerBundle controllerBundle, Runnable shutdown) {
-        this.controllerBundle = controllerBundle;
+        this(controllerBundle.getUserController(), CompletableFuture.completedFuture(controllerBundle), shutdown);
+    }
+
+    /**
+     * Constructs the main UI system before every store is loaded. Only the login and register pages are available until
+     * the controller bundle is complete.
+     *
+     * @param userController         controller used to log in while the other stores are loading
+     * @param controllerBundleFuture completes with all of the controllers once every store is loaded
+     * @param shutdown               runnable that is executed when JFrame is shut down
+     */
+    public MainFrame(UserController userController, CompletableFuture<ControllerBundle> controllerBundleFuture, Runnable shutdown) {
+        this.partialControllerBundle = new ControllerBundle(userController);
+        this.controllerBundleFuture = controllerBundleFuture;
         this.shutdown = shutdown;
 
         panelFactory = new PanelFactory(this);
         dialogFactory = new DialogFactory(this);
+        taskExecutor = new BackgroundTaskExecutor(this);
     }
 
     /**
-     * Gets the controller bundle
+     * Gets the controller bundle. If the stores are still loading, only the user controller is set.
      *
      * @return the controller bundle
      */
     @Override
     public ControllerBundle getControllerBundle() {
-        return controllerBundle;
+        return controllerBundleFuture.getNow(partialControllerBundle);
+    }
+
+    /**
+     * Runs a task on the event dispatch thread once every store is loaded. Runs it right away if they already are.
+     *
+     * @param task task that needs the complete controller bundle
+     */
+    @Override
+    public void runWhenLoaded(Runnable task) {
+        if (controllerBundleFuture.isDone()) {
+            task.run();
+        } else {
+            controllerBundleFuture.thenAccept(controllerBundle -> new EventDispatchExecutor(controllerBundle.getLock()).execute(task));
+        }
     }
 
     /**
@@ -62,7 +108,8 @@ public class MainFrame implements IFrame {
     public void setPanel(IPanel newPanel) {
         frame.setContentPane(newPanel.getPanel());
 
-        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        // The window listener exits once the stores are saved
+        frame.setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
         frame.pack();
         frame.setVisible(true);
     }
@@ -87,6 +134,60 @@ public class MainFrame implements IFrame {
         return frame;
     }
 
+    /**
+     * Gets the executor that runs controller work in the background for this frame
+     *
+     * @return background task executor
+     */
+    @Override
+    public BackgroundTaskExecutor getTaskExecutor() {
+        return taskExecutor;
+    }
+
+    /**
+     * Shows that a background task is running
+     *
+     * @param description what the task does
+     */
+    @Override
+    public void showProgress(String description) {
+        frame.setTitle(String.format("%s - %s...", title, description));
+        frame.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+    }
+
+    /**
+     * Stops showing that a background task is running
+     */
+    @Override
+    public void hideProgress() {
+        frame.setTitle(title);
+        frame.setCursor(Cursor.getDefaultCursor());
+    }
+
+    /**
+     * Saves the stores in the background and exits once they're saved
+     */
+    private void close() {
+        if (closing) {
+            return;
+        }
+
+        closing = true;
+
+        taskExecutor.execute("Saving", () -> {
+            shutdown.run();
+            return null;
+        }, ignored -> exit(), e -> {
+            LOGGER.log(Level.SEVERE, "Unable to save before exiting", e);
+            exit();
+        });
+    }
+
+    private void exit() {
+        frame.dispose();
+        System.exit(0);
+    }
+
     private void setLookAndFeel() {
         String osName = System.getProperty("os.name").toLowerCase();
 
@@ -114,13 +215,13 @@ public class MainFrame implements IFrame {
 
         setLookAndFeel();
 
-        frame = new JFrame("Conference Management System");
+        frame = new JFrame(title);
 
         // Adds listener to run shutdown sequence
         frame.addWindowListener(new WindowAdapter() {
             @Override
             public void windowClosing(WindowEvent e) {
-                shutdown.run();
+                close();
             }
         });
 
@@ -130,8 +231,8 @@ public class MainFrame implements IFrame {
         frame.setMinimumSize(initialDimension);
 
         // Open panel depending on login state
-        if (controllerBundle.getUserController().getCurrentUser() != null) {
-            setPanel(panelFactory.createPanel(PanelFactoryOptions.panelNames.MAIN_MENU));
+        if (partialControllerBundle.getUserController().getCurrentUser() != null) {
+            runWhenLoaded(() -> setPanel(panelFactory.createPanel(PanelFactoryOptions.panelNames.MAIN_MENU)));
         } else {
             setPanel(panelFactory.createPanel(PanelFactoryOptions.panelNames.LOGIN));
         }
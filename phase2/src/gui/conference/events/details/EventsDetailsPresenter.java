@@ -1,7 +1,7 @@
 package gui.conference.events.details;
 
 import convention.exception.FullEventException;
-import gui.conference.tabs.ConferenceTabsConstants;
+import convention.notification.*;
 import gui.conference.util.AbstractConferencePresenter;
 import gui.util.enums.DialogFactoryOptions;
 import gui.util.enums.PanelFactoryOptions;
@@ -19,8 +19,6 @@ class EventsDetailsPresenter extends AbstractConferencePresenter {
 
     private UUID eventUUID;
 
-    private Map<String, Object> initializationArguments;
-
     /**
      * Constructor for this presenter.
      *
@@ -34,17 +32,64 @@ class EventsDetailsPresenter extends AbstractConferencePresenter {
         super(mainFrame, conferenceUUID);
 
         this.eventsGeneralView = eventGeneralView;
-        this.initializationArguments = initializationArguments;
 
         this.eventUUID = defaultEventUUID;
 
         updateUserData();
         updateGeneralData();
         updateButtons();
+
+        // The details are updated in place when the event changes instead of reloading the page. Deleted events are
+        // removed by the events menu.
+        eventBus.subscribe(this, EventChanged.class, (presenter, event) -> presenter.eventChanged(event, event.getEventUUID()));
+        eventBus.subscribe(this, AttendeeRegistered.class, (presenter, event) -> presenter.eventChanged(event, event.getEventUUID()));
+        eventBus.subscribe(this, AttendeeUnregistered.class, (presenter, event) -> presenter.eventChanged(event, event.getEventUUID()));
+        eventBus.subscribe(this, WaitlistChanged.class, (presenter, event) -> presenter.eventChanged(event, event.getEventUUID()));
+        eventBus.subscribe(this, ConferenceUsersChanged.class, (presenter, event) -> presenter.eventChanged(event, presenter.eventUUID));
+        eventBus.subscribe(this, RoomChanged.class, EventsDetailsPresenter::roomChanged);
+    }
+
+    /**
+     * Checks if the page this presenter belongs to was replaced. If it was, the presenter stops listening for changes.
+     *
+     * @return true iff the view is no longer displayed
+     */
+    private boolean isDiscarded() {
+        if (eventsGeneralView.isDisplayed()) {
+            return false;
+        }
+
+        eventBus.unsubscribe(this);
+        return true;
+    }
+
+    /**
+     * Updates every table and button if the event was changed
+     *
+     * @param event            event that was published
+     * @param changedEventUUID UUID of the event that was changed
+     */
+    private void eventChanged(ConferenceDomainEvent event, UUID changedEventUUID) {
+        if (!isDiscarded() && isInConference(event) && eventUUID.equals(changedEventUUID)) {
+            updateUserData();
+            updateGeneralData();
+            updateButtons();
+        }
+    }
+
+    /**
+     * Updates the room location and capacity if the event's room was changed
+     *
+     * @param event event that was published
+     */
+    private void roomChanged(RoomChanged event) {
+        if (!isDiscarded() && isInConference(event) && event.getRoomUUID().equals(withLock(() -> eventController.getEventRoom(conferenceUUID, signedInUserUUID, eventUUID)))) {
+            updateGeneralData();
+        }
     }
 
     private void updateUserData() {
-        if (conferenceController.isOrganizer(conferenceUUID, signedInUserUUID, signedInUserUUID)) {
+        if (withLock(() -> conferenceController.isOrganizer(conferenceUUID, signedInUserUUID, signedInUserUUID))) {
             updateAttendeeTable();
         }
 
@@ -52,36 +97,31 @@ class EventsDetailsPresenter extends AbstractConferencePresenter {
     }
 
     private void updateButtons() {
-        boolean isRegistered = eventController.isRegistered(conferenceUUID, signedInUserUUID, eventUUID);
-        boolean isOrganizer = conferenceController.isOrganizer(conferenceUUID, signedInUserUUID, signedInUserUUID);
+        withLock(() -> {
+            boolean isRegistered = eventController.isRegistered(conferenceUUID, signedInUserUUID, eventUUID);
+            boolean isOnWaitlist = eventController.isOnWaitlist(conferenceUUID, signedInUserUUID, eventUUID);
+            boolean isOrganizer = conferenceController.isOrganizer(conferenceUUID, signedInUserUUID, signedInUserUUID);
 
-        // Speaker for THIS event
-        boolean isSpeaker = eventController.getEventSpeakers(conferenceUUID, signedInUserUUID, eventUUID).contains(signedInUserUUID);
+            // Speaker for THIS event
+            boolean isSpeaker = eventController.getEventSpeakers(conferenceUUID, signedInUserUUID, eventUUID).contains(signedInUserUUID);
 
-        if (isRegistered) {
-            eventsGeneralView.setRegisterButtonText("Unregister");
-        }
-
-        if (!isOrganizer) {
-            eventsGeneralView.enableEditEventButton(false);
-            eventsGeneralView.enableDeleteEventButton(false);
-            eventsGeneralView.enableMessageUserButton(false);
-        }
+            // Every button is set both ways, since this is called again when the event changes
+            eventsGeneralView.setRegisterButtonText(isRegistered ? "Unregister" : isOnWaitlist ? "Leave Waitlist" : "Register");
 
-        if (!isRegistered && !isOrganizer && !isSpeaker) {
-            eventsGeneralView.enableEventConversationButton(false);
-        }
+            eventsGeneralView.enableEditEventButton(isOrganizer);
+            eventsGeneralView.enableDeleteEventButton(isOrganizer);
+            eventsGeneralView.enableMessageUserButton(isOrganizer);
 
-        if (isOrganizer || isSpeaker) {
-            eventsGeneralView.enableRegisterButton(false);
-        }
+            eventsGeneralView.enableEventConversationButton(isRegistered || isOrganizer || isSpeaker);
+            eventsGeneralView.enableRegisterButton(!isOrganizer && !isSpeaker);
+        });
     }
 
     void toggleRegistration() {
-        if (eventController.isRegistered(conferenceUUID, signedInUserUUID, eventUUID)) {
+        if (withLock(() -> eventController.isRegistered(conferenceUUID, signedInUserUUID, eventUUID))) {
             IDialog confirmLeaveDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.CONFIRM_BOOLEAN, new HashMap<String, Object>() {
                 {
-                    put("message", String.format("Are you sure you want to unregister from this event? (%s)", eventController.getEventTitle(conferenceUUID, signedInUserUUID, eventUUID)));
+                    put("message", String.format("Are you sure you want to unregister from this event? (%s)", withLock(() -> eventController.getEventTitle(conferenceUUID, signedInUserUUID, eventUUID))));
                     put("title", "Confirm unregister Event");
                     put("messageType", DialogFactoryOptions.dialogType.QUESTION);
                     put("confirmationType", DialogFactoryOptions.optionType.YES_NO_OPTION);
@@ -89,12 +129,24 @@ class EventsDetailsPresenter extends AbstractConferencePresenter {
             });
 
             if ((boolean) confirmLeaveDialog.run()) {
-                eventController.unregisterForEvent(conferenceUUID, signedInUserUUID, signedInUserUUID, eventUUID);
-                reloadEventsPage(eventUUID);
+                withLock(() -> eventController.unregisterForEvent(conferenceUUID, signedInUserUUID, signedInUserUUID, eventUUID));
+            }
+        } else if (withLock(() -> eventController.isOnWaitlist(conferenceUUID, signedInUserUUID, eventUUID))) {
+            IDialog confirmLeaveDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.CONFIRM_BOOLEAN, new HashMap<String, Object>() {
+                {
+                    put("message", String.format("Are you sure you want to leave the waitlist for this event? (%s)", withLock(() -> eventController.getEventTitle(conferenceUUID, signedInUserUUID, eventUUID))));
+                    put("title", "Confirm leave waitlist");
+                    put("messageType", DialogFactoryOptions.dialogType.QUESTION);
+                    put("confirmationType", DialogFactoryOptions.optionType.YES_NO_OPTION);
+                }
+            });
+
+            if ((boolean) confirmLeaveDialog.run()) {
+                withLock(() -> eventController.leaveWaitlist(conferenceUUID, signedInUserUUID, signedInUserUUID, eventUUID));
             }
         } else {
             try {
-                eventController.registerForEvent(conferenceUUID, signedInUserUUID, signedInUserUUID, eventUUID);
+                withLock(() -> eventController.registerForEvent(conferenceUUID, signedInUserUUID, signedInUserUUID, eventUUID));
 
                 IDialog registeredDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.MESSAGE, new HashMap<String, Object>() {
                     {
@@ -105,18 +157,30 @@ class EventsDetailsPresenter extends AbstractConferencePresenter {
                 });
 
                 registeredDialog.run();
-
-                reloadEventsPage(eventUUID);
             } catch (FullEventException e) {
-                IDialog fullCapacityDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.MESSAGE, new HashMap<String, Object>() {
+                IDialog joinWaitlistDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.CONFIRM_BOOLEAN, new HashMap<String, Object>() {
                     {
-                        put("message", "Sorry, that event is already at full capacity.");
-                        put("title", "Error");
-                        put("messageType", DialogFactoryOptions.dialogType.ERROR);
+                        put("message", "Sorry, that event is already at full capacity. Do you want to join the waitlist? You will be registered automatically when a seat becomes free.");
+                        put("title", "Event full");
+                        put("messageType", DialogFactoryOptions.dialogType.QUESTION);
+                        put("confirmationType", DialogFactoryOptions.optionType.YES_NO_OPTION);
                     }
                 });
 
-                fullCapacityDialog.run();
+                if ((boolean) joinWaitlistDialog.run()) {
+                    // A seat may have become free since registering failed, in which case the user is registered
+                    boolean registered = withLock(() -> eventController.joinWaitlist(conferenceUUID, signedInUserUUID, signedInUserUUID, eventUUID));
+
+                    IDialog joinedDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.MESSAGE, new HashMap<String, Object>() {
+                        {
+                            put("message", registered ? "A seat became free, so you have been registered for this event." : "You have joined the waitlist for this event.");
+                            put("title", registered ? "Registered" : "Joined waitlist");
+                            put("messageType", DialogFactoryOptions.dialogType.INFORMATION);
+                        }
+                    });
+
+                    joinedDialog.run();
+                }
             }
         }
     }
@@ -124,7 +188,7 @@ class EventsDetailsPresenter extends AbstractConferencePresenter {
     void deleteEvent() {
         IDialog confirmDeleteDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.CONFIRM_BOOLEAN, new HashMap<String, Object>() {
             {
-                put("message", String.format("Are you sure you want to delete this event? (%s)", eventController.getEventTitle(conferenceUUID, signedInUserUUID, eventUUID)));
+                put("message", String.format("Are you sure you want to delete this event? (%s)", withLock(() -> eventController.getEventTitle(conferenceUUID, signedInUserUUID, eventUUID))));
                 put("title", "Confirm delete Event");
                 put("messageType", DialogFactoryOptions.dialogType.QUESTION);
                 put("confirmationType", DialogFactoryOptions.optionType.YES_NO_OPTION);
@@ -132,8 +196,7 @@ class EventsDetailsPresenter extends AbstractConferencePresenter {
         });
 
         if ((boolean) confirmDeleteDialog.run()) {
-            eventController.deleteEvent(conferenceUUID, signedInUserUUID, eventUUID);
-            reloadEventsPage(null);
+            withLock(() -> eventController.deleteEvent(conferenceUUID, signedInUserUUID, eventUUID));
         }
     }
 
@@ -141,14 +204,14 @@ class EventsDetailsPresenter extends AbstractConferencePresenter {
         IDialog chooseUsersDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.MULTI_USER_PICKER, new HashMap<String, Object>() {
             {
                 put("instructions", "Select users to add to the new conversation");
-                put("availableUserUUIDs", new HashSet<UUID>() {
+                put("availableUserUUIDs", withLock(() -> new HashSet<UUID>() {
                     {
                         addAll(conferenceController.getOrganizers(conferenceUUID, signedInUserUUID));
                         addAll(eventController.getEventAttendees(conferenceUUID, signedInUserUUID, eventUUID));
                         addAll(eventController.getEventSpeakers(conferenceUUID, signedInUserUUID, eventUUID));
                         add(signedInUserUUID);
                     }
-                });
+                }));
             }
         });
 
@@ -157,7 +220,7 @@ class EventsDetailsPresenter extends AbstractConferencePresenter {
         if (selectedUserUUIDs != null) {
             selectedUserUUIDs.add(signedInUserUUID); // We need to add the signed in user in the conversation too
 
-            UUID conversationUUID = conferenceController.createConversationWithUsers(conferenceUUID, signedInUserUUID, selectedUserUUIDs);
+            UUID conversationUUID = withLock(() -> conferenceController.createConversationWithUsers(conferenceUUID, signedInUserUUID, selectedUserUUIDs));
 
             IDialog conversationCreatedDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.MESSAGE, new HashMap<String, Object>() {
                 {
@@ -175,11 +238,11 @@ class EventsDetailsPresenter extends AbstractConferencePresenter {
     }
 
     void eventConversation() {
-        UUID eventConversationUUID = eventController.getEventConversationUUID(conferenceUUID, signedInUserUUID, eventUUID);
-        String eventName = eventController.getEventTitle(conferenceUUID, signedInUserUUID, eventUUID);
+        UUID eventConversationUUID = withLock(() -> eventController.getEventConversationUUID(conferenceUUID, signedInUserUUID, eventUUID));
+        String eventName = withLock(() -> eventController.getEventTitle(conferenceUUID, signedInUserUUID, eventUUID));
 
-        boolean canCreateConversation = eventController.getEventSpeakers(conferenceUUID, signedInUserUUID, eventUUID).contains(signedInUserUUID) ||
-                conferenceController.isOrganizer(conferenceUUID, signedInUserUUID, signedInUserUUID);
+        boolean canCreateConversation = withLock(() -> eventController.getEventSpeakers(conferenceUUID, signedInUserUUID, eventUUID).contains(signedInUserUUID) ||
+                conferenceController.isOrganizer(conferenceUUID, signedInUserUUID, signedInUserUUID));
 
         if (eventConversationUUID == null) {
 
@@ -195,7 +258,7 @@ class EventsDetailsPresenter extends AbstractConferencePresenter {
                 });
 
                 if ((boolean) confirmEventConversation.run()) {
-                    UUID newEventConversationUUID = eventController.createEventConversation(conferenceUUID, signedInUserUUID, eventUUID);
+                    UUID newEventConversationUUID = withLock(() -> eventController.createEventConversation(conferenceUUID, signedInUserUUID, eventUUID));
 
                     IDialog conversationCreatedDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.MESSAGE, new HashMap<String, Object>() {
                         {
@@ -243,25 +306,12 @@ class EventsDetailsPresenter extends AbstractConferencePresenter {
             }
         });
 
-        if (eventFormDialog.run() != null) {
-            // Reload the main menu to update changes
-            reloadEventsPage(eventUUID);
-        }
-    }
-
-    private void reloadEventsPage(UUID defaultEventUUID) {
-        mainFrame.setPanel(panelFactory.createPanel(PanelFactoryOptions.panelNames.MAIN_MENU, new HashMap<String, Object>(initializationArguments) {
-            {
-                put("defaultConferenceUUID", conferenceUUID);
-                put("defaultTabName", ConferenceTabsConstants.tabNames.ALL_EVENTS);
-                put("defaultEventUUID", defaultEventUUID);
-                put("defaultTabIndex", 0);
-            }
-        }));
+        // Changes are shown when the event form saves them
+        eventFormDialog.run();
     }
 
     private void updateGeneralData() {
-        String[][] tableData = {
+        String[][] tableData = withLock(() -> new String[][]{
                 {"Event Name", eventController.getEventTitle(conferenceUUID, signedInUserUUID, eventUUID)},
                 {"Start", eventController.getEventTimeRange(conferenceUUID, signedInUserUUID, eventUUID).getStart().toString()},
                 {"End", eventController.getEventTimeRange(conferenceUUID, signedInUserUUID, eventUUID).getEnd().toString()},
@@ -272,7 +322,7 @@ class EventsDetailsPresenter extends AbstractConferencePresenter {
                 {},
                 {"# Attendees", "" + eventController.getNumRegistered(conferenceUUID, signedInUserUUID, eventUUID) + "/" + roomController.getRoomCapacity(conferenceUUID, signedInUserUUID, eventController.getEventRoom(conferenceUUID, signedInUserUUID, eventUUID))},
                 {"# Speakers", "" + eventController.getEventSpeakers(conferenceUUID, signedInUserUUID, eventUUID).size()},
-        };
+        });
 
         String[] columnNames = {
                 "Key",
@@ -284,11 +334,12 @@ class EventsDetailsPresenter extends AbstractConferencePresenter {
 
     private String[][] generateUserTable(Set<UUID> userUUIDs) {
         String[][] names = new String[userUUIDs.size()][1];
+        Map<UUID, String> userNames = withLock(() -> userController.getUserFullNames(userUUIDs));
 
         int index = 0;
 
         for (UUID userUUID : userUUIDs) {
-            names[index][0] = userController.getUserFullName(userUUID);
+            names[index][0] = userNames.get(userUUID);
 
             index++;
         }
@@ -297,7 +348,7 @@ class EventsDetailsPresenter extends AbstractConferencePresenter {
     }
 
     private void updateAttendeeTable() {
-        Set<UUID> attendeeUUIDs = eventController.getEventAttendees(conferenceUUID, signedInUserUUID, eventUUID);
+        Set<UUID> attendeeUUIDs = withLock(() -> eventController.getEventAttendees(conferenceUUID, signedInUserUUID, eventUUID));
 
         String[][] tableData = generateUserTable(attendeeUUIDs);
 
@@ -309,7 +360,7 @@ class EventsDetailsPresenter extends AbstractConferencePresenter {
     }
 
     private void updateSpeakerTable() {
-        Set<UUID> speakerUUIDs = eventController.getEventSpeakers(conferenceUUID, signedInUserUUID, eventUUID);
+        Set<UUID> speakerUUIDs = withLock(() -> eventController.getEventSpeakers(conferenceUUID, signedInUserUUID, eventUUID));
 
         String[][] tableData = generateUserTable(speakerUUIDs);
 
@@ -139,6 +139,16 @@ public class EventsDetailsView implements IEventsDetailsView, IPanel {
         speakerTable.setModel(tableModel);
     }
 
+    /**
+     * Checks if this view is still part of the window, since it is thrown away when another page is opened
+     *
+     * @return true iff the view is in a window
+     */
+    @Override
+    public boolean isDisplayed() {
+        return SwingUtilities.getWindowAncestor(eventsGeneralPanel) != null;
+    }
+
     /**
      * Returns the the detailed view object
      *
@@ -21,4 +21,6 @@ public interface IEventsDetailsView {
     void enableDeleteEventButton(boolean state);
 
     void enableMessageUserButton(boolean state);
+
+    boolean isDisplayed();
 }
@@ -55,12 +55,14 @@ class EventFormPresenter extends AbstractConferencePresenter {
         if (isExistingEvent) {
             eventFormDialog.setDialogTitle(String.format("Editing Event (%s)", eventUUID));
 
-            eventName = eventController.getEventTitle(conferenceUUID, signedInUserUUID, eventUUID);
-            startTime = eventController.getEventTimeRange(conferenceUUID, signedInUserUUID, eventUUID).getStart();
-            endTime = eventController.getEventTimeRange(conferenceUUID, signedInUserUUID, eventUUID).getEnd();
-            timeRange = eventController.getEventTimeRange(conferenceUUID, signedInUserUUID, eventUUID);
-            selectedSpeakersUUIDS = eventController.getEventSpeakers(conferenceUUID, signedInUserUUID, eventUUID);
-            selectedRoomUUID = eventController.getEventRoom(conferenceUUID, signedInUserUUID, eventUUID);
+            withLock(() -> {
+                eventName = eventController.getEventTitle(conferenceUUID, signedInUserUUID, eventUUID);
+                startTime = eventController.getEventTimeRange(conferenceUUID, signedInUserUUID, eventUUID).getStart();
+                endTime = eventController.getEventTimeRange(conferenceUUID, signedInUserUUID, eventUUID).getEnd();
+                timeRange = eventController.getEventTimeRange(conferenceUUID, signedInUserUUID, eventUUID);
+                selectedSpeakersUUIDS = new HashSet<>(eventController.getEventSpeakers(conferenceUUID, signedInUserUUID, eventUUID));
+                selectedRoomUUID = eventController.getEventRoom(conferenceUUID, signedInUserUUID, eventUUID);
+            });
 
             eventFormDialog.setName(eventName);
             eventFormDialog.setStart(dateParser.dateTimeToString(startTime));
@@ -81,39 +83,41 @@ class EventFormPresenter extends AbstractConferencePresenter {
 
             timeRange = new TimeRange(startTime, endTime);
 
-            if (isExistingEvent) {
-                eventController.setEventTitle(conferenceUUID, signedInUserUUID, eventUUID, eventName);
+            withLock(() -> {
+                if (isExistingEvent) {
+                    eventController.setEventTitle(conferenceUUID, signedInUserUUID, eventUUID, eventName);
 
-                // Don't update event time if it didn't change
-                if (!eventController.getEventTimeRange(conferenceUUID, signedInUserUUID, eventUUID).equals(timeRange)) {
-                    eventController.setEventTimeRange(conferenceUUID, signedInUserUUID, eventUUID, timeRange);
-                }
+                    // Don't update event time if it didn't change
+                    if (!eventController.getEventTimeRange(conferenceUUID, signedInUserUUID, eventUUID).equals(timeRange)) {
+                        eventController.setEventTimeRange(conferenceUUID, signedInUserUUID, eventUUID, timeRange);
+                    }
 
-                // Only update speakers that were added/removed
-                Set<UUID> existingSpeakerUUIDs = eventController.getEventSpeakers(conferenceUUID, signedInUserUUID, eventUUID);
+                    // Only update speakers that were added/removed
+                    Set<UUID> existingSpeakerUUIDs = new HashSet<>(eventController.getEventSpeakers(conferenceUUID, signedInUserUUID, eventUUID));
 
-                for (UUID speakerUUID : existingSpeakerUUIDs) {
-                    if (!selectedSpeakersUUIDS.contains(speakerUUID)) {
-                        // Speaker was removed
-                        eventController.removeEventSpeaker(conferenceUUID, signedInUserUUID, eventUUID, speakerUUID);
+                    for (UUID speakerUUID : existingSpeakerUUIDs) {
+                        if (!selectedSpeakersUUIDS.contains(speakerUUID)) {
+                            // Speaker was removed
+                            eventController.removeEventSpeaker(conferenceUUID, signedInUserUUID, eventUUID, speakerUUID);
+                        }
                     }
-                }
 
-                for (UUID speakerUUID : selectedSpeakersUUIDS) {
-                    if (!existingSpeakerUUIDs.contains(speakerUUID)) {
-                        eventController.addEventSpeaker(conferenceUUID, signedInUserUUID, eventUUID, speakerUUID);
+                    for (UUID speakerUUID : selectedSpeakersUUIDS) {
+                        if (!existingSpeakerUUIDs.contains(speakerUUID)) {
+                            eventController.addEventSpeaker(conferenceUUID, signedInUserUUID, eventUUID, speakerUUID);
+                        }
                     }
-                }
 
-                // Don't update room if it didn't change
-                if (!eventController.getEventRoom(conferenceUUID, signedInUserUUID, eventUUID).equals(selectedRoomUUID)) {
-                    eventController.setEventRoom(conferenceUUID, signedInUserUUID, eventUUID, selectedRoomUUID);
-                }
+                    // Don't update room if it didn't change
+                    if (!eventController.getEventRoom(conferenceUUID, signedInUserUUID, eventUUID).equals(selectedRoomUUID)) {
+                        eventController.setEventRoom(conferenceUUID, signedInUserUUID, eventUUID, selectedRoomUUID);
+                    }
 
-            } else {
-                eventUUID = eventController.createEvent(conferenceUUID, signedInUserUUID, eventName, timeRange, selectedRoomUUID, selectedSpeakersUUIDS);
-                eventController.createEventConversation(conferenceUUID, signedInUserUUID, eventUUID);
-            }
+                } else {
+                    eventUUID = eventController.createEvent(conferenceUUID, signedInUserUUID, eventName, timeRange, selectedRoomUUID, selectedSpeakersUUIDS);
+                    eventController.createEventConversation(conferenceUUID, signedInUserUUID, eventUUID);
+                }
+            });
 
             // Update event UUID in case it has changed
             eventFormDialog.setEventUUID(eventUUID);
@@ -184,7 +188,7 @@ class EventFormPresenter extends AbstractConferencePresenter {
 
     void selectSpeakers() {
         // Getting all available speakerUUIDs
-        Set<UUID> signedInUserUUIDs = userController.getUsers();
+        Set<UUID> signedInUserUUIDs = withLock(userController::getUsers);
 
         IDialog chooseSpeakersDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.MULTI_USER_PICKER, new HashMap<String, Object>() {
             {
@@ -203,7 +207,7 @@ class EventFormPresenter extends AbstractConferencePresenter {
 
 
     void selectRoom() {
-        Set<UUID> availableRoomUUIDS = roomController.getRooms(conferenceUUID, signedInUserUUID);
+        Set<UUID> availableRoomUUIDS = withLock(() -> roomController.getRooms(conferenceUUID, signedInUserUUID));
 
         IDialog chooseRoomDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.ROOM_PICKER, new HashMap<String, Object>() {
             {
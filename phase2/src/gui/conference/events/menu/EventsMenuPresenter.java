@@ -1,6 +1,6 @@
 package gui.conference.events.menu;
 
-import gui.conference.tabs.ConferenceTabsConstants;
+import convention.notification.*;
 import gui.conference.util.AbstractConferencePresenter;
 import gui.util.enums.DialogFactoryOptions;
 import gui.util.enums.PanelFactoryOptions;
@@ -17,7 +17,9 @@ import java.util.function.Supplier;
 class EventsMenuPresenter extends AbstractConferencePresenter {
     private IEventsMenuView eventMenuView;
 
+    private Supplier<Set<UUID>> getEvents;
     private List<UUID> eventUUIDs;
+    private String[] eventNames;
 
     private int currentEventIndex = -1;
     private Map<String, Object> initializationArguments;
@@ -35,11 +37,21 @@ class EventsMenuPresenter extends AbstractConferencePresenter {
 
         this.eventMenuView = eventMenuView;
         this.initializationArguments = initializationArguments;
+        this.getEvents = getEvents;
 
-        updateEventsList(getEvents);
+        eventUUIDs = new ArrayList<>(withLock(getEvents));
+        eventNames = getEventNames(eventUUIDs);
+
+        // The list is updated in place when events change instead of reloading the page. Registrations only matter to
+        // lists that are filtered by the signed in user's events, but checking is about as expensive as updating.
+        eventBus.subscribe(this, EventCreated.class, EventsMenuPresenter::eventsChanged);
+        eventBus.subscribe(this, EventChanged.class, EventsMenuPresenter::eventsChanged);
+        eventBus.subscribe(this, EventDeleted.class, EventsMenuPresenter::eventsChanged);
+        eventBus.subscribe(this, AttendeeRegistered.class, EventsMenuPresenter::eventsChanged);
+        eventBus.subscribe(this, AttendeeUnregistered.class, EventsMenuPresenter::eventsChanged);
 
         if (eventUUIDs.size() > 0) {
-            updateEventNames();
+            eventMenuView.setEventList(eventNames);
 
             int defaultEventIndex = 0;
 
@@ -58,30 +70,95 @@ class EventsMenuPresenter extends AbstractConferencePresenter {
     }
 
     private void updateButtons() {
-        if (!conferenceController.isOrganizer(conferenceUUID, signedInUserUUID, signedInUserUUID)) {
+        if (!withLock(() -> conferenceController.isOrganizer(conferenceUUID, signedInUserUUID, signedInUserUUID))) {
             eventMenuView.setCreateEventButtonEnabled(false);
         }
     }
 
-    private void updateEventNames() {
+    private String[] getEventNames(List<UUID> eventUUIDs) {
         String[] eventNames = new String[eventUUIDs.size()];
 
-        for (int i = 0; i < eventUUIDs.size(); i++) {
-            eventNames[i] = eventController.getEventTitle(conferenceUUID, signedInUserUUID, eventUUIDs.get(i));
+        withLock(() -> {
+            for (int i = 0; i < eventUUIDs.size(); i++) {
+                eventNames[i] = eventController.getEventTitle(conferenceUUID, signedInUserUUID, eventUUIDs.get(i));
+            }
+        });
+
+        return eventNames;
+    }
+
+    /**
+     * Updates the list of events with the events that were added, removed or renamed. Events that are still in the list
+     * keep their position, and the selected event stays open without recreating its panel.
+     */
+    private void updateEventList() {
+        Set<UUID> currentEventUUIDs = withLock(getEvents);
+
+        List<UUID> updatedEventUUIDs = new ArrayList<>(eventUUIDs);
+        updatedEventUUIDs.retainAll(currentEventUUIDs);
+
+        Set<UUID> existingEventUUIDs = new HashSet<>(updatedEventUUIDs);
+
+        for (UUID eventUUID : currentEventUUIDs) {
+            if (!existingEventUUIDs.contains(eventUUID)) {
+                updatedEventUUIDs.add(eventUUID);
+            }
+        }
+
+        String[] updatedEventNames = getEventNames(updatedEventUUIDs);
+
+        if (updatedEventUUIDs.equals(eventUUIDs) && Arrays.equals(updatedEventNames, eventNames)) {
+            return;
         }
 
+        UUID selectedEventUUID = currentEventIndex == -1 ? null : eventUUIDs.get(currentEventIndex);
+
+        eventUUIDs = updatedEventUUIDs;
+        eventNames = updatedEventNames;
+        currentEventIndex = eventUUIDs.indexOf(selectedEventUUID);
+
+        // Replacing the list clears the selection, so it has to be restored
         eventMenuView.setEventList(eventNames);
+
+        if (currentEventIndex != -1) {
+            eventMenuView.setEventListSelection(currentEventIndex);
+        } else if (eventUUIDs.size() > 0) {
+            eventMenuView.setEventListSelection(0);
+            selectEventPanel(0);
+        } else {
+            eventMenuView.clearEventTabs();
+        }
     }
 
-    private void updateEventsList(Supplier<Set<UUID>> getEvents) {
-        currentEventIndex = -1;
-        eventUUIDs = new ArrayList<>(getEvents.get());
+    /**
+     * Checks if the page this presenter belongs to was replaced. If it was, the presenter stops listening for changes.
+     *
+     * @return true iff the view is no longer displayed
+     */
+    private boolean isDiscarded() {
+        if (eventMenuView.isDisplayed()) {
+            return false;
+        }
+
+        eventBus.unsubscribe(this);
+        return true;
+    }
+
+    /**
+     * Updates the list of events after an event in this conference changes
+     *
+     * @param event event that was published
+     */
+    private void eventsChanged(ConferenceDomainEvent event) {
+        if (!isDiscarded() && isInConference(event)) {
+            updateEventList();
+        }
     }
 
     void selectEventPanel(int index) {
 
-        // Don't need to perform an update if we're already selected
-        if (index != currentEventIndex) {
+        // Don't need to perform an update if we're already selected. The index is -1 while the list is being replaced.
+        if (index != -1 && index != currentEventIndex) {
             currentEventIndex = index;
             UUID selectedEventUUID = eventUUIDs.get(index);
 
@@ -105,18 +182,13 @@ class EventsMenuPresenter extends AbstractConferencePresenter {
         });
 
         UUID newEventUUID = (UUID) eventFormDialog.run();
-        if (newEventUUID != null) {
-            reloadEventsPage(newEventUUID);
-        }
-    }
 
-    private void reloadEventsPage(UUID defaultEventUUID) {
-        mainFrame.setPanel(panelFactory.createPanel(PanelFactoryOptions.panelNames.MAIN_MENU, new HashMap<String, Object>(initializationArguments) {
-            {
-                put("defaultConferenceUUID", conferenceUUID);
-                put("defaultTabName", ConferenceTabsConstants.tabNames.ALL_EVENTS);
-                put("defaultEventUUID", defaultEventUUID);
-            }
-        }));
+        // The new event was already added to the list when it was created
+        if (newEventUUID != null && eventUUIDs.contains(newEventUUID)) {
+            int index = eventUUIDs.indexOf(newEventUUID);
+
+            eventMenuView.setEventListSelection(index);
+            selectEventPanel(index);
+        }
     }
 }
\ No newline at end of file
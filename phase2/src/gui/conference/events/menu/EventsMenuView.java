@@ -4,6 +4,7 @@ import gui.util.interfaces.IFrame;
 import gui.util.interfaces.IPanel;
 
 import javax.swing.*;
+import java.awt.*;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -18,6 +19,9 @@ public class EventsMenuView implements IPanel, IEventsMenuView {
     private JList eventsList;
     private JSplitPane eventSplitPane;
 
+    // Shown on the right when there are no events
+    private Component noEventsComponent;
+
     private EventsMenuPresenter eventsMenuPresenter;
 
     /**
@@ -28,6 +32,8 @@ public class EventsMenuView implements IPanel, IEventsMenuView {
      * @param initializationArguments HashMap of value to set initial state of the menu
      */
     public EventsMenuView(IFrame mainFrame, UUID conferenceUUID, Supplier<Set<UUID>> getEvents, UUID defaultEventUUID, Map<String, Object> initializationArguments) {
+        noEventsComponent = eventSplitPane.getRightComponent();
+
         eventsMenuPresenter = new EventsMenuPresenter(mainFrame, this, conferenceUUID, getEvents, defaultEventUUID, initializationArguments);
 
         eventsList.addListSelectionListener((e) -> eventsMenuPresenter.selectEventPanel(eventsList.getSelectedIndex()));
@@ -74,6 +80,24 @@ public class EventsMenuView implements IPanel, IEventsMenuView {
         eventSplitPane.setRightComponent(tabsPanel.getPanel());
     }
 
+    /**
+     * Shows that there are no events in the right pane
+     */
+    @Override
+    public void clearEventTabs() {
+        eventSplitPane.setRightComponent(noEventsComponent);
+    }
+
+    /**
+     * Checks if this view is still part of the window, since it is thrown away when another page is opened
+     *
+     * @return true iff the view is in a window
+     */
+    @Override
+    public boolean isDisplayed() {
+        return SwingUtilities.getWindowAncestor(panel1) != null;
+    }
+
     /**
      * Returns the events menu.
      *
@@ -13,4 +13,8 @@ public interface IEventsMenuView {
     void setEventTabs(IPanel tabsPanel);
 
     void setCreateEventButtonEnabled(boolean state);
+
+    void clearEventTabs();
+
+    boolean isDisplayed();
 }
@@ -48,9 +48,11 @@ class ConferenceFormPresenter extends AbstractPresenter {
         if (isExistingConference) {
             conferenceFormDialog.setDialogTitle(String.format("Editing Conference (%s)", conferenceUUID));
 
-            conferenceName = conferenceController.getConferenceName(conferenceUUID);
-            startTime = conferenceController.getConferenceTimeRange(conferenceUUID).getStart();
-            endTime = conferenceController.getConferenceTimeRange(conferenceUUID).getEnd();
+            withLock(() -> {
+                conferenceName = conferenceController.getConferenceName(conferenceUUID);
+                startTime = conferenceController.getConferenceTimeRange(conferenceUUID).getStart();
+                endTime = conferenceController.getConferenceTimeRange(conferenceUUID).getEnd();
+            });
 
             conferenceFormDialog.setName(conferenceName);
             conferenceFormDialog.setStart(dateParser.dateTimeToString(startTime));
@@ -74,12 +76,14 @@ class ConferenceFormPresenter extends AbstractPresenter {
 
             TimeRange timeRange = new TimeRange(startTime, endTime);
 
-            if (isExistingConference) {
-                conferenceController.setConferenceName(conferenceUUID, signedInUserUUID, conferenceName);
-                conferenceController.setConferenceTimeRange(conferenceUUID, signedInUserUUID, timeRange);
-            } else {
-                conferenceUUID = conferenceController.createConference(conferenceName, timeRange, signedInUserUUID);
-            }
+            withLock(() -> {
+                if (isExistingConference) {
+                    conferenceController.setConferenceName(conferenceUUID, signedInUserUUID, conferenceName);
+                    conferenceController.setConferenceTimeRange(conferenceUUID, signedInUserUUID, timeRange);
+                } else {
+                    conferenceUUID = conferenceController.createConference(conferenceName, timeRange, signedInUserUUID);
+                }
+            });
 
             // Update conference UUID in case it has changed
             conferenceFormDialog.setConferenceUUID(conferenceUUID);
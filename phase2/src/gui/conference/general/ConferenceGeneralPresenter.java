@@ -1,9 +1,9 @@
 package gui.conference.general;
 
 import convention.exception.LoneOrganizerException;
+import convention.notification.ConferenceDomainEvent;
 import gui.conference.util.AbstractConferencePresenter;
 import gui.util.enums.DialogFactoryOptions;
-import gui.util.enums.PanelFactoryOptions;
 import gui.util.interfaces.IDialog;
 import gui.util.interfaces.IFrame;
 
@@ -28,6 +28,23 @@ class ConferenceGeneralPresenter extends AbstractConferencePresenter {
         this.conferenceGeneralView = conferenceGeneralView;
 
         updateGeneralData();
+
+        // The table counts rooms, events and users, so it is updated after any change in the conference
+        eventBus.subscribe(this, ConferenceDomainEvent.class, ConferenceGeneralPresenter::conferenceChanged);
+    }
+
+    /**
+     * Updates the table after a change in this conference
+     *
+     * @param event event that was published
+     */
+    private void conferenceChanged(ConferenceDomainEvent event) {
+        if (!conferenceGeneralView.isDisplayed()) {
+            // The page this presenter belongs to was replaced
+            eventBus.unsubscribe(this);
+        } else if (isInConference(event)) {
+            updateGeneralData();
+        }
     }
 
     /**
@@ -36,7 +53,7 @@ class ConferenceGeneralPresenter extends AbstractConferencePresenter {
     void leaveConference() {
         // As a god user, you can't technically "leave" conferences, since your role is determined outside the scope
         // of a conference in the user manager.
-        if (userController.getUserIsGod(signedInUserUUID)) {
+        if (withLock(() -> userController.getUserIsGod(signedInUserUUID))) {
             IDialog cannotLeaveDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.MESSAGE, new HashMap<String, Object>() {
                 {
                     put("message", "Unable to leave conference. God users are by definition organizers of all conferences in the system.");
@@ -47,9 +64,11 @@ class ConferenceGeneralPresenter extends AbstractConferencePresenter {
 
             cannotLeaveDialog.run();
         } else {
+            String conferenceName = withLock(() -> conferenceController.getConferenceName(conferenceUUID));
+
             IDialog confirmLeaveDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.CONFIRM_BOOLEAN, new HashMap<String, Object>() {
                 {
-                    put("message", String.format("Are you sure you want to leave this conference? (%s)", conferenceController.getConferenceName(conferenceUUID)));
+                    put("message", String.format("Are you sure you want to leave this conference? (%s)", conferenceName));
                     put("title", "Confirm leave conference");
                     put("messageType", DialogFactoryOptions.dialogType.QUESTION);
                     put("confirmationType", DialogFactoryOptions.optionType.YES_NO_OPTION);
@@ -58,10 +77,8 @@ class ConferenceGeneralPresenter extends AbstractConferencePresenter {
 
             if ((boolean) confirmLeaveDialog.run()) {
                 try {
-                    conferenceController.leaveConference(conferenceUUID, signedInUserUUID, signedInUserUUID);
-
-                    // Reload the main menu to update changes
-                    mainFrame.setPanel(panelFactory.createPanel(PanelFactoryOptions.panelNames.MAIN_MENU));
+                    // The conference menu removes the conference once the user has left
+                    withLock(() -> conferenceController.leaveConference(conferenceUUID, signedInUserUUID, signedInUserUUID));
                 } catch (LoneOrganizerException e) {
                     IDialog loneOrganizerDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.MESSAGE, new HashMap<String, Object>() {
                         {
@@ -81,9 +98,25 @@ class ConferenceGeneralPresenter extends AbstractConferencePresenter {
      * Updates general tab table data
      */
     private void updateGeneralData() {
+        String[][] tableData = withLock(this::readGeneralData);
+
+        String[] columnNames = {
+                "Key",
+                "Value"
+        };
+
+        conferenceGeneralView.setTableData(tableData, columnNames);
+    }
+
+    /**
+     * Reads the general tab table data from the controllers
+     *
+     * @return table rows
+     */
+    private String[][] readGeneralData() {
         boolean isSpeaker = conferenceController.isSpeaker(conferenceUUID, signedInUserUUID, signedInUserUUID);
 
-        String[][] tableData = {
+        return new String[][]{
                 {"Conference Name", conferenceController.getConferenceName(conferenceUUID)},
                 {"Start", conferenceController.getConferenceTimeRange(conferenceUUID).getStart().toString()},
                 {"End", conferenceController.getConferenceTimeRange(conferenceUUID).getEnd().toString()},
@@ -100,12 +133,5 @@ class ConferenceGeneralPresenter extends AbstractConferencePresenter {
                 {"# Events you're registered in", "" + eventController.getAttendeeEvents(conferenceUUID, signedInUserUUID).size()},
                 {"# Events you're speaking at", isSpeaker ? ("" + eventController.getSpeakerEvents(conferenceUUID, signedInUserUUID).size()) : "N/A"}
         };
-
-        String[] columnNames = {
-                "Key",
-                "Value"
-        };
-
-        conferenceGeneralView.setTableData(tableData, columnNames);
     }
 }
@@ -41,6 +41,16 @@ public class ConferenceGeneralView implements IPanel, IConferenceGeneralView {
         generalTable.setModel(tableModel);
     }
 
+    /**
+     * Checks if this view is still part of the window, since it is thrown away when another page is opened
+     *
+     * @return true iff the view is in a window
+     */
+    @Override
+    public boolean isDisplayed() {
+        return SwingUtilities.getWindowAncestor(generalViewPanel) != null;
+    }
+
     /**
      * gets the general view panel
      *
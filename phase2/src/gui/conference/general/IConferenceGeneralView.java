@@ -5,4 +5,6 @@ package gui.conference.general;
  */
 public interface IConferenceGeneralView {
     void setTableData(String[][] tableData, String[] columnNames);
+
+    boolean isDisplayed();
 }
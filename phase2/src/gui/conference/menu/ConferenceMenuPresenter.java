@@ -1,5 +1,6 @@
 package gui.conference.menu;
 
+import convention.notification.*;
 import gui.conference.tabs.ConferenceTabsConstants;
 import gui.util.AbstractPresenter;
 import gui.util.enums.DialogFactoryOptions;
@@ -17,6 +18,7 @@ class ConferenceMenuPresenter extends AbstractPresenter {
     private IConferenceMenuView conferenceMenuView;
 
     private List<UUID> conferenceUUIDs;
+    private String[] conferenceNames;
 
     private int currentConferenceIndex = -1;
     private Map<String, Object> initializationArguments;
@@ -33,11 +35,18 @@ class ConferenceMenuPresenter extends AbstractPresenter {
         this.conferenceMenuView = conferenceMenuView;
         this.initializationArguments = initializationArguments;
 
-        updateConferenceList();
+        conferenceUUIDs = new ArrayList<>(withLock(() -> conferenceController.getUserConferences(signedInUserUUID)));
+        conferenceNames = getConferenceNames(conferenceUUIDs);
+
+        // The list is updated in place when conferences change instead of reloading the page
+        eventBus.subscribe(this, ConferenceCreated.class, ConferenceMenuPresenter::conferencesChanged);
+        eventBus.subscribe(this, ConferenceChanged.class, ConferenceMenuPresenter::conferencesChanged);
+        eventBus.subscribe(this, ConferenceDeleted.class, ConferenceMenuPresenter::conferencesChanged);
+        eventBus.subscribe(this, ConferenceUsersChanged.class, ConferenceMenuPresenter::conferenceUsersChanged);
 
         // Make initial selection
         if (conferenceUUIDs.size() > 0) {
-            updateConferenceNames();
+            conferenceMenuView.setConferenceList(conferenceNames);
 
             int defaultConferenceIndex = 0;
 
@@ -69,7 +78,7 @@ class ConferenceMenuPresenter extends AbstractPresenter {
      * Initiates dialog for a user to join a conference
      */
     void joinConference() {
-        Set<UUID> availableConferenceUUIDs = conferenceController.getNotUserConferences(signedInUserUUID);
+        Set<UUID> availableConferenceUUIDs = withLock(() -> conferenceController.getNotUserConferences(signedInUserUUID));
 
         if (availableConferenceUUIDs.size() == 0) {
             IDialog noConferenceDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.MESSAGE, new HashMap<String, Object>() {
@@ -93,7 +102,7 @@ class ConferenceMenuPresenter extends AbstractPresenter {
             UUID selectedConferenceUUID = (UUID) conferencePicker.run();
 
             if (selectedConferenceUUID != null) {
-                conferenceController.addAttendee(selectedConferenceUUID, signedInUserUUID);
+                withLock(() -> conferenceController.addAttendee(selectedConferenceUUID, signedInUserUUID));
 
                 updateAndSelectNewConference(selectedConferenceUUID);
             }
@@ -106,15 +115,13 @@ class ConferenceMenuPresenter extends AbstractPresenter {
      * @param selectedConferenceUUID UUID of conference to open
      */
     private void updateAndSelectNewConference(UUID selectedConferenceUUID) {
-        // Update the local list with the new conference
-        updateConferenceList();
-        updateConferenceNames();
-
-        // Select the latest conference
+        // The list was already updated when the conference was created or joined
         int index = conferenceUUIDs.indexOf(selectedConferenceUUID);
 
-        conferenceMenuView.setConferenceListSelection(index);
-        selectConferencePanel(index);
+        if (index != -1) {
+            conferenceMenuView.setConferenceListSelection(index);
+            selectConferencePanel(index);
+        }
     }
 
     /**
@@ -133,8 +140,8 @@ class ConferenceMenuPresenter extends AbstractPresenter {
      * @param defaultTabName name of the tab to open by default
      */
     void selectConferencePanel(int index, ConferenceTabsConstants.tabNames defaultTabName) {
-        // Don't need to perform an update if we're already selected
-        if (index != currentConferenceIndex) {
+        // Don't need to perform an update if we're already selected. The index is -1 while the list is being replaced.
+        if (index != -1 && index != currentConferenceIndex) {
             currentConferenceIndex = index;
             UUID selectedConferenceUUID = conferenceUUIDs.get(index);
 
@@ -151,23 +158,109 @@ class ConferenceMenuPresenter extends AbstractPresenter {
     }
 
     /**
-     * Update the local list of conference UUIDs
+     * Checks if the page this presenter belongs to was replaced. If it was, the presenter stops listening for changes.
+     *
+     * @return true iff the view is no longer displayed
      */
-    private void updateConferenceList() {
-        currentConferenceIndex = -1;
-        conferenceUUIDs = new ArrayList<>(conferenceController.getUserConferences(signedInUserUUID));
+    private boolean isDiscarded() {
+        if (conferenceMenuView.isDisplayed()) {
+            return false;
+        }
+
+        eventBus.unsubscribe(this);
+        return true;
     }
 
     /**
-     * Updates the local list of conference names
+     * Updates the list of conferences after a conference is created, renamed or deleted
+     *
+     * @param event event that was published
      */
-    private void updateConferenceNames() {
-        String[] conferenceNames = new String[conferenceUUIDs.size()];
+    private void conferencesChanged(ConferenceDomainEvent event) {
+        if (!isDiscarded()) {
+            updateConferenceList();
+        }
+    }
+
+    /**
+     * Updates the list of conferences after the signed in user joins or leaves a conference. If the user's roles in
+     * the open conference changed, its tabs are created again so that they match the new roles.
+     *
+     * @param event event that was published
+     */
+    private void conferenceUsersChanged(ConferenceUsersChanged event) {
+        if (isDiscarded() || !event.getUserUUID().equals(signedInUserUUID)) {
+            return;
+        }
+
+        updateConferenceList();
+
+        if (currentConferenceIndex != -1 && conferenceUUIDs.get(currentConferenceIndex).equals(event.getConferenceUUID())) {
+            int index = currentConferenceIndex;
+
+            currentConferenceIndex = -1;
+            selectConferencePanel(index);
+        }
+    }
 
-        for (int i = 0; i < conferenceUUIDs.size(); i++) {
-            conferenceNames[i] = conferenceController.getConferenceName(conferenceUUIDs.get(i));
+    /**
+     * Updates the list of conferences with the conferences that were added, removed or renamed. Conferences that are
+     * still in the list keep their position, and the selected conference stays open without recreating its tabs.
+     */
+    private void updateConferenceList() {
+        Set<UUID> currentConferenceUUIDs = withLock(() -> conferenceController.getUserConferences(signedInUserUUID));
+
+        List<UUID> updatedConferenceUUIDs = new ArrayList<>(conferenceUUIDs);
+        updatedConferenceUUIDs.retainAll(currentConferenceUUIDs);
+
+        Set<UUID> existingConferenceUUIDs = new HashSet<>(updatedConferenceUUIDs);
+
+        for (UUID conferenceUUID : currentConferenceUUIDs) {
+            if (!existingConferenceUUIDs.contains(conferenceUUID)) {
+                updatedConferenceUUIDs.add(conferenceUUID);
+            }
+        }
+
+        String[] updatedConferenceNames = getConferenceNames(updatedConferenceUUIDs);
+
+        if (updatedConferenceUUIDs.equals(conferenceUUIDs) && Arrays.equals(updatedConferenceNames, conferenceNames)) {
+            return;
         }
 
+        UUID selectedConferenceUUID = currentConferenceIndex == -1 ? null : conferenceUUIDs.get(currentConferenceIndex);
+
+        conferenceUUIDs = updatedConferenceUUIDs;
+        conferenceNames = updatedConferenceNames;
+        currentConferenceIndex = conferenceUUIDs.indexOf(selectedConferenceUUID);
+
+        // Replacing the list clears the selection, so it has to be restored
         conferenceMenuView.setConferenceList(conferenceNames);
+
+        if (currentConferenceIndex != -1) {
+            conferenceMenuView.setConferenceListSelection(currentConferenceIndex);
+        } else if (conferenceUUIDs.size() > 0) {
+            conferenceMenuView.setConferenceListSelection(0);
+            selectConferencePanel(0);
+        } else {
+            conferenceMenuView.clearConferenceTabs();
+        }
+    }
+
+    /**
+     * Gets the names of a list of conferences
+     *
+     * @param conferenceUUIDs UUIDs of the conferences
+     * @return conference names, in the same order
+     */
+    private String[] getConferenceNames(List<UUID> conferenceUUIDs) {
+        String[] conferenceNames = new String[conferenceUUIDs.size()];
+
+        withLock(() -> {
+            for (int i = 0; i < conferenceUUIDs.size(); i++) {
+                conferenceNames[i] = conferenceController.getConferenceName(conferenceUUIDs.get(i));
+            }
+        });
+
+        return conferenceNames;
     }
 }
@@ -4,6 +4,7 @@ import gui.util.interfaces.IFrame;
 import gui.util.interfaces.IPanel;
 
 import javax.swing.*;
+import java.awt.*;
 import java.util.Map;
 import java.util.UUID;
 
@@ -17,6 +18,9 @@ public class ConferenceMenuView implements IPanel, IConferenceMenuView {
     private JSplitPane conferenceSplitPane;
     private JButton joinConferenceButton;
 
+    // Shown on the right when the user isn't part of any conferences
+    private Component noConferencesComponent;
+
     private ConferenceMenuPresenter conferenceMenuPresenter;
 
     /**
@@ -25,6 +29,8 @@ public class ConferenceMenuView implements IPanel, IConferenceMenuView {
      * @param initializationArguments HashMap of values that can be used to set the initial state of a panel
      */
     public ConferenceMenuView(IFrame mainFrame, UUID defaultConferenceUUID, Map<String, Object> initializationArguments) {
+        noConferencesComponent = conferenceSplitPane.getRightComponent();
+
         conferenceMenuPresenter = new ConferenceMenuPresenter(mainFrame, this, defaultConferenceUUID, initializationArguments);
 
         conferenceList.addListSelectionListener((e) -> conferenceMenuPresenter.selectConferencePanel(conferenceList.getSelectedIndex()));
@@ -42,6 +48,14 @@ public class ConferenceMenuView implements IPanel, IConferenceMenuView {
         conferenceSplitPane.setRightComponent(tabsPanel.getPanel());
     }
 
+    /**
+     * shows that the user isn't part of any conferences in the right pane
+     */
+    @Override
+    public void clearConferenceTabs() {
+        conferenceSplitPane.setRightComponent(noConferencesComponent);
+    }
+
     /**
      * sets the selection from the conference list
      *
@@ -62,6 +76,16 @@ public class ConferenceMenuView implements IPanel, IConferenceMenuView {
         conferenceList.setListData(conferenceNames);
     }
 
+    /**
+     * Checks if this view is still part of the window, since it is thrown away when another page is opened
+     *
+     * @return true iff the view is in a window
+     */
+    @Override
+    public boolean isDisplayed() {
+        return SwingUtilities.getWindowAncestor(panel) != null;
+    }
+
     /**
      * gets a panel
      *
@@ -11,4 +11,8 @@ public interface IConferenceMenuView {
     void setConferenceListSelection(int selectionIndex);
 
     void setConferenceTabs(IPanel tabsPanel);
+
+    void clearConferenceTabs();
+
+    boolean isDisplayed();
 }
@@ -2,4 +2,6 @@ package gui.conference.rooms.details;
 
 public interface IRoomDetailsView {
     void setRoomTableData(String[][] tableData, String[] columnNames);
+
+    boolean isDisplayed();
 }
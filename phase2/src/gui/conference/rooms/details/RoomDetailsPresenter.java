@@ -1,10 +1,9 @@
 package gui.conference.rooms.details;
 
 import convention.exception.RoomInUseException;
-import gui.conference.tabs.ConferenceTabsConstants;
+import convention.notification.RoomChanged;
 import gui.conference.util.AbstractConferencePresenter;
 import gui.util.enums.DialogFactoryOptions;
-import gui.util.enums.PanelFactoryOptions;
 import gui.util.interfaces.IDialog;
 import gui.util.interfaces.IFrame;
 
@@ -32,15 +31,34 @@ class RoomDetailsPresenter extends AbstractConferencePresenter {
         this.roomUUID = roomUUID;
 
         updateRoomData();
+
+        // The details are updated in place when the room changes. Deleted rooms are removed by the rooms menu.
+        eventBus.subscribe(this, RoomChanged.class, RoomDetailsPresenter::roomChanged);
+    }
+
+    /**
+     * Updates the room table if this room was changed
+     *
+     * @param event event that was published
+     */
+    private void roomChanged(RoomChanged event) {
+        if (!roomDetailsView.isDisplayed()) {
+            // The page this presenter belongs to was replaced
+            eventBus.unsubscribe(this);
+        } else if (isInConference(event) && roomUUID.equals(event.getRoomUUID())) {
+            updateRoomData();
+        }
     }
 
     /**
      * Deletes the selected room after confirming the deletion through a dialog.
      */
     void deleteRoom() {
+        String roomLocation = withLock(() -> roomController.getRoomLocation(conferenceUUID, signedInUserUUID, roomUUID));
+
         IDialog confirmDeleteDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.CONFIRM_BOOLEAN, new HashMap<String, Object>() {
             {
-                put("message", String.format("Are you sure you want to DELETE this room? You CANNOT undo this. (%s)", roomController.getRoomLocation(conferenceUUID, signedInUserUUID, roomUUID)));
+                put("message", String.format("Are you sure you want to DELETE this room? You CANNOT undo this. (%s)", roomLocation));
                 put("title", "Confirm delete room");
                 put("messageType", DialogFactoryOptions.dialogType.WARNING);
                 put("confirmationType", DialogFactoryOptions.optionType.YES_NO_OPTION);
@@ -49,7 +67,7 @@ class RoomDetailsPresenter extends AbstractConferencePresenter {
 
         if ((Boolean) confirmDeleteDialog.run()) {
             try {
-                roomController.deleteRoom(conferenceUUID, signedInUserUUID, roomUUID);
+                withLock(() -> roomController.deleteRoom(conferenceUUID, signedInUserUUID, roomUUID));
             } catch (RoomInUseException e) {
                 IDialog roomInUsedExceptionDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.MESSAGE, new HashMap<String, Object>() {
                     {
@@ -61,8 +79,6 @@ class RoomDetailsPresenter extends AbstractConferencePresenter {
 
                 roomInUsedExceptionDialog.run();
             }
-
-            reloadManageRoomsPage(null);
         }
     }
 
@@ -78,36 +94,19 @@ class RoomDetailsPresenter extends AbstractConferencePresenter {
             }
         });
 
-        if (roomFormDialog.run() != null) {
-            // Reload to update changes
-            reloadManageRoomsPage(roomUUID);
-        }
-    }
-
-    /**
-     * Reloads page and specifies a default room to open upon next load
-     *
-     * @param selectedRoomUUID
-     */
-    private void reloadManageRoomsPage(UUID selectedRoomUUID) {
-        mainFrame.setPanel(panelFactory.createPanel(PanelFactoryOptions.panelNames.MAIN_MENU, new HashMap<String, Object>() {
-            {
-                put("defaultConferenceUUID", conferenceUUID);
-                put("defaultRoomUUID", selectedRoomUUID);
-                put("defaultTabName", ConferenceTabsConstants.tabNames.ROOMS);
-            }
-        }));
+        // Changes are shown when the room form saves them
+        roomFormDialog.run();
     }
 
     /**
      * Updates the room table data.
      */
     private void updateRoomData() {
-        String[][] tableData = {
+        String[][] tableData = withLock(() -> new String[][]{
                 {"Room UUID", roomUUID.toString()},
                 {"Room Location", roomController.getRoomLocation(conferenceUUID, signedInUserUUID, roomUUID)},
                 {"Room Capacity", String.valueOf(roomController.getRoomCapacity(conferenceUUID, signedInUserUUID, roomUUID))},
-        };
+        });
 
         String[] columnNames = {
                 "Key",
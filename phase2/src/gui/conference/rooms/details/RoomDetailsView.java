@@ -47,6 +47,16 @@ public class RoomDetailsView implements IPanel, IRoomDetailsView {
 
     }
 
+    /**
+     * Checks if this view is still part of the window, since it is thrown away when another page is opened
+     *
+     * @return true iff the view is in a window
+     */
+    @Override
+    public boolean isDisplayed() {
+        return SwingUtilities.getWindowAncestor(roomViewPanel) != null;
+    }
+
     /**
      * Gets the panel to display
      *
@@ -36,8 +36,10 @@ class RoomFormPresenter extends AbstractConferencePresenter {
         if (isExistingRoom) {
             roomFormDialog.setDialogTitle(String.format("Editing Room (%s)", roomUUID));
 
-            roomLocation = roomController.getRoomLocation(conferenceUUID, signedInUserUUID, roomUUID);
-            roomCapacity = roomController.getRoomCapacity(conferenceUUID, signedInUserUUID, roomUUID);
+            withLock(() -> {
+                roomLocation = roomController.getRoomLocation(conferenceUUID, signedInUserUUID, roomUUID);
+                roomCapacity = roomController.getRoomCapacity(conferenceUUID, signedInUserUUID, roomUUID);
+            });
 
             roomFormDialog.setLocation(roomLocation);
             roomFormDialog.setCapacity(roomCapacity);
@@ -57,12 +59,14 @@ class RoomFormPresenter extends AbstractConferencePresenter {
             roomLocation = roomFormDialog.getRoomLocation();
             roomCapacity = roomFormDialog.getCapacity();
 
-            if (isExistingRoom) {
-                roomController.setRoomLocation(conferenceUUID, signedInUserUUID, roomUUID, roomLocation);
-                roomController.setRoomCapacity(conferenceUUID, signedInUserUUID, roomUUID, roomCapacity);
-            } else {
-                roomUUID = roomController.createRoom(conferenceUUID, signedInUserUUID, roomLocation, roomCapacity);
-            }
+            withLock(() -> {
+                if (isExistingRoom) {
+                    roomController.setRoomLocation(conferenceUUID, signedInUserUUID, roomUUID, roomLocation);
+                    roomController.setRoomCapacity(conferenceUUID, signedInUserUUID, roomUUID, roomCapacity);
+                } else {
+                    roomUUID = roomController.createRoom(conferenceUUID, signedInUserUUID, roomLocation, roomCapacity);
+                }
+            });
 
             roomFormDialog.setRoomUUID(roomUUID);
             roomFormDialog.setUpdated(true);
@@ -1,5 +1,9 @@
 package gui.conference.rooms.menu;
 
+import convention.notification.ConferenceDomainEvent;
+import convention.notification.RoomChanged;
+import convention.notification.RoomCreated;
+import convention.notification.RoomDeleted;
 import gui.conference.tabs.ConferenceTabsConstants;
 import gui.conference.util.AbstractConferencePresenter;
 import gui.util.enums.DialogFactoryOptions;
@@ -8,10 +12,7 @@ import gui.util.interfaces.IDialog;
 import gui.util.interfaces.IFrame;
 import gui.util.interfaces.IPanel;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 
 public class ConferenceRoomsPresenter extends AbstractConferencePresenter {
 
@@ -19,6 +20,7 @@ public class ConferenceRoomsPresenter extends AbstractConferencePresenter {
     protected UUID conferenceUUID;
 
     private List<UUID> roomUUIDs;
+    private String[] roomLocations;
     private int currentRoomIndex = -1;
 
     /**
@@ -34,11 +36,17 @@ public class ConferenceRoomsPresenter extends AbstractConferencePresenter {
         this.conferenceRoomView = conferenceRoomView;
 
         // Fetch local list of rooms
-        updateRoomList();
+        roomUUIDs = new ArrayList<>(withLock(() -> roomController.getRooms(conferenceUUID, signedInUserUUID)));
+        roomLocations = getRoomLocations(roomUUIDs);
+
+        // The list is updated in place when rooms change instead of reloading the page
+        eventBus.subscribe(this, RoomCreated.class, ConferenceRoomsPresenter::roomsChanged);
+        eventBus.subscribe(this, RoomChanged.class, ConferenceRoomsPresenter::roomsChanged);
+        eventBus.subscribe(this, RoomDeleted.class, ConferenceRoomsPresenter::roomsChanged);
 
         // Select default room
         if (roomUUIDs.size() > 0) {
-            updateRoomLocations();
+            conferenceRoomView.setRoomList(roomLocations);
 
             int defaultRoomIndex = 0;
 
@@ -62,10 +70,14 @@ public class ConferenceRoomsPresenter extends AbstractConferencePresenter {
         });
 
         UUID newRoomUUID = (UUID) roomFormDialog.run();
-        if (newRoomUUID != null) {
-            reloadManageRoomsPage(newRoomUUID);
-        }
 
+        // The new room was already added to the list when it was created
+        if (newRoomUUID != null && roomUUIDs.contains(newRoomUUID)) {
+            int index = roomUUIDs.indexOf(newRoomUUID);
+
+            conferenceRoomView.setRoomListSelection(index);
+            selectRoomPanel(index);
+        }
     }
 
     /**
@@ -84,8 +96,8 @@ public class ConferenceRoomsPresenter extends AbstractConferencePresenter {
      * @param defaultTabName name of the room to open by default
      */
     void selectRoomPanel(int index, ConferenceTabsConstants.tabNames defaultTabName) {
-        // Don't need to perform an update if we're already selected
-        if (index != currentRoomIndex) {
+        // Don't need to perform an update if we're already selected. The index is -1 while the list is being replaced.
+        if (index != -1 && index != currentRoomIndex) {
             currentRoomIndex = index;
             UUID selectedRoomUUID = roomUUIDs.get(index);
 
@@ -103,40 +115,88 @@ public class ConferenceRoomsPresenter extends AbstractConferencePresenter {
     }
 
     /**
-     * Reloads page and specifies a default room to open upon next load
+     * Checks if the page this presenter belongs to was replaced. If it was, the presenter stops listening for changes.
      *
-     * @param selectedRoomUUID the UUID of the room to load
+     * @return true iff the view is no longer displayed
      */
-    private void reloadManageRoomsPage(UUID selectedRoomUUID) {
-        mainFrame.setPanel(panelFactory.createPanel(PanelFactoryOptions.panelNames.MAIN_MENU, new HashMap<String, Object>() {
-            {
-                put("defaultConferenceUUID", conferenceUUID);
-                put("defaultRoomUUID", selectedRoomUUID);
-                put("defaultTabName", ConferenceTabsConstants.tabNames.ROOMS);
-            }
-        }));
+    private boolean isDiscarded() {
+        if (conferenceRoomView.isDisplayed()) {
+            return false;
+        }
+
+        eventBus.unsubscribe(this);
+        return true;
     }
 
     /**
-     * Update the local list of room UUIDs
+     * Updates the list of rooms after a room in this conference changes
+     *
+     * @param event event that was published
      */
-    private void updateRoomList() {
-        currentRoomIndex = -1;
-        roomUUIDs = new ArrayList<>(roomController.getRooms(conferenceUUID, signedInUserUUID));
+    private void roomsChanged(ConferenceDomainEvent event) {
+        if (!isDiscarded() && isInConference(event)) {
+            updateRoomList();
+        }
     }
 
     /**
-     * Updates the local list of room locations
+     * Updates the list of rooms with the rooms that were added, removed or renamed. Rooms that are still in the list
+     * keep their position, and the selected room stays open without recreating its panel.
      */
-    private void updateRoomLocations() {
-        String[] roomLocations = new String[roomUUIDs.size()];
+    private void updateRoomList() {
+        Set<UUID> currentRoomUUIDs = withLock(() -> roomController.getRooms(conferenceUUID, signedInUserUUID));
+
+        List<UUID> updatedRoomUUIDs = new ArrayList<>(roomUUIDs);
+        updatedRoomUUIDs.retainAll(currentRoomUUIDs);
 
-        for (int i = 0; i < roomUUIDs.size(); i++) {
-            roomLocations[i] = roomController.getRoomLocation(conferenceUUID, signedInUserUUID, roomUUIDs.get(i));
+        Set<UUID> existingRoomUUIDs = new HashSet<>(updatedRoomUUIDs);
+
+        for (UUID roomUUID : currentRoomUUIDs) {
+            if (!existingRoomUUIDs.contains(roomUUID)) {
+                updatedRoomUUIDs.add(roomUUID);
+            }
         }
 
+        String[] updatedRoomLocations = getRoomLocations(updatedRoomUUIDs);
+
+        if (updatedRoomUUIDs.equals(roomUUIDs) && Arrays.equals(updatedRoomLocations, roomLocations)) {
+            return;
+        }
+
+        UUID selectedRoomUUID = currentRoomIndex == -1 ? null : roomUUIDs.get(currentRoomIndex);
+
+        roomUUIDs = updatedRoomUUIDs;
+        roomLocations = updatedRoomLocations;
+        currentRoomIndex = roomUUIDs.indexOf(selectedRoomUUID);
+
+        // Replacing the list clears the selection, so it has to be restored
         conferenceRoomView.setRoomList(roomLocations);
+
+        if (currentRoomIndex != -1) {
+            conferenceRoomView.setRoomListSelection(currentRoomIndex);
+        } else if (roomUUIDs.size() > 0) {
+            conferenceRoomView.setRoomListSelection(0);
+            selectRoomPanel(0);
+        } else {
+            conferenceRoomView.clearRoomTabs();
+        }
     }
 
+    /**
+     * Gets the locations of a list of rooms
+     *
+     * @param roomUUIDs UUIDs of the rooms
+     * @return room locations, in the same order
+     */
+    private String[] getRoomLocations(List<UUID> roomUUIDs) {
+        String[] roomLocations = new String[roomUUIDs.size()];
 
+        withLock(() -> {
+            for (int i = 0; i < roomUUIDs.size(); i++) {
+                roomLocations[i] = roomController.getRoomLocation(conferenceUUID, signedInUserUUID, roomUUIDs.get(i));
+            }
+        });
+
+        return roomLocations;
+    }
 }
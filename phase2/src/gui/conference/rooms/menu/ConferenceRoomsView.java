@@ -4,6 +4,7 @@ import gui.util.interfaces.IFrame;
 import gui.util.interfaces.IPanel;
 
 import javax.swing.*;
+import java.awt.*;
 import java.util.UUID;
 
 /**
@@ -15,12 +16,17 @@ public class ConferenceRoomsView implements IPanel, IConferenceRoomsView {
     private JList roomsList;
     private JSplitPane roomsSplitPane;
 
+    // Shown on the right when there are no rooms
+    private Component noRoomsComponent;
+
     /**
      * @param mainFrame       main GUI frame
      * @param conferenceUUID  UUID of the associated conference
      * @param defaultRoomUUID UUID of the default room to select. If none selected, or invalid, the first one will be selected
      */
     public ConferenceRoomsView(IFrame mainFrame, UUID conferenceUUID, UUID defaultRoomUUID) {
+        noRoomsComponent = roomsSplitPane.getRightComponent();
+
         ConferenceRoomsPresenter conferenceRoomsPresenter = new ConferenceRoomsPresenter(mainFrame, this, conferenceUUID, defaultRoomUUID);
         createRoomButton.addActionListener((e) -> conferenceRoomsPresenter.createRoom());
 
@@ -35,6 +41,14 @@ public class ConferenceRoomsView implements IPanel, IConferenceRoomsView {
         roomsSplitPane.setRightComponent(tabsPanel.getPanel());
     }
 
+    /**
+     * Shows that there are no rooms in the right pane
+     */
+    @Override
+    public void clearRoomTabs() {
+        roomsSplitPane.setRightComponent(noRoomsComponent);
+    }
+
     /**
      * Sets the room list to be displayed
      *
@@ -55,6 +69,16 @@ public class ConferenceRoomsView implements IPanel, IConferenceRoomsView {
         roomsList.setSelectedIndex(selectionIndex);
     }
 
+    /**
+     * Checks if this view is still part of the window, since it is thrown away when another page is opened
+     *
+     * @return true iff the view is in a window
+     */
+    @Override
+    public boolean isDisplayed() {
+        return SwingUtilities.getWindowAncestor(panel) != null;
+    }
+
     /**
      * Gets the panel to display
      *
@@ -8,8 +8,11 @@ import gui.util.interfaces.IPanel;
 public interface IConferenceRoomsView {
     void setRoomTabs(IPanel tabsPanel);
 
+    void clearRoomTabs();
+
     void setRoomList(String[] conferenceNames);
 
     void setRoomListSelection(int selectionIndex);
 
+    boolean isDisplayed();
 }
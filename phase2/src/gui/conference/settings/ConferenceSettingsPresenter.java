@@ -1,7 +1,7 @@
 package gui.conference.settings;
 
 import convention.exception.LoneOrganizerException;
-import gui.conference.tabs.ConferenceTabsConstants;
+import convention.notification.ConferenceUsersChanged;
 import gui.conference.util.AbstractConferencePresenter;
 import gui.util.enums.DialogFactoryOptions;
 import gui.util.enums.PanelFactoryOptions;
@@ -29,13 +29,31 @@ class ConferenceSettingsPresenter extends AbstractConferencePresenter {
         this.conferenceSettingsView = conferenceSettingsView;
 
         updateConferenceUsers();
+
+        // The table is updated in place when users join or leave instead of reloading the page. Changes to the signed
+        // in user's own roles are handled by the conference menu, which creates the tabs again.
+        eventBus.subscribe(this, ConferenceUsersChanged.class, ConferenceSettingsPresenter::conferenceUsersChanged);
+    }
+
+    /**
+     * Updates the table of conference users after a user joins or leaves this conference
+     *
+     * @param event event that was published
+     */
+    private void conferenceUsersChanged(ConferenceUsersChanged event) {
+        if (!conferenceSettingsView.isDisplayed()) {
+            // The page this presenter belongs to was replaced
+            eventBus.unsubscribe(this);
+        } else if (isInConference(event)) {
+            updateConferenceUsers();
+        }
     }
 
     /**
      * Updates the table of conference users
      */
     private void updateConferenceUsers() {
-        List<UUID> userUUIDs = new ArrayList<>(conferenceController.getUsers(conferenceUUID, signedInUserUUID));
+        List<UUID> userUUIDs = new ArrayList<>(withLock(() -> conferenceController.getUsers(conferenceUUID, signedInUserUUID)));
 
         String[] columnNames = {
                 "First Name",
@@ -50,20 +68,22 @@ class ConferenceSettingsPresenter extends AbstractConferencePresenter {
 
         String[][] tableData = new String[userUUIDs.size()][columnNames.length];
 
-        for (int i = 0; i < userUUIDs.size(); i++) {
-            UUID targetUserUUID = userUUIDs.get(i);
-
-            tableData[i] = new String[]{
-                    userController.getUserFirstName(targetUserUUID),
-                    userController.getUserLastName(targetUserUUID),
-                    userController.getUserUsername(targetUserUUID),
-                    targetUserUUID.toString(),
-                    conferenceController.isAttendee(conferenceUUID, targetUserUUID, targetUserUUID) ? "YES" : "NO",
-                    conferenceController.isSpeaker(conferenceUUID, targetUserUUID, targetUserUUID) ? "YES" : "NO",
-                    conferenceController.isOrganizer(conferenceUUID, targetUserUUID, targetUserUUID) ? "YES" : "NO",
-                    userController.getUserIsGod(targetUserUUID) ? "YES" : "NO"
-            };
-        }
+        withLock(() -> {
+            for (int i = 0; i < userUUIDs.size(); i++) {
+                UUID targetUserUUID = userUUIDs.get(i);
+
+                tableData[i] = new String[]{
+                        userController.getUserFirstName(targetUserUUID),
+                        userController.getUserLastName(targetUserUUID),
+                        userController.getUserUsername(targetUserUUID),
+                        targetUserUUID.toString(),
+                        conferenceController.isAttendee(conferenceUUID, targetUserUUID, targetUserUUID) ? "YES" : "NO",
+                        conferenceController.isSpeaker(conferenceUUID, targetUserUUID, targetUserUUID) ? "YES" : "NO",
+                        conferenceController.isOrganizer(conferenceUUID, targetUserUUID, targetUserUUID) ? "YES" : "NO",
+                        userController.getUserIsGod(targetUserUUID) ? "YES" : "NO"
+                };
+            }
+        });
 
         conferenceSettingsView.setUserList(tableData, columnNames);
     }
@@ -75,7 +95,7 @@ class ConferenceSettingsPresenter extends AbstractConferencePresenter {
         IDialog chooseUsersDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.MULTI_USER_PICKER, new HashMap<String, Object>() {
             {
                 put("instructions", "Select users to add to the new conversation");
-                put("availableUserUUIDs", conferenceController.getUsers(conferenceUUID, signedInUserUUID));
+                put("availableUserUUIDs", withLock(() -> conferenceController.getUsers(conferenceUUID, signedInUserUUID)));
             }
         });
 
@@ -84,7 +104,7 @@ class ConferenceSettingsPresenter extends AbstractConferencePresenter {
         if (selectedUserUUIDs != null) {
             selectedUserUUIDs.add(signedInUserUUID); // We need to add the signed in user in the conversation too
 
-            UUID conversationUUID = conferenceController.createConversationWithUsers(conferenceUUID, signedInUserUUID, selectedUserUUIDs);
+            UUID conversationUUID = withLock(() -> conferenceController.createConversationWithUsers(conferenceUUID, signedInUserUUID, selectedUserUUIDs));
 
             IDialog conversationCreatedDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.MESSAGE, new HashMap<String, Object>() {
                 {
@@ -117,7 +137,7 @@ class ConferenceSettingsPresenter extends AbstractConferencePresenter {
 
     /**
      * Method to start a dialog to select a user and confirm selection. Checks if there are actually users available,
-     * and executes lambda function on success.
+     * and executes lambda function on success. The lambda functions are called while holding the controller lock.
      *
      * @param availableUserUUIDs      set of user UUIDs to be available for selection
      * @param title                   dialog title
@@ -153,7 +173,7 @@ class ConferenceSettingsPresenter extends AbstractConferencePresenter {
             if (selectedUserUUID != null) {
                 IDialog confirmSelection = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.CONFIRM_BOOLEAN, new HashMap<String, Object>() {
                     {
-                        put("message", confirmMessageGenerator.apply(selectedUserUUID));
+                        put("message", withLock(() -> confirmMessageGenerator.apply(selectedUserUUID)));
                         put("title", title);
                         put("messageType", DialogFactoryOptions.dialogType.WARNING);
                         put("confirmationType", DialogFactoryOptions.optionType.YES_NO_OPTION);
@@ -163,12 +183,12 @@ class ConferenceSettingsPresenter extends AbstractConferencePresenter {
                 if ((boolean) confirmSelection.run()) {
 
                     // Run the function on submit
-                    String errorMessage = submit.apply(selectedUserUUID);
+                    String errorMessage = withLock(() -> submit.apply(selectedUserUUID));
 
                     if (errorMessage == null) {
                         IDialog successDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.MESSAGE, new HashMap<String, Object>() {
                             {
-                                put("message", successMessageGenerator.apply(selectedUserUUID));
+                                put("message", withLock(() -> successMessageGenerator.apply(selectedUserUUID)));
                                 put("title", title);
                                 put("messageType", DialogFactoryOptions.dialogType.INFORMATION);
                             }
@@ -200,8 +220,12 @@ class ConferenceSettingsPresenter extends AbstractConferencePresenter {
      */
     void addOrganizer() {
         // Users that are eligible to become organizers are in the system, but are not already organizers
-        Set<UUID> availableUserUUIDs = new HashSet<>(userController.getUsers());
-        availableUserUUIDs.removeAll(conferenceController.getOrganizers(conferenceUUID, signedInUserUUID));
+        Set<UUID> availableUserUUIDs = withLock(() -> {
+            Set<UUID> userUUIDs = new HashSet<>(userController.getUsers());
+            userUUIDs.removeAll(conferenceController.getOrganizers(conferenceUUID, signedInUserUUID));
+
+            return userUUIDs;
+        });
 
         confirmSelectUser(
                 availableUserUUIDs,
@@ -215,17 +239,15 @@ class ConferenceSettingsPresenter extends AbstractConferencePresenter {
                     return null; // There is no fail message
                 }
         );
-
-        updateConferenceUsers();
     }
 
     /**
      * Remove a user from thee conference
      */
     void removeUser() {
-        Set<UUID> conferenceUserUUIDs = new HashSet<>(conferenceController.getUsers(conferenceUUID, signedInUserUUID));
+        Set<UUID> conferenceUserUUIDs = new HashSet<>(withLock(() -> conferenceController.getUsers(conferenceUUID, signedInUserUUID)));
 
-        UUID removedUserUUID = confirmSelectUser(
+        confirmSelectUser(
                 conferenceUserUUIDs,
                 "Remove user",
                 "Choose a user to remove from the conference. All of their roles, events registrations, and speaker assignments will be cancelled.",
@@ -242,23 +264,15 @@ class ConferenceSettingsPresenter extends AbstractConferencePresenter {
                     return null; // There is no fail message
                 }
         );
-
-        if (removedUserUUID == signedInUserUUID) {
-            // Send user back to main menu since they're not in the conference anymore
-            loadMainMenu();
-        } else {
-            // Reload the main menu to update page and stats
-            reloadSettingsPage();
-        }
     }
 
     /**
      * Remove a user's organizer permissions
      */
     void removeOrganizer() {
-        Set<UUID> conferenceUserUUIDs = new HashSet<>(conferenceController.getOrganizers(conferenceUUID, signedInUserUUID));
+        Set<UUID> conferenceUserUUIDs = new HashSet<>(withLock(() -> conferenceController.getOrganizers(conferenceUUID, signedInUserUUID)));
 
-        UUID removedUserUUID = confirmSelectUser(
+        confirmSelectUser(
                 conferenceUserUUIDs,
                 "Remove organizer",
                 "Choose a user to revoke organizer permissions from. If they do not have any other roles, they will also be removed from the conference.",
@@ -275,18 +289,6 @@ class ConferenceSettingsPresenter extends AbstractConferencePresenter {
                     return null; // There is no fail message
                 }
         );
-
-        if (removedUserUUID == signedInUserUUID) {
-            // Send the user back to the general conference page, since this user isn't an organizer anymore
-            mainFrame.setPanel(panelFactory.createPanel(PanelFactoryOptions.panelNames.MAIN_MENU, new HashMap<String, Object>() {
-                {
-                    put("defaultConferenceUUID", conferenceUUID);
-                }
-            }));
-        } else {
-            // Reload the main menu to update page and stats
-            reloadSettingsPage();
-        }
     }
 
     /**
@@ -294,8 +296,12 @@ class ConferenceSettingsPresenter extends AbstractConferencePresenter {
      */
     void addAttendee() {
         // Users that are eligible to become attendees are in the system, but are not already attendees
-        Set<UUID> availableUserUUIDs = new HashSet<>(userController.getUsers());
-        availableUserUUIDs.removeAll(conferenceController.getAttendees(conferenceUUID, signedInUserUUID));
+        Set<UUID> availableUserUUIDs = withLock(() -> {
+            Set<UUID> userUUIDs = new HashSet<>(userController.getUsers());
+            userUUIDs.removeAll(conferenceController.getAttendees(conferenceUUID, signedInUserUUID));
+
+            return userUUIDs;
+        });
 
         confirmSelectUser(
                 availableUserUUIDs,
@@ -309,9 +315,6 @@ class ConferenceSettingsPresenter extends AbstractConferencePresenter {
                     return null; // There is no fail message
                 }
         );
-
-        // Reload the main menu to update page and stats
-        reloadSettingsPage();
     }
 
     /**
@@ -320,7 +323,7 @@ class ConferenceSettingsPresenter extends AbstractConferencePresenter {
     void deleteConference() {
         IDialog confirmDeleteDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.CONFIRM_BOOLEAN, new HashMap<String, Object>() {
             {
-                put("message", String.format("Are you sure you want to DELETE this conference? You CANNOT undo this. (%s)", conferenceController.getConferenceName(conferenceUUID)));
+                put("message", String.format("Are you sure you want to DELETE this conference? You CANNOT undo this. (%s)", withLock(() -> conferenceController.getConferenceName(conferenceUUID))));
                 put("title", "Confirm delete conference");
                 put("messageType", DialogFactoryOptions.dialogType.WARNING);
                 put("confirmationType", DialogFactoryOptions.optionType.YES_NO_OPTION);
@@ -328,10 +331,8 @@ class ConferenceSettingsPresenter extends AbstractConferencePresenter {
         });
 
         if ((Boolean) confirmDeleteDialog.run()) {
-            conferenceController.deleteConference(conferenceUUID, signedInUserUUID);
-
-            // Reload the main menu to update changes
-            loadMainMenu();
+            // The conference menu removes the conference once it is deleted
+            withLock(() -> conferenceController.deleteConference(conferenceUUID, signedInUserUUID));
         }
     }
 
@@ -345,28 +346,7 @@ class ConferenceSettingsPresenter extends AbstractConferencePresenter {
             }
         });
 
-        if (conferenceFormDialog.run() != null) {
-            // Reload the main menu to update changes
-            reloadSettingsPage();
-        }
-    }
-
-    /**
-     * Return to main menu
-     */
-    private void loadMainMenu() {
-        mainFrame.setPanel(panelFactory.createPanel(PanelFactoryOptions.panelNames.MAIN_MENU));
-    }
-
-    /**
-     * Reload page and select current conference and tab
-     */
-    private void reloadSettingsPage() {
-        mainFrame.setPanel(panelFactory.createPanel(PanelFactoryOptions.panelNames.MAIN_MENU, new HashMap<String, Object>() {
-            {
-                put("defaultConferenceUUID", conferenceUUID);
-                put("defaultTabName", ConferenceTabsConstants.tabNames.SETTINGS);
-            }
-        }));
+        // Changes are shown when the conference form saves them
+        conferenceFormDialog.run();
     }
 }
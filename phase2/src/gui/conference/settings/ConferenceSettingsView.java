@@ -57,6 +57,16 @@ public class ConferenceSettingsView implements IPanel, IConferenceSettingsView {
         userTable.setModel(tableModel);
     }
 
+    /**
+     * Checks if this view is still part of the window, since it is thrown away when another page is opened
+     *
+     * @return true iff the view is in a window
+     */
+    @Override
+    public boolean isDisplayed() {
+        return SwingUtilities.getWindowAncestor(settingsPanel) != null;
+    }
+
     /**
      * gets a panel
      *
@@ -5,4 +5,6 @@ package gui.conference.settings;
  */
 public interface IConferenceSettingsView {
     void setUserList(String[][] tableData, String[] columnNames);
+
+    boolean isDisplayed();
 }
@@ -1,5 +1,6 @@
 package gui.conference.util;
 
+import convention.notification.ConferenceDomainEvent;
 import gui.util.AbstractPresenter;
 import gui.util.interfaces.IFrame;
 
@@ -26,12 +27,26 @@ public abstract class AbstractConferencePresenter extends AbstractPresenter {
     }
 
     private void updateRole() {
-        if (conferenceController.isOrganizer(conferenceUUID, signedInUserUUID, signedInUserUUID)) {
-            role = "Organizer";
-        } else if (conferenceController.isSpeaker(conferenceUUID, signedInUserUUID, signedInUserUUID)) {
-            role = "Speaker";
-        } else {
-            role = "Attendee";
-        }
+        withLock(() -> {
+            if (conferenceController.isOrganizer(conferenceUUID, signedInUserUUID, signedInUserUUID)) {
+                role = "Organizer";
+            } else if (conferenceController.isSpeaker(conferenceUUID, signedInUserUUID, signedInUserUUID)) {
+                role = "Speaker";
+            } else {
+                role = "Attendee";
+            }
+        });
     }
-}
\ No newline at end of file
+
+    /**
+     * Checks if a change published on the event bus happened in this conference, and that the signed in user can still
+     * see the conference. Views of a conference the user just left are thrown away by the conference menu, but can be
+     * notified of the changes that happened while leaving before that.
+     *
+     * @param event event that was published
+     * @return true iff this presenter should update its view
+     */
+    protected boolean isInConference(ConferenceDomainEvent event) {
+        return conferenceUUID.equals(event.getConferenceUUID()) && withLock(() -> conferenceController.isAffiliated(conferenceUUID, signedInUserUUID));
+    }
+}
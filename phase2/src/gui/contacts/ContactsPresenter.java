@@ -38,9 +38,10 @@ class ContactsPresenter extends AbstractPresenter {
      */
     private void updateContactNames() {
         String[] contactNames = new String[contactsList.size()];
+        Map<UUID, String> names = withLock(() -> userController.getUserFullNames(contactsList));
 
         for (int i = 0; i < contactsList.size(); i++) {
-            contactNames[i] = userController.getUserFullName(contactsList.get(i));
+            contactNames[i] = names.get(contactsList.get(i));
         }
 
         contactsView.setContactsList(contactNames);
@@ -51,8 +52,10 @@ class ContactsPresenter extends AbstractPresenter {
      */
     private void updateRequestsNames() {
         String[] requestNames = new String[requestsList.size()];
+        Map<UUID, String> names = withLock(() -> userController.getUserFullNames(requestsList));
+
         for (int i = 0; i < requestsList.size(); i++) {
-            requestNames[i] = userController.getUserFullName(requestsList.get(i));
+            requestNames[i] = names.get(requestsList.get(i));
         }
 
         contactsView.setRequestsList(requestNames);
@@ -62,14 +65,14 @@ class ContactsPresenter extends AbstractPresenter {
      * Updates contactsList attribute.
      */
     private void updateContactsList() {
-        contactsList = new ArrayList<>(contactController.showContacts(signedInUserUUID));
+        contactsList = new ArrayList<>(withLock(() -> contactController.showContacts(signedInUserUUID)));
     }
 
     /**
      * Updates requestsList attribute.
      */
     private void updateRequestsList() {
-        requestsList = new ArrayList<>(contactController.showRequests(signedInUserUUID));
+        requestsList = new ArrayList<>(withLock(() -> contactController.showRequests(signedInUserUUID)));
     }
 
     /**
@@ -113,24 +116,28 @@ class ContactsPresenter extends AbstractPresenter {
      * Sends a request to the user that is selected from the pop up dialog.
      */
     void sendRequest() {
-        Set<UUID> potentialContacts = userController.getUsers();
+        Set<UUID> potentialContacts = withLock(() -> {
+            Set<UUID> userUUIDs = new HashSet<>(userController.getUsers());
+
+            userUUIDs.removeAll(contactController.showContacts(signedInUserUUID));
+            userUUIDs.removeAll(contactController.showSentRequests(signedInUserUUID));
+            userUUIDs.remove(signedInUserUUID);
 
-        potentialContacts.removeAll(contactController.showContacts(signedInUserUUID));
-        potentialContacts.removeAll(contactController.showSentRequests(signedInUserUUID));
-        potentialContacts.remove(signedInUserUUID);
+            return userUUIDs;
+        });
 
         UserPickerDialog userPickerDialog = new UserPickerDialog(mainFrame, potentialContacts, "Select User:");
         UUID potentialContactUUID = userPickerDialog.run();
 
         if (potentialContactUUID != null) {
             try {
-                contactController.sendRequest(signedInUserUUID, potentialContactUUID);
+                withLock(() -> contactController.sendRequest(signedInUserUUID, potentialContactUUID));
 
                 IDialog requestConfirmationDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.MESSAGE, new HashMap<String, Object>() {
                     {
                         put("messageType", DialogFactoryOptions.dialogType.INFORMATION);
                         put("title", "Confirmation");
-                        put("message", String.format("Request has been sent to [%s].", userController.getUserFullName(potentialContactUUID)));
+                        put("message", String.format("Request has been sent to [%s].", withLock(() -> userController.getUserFullName(potentialContactUUID))));
                     }
                 });
 
@@ -161,7 +168,7 @@ class ContactsPresenter extends AbstractPresenter {
         if (selectedContactUUID != null) {
             IDialog confirmDeletionDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.CONFIRM_BOOLEAN, new HashMap<String, Object>() {
                 {
-                    put("message", String.format("Are you sure you want to delete (%s) ?", userController.getUserFullName(selectedContactUUID)));
+                    put("message", String.format("Are you sure you want to delete (%s) ?", withLock(() -> userController.getUserFullName(selectedContactUUID))));
                     put("title", "Confirm Delete Contact");
                     put("messageType", DialogFactoryOptions.dialogType.QUESTION);
                     put("confirmationType", DialogFactoryOptions.optionType.YES_NO_OPTION);
@@ -169,7 +176,7 @@ class ContactsPresenter extends AbstractPresenter {
             });
 
             if ((boolean) confirmDeletionDialog.run()) {
-                contactController.deleteContacts(signedInUserUUID, selectedContactUUID);
+                withLock(() -> contactController.deleteContacts(signedInUserUUID, selectedContactUUID));
                 reloadContactsPage();
             }
         } else {
@@ -193,7 +200,7 @@ class ContactsPresenter extends AbstractPresenter {
         if (selectedUserUUID != null) {
             IDialog confirmAcceptDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.CONFIRM_BOOLEAN, new HashMap<String, Object>() {
                 {
-                    put("message", String.format("Are you sure you want to connect with (%s) ?", userController.getUserFullName(selectedUserUUID)));
+                    put("message", String.format("Are you sure you want to connect with (%s) ?", withLock(() -> userController.getUserFullName(selectedUserUUID))));
                     put("title", "Confirm Accept Request");
                     put("messageType", DialogFactoryOptions.dialogType.QUESTION);
                     put("confirmationType", DialogFactoryOptions.optionType.YES_NO_OPTION);
@@ -201,7 +208,7 @@ class ContactsPresenter extends AbstractPresenter {
             });
 
             if ((boolean) confirmAcceptDialog.run()) {
-                contactController.acceptRequest(signedInUserUUID, selectedUserUUID);
+                withLock(() -> contactController.acceptRequest(signedInUserUUID, selectedUserUUID));
                 reloadContactsPage();
             }
         } else {
@@ -225,7 +232,7 @@ class ContactsPresenter extends AbstractPresenter {
         if (selectedUserUUID != null) {
             IDialog confirmRejectDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.CONFIRM_BOOLEAN, new HashMap<String, Object>() {
                 {
-                    put("message", String.format("Are you sure you don't want to connect with (%s) ?", userController.getUserFullName(selectedUserUUID)));
+                    put("message", String.format("Are you sure you don't want to connect with (%s) ?", withLock(() -> userController.getUserFullName(selectedUserUUID))));
                     put("title", "Confirm Reject Request");
                     put("messageType", DialogFactoryOptions.dialogType.QUESTION);
                     put("confirmationType", DialogFactoryOptions.optionType.YES_NO_OPTION);
@@ -233,7 +240,7 @@ class ContactsPresenter extends AbstractPresenter {
             });
 
             if ((boolean) confirmRejectDialog.run()) {
-                contactController.rejectRequest(signedInUserUUID, selectedUserUUID);
+                withLock(() -> contactController.rejectRequest(signedInUserUUID, selectedUserUUID));
                 reloadContactsPage();
             }
         } else {
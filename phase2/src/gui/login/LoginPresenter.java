@@ -48,8 +48,8 @@ class LoginPresenter extends AbstractPresenter {
      * Login as an already registered user
      */
     void login() {
-        if (userController.login(loginView.getUsername(), loginView.getPassword()) != null) {
-            mainFrame.setPanel(panelFactory.createPanel(PanelFactoryOptions.panelNames.MAIN_MENU));
+        if (withLock(() -> userController.login(loginView.getUsername(), loginView.getPassword())) != null) {
+            mainFrame.runWhenLoaded(() -> mainFrame.setPanel(panelFactory.createPanel(PanelFactoryOptions.panelNames.MAIN_MENU)));
         } else {
             IDialog invalidLoginDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.MESSAGE, new HashMap<String, Object>() {
                 {
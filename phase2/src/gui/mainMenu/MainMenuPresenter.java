@@ -41,10 +41,10 @@ class MainMenuPresenter extends AbstractPresenter {
         mainMenuView.setScheduleDownloadPanel(scheduleDownloadView);
 
         // Logout button text
-        mainMenuView.setLogoutButtonText(String.format("Logout (Signed in as %s)", userController.getUserFullName(signedInUserUUID)));
+        mainMenuView.setLogoutButtonText(String.format("Logout (Signed in as %s)", withLock(() -> userController.getUserFullName(signedInUserUUID))));
 
         // God mode users get something special
-        if (userController.getUserIsGod(signedInUserUUID)) {
+        if (withLock(() -> userController.getUserIsGod(signedInUserUUID))) {
             mainMenuView.setTopBarPanelText("GOD MODE ENABLED");
         }
     }
@@ -98,7 +98,7 @@ class MainMenuPresenter extends AbstractPresenter {
     }
 
     void logout() {
-        userController.logout();
+        withLock(userController::logout);
         mainFrame.setPanel(panelFactory.createPanel(PanelFactoryOptions.panelNames.LOGIN));
     }
 }
@@ -29,9 +29,9 @@ class ConversationFormPresenter extends AbstractPresenter {
         conversationFormDialog.setDialogTitle("Create New Conversation");
 
         // God users can message anyone
-        this.availableUserUUIDs = userController.getUserIsGod(signedInUserUUID)
+        this.availableUserUUIDs = withLock(() -> userController.getUserIsGod(signedInUserUUID)
                 ? userController.getUsers()
-                : contactController.showContacts(signedInUserUUID);
+                : contactController.showContacts(signedInUserUUID));
     }
 
     /**
@@ -59,7 +59,7 @@ class ConversationFormPresenter extends AbstractPresenter {
             });
             emptyMessageDialog.run();
         } else {
-            UUID conversationUUID = conversationController.initiateConversation(conversationName, signedInUserUUID, selectedUserUUIDs, messageContent);
+            UUID conversationUUID = withLock(() -> conversationController.initiateConversation(conversationName, signedInUserUUID, selectedUserUUIDs, messageContent));
 
             // Update conference UUID in case it has changed
             conversationFormDialog.setConversationUUID(conversationUUID);
@@ -8,12 +8,22 @@ public interface IMessagingView {
 
     void setConversationList(String[] conversationNames);
 
+    void addConversation(String conversationName);
+
+    void removeConversation(int index);
+
+    void setConversationName(int index, String conversationName);
+
     void setConversationListSelection(int selectionIndex);
 
     String getTextBoxContent();
 
     void setMessages(String[] messages);
 
+    void addMessage(String message);
+
+    void removeMessage(int index);
+
     void clearTextBox();
 
     int getNumMessages();
@@ -29,4 +39,6 @@ public interface IMessagingView {
     void setEnableArchiveButton(boolean instruction);
 
     void setEnableUnreadButton(boolean instruction);
+
+    boolean isDisplayed();
 }
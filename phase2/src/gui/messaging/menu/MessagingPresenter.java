@@ -2,13 +2,19 @@ package gui.messaging.menu;
 
 import gui.util.AbstractPresenter;
 import gui.util.enums.DialogFactoryOptions;
-import gui.util.enums.PanelFactoryOptions;
 import gui.util.interfaces.IDialog;
 import gui.util.interfaces.IFrame;
+import messaging.IConversationListener;
+import messaging.MessageView;
 
 import java.util.*;
 
-class MessagingPresenter extends AbstractPresenter {
+class MessagingPresenter extends AbstractPresenter implements IConversationListener {
+    // Number of messages shown when a conversation is opened, and loaded each time the user asks for older ones
+    private static final int PAGE_SIZE = 100;
+
+    private static final String LOAD_OLDER_MESSAGES = "(Click to load earlier messages)";
+
     private IMessagingView messagingView;
 
     private List<UUID> conversationUUIDs;
@@ -16,7 +22,11 @@ class MessagingPresenter extends AbstractPresenter {
     private int currentConversationIndex = -1;
     private UUID currentConversationUUID;
 
-    private String[] messageArray;
+    // Rows of the messages that are shown, oldest first
+    private List<String> messageRows = new ArrayList<>();
+
+    // Index of the oldest message shown. The ones before it are only read when the user asks for them.
+    private int firstMessageIndex;
 
     /**
      * Constructor for presenting messages
@@ -30,6 +40,9 @@ class MessagingPresenter extends AbstractPresenter {
 
         this.messagingView = messagingView;
 
+        // Conversations are updated in place when they change instead of reloading the page
+        conversationController.addConversationListener(this);
+
         updateConversationList();
 
         // Make initial selection
@@ -58,16 +71,18 @@ class MessagingPresenter extends AbstractPresenter {
             messagingView.setConversationListSelection(defaultConversationIndex); // makes it look like we select it
             updateSelection(defaultConversationIndex);
         } else {
-            if (messagingView.getNumMessages() == 0) {
-                String[] firstMessage = new String[]{"Create a New Conversation to View or Send Messages"};
-                messagingView.setMessages(firstMessage);
-            }
+            showNoConversations();
+        }
+    }
 
-            setMessageButtonsEnabled(false);
+    private void showNoConversations() {
+        String[] firstMessage = new String[]{"Create a New Conversation to View or Send Messages"};
+        messagingView.setMessages(firstMessage);
 
-            String[] messageInUsersList = new String[]{"Create New Conversation to Add Users"};
-            messagingView.setUsersList(messageInUsersList);
-        }
+        setMessageButtonsEnabled(false);
+
+        String[] messageInUsersList = new String[]{"Create New Conversation to Add Users"};
+        messagingView.setUsersList(messageInUsersList);
     }
 
     private void setMessageButtonsEnabled(boolean state) {
@@ -77,15 +92,6 @@ class MessagingPresenter extends AbstractPresenter {
         messagingView.setEnableUnreadButton(state);
     }
 
-    private void reloadMessagePage(UUID conversationUUID) {
-        mainFrame.setPanel(panelFactory.createPanel(PanelFactoryOptions.panelNames.MAIN_MENU, new HashMap<String, Object>() {
-            {
-                put("defaultTabIndex", 1);
-                put("defaultConversationUUID", conversationUUID);
-            }
-        }));
-    }
-
     /**
      * Deletes selected messages
      *
@@ -93,10 +99,23 @@ class MessagingPresenter extends AbstractPresenter {
      */
     void deleteMessage(int index) {
         if (index != -1 && currentConversationUUID != null) {
-            if (conversationController.checkIfSender(currentConversationUUID, signedInUserUUID, index)) {
+            // The first row loads older messages if there are any
+            if (firstMessageIndex > 0) {
+                if (index == 0) {
+                    loadOlderMessages();
+                    return;
+                }
+
+                index--;
+            }
+
+            int messageIndex = firstMessageIndex + index;
+            String message = messageRows.get(index);
+
+            if (withLock(() -> conversationController.checkIfSender(currentConversationUUID, signedInUserUUID, messageIndex))) {
                 IDialog deleteMessageConfirmation = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.CONFIRM_BOOLEAN, new HashMap<String, Object>() {
                     {
-                        put("message", String.format("Delete this message?\n\n%s", messageArray[index]));
+                        put("message", String.format("Delete this message?\n\n%s", message));
                         put("title", "Delete");
                         put("messageType", DialogFactoryOptions.dialogType.ERROR);
                         put("confirmationType", DialogFactoryOptions.optionType.YES_NO_OPTION);
@@ -105,8 +124,7 @@ class MessagingPresenter extends AbstractPresenter {
                 });
 
                 if ((boolean) deleteMessageConfirmation.run()) {
-                    conversationController.deleteMessage(currentConversationUUID, signedInUserUUID, index);
-                    reloadMessagePage(currentConversationUUID);
+                    withLock(() -> conversationController.deleteMessage(currentConversationUUID, signedInUserUUID, messageIndex));
                 }
             } else {
                 IDialog unauthorizedDeleteAttempt = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.MESSAGE, new HashMap<String, Object>() {
@@ -125,7 +143,7 @@ class MessagingPresenter extends AbstractPresenter {
      * Archives Conversation
      */
     void archiveConversation() {
-        if (userController.getUserIsGod(signedInUserUUID)) {
+        if (withLock(() -> userController.getUserIsGod(signedInUserUUID))) {
 
             IDialog godArchiveDialogAttempt = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.MESSAGE, new HashMap<String, Object>() {
                 {
@@ -148,8 +166,8 @@ class MessagingPresenter extends AbstractPresenter {
             });
 
             if ((boolean) archiveConfirmation.run()) {
-                conversationController.userArchiveConversation(signedInUserUUID, currentConversationUUID);
-                reloadMessagePage(null);
+                withLock(() -> conversationController.userArchiveConversation(signedInUserUUID, currentConversationUUID));
+                removeConversation(currentConversationIndex);
             }
         }
     }
@@ -167,8 +185,8 @@ class MessagingPresenter extends AbstractPresenter {
             }
         });
         if ((boolean) unreadConfirmation.run()) {
-            conversationController.userUnreadConversation(signedInUserUUID, currentConversationUUID);
-            updateConversationNames();
+            withLock(() -> conversationController.userUnreadConversation(signedInUserUUID, currentConversationUUID));
+            updateConversationName(currentConversationIndex);
         }
     }
 
@@ -178,10 +196,28 @@ class MessagingPresenter extends AbstractPresenter {
     void sendMessage() {
         String currentMessage = messagingView.getTextBoxContent();
         if (!currentMessage.equals("")) {
-            conversationController.sendMessage(signedInUserUUID, currentMessage, currentConversationUUID);
-            updateMessages();
+            UUID conversationUUID = currentConversationUUID;
             messagingView.clearTextBox();
-            messagingView.scrollToLastMessage();
+
+            // The message is sent in the background since it's written to disk first. It's shown by messageAdded,
+            // which runs before the task finishes.
+            runInBackground("Sending message", () -> {
+                conversationController.sendMessage(signedInUserUUID, currentMessage, conversationUUID);
+                return null;
+            }, ignored -> {
+                if (!isDiscarded()) {
+                    messagingView.scrollToLastMessage();
+                }
+            }, e -> {
+                IDialog sendFailedDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.MESSAGE, new HashMap<String, Object>() {
+                    {
+                        put("title", "Error");
+                        put("message", String.format("Unable to send the message: %s", e.getMessage()));
+                        put("messageType", DialogFactoryOptions.dialogType.ERROR);
+                    }
+                });
+                sendFailedDialog.run();
+            });
         }
 
     }
@@ -194,54 +230,106 @@ class MessagingPresenter extends AbstractPresenter {
 
         UUID newConversationUUID = (UUID) conversationFormDialog.run();
 
-        if (newConversationUUID != null) {
-            updateAndSelectNewConversation(newConversationUUID);
-            setMessageButtonsEnabled(true);
-            updateUserList(newConversationUUID);
+        // The new conversation was added to the list by membersChanged
+        int index = conversationUUIDs.indexOf(newConversationUUID);
+
+        if (index != -1) {
+            messagingView.setConversationListSelection(index);
+            updateSelection(index);
         }
     }
 
     private void updateUserList(UUID conversationUUID) {
-        Set<UUID> usersUUIDList = conversationController.getUsersInConversation(conversationUUID);
-        String[] userNames = new String[usersUUIDList.size()];
-        int i = 0;
-        for (UUID userUUID : usersUUIDList) {
-            userNames[i] = userController.getUserFullName(userUUID);
-            i++;
-        }
-        messagingView.setUsersList(userNames);
+        Collection<String> userNames = withLock(() -> userController.getUserFullNames(conversationController.getUsersInConversation(signedInUserUUID, conversationUUID)).values());
+        messagingView.setUsersList(userNames.toArray(new String[0]));
     }
 
-    private void updateAndSelectNewConversation(UUID selectedConversationUUID) {
-        // Update the local list with the new conference
-        updateConversationList();
-        updateConversationNames();
-
-        // Select the latest conference
-        int index = conversationUUIDs.indexOf(selectedConversationUUID);
-
-        messagingView.setConversationListSelection(index);
+    private String getConversationLabel(UUID conversationUUID) {
+        return withLock(() -> {
+            if (conversationController.getUserHasRead(signedInUserUUID, conversationUUID)) {
+                return conversationController.getConversationName(signedInUserUUID, conversationUUID);
+            } else {
+                return "(Unread) " + conversationController.getConversationName(signedInUserUUID, conversationUUID);
+            }
+        });
     }
 
     private void updateConversationNames() {
         String[] conversationNames = new String[conversationUUIDs.size()];
 
         for (int i = 0; i < conversationUUIDs.size(); i++) {
-            UUID conversationUUID = conversationUUIDs.get(i);
+            conversationNames[i] = getConversationLabel(conversationUUIDs.get(i));
+        }
 
-            if (conversationController.getUserHasRead(signedInUserUUID, conversationUUID)) {
-                conversationNames[i] = conversationController.getConversationName(conversationUUID);
+        messagingView.setConversationList(conversationNames);
+    }
+
+    private void updateConversationName(int index) {
+        messagingView.setConversationName(index, getConversationLabel(conversationUUIDs.get(index)));
+    }
+
+    private void addConversation(UUID conversationUUID) {
+        conversationUUIDs.add(conversationUUID);
+        messagingView.addConversation(getConversationLabel(conversationUUID));
+
+        // Open it if it's the only conversation
+        if (currentConversationUUID == null) {
+            setMessageButtonsEnabled(true);
+            messagingView.setConversationListSelection(conversationUUIDs.size() - 1);
+            updateSelection(conversationUUIDs.size() - 1);
+        }
+    }
+
+    private void removeConversation(int index) {
+        boolean removedCurrent = index == currentConversationIndex;
+
+        // Update the selection before the view so that the selection listener doesn't see a different conversation
+        conversationUUIDs.remove(index);
+
+        if (removedCurrent) {
+            currentConversationIndex = -1;
+            currentConversationUUID = null;
+        } else if (index < currentConversationIndex) {
+            currentConversationIndex--;
+        }
+
+        messagingView.removeConversation(index);
+
+        if (removedCurrent) {
+            messagingView.setConversationTitle("");
+
+            if (conversationUUIDs.isEmpty()) {
+                showNoConversations();
             } else {
-                conversationNames[i] = "(Unread) " + conversationController.getConversationName(conversationUUID);
+                messagingView.setConversationListSelection(0);
+                updateSelection(0);
             }
         }
+    }
 
-        messagingView.setConversationList(conversationNames);
+    /**
+     * Adds, removes or renames a conversation in the list depending on whether the user should still see it
+     *
+     * @param conversationUUID conversation that changed
+     */
+    private void updateListedConversation(UUID conversationUUID) {
+        int index = conversationUUIDs.indexOf(conversationUUID);
+        boolean listed = withLock(() -> conversationController.isConversationListed(signedInUserUUID, conversationUUID));
+
+        if (index == -1) {
+            if (listed) {
+                addConversation(conversationUUID);
+            }
+        } else if (listed) {
+            updateConversationName(index);
+        } else {
+            removeConversation(index);
+        }
     }
 
     private void updateConversationList() {
         currentConversationIndex = -1;
-        conversationUUIDs = new ArrayList<>(conversationController.getConversationList(signedInUserUUID));
+        conversationUUIDs = new ArrayList<>(withLock(() -> conversationController.getConversationList(signedInUserUUID)));
     }
 
     /**
@@ -254,36 +342,167 @@ class MessagingPresenter extends AbstractPresenter {
             currentConversationIndex = selectedIndex;
             currentConversationUUID = conversationUUIDs.get(selectedIndex);
 
-            updateMessages();
+            // Start with the most recent page
+            withLock(() -> {
+                firstMessageIndex = Math.max(0, conversationController.getNumMessages(signedInUserUUID, currentConversationUUID) - PAGE_SIZE);
+                messageRows = formatMessages(conversationController.getMessagesSince(signedInUserUUID, currentConversationUUID, firstMessageIndex));
+            });
+            showMessages();
             messagingView.scrollToLastMessage();
 
             updateUserList(currentConversationUUID);
 
             // Update title
-            messagingView.setConversationTitle(conversationController.getConversationName(currentConversationUUID));
+            messagingView.setConversationTitle(withLock(() -> conversationController.getConversationName(signedInUserUUID, currentConversationUUID)));
 
-            // Update titles in the sidebar
-            updateConversationNames();
+            // Opening the conversation marked it as read
+            updateConversationName(selectedIndex);
+        }
+    }
+
+    /**
+     * Shows the page of messages before the ones that are already shown
+     */
+    void loadOlderMessages() {
+        if (firstMessageIndex > 0) {
+            int cursor = Math.max(0, firstMessageIndex - PAGE_SIZE);
+            List<String> olderMessageRows = formatMessages(withLock(() -> conversationController.getMessages(signedInUserUUID, currentConversationUUID, cursor, firstMessageIndex - cursor)));
+
+            olderMessageRows.addAll(messageRows);
+            messageRows = olderMessageRows;
+            firstMessageIndex = cursor;
+
+            showMessages();
         }
     }
 
-    private void updateMessages() {
-        List<Map<String, String>> messagesListMap = conversationController.getMessages(signedInUserUUID, currentConversationUUID);
+    /**
+     * Adds the messages that were sent after the ones that are already shown
+     */
+    private void updateNewMessages() {
+        int cursor = firstMessageIndex + messageRows.size();
 
-        messageArray = new String[messagesListMap.size()];
-        int index = 0;
+        for (String row : formatMessages(withLock(() -> conversationController.getMessagesSince(signedInUserUUID, currentConversationUUID, cursor)))) {
+            messageRows.add(row);
+            messagingView.addMessage(row);
+        }
+    }
 
-        for (Map<String, String> messageMap : messagesListMap) {
-            UUID senderId = UUID.fromString(messageMap.get("sender"));
-            String senderName = userController.getUserFullName(senderId);
-            String timestamp = messageMap.get("timestamp");
-            String content = messageMap.get("content");
-            String messageString = String.format("[%s @ %s] %s\n", senderName, timestamp, content);
+    private List<String> formatMessages(List<MessageView> messages) {
+        List<String> rows = new ArrayList<>(messages.size());
+        Set<UUID> senderUUIDs = new HashSet<>();
 
-            messageArray[index] = messageString;
-            index++;
+        for (MessageView message : messages) {
+            senderUUIDs.add(message.getSenderUUID());
         }
 
-        messagingView.setMessages(messageArray);
+        // A page of messages usually comes from only a few senders
+        Map<UUID, String> senderNames = withLock(() -> userController.getUserFullNames(senderUUIDs));
+
+        for (MessageView message : messages) {
+            String senderName = senderNames.get(message.getSenderUUID());
+            rows.add(String.format("[%s @ %s] %s\n", senderName, message.getTimestamp(), message.getContent()));
+        }
+
+        return rows;
+    }
+
+    private void showMessages() {
+        List<String> rows = new ArrayList<>(messageRows.size() + 1);
+
+        // The first row loads older messages if there are any
+        if (firstMessageIndex > 0) {
+            rows.add(LOAD_OLDER_MESSAGES);
+        }
+
+        rows.addAll(messageRows);
+        messagingView.setMessages(rows.toArray(new String[0]));
+    }
+
+    /**
+     * Checks if the page this presenter belongs to was replaced. If it was, the presenter stops listening for changes.
+     *
+     * @return true iff the view is no longer displayed
+     */
+    private boolean isDiscarded() {
+        if (messagingView.isDisplayed()) {
+            return false;
+        }
+
+        conversationController.removeConversationListener(this);
+        return true;
+    }
+
+    /**
+     * Shows a new message if it's in the open conversation, and updates the conversation in the list
+     *
+     * @param conversationUUID conversation the message was added to
+     * @param index            index of the new message
+     */
+    @Override
+    public void messageAdded(UUID conversationUUID, int index) {
+        // Messages can be sent from a background task
+        eventDispatchExecutor.execute(() -> {
+            if (isDiscarded()) {
+                return;
+            }
+
+            if (conversationUUID.equals(currentConversationUUID)) {
+                updateNewMessages();
+            }
+
+            updateListedConversation(conversationUUID);
+        });
+    }
+
+    /**
+     * Removes a deleted message if it's shown
+     *
+     * @param conversationUUID conversation the message was deleted from
+     * @param index            index the message had
+     */
+    @Override
+    public void messageDeleted(UUID conversationUUID, int index) {
+        // Conversations can be changed from a background task
+        eventDispatchExecutor.execute(() -> {
+            if (isDiscarded() || !conversationUUID.equals(currentConversationUUID)) {
+                return;
+            }
+
+            int row = index - firstMessageIndex;
+
+            if (row < 0) {
+                // A message that isn't loaded yet was deleted, so the shown ones move back by one
+                firstMessageIndex--;
+
+                if (firstMessageIndex == 0) {
+                    showMessages();
+                }
+            } else if (row < messageRows.size()) {
+                messageRows.remove(row);
+                messagingView.removeMessage(firstMessageIndex > 0 ? row + 1 : row);
+            }
+        });
+    }
+
+    /**
+     * Updates the conversation in the list, and the list of users if it's the open conversation
+     *
+     * @param conversationUUID conversation whose members changed
+     */
+    @Override
+    public void membersChanged(UUID conversationUUID) {
+        // Conversations can be changed from a background task
+        eventDispatchExecutor.execute(() -> {
+            if (isDiscarded()) {
+                return;
+            }
+
+            updateListedConversation(conversationUUID);
+
+            if (conversationUUID.equals(currentConversationUUID)) {
+                updateUserList(conversationUUID);
+            }
+        });
     }
-}
\ No newline at end of file
+}
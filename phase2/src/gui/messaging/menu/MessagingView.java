@@ -25,6 +25,10 @@ public class MessagingView implements IPanel, IMessagingView {
     private JLabel conversationTitle;
     private MessagingPresenter messagingPresenter;
 
+    // The lists are updated in place when a single conversation or message changes
+    private DefaultListModel<String> conversationListModel = new DefaultListModel<>();
+    private DefaultListModel<String> messageListModel = new DefaultListModel<>();
+
     /**
      * Creates GUI for the Messaging Functionality
      *
@@ -32,6 +36,9 @@ public class MessagingView implements IPanel, IMessagingView {
      * @param defaultConversationUUID UUID of the default conversation to select. If none selected, or invalid, the first one will be selected.
      */
     public MessagingView(IFrame mainFrame, UUID defaultConversationUUID) {
+        conversationList.setModel(conversationListModel);
+        messages.setModel(messageListModel);
+
         messagingPresenter = new MessagingPresenter(mainFrame, this, defaultConversationUUID);
         conversationList.addListSelectionListener((e) -> messagingPresenter.updateSelection(conversationList.getSelectedIndex()));
         newConversationButton.addActionListener((e) -> messagingPresenter.createConversation());
@@ -83,7 +90,45 @@ public class MessagingView implements IPanel, IMessagingView {
      */
     @Override
     public void setConversationList(String[] conversationNames) {
-        conversationList.setListData(conversationNames);
+        // Filling a new model only notifies the list once
+        conversationListModel = new DefaultListModel<>();
+
+        for (String conversationName : conversationNames) {
+            conversationListModel.addElement(conversationName);
+        }
+
+        conversationList.setModel(conversationListModel);
+    }
+
+    /**
+     * adds a conversation to the end of the list of conversations
+     *
+     * @param conversationName the name of the conversation
+     */
+    @Override
+    public void addConversation(String conversationName) {
+        conversationListModel.addElement(conversationName);
+    }
+
+    /**
+     * removes a conversation from the list of conversations
+     *
+     * @param index the index of the conversation
+     */
+    @Override
+    public void removeConversation(int index) {
+        conversationListModel.remove(index);
+    }
+
+    /**
+     * changes the name shown for a conversation
+     *
+     * @param index            the index of the conversation
+     * @param conversationName the new name
+     */
+    @Override
+    public void setConversationName(int index, String conversationName) {
+        conversationListModel.set(index, conversationName);
     }
 
     /**
@@ -121,7 +166,33 @@ public class MessagingView implements IPanel, IMessagingView {
      */
     @Override
     public void setMessages(String[] updatedMessages) {
-        messages.setListData(updatedMessages);
+        messageListModel = new DefaultListModel<>();
+
+        for (String message : updatedMessages) {
+            messageListModel.addElement(message);
+        }
+
+        messages.setModel(messageListModel);
+    }
+
+    /**
+     * adds a message to the end of the list of messages
+     *
+     * @param message the message
+     */
+    @Override
+    public void addMessage(String message) {
+        messageListModel.addElement(message);
+    }
+
+    /**
+     * removes a message from the list of messages
+     *
+     * @param index the index of the message
+     */
+    @Override
+    public void removeMessage(int index) {
+        messageListModel.remove(index);
     }
 
     /**
@@ -131,8 +202,17 @@ public class MessagingView implements IPanel, IMessagingView {
      */
     @Override
     public int getNumMessages() {
-        ListModel<String> list = messages.getModel();
-        return list.getSize();
+        return messageListModel.getSize();
+    }
+
+    /**
+     * checks if this view is still part of the window, since it is thrown away when another page is opened
+     *
+     * @return true iff the view is in a window
+     */
+    @Override
+    public boolean isDisplayed() {
+        return SwingUtilities.getWindowAncestor(messagingPanel) != null;
     }
 
     /**
@@ -7,4 +7,8 @@ public interface IScheduleDownloadView {
     void setSpeakerName(String name);
 
     String getDateString();
+
+    void setExportFormats(String[] formats);
+
+    String getExportFormat();
 }
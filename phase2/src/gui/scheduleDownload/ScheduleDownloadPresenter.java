@@ -1,18 +1,19 @@
 package gui.scheduleDownload;
 
-import convention.exception.InvalidSortMethodException;
 import convention.schedule.ScheduleConstants;
-import gateway.exceptions.PrinterException;
 import gui.util.AbstractPresenter;
 import gui.util.enums.DialogFactoryOptions;
 import gui.util.interfaces.IDialog;
 import gui.util.interfaces.IFrame;
 
-import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -31,16 +32,20 @@ class ScheduleDownloadPresenter extends AbstractPresenter {
     ScheduleDownloadPresenter(IFrame mainFrame, IScheduleDownloadView scheduleDownloadView) {
         super(mainFrame);
         this.scheduleDownloadView = scheduleDownloadView;
+
+        scheduleDownloadView.setExportFormats(Arrays.stream(ScheduleConstants.exportFormats.values()).map(Enum::name).toArray(String[]::new));
     }
 
     /**
      * Choose speaker for sort by speaker
      */
     void chooseSpeaker() {
+        Set<UUID> userUUIDs = withLock(userController::getUsers);
+
         IDialog speakerPickerDialog = dialogFactory.createDialog(DialogFactoryOptions.dialogNames.USER_PICKER, new HashMap<String, Object>() {
             {
                 put("instructions", "Choose a user to sort by\n(Note: All users in the system are included here, so they may not have assigned events)");
-                put("availableUserUUIDs", userController.getUsers());
+                put("availableUserUUIDs", userUUIDs);
             }
         });
 
@@ -48,7 +53,7 @@ class ScheduleDownloadPresenter extends AbstractPresenter {
 
         if (newSpeakerUUID != null) {
             selectedSpeakerUUID = newSpeakerUUID;
-            scheduleDownloadView.setSpeakerName("Selected Speaker: " + userController.getUserFullName(newSpeakerUUID));
+            scheduleDownloadView.setSpeakerName("Selected Speaker: " + withLock(() -> userController.getUserFullName(newSpeakerUUID)));
         }
     }
 
@@ -69,20 +74,28 @@ class ScheduleDownloadPresenter extends AbstractPresenter {
         errorDialog.run();
     }
 
+    /**
+     * Prints a schedule in the selected format in the background, since writing it and opening it can take a moment
+     *
+     * @param sortByMethod method to sort by
+     * @param arguments    arguments of the sort method
+     */
+    private void printSchedule(ScheduleConstants.sortByMethods sortByMethod, Map<String, Object> arguments) {
+        ScheduleConstants.exportFormats exportFormat = ScheduleConstants.exportFormats.valueOf(scheduleDownloadView.getExportFormat());
+
+        runInBackground("Printing schedule", () -> {
+            scheduleController.printSchedule(sortByMethod, exportFormat, arguments);
+            return null;
+        }, ignored -> {
+        }, e -> displayError(e.getMessage()));
+    }
+
     /**
      * Sort by speaker
      */
     void printScheduleSpeaker() {
         if (selectedSpeakerUUID != null) {
-            try {
-                scheduleController.printSchedule(ScheduleConstants.sortByMethods.SPEAKER, new HashMap<String, Object>() {
-                    {
-                        put("speakerUUID", selectedSpeakerUUID);
-                    }
-                });
-            } catch (PrinterException | IOException | InvalidSortMethodException e) {
-                displayError(e.getMessage());
-            }
+            printSchedule(ScheduleConstants.sortByMethods.SPEAKER, Collections.singletonMap("speakerUUID", selectedSpeakerUUID));
         } else {
             displayError("You must select a speaker to download the schedule");
         }
@@ -92,15 +105,7 @@ class ScheduleDownloadPresenter extends AbstractPresenter {
      * Sort by user's registered events
      */
     void printScheduleRegistered() {
-        try {
-            scheduleController.printSchedule(ScheduleConstants.sortByMethods.REGISTERED, new HashMap<String, Object>() {
-                {
-                    put("userUUID", signedInUserUUID);
-                }
-            });
-        } catch (PrinterException | IOException | InvalidSortMethodException e) {
-            displayError(e.getMessage());
-        }
+        printSchedule(ScheduleConstants.sortByMethods.REGISTERED, Collections.singletonMap("userUUID", signedInUserUUID));
     }
 
     /**
@@ -113,16 +118,9 @@ class ScheduleDownloadPresenter extends AbstractPresenter {
             DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MM-dd-uuuu");
             LocalDate date = LocalDate.parse(dateString, formatter);
 
-            scheduleController.printSchedule(ScheduleConstants.sortByMethods.DATE, new HashMap<String, Object>() {
-                {
-                    put("date", date);
-                }
-            });
-
+            printSchedule(ScheduleConstants.sortByMethods.DATE, Collections.singletonMap("date", date));
         } catch (DateTimeParseException e) {
             displayError("Invalid date: You must use the format (MM-dd-YYYY)");
-        } catch (PrinterException | IOException | InvalidSortMethodException e) {
-            displayError(e.getMessage());
         }
     }
 }
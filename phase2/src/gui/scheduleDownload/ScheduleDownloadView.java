@@ -16,6 +16,7 @@ public class ScheduleDownloadView implements IPanel, IScheduleDownloadView {
     private JTextField dateTextField;
     private JPanel ScheduleDownloadPanel;
     private JButton chooseSpeakerButton;
+    private JComboBox<String> formatComboBox;
     private ScheduleDownloadPresenter scheduleDownloadPresenter;
 
     /**
@@ -52,6 +53,26 @@ public class ScheduleDownloadView implements IPanel, IScheduleDownloadView {
         return ScheduleDownloadPanel;
     }
 
+    /**
+     * Sets the formats the schedule can be downloaded in
+     *
+     * @param formats names of the formats
+     */
+    @Override
+    public void setExportFormats(String[] formats) {
+        formatComboBox.setModel(new DefaultComboBoxModel<>(formats));
+    }
+
+    /**
+     * Gets the format to download the schedule in
+     *
+     * @return name of the selected format
+     */
+    @Override
+    public String getExportFormat() {
+        return (String) formatComboBox.getSelectedItem();
+    }
+
     /**
      * Gets the date for sort by date
      *
@@ -29,9 +29,10 @@ class MultiUserPickerPresenter extends AbstractPresenter {
     private void updateUserList() {
         List<UUID> orderedUserUUIDs = new ArrayList<>(selectedUserUUIDs);
         String[] userNames = new String[orderedUserUUIDs.size()];
+        Map<UUID, String> names = withLock(() -> userController.getUserFullNames(orderedUserUUIDs));
 
         for (int i = 0; i < orderedUserUUIDs.size(); i++) {
-            userNames[i] = userController.getUserFullName(orderedUserUUIDs.get(i));
+            userNames[i] = names.get(orderedUserUUIDs.get(i));
         }
 
         multiUserPickerDialog.setUserList(userNames);
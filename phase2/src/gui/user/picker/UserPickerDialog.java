@@ -3,22 +3,35 @@ package gui.user.picker;
 import gui.util.dialogs.UUIDPickerDialog;
 import gui.util.interfaces.IDialog;
 import gui.util.interfaces.IFrame;
-import user.UserController;
-import util.ControllerBundle;
 
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.locks.Lock;
 
 /**
  * Dialog to pick a user UUID
  */
 public class UserPickerDialog extends UUIDPickerDialog implements IDialog {
     public UserPickerDialog(IFrame mainFrame, Set<UUID> availableUserUUIDs, String instructions) {
-        super(mainFrame, availableUserUUIDs, instructions, "Select user", (uuid) -> {
-            ControllerBundle controllerBundle = mainFrame.getControllerBundle();
-            UserController userController = controllerBundle.getUserController();
+        super(mainFrame, availableUserUUIDs, instructions, "Select user", getUserFullNames(mainFrame, availableUserUUIDs)::get);
+    }
+
+    /**
+     * Looks up the names of every user at once while holding the controller lock
+     *
+     * @param mainFrame main GUI frame
+     * @param userUUIDs UUIDs of the users
+     * @return full name of each user
+     */
+    private static Map<UUID, String> getUserFullNames(IFrame mainFrame, Set<UUID> userUUIDs) {
+        Lock lock = mainFrame.getControllerBundle().getLock();
+        lock.lock();
 
-            return userController.getUserFullName(uuid);
-        });
+        try {
+            return mainFrame.getControllerBundle().getUserController().getUserFullNames(userUUIDs);
+        } finally {
+            lock.unlock();
+        }
     }
 }
@@ -11,8 +11,14 @@ import gui.util.interfaces.IPanelFactory;
 import messaging.ConversationController;
 import user.UserController;
 import util.ControllerBundle;
+import util.DomainEventBus;
 
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Abstract class for presenters containing the most commonly used fields
@@ -31,6 +37,14 @@ public abstract class AbstractPresenter {
     protected ConversationController conversationController;
     protected ScheduleController scheduleController;
 
+    protected DomainEventBus eventBus;
+
+    // Runs tasks on the event dispatch thread, for notifications that can come from a background task
+    protected Executor eventDispatchExecutor;
+
+    // Held while calling the controllers, see withLock
+    private final Lock controllerLock;
+
     protected UUID signedInUserUUID;
 
     /**
@@ -47,10 +61,57 @@ public abstract class AbstractPresenter {
         conversationController = controllerBundle.getConversationController();
         contactController = controllerBundle.getContactController();
         scheduleController = controllerBundle.getScheduleController();
+        eventBus = controllerBundle.getEventBus();
+        controllerLock = controllerBundle.getLock();
+        eventDispatchExecutor = new EventDispatchExecutor(controllerLock);
 
         dialogFactory = mainFrame.getDialogFactory();
         panelFactory = mainFrame.getPanelFactory();
 
-        signedInUserUUID = userController.getCurrentUser();
+        signedInUserUUID = withLock(userController::getCurrentUser);
+    }
+
+    /**
+     * Calls the controllers while holding the controller lock, so that the calls don't run part way through a
+     * background task. Dialogs are shown outside of it, since the lock would be kept until they are closed.
+     *
+     * @param calls controller calls to make
+     * @param <T>   type of the result
+     * @return the result of the calls
+     */
+    protected <T> T withLock(Supplier<T> calls) {
+        controllerLock.lock();
+
+        try {
+            return calls.get();
+        } finally {
+            controllerLock.unlock();
+        }
+    }
+
+    /**
+     * Calls the controllers while holding the controller lock, like withLock(Supplier), when there is no result
+     *
+     * @param calls controller calls to make
+     */
+    protected void withLock(Runnable calls) {
+        withLock(() -> {
+            calls.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs controller work on a background thread while the frame shows that it's in progress. Used for work that can
+     * take long enough to freeze the UI, such as anything that writes to disk.
+     *
+     * @param description what the task does, shown while it runs
+     * @param task        task to run
+     * @param onSuccess   called on the event dispatch thread with the result of the task
+     * @param onFailure   called on the event dispatch thread with the exception thrown by the task
+     * @param <T>         type of the result
+     */
+    protected <T> void runInBackground(String description, Callable<T> task, Consumer<? super T> onSuccess, Consumer<? super Exception> onFailure) {
+        mainFrame.getTaskExecutor().execute(description, task, onSuccess, onFailure);
     }
 }
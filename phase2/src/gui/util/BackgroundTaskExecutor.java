@@ -0,0 +1,90 @@
+package gui.util;
+
+import gui.util.interfaces.IFrame;
+
+import javax.swing.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+
+/**
+ * Runs controller work on a background thread so that the UI keeps responding, and passes the results back to the
+ * event dispatch thread.
+ * <p>
+ * Tasks run one at a time in the order they were submitted, while holding the controller lock. The frame shows that
+ * something is in progress until every task has finished.
+ */
+public class BackgroundTaskExecutor {
+    private final IFrame mainFrame;
+    private final ExecutorService executor;
+
+    // Only used on the event dispatch thread
+    private int numPending;
+
+    /**
+     * @param mainFrame main GUI frame, used to show progress and to get the controller lock
+     */
+    public BackgroundTaskExecutor(IFrame mainFrame) {
+        this.mainFrame = mainFrame;
+
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Background tasks");
+
+            // Unfinished tasks must not keep the program running once the frame is closed
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+
+    /**
+     * Runs a task in the background. Must be called on the event dispatch thread. The callbacks are run on the event
+     * dispatch thread once the task is done.
+     *
+     * @param description what the task does, shown while it runs
+     * @param task        task to run, which may call the controllers
+     * @param onSuccess   called with the result of the task if it finished
+     * @param onFailure   called with the exception thrown by the task if it didn't
+     * @param <T>         type of the result
+     */
+    public <T> void execute(String description, Callable<T> task, Consumer<? super T> onSuccess, Consumer<? super Exception> onFailure) {
+        numPending++;
+        mainFrame.showProgress(description);
+
+        Lock lock = mainFrame.getControllerBundle().getLock();
+
+        executor.execute(() -> {
+            Runnable callback = null;
+
+            try {
+                lock.lock();
+
+                try {
+                    T result = task.call();
+                    callback = () -> onSuccess.accept(result);
+                } catch (Exception e) {
+                    callback = () -> onFailure.accept(e);
+                } finally {
+                    lock.unlock();
+                }
+            } finally {
+                // Errors are left to the executor thread, but the task is still finished and the progress hidden
+                Runnable finalCallback = callback;
+
+                new EventDispatchExecutor(lock).execute(() -> {
+                    numPending--;
+
+                    if (numPending == 0) {
+                        mainFrame.hideProgress();
+                    }
+
+                    if (finalCallback != null) {
+                        finalCallback.run();
+                    }
+                });
+            }
+        });
+    }
+}
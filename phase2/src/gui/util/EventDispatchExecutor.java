@@ -0,0 +1,44 @@
+package gui.util;
+
+import javax.swing.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Runs tasks on the event dispatch thread while holding the controller lock. Tasks submitted from the event dispatch
+ * thread are run right away, and tasks submitted from other threads are run later in the order they were submitted.
+ */
+public class EventDispatchExecutor implements Executor {
+    private final Lock lock;
+
+    /**
+     * @param lock controller lock to hold while running each task
+     */
+    public EventDispatchExecutor(Lock lock) {
+        this.lock = lock;
+    }
+
+    /**
+     * Runs a task on the event dispatch thread
+     *
+     * @param task task to run
+     */
+    @Override
+    public void execute(Runnable task) {
+        Runnable lockedTask = () -> {
+            lock.lock();
+
+            try {
+                task.run();
+            } finally {
+                lock.unlock();
+            }
+        };
+
+        if (SwingUtilities.isEventDispatchThread()) {
+            lockedTask.run();
+        } else {
+            SwingUtilities.invokeLater(lockedTask);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.locks.Lock;
 import java.util.function.Function;
 
 /**
@@ -48,8 +49,16 @@ public class UUIDPickerDialog implements IDialog {
     public UUID run() {
         String[] displayNames = new String[availableUUIDs.size()];
 
-        for (int i = 0; i < availableUUIDs.size(); i++) {
-            displayNames[i] = String.format("%4d. %s", i, displayNameParser.apply(availableUUIDs.get(i)));
+        // Display names come from the controllers, but the lock is let go before the dialog is shown
+        Lock lock = mainFrame.getControllerBundle().getLock();
+        lock.lock();
+
+        try {
+            for (int i = 0; i < availableUUIDs.size(); i++) {
+                displayNames[i] = String.format("%4d. %s", i, displayNameParser.apply(availableUUIDs.get(i)));
+            }
+        } finally {
+            lock.unlock();
         }
 
         String selectedValue = (String) JOptionPane.showInputDialog(
@@ -1,5 +1,6 @@
 package gui.util.interfaces;
 
+import gui.util.BackgroundTaskExecutor;
 import util.ControllerBundle;
 
 import javax.swing.*;
@@ -12,9 +13,17 @@ public interface IFrame {
 
     ControllerBundle getControllerBundle();
 
+    void runWhenLoaded(Runnable task);
+
     IPanelFactory getPanelFactory();
 
     IDialogFactory getDialogFactory();
 
     JFrame getFrame();
+
+    BackgroundTaskExecutor getTaskExecutor();
+
+    void showProgress(String description);
+
+    void hideProgress();
 }
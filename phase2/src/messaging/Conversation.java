@@ -1,22 +1,45 @@
 package messaging;
 
+import messaging.exception.MessageLogException;
+import util.UUIDSet;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Conversation object. Contains messages and metadata such as conversation name, users who have read and write access, etc.
+ * <p>
+ * Only the most recent messages are kept in memory. Once there are enough of them, the oldest page is written to the
+ * message log and read back from disk when needed.
  */
 public class Conversation implements Serializable {
+    private static final long serialVersionUID = 5775743741307259450L;
+
+    private static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    /**
+     * Number of messages written to the message log at a time. Between one and two pages of the most recent messages
+     * are kept in memory.
+     */
+    static final int PAGE_SIZE = 100;
+
     private String conversationName; // either group chat or 2 person chat
+
+    // Pages of older messages in the message log, oldest first, followed by the most recent messages
+    private List<MessageSegment> messageSegments = new ArrayList<>();
     private final List<Message> conversationMessages;
-    private final Set<UUID> writeAccessUsers;
-    private final Set<UUID> readAccessUsers;
+    private transient MessageLog messageLog;
+
+    // Stored as IDs, since event and conference conversations can have as many members as the conference
+    private Set<UUID> writeAccessUsers;
+    private Set<UUID> readAccessUsers;
     private final UUID conversationUUID;
-    private Set<UUID> usersHaveRead = new HashSet<>();
-    private Set<UUID> userArchivedUUIDs = new HashSet<>();
+    private Set<UUID> usersHaveRead = new UUIDSet();
+    private Set<UUID> userArchivedUUIDs = new UUIDSet();
 
     /**
      * Constructor for Conversation
@@ -25,14 +48,41 @@ public class Conversation implements Serializable {
      * @param usersWriteUUIDs The set of users that have write access to the chat/conversation
      * @param usersReadUUIDs  The set of users that have read access to the chat/conversation
      * @param messages        A list of all the messages in the Chat/conversation
+     * @param messageLog      log to write older messages to, or null to keep every message in memory
      */
     public Conversation(String name, Set<UUID> usersWriteUUIDs, Set<UUID>
-            usersReadUUIDs, List<Message> messages) {
+            usersReadUUIDs, List<Message> messages, MessageLog messageLog) {
         conversationName = name;
         conversationMessages = messages;
+        writeAccessUsers = new UUIDSet(usersWriteUUIDs);
+        readAccessUsers = new UUIDSet(usersReadUUIDs);
+        conversationUUID = UUID.randomUUID();
+        this.messageLog = messageLog;
+    }
+
+    /**
+     * Constructor for a Conversation that was saved to disk
+     *
+     * @param conversationUUID  UUID of the Conversation
+     * @param name              name of the Conversation
+     * @param usersWriteUUIDs   The set of users that have write access to the chat/conversation
+     * @param usersReadUUIDs    The set of users that have read access to the chat/conversation
+     * @param messageSegments   Pages of older messages in the message log
+     * @param messages          The most recent messages in the Chat/conversation
+     * @param usersHaveRead     The set of users that have read the conversation
+     * @param userArchivedUUIDs The set of users that have archived the conversation
+     * @param messageLog        log the pages of older messages are in, or null if there are none
+     */
+    Conversation(UUID conversationUUID, String name, UUIDSet usersWriteUUIDs, UUIDSet usersReadUUIDs, List<MessageSegment> messageSegments, List<Message> messages, UUIDSet usersHaveRead, UUIDSet userArchivedUUIDs, MessageLog messageLog) {
+        this.conversationUUID = conversationUUID;
+        conversationName = name;
         writeAccessUsers = usersWriteUUIDs;
         readAccessUsers = usersReadUUIDs;
-        conversationUUID = UUID.randomUUID();
+        this.messageSegments = messageSegments;
+        conversationMessages = messages;
+        this.messageLog = messageLog;
+        this.usersHaveRead = usersHaveRead;
+        this.userArchivedUUIDs = userArchivedUUIDs;
     }
 
     /**
@@ -99,14 +149,112 @@ public class Conversation implements Serializable {
     }
 
     /**
-     * Returns a list of messages in this conversation
+     * Gets the number of messages in this conversation
+     *
+     * @return number of messages, including the ones in the message log
+     */
+    public int getNumMessages() {
+        int numMessages = conversationMessages.size();
+
+        for (MessageSegment segment : messageSegments) {
+            numMessages += segment.getSize();
+        }
+
+        return numMessages;
+    }
+
+    /**
+     * Gets a message in this conversation. Reads it from the message log if it is not in memory.
+     *
+     * @param index index of the message, where 0 is the oldest message
+     * @return the message
+     */
+    Message getMessage(int index) {
+        return getMessages(index, index + 1).get(0);
+    }
+
+    /**
+     * Gets a range of messages in this conversation. Only the pages in the range are read from the message log.
+     *
+     * @param fromIndex index of the first message, inclusive
+     * @param toIndex   index of the last message, exclusive
+     * @return list of messages in the range, oldest first
+     */
+    List<Message> getMessages(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > getNumMessages() || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException(String.format("Messages %d to %d out of %d", fromIndex, toIndex, getNumMessages()));
+        }
+
+        List<Message> messages = new ArrayList<>(toIndex - fromIndex);
+        int segmentStart = 0;
+
+        for (MessageSegment segment : messageSegments) {
+            int segmentEnd = segmentStart + segment.getSize();
+
+            if (segmentEnd > fromIndex && segmentStart < toIndex) {
+                List<Message> segmentMessages = readSegment(segment);
+                messages.addAll(segmentMessages.subList(Math.max(fromIndex, segmentStart) - segmentStart, Math.min(toIndex, segmentEnd) - segmentStart));
+            }
+
+            segmentStart = segmentEnd;
+        }
+
+        if (toIndex > segmentStart) {
+            messages.addAll(conversationMessages.subList(Math.max(fromIndex, segmentStart) - segmentStart, toIndex - segmentStart));
+        }
+
+        return messages;
+    }
+
+    /**
+     * Gets the messages that are kept in memory so that they can be saved to disk
      *
-     * @return list of messages in this conversation
+     * @return the most recent messages
      */
-    public List<Message> getConversationMessages() {
+    List<Message> getRecentMessages() {
         return conversationMessages;
     }
 
+    /**
+     * Gets the pages of older messages so that they can be saved to disk
+     *
+     * @return pages in the message log, oldest first
+     */
+    List<MessageSegment> getMessageSegments() {
+        return messageSegments;
+    }
+
+    private List<Message> readSegment(MessageSegment segment) {
+        if (messageLog == null) {
+            throw new MessageLogException(segment.getSegmentUUID(), null);
+        }
+
+        return messageLog.read(segment.getSegmentUUID());
+    }
+
+    /**
+     * Writes the oldest pages of recent messages to the message log, keeping at least a page in memory. If the log
+     * can't be written to, the messages stay in memory until the next try.
+     */
+    private void writeOlderMessages() {
+        if (messageLog == null) {
+            return;
+        }
+
+        while (conversationMessages.size() >= 2 * PAGE_SIZE) {
+            List<Message> page = conversationMessages.subList(0, PAGE_SIZE);
+
+            try {
+                messageSegments.add(new MessageSegment(messageLog.write(page), PAGE_SIZE));
+            } catch (IOException e) {
+                LOGGER.log(Level.SEVERE, String.format("Unable to write older messages of %s", conversationUUID), e);
+                return;
+            }
+
+            page.clear();
+        }
+    }
+
     /**
      * Changes the name of the Chat (Group or private) to the new name provided
      *
@@ -135,16 +283,42 @@ public class Conversation implements Serializable {
             System.out.println("Message has already been added");
         } else {
             conversationMessages.add(message);
+            writeOlderMessages();
         }
     }
 
     /**
-     * deletes a message
+     * deletes a message. If the message is in the message log, its page is written again without it.
      *
      * @param index the index of the message being deleted
      */
     public void deleteMessage(int index) {
-        conversationMessages.remove(index);
+        int segmentStart = 0;
+
+        for (int i = 0; i < messageSegments.size(); i++) {
+            MessageSegment segment = messageSegments.get(i);
+
+            if (index < segmentStart + segment.getSize()) {
+                List<Message> segmentMessages = new ArrayList<>(readSegment(segment));
+                segmentMessages.remove(index - segmentStart);
+
+                if (segmentMessages.isEmpty()) {
+                    messageSegments.remove(i);
+                } else {
+                    try {
+                        messageSegments.set(i, new MessageSegment(messageLog.write(segmentMessages), segmentMessages.size()));
+                    } catch (IOException e) {
+                        throw new MessageLogException(segment.getSegmentUUID(), e);
+                    }
+                }
+
+                return;
+            }
+
+            segmentStart += segment.getSize();
+        }
+
+        conversationMessages.remove(index - segmentStart);
     }
 
     /**
@@ -160,7 +334,7 @@ public class Conversation implements Serializable {
      * resets the list of people who have archived this conversation
      */
     public void resetUserArchivedUUIDs() {
-        userArchivedUUIDs = new HashSet<>();
+        userArchivedUUIDs = new UUIDSet();
     }
 
     /**
@@ -194,7 +368,7 @@ public class Conversation implements Serializable {
      * resets the set of users who have read this conversation
      */
     public void resetUsersHaveRead() {
-        usersHaveRead = new HashSet<>();
+        usersHaveRead = new UUIDSet();
     }
 
     /**
@@ -215,4 +389,19 @@ public class Conversation implements Serializable {
     public boolean getUserHasRead(UUID userUUID) {
         return usersHaveRead.contains(userUUID);
     }
-}
\ No newline at end of file
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+
+        // Conversations saved before the message log existed keep every message in memory
+        if (messageSegments == null) {
+            messageSegments = new ArrayList<>();
+        }
+
+        // Older files hold hash sets
+        writeAccessUsers = new UUIDSet(writeAccessUsers);
+        readAccessUsers = new UUIDSet(readAccessUsers);
+        usersHaveRead = new UUIDSet(usersHaveRead);
+        userArchivedUUIDs = new UUIDSet(userArchivedUUIDs);
+    }
+}
@@ -0,0 +1,49 @@
+package messaging;
+
+import gateway.BinaryReader;
+import gateway.BinaryWriter;
+import gateway.Codec;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * Codec for Conversation. Only the pages of older messages in the message log are referred to, the messages in them
+ * are not written.
+ */
+class ConversationCodec implements Codec<Conversation> {
+    // Schema version that added the pages of older messages
+    private static final int MESSAGE_SEGMENTS_VERSION = 2;
+
+    private final MessageCodec messageCodec = new MessageCodec();
+    private final MessageSegmentCodec messageSegmentCodec = new MessageSegmentCodec();
+    private final MessageLog messageLog;
+
+    /**
+     * Creates a codec for conversations that keep their older messages in a message log
+     *
+     * @param messageLog log the older messages are in, or null to keep every message in memory
+     */
+    ConversationCodec(MessageLog messageLog) {
+        this.messageLog = messageLog;
+    }
+
+    @Override
+    public void write(BinaryWriter out, Conversation conversation) throws IOException {
+        out.writeUUID(conversation.getConversationUUID());
+        out.writeString(conversation.getConversationName());
+        out.writeUUIDSet(conversation.getWriteAccessUsers());
+        out.writeUUIDSet(conversation.getReadAccessUsers());
+        out.writeCollection(conversation.getMessageSegments(), messageSegmentCodec);
+        out.writeCollection(conversation.getRecentMessages(), messageCodec);
+        out.writeUUIDSet(conversation.getUsersHaveRead());
+        out.writeUUIDSet(conversation.getUserArchivedUUIDs());
+    }
+
+    @Override
+    public Conversation read(BinaryReader in) throws IOException {
+        return new Conversation(in.readUUID(), in.readString(), in.readCompactUUIDSet(), in.readCompactUUIDSet(),
+                in.getVersion() >= MESSAGE_SEGMENTS_VERSION ? in.readList(messageSegmentCodec) : new ArrayList<>(),
+                in.readList(messageCodec), in.readCompactUUIDSet(), in.readCompactUUIDSet(), messageLog);
+    }
+}
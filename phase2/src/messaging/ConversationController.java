@@ -1,18 +1,25 @@
 package messaging;
 
 import contact.ContactManager;
+import gateway.IJournal;
 import messaging.exception.MessageDeniedException;
 import user.UserManager;
+import util.StripedLock;
 
+import java.time.LocalDateTime;
 import java.util.*;
 
 /**
  * Operations on Conversations
  */
 public class ConversationController {
+    private static final String JOURNAL_TARGET = "ConversationController";
+
     private final ConversationManager conversationManager;
+    private final StripedLock conversationLocks;
     private final ContactManager contactManager;
     private final UserManager userManager;
+    private final IJournal journal;
 
     /**
      * Constructor for ConversationController
@@ -22,9 +29,23 @@ public class ConversationController {
      * @param userManager         User Manager object
      */
     public ConversationController(ContactManager contactManager, ConversationManager conversationManager, UserManager userManager) {
+        this(contactManager, conversationManager, userManager, IJournal.NONE);
+    }
+
+    /**
+     * Constructor for ConversationController that records changes to a journal
+     *
+     * @param contactManager      ContactManager object relevant to this conversation
+     * @param conversationManager ConversationManager object for this conversation
+     * @param userManager         User Manager object
+     * @param journal             journal to record changes to
+     */
+    public ConversationController(ContactManager contactManager, ConversationManager conversationManager, UserManager userManager, IJournal journal) {
         this.contactManager = contactManager;
         this.conversationManager = conversationManager;
+        this.conversationLocks = conversationManager.getConversationLocks();
         this.userManager = userManager;
+        this.journal = journal;
     }
 
     /**
@@ -37,7 +58,7 @@ public class ConversationController {
      * @return true iff the receiver is in the friend list of sender
      */
     private boolean checkAccess(UUID sender, UUID receiver) {
-        return userManager.getUserIsGod(sender) || (contactManager.getContacts(sender) != null && contactManager.getContacts(sender).contains(receiver));
+        return userManager.getUserIsGod(sender) || contactManager.isContact(sender, receiver);
     }
 
     /**
@@ -48,7 +69,23 @@ public class ConversationController {
      * @param conversationUUID the conversation UUID of the conversation to which this message has to be added
      */
     public void sendMessage(UUID executorUUID, String messageContent, UUID conversationUUID) {
-        conversationManager.sendMessage(executorUUID, messageContent, conversationUUID, userManager.getUserIsGod(executorUUID));
+        sendMessageAt(executorUUID, messageContent, conversationUUID, LocalDateTime.now());
+    }
+
+    /**
+     * Sends a message that was sent at the given time. The journal records messages this way, so that replaying it
+     * keeps the time each message was first sent.
+     *
+     * @param executorUUID     the UUID of the sender of the message
+     * @param messageContent   The content of the message to be sent
+     * @param conversationUUID the conversation UUID of the conversation to which this message has to be added
+     * @param timestamp        the date and time the message was sent
+     */
+    public void sendMessageAt(UUID executorUUID, String messageContent, UUID conversationUUID, LocalDateTime timestamp) {
+        conversationLocks.write(conversationUUID, () -> {
+            conversationManager.sendMessage(executorUUID, messageContent, conversationUUID, userManager.getUserIsGod(executorUUID), timestamp);
+            journal.record(JOURNAL_TARGET, "sendMessageAt", null, executorUUID, messageContent, conversationUUID, timestamp);
+        });
     }
 
     /**
@@ -60,18 +97,37 @@ public class ConversationController {
      * @param messageContent   The content of the initial message to be sent
      */
     public UUID initiateConversation(String conversationName, UUID executorUUID, Set<UUID> otherUsers, String messageContent) {
-        Set<UUID> conversationUsers = new HashSet<>(otherUsers);
-        conversationUsers.add(executorUUID);
-
-        // Verify recipient is on the sender's contact list before creating conversation
-        for (UUID otherUserUUID : otherUsers) {
-            // You aren't on your own contact list but that's fine
-            if (otherUserUUID != executorUUID && !checkAccess(executorUUID, otherUserUUID)) {
-                throw new MessageDeniedException(executorUUID, otherUserUUID);
+        return initiateConversationAt(conversationName, executorUUID, otherUsers, messageContent, LocalDateTime.now());
+    }
+
+    /**
+     * Initiates a conversation whose initial message was sent at the given time, like sendMessageAt
+     *
+     * @param conversationName the name of the Chat to be initiated
+     * @param executorUUID     the UUID of the user running this operation
+     * @param otherUsers       the set of other users in this conversation
+     * @param messageContent   The content of the initial message to be sent
+     * @param timestamp        the date and time the initial message was sent
+     * @return UUID of the new conversation
+     */
+    public UUID initiateConversationAt(String conversationName, UUID executorUUID, Set<UUID> otherUsers, String messageContent, LocalDateTime timestamp) {
+        return conversationLocks.create(() -> {
+            Set<UUID> conversationUsers = new HashSet<>(otherUsers);
+            conversationUsers.add(executorUUID);
+
+            // Verify recipient is on the sender's contact list before creating conversation
+            for (UUID otherUserUUID : otherUsers) {
+                // You aren't on your own contact list but that's fine
+                if (!otherUserUUID.equals(executorUUID) && !checkAccess(executorUUID, otherUserUUID)) {
+                    throw new MessageDeniedException(executorUUID, otherUserUUID);
+                }
             }
-        }
 
-        return conversationManager.createConversation(conversationName, conversationUsers, conversationUsers, executorUUID, messageContent);
+            UUID conversationUUID = conversationManager.createConversation(conversationName, conversationUsers, conversationUsers, executorUUID, messageContent, timestamp);
+            journal.record(JOURNAL_TARGET, "initiateConversationAt", conversationUUID, conversationName, executorUUID, otherUsers, messageContent, timestamp);
+
+            return conversationUUID;
+        });
     }
 
     /**
@@ -85,17 +141,142 @@ public class ConversationController {
      * @return returns an list of Maps. Each Map stores information about a message in the conversation.
      */
     public List<Map<String, String>> getMessages(UUID executorUUID, UUID conversationUUID) {
-        return conversationManager.getMessages(executorUUID, conversationUUID, userManager.getUserIsGod(executorUUID));
+        return conversationLocks.write(conversationUUID, () -> {
+            boolean hasRead = conversationManager.getUserHasRead(executorUUID, conversationUUID);
+            List<Map<String, String>> messages = conversationManager.getMessages(executorUUID, conversationUUID, userManager.getUserIsGod(executorUUID));
+
+            // Reading the messages marks the conversation as read, which only needs to be journaled if it wasn't already
+            if (!hasRead) {
+                journal.record(JOURNAL_TARGET, "getMessages", null, executorUUID, conversationUUID);
+            }
+
+            return messages;
+        });
     }
 
     /**
-     * Get the conversation name
+     * Gets a page of messages for a conversation that the user has read access to. Throws NoReadAccessException if the
+     * user has no read access. Older messages are read from disk, so only the page that is shown should be requested.
+     * <p>
+     * The cursor is the index of a message, where 0 is the oldest message. Deleting a message moves the messages after
+     * it back by one, so cursors past it have to be fetched again.
+     * <p>
+     * God users can bypass read-restrictions.
      *
+     * @param executorUUID     The ID of the User
+     * @param conversationUUID The UUID of the Conversation for which the messages need to be seen
+     * @param cursor           index of the first message to get
+     * @param limit            maximum number of messages to get
+     * @return views of the messages in the page, oldest first
+     */
+    public List<MessageView> getMessages(UUID executorUUID, UUID conversationUUID, int cursor, int limit) {
+        return conversationLocks.write(conversationUUID, () -> {
+            boolean hasRead = conversationManager.getUserHasRead(executorUUID, conversationUUID);
+            List<MessageView> messages = conversationManager.getMessages(executorUUID, conversationUUID, cursor, limit, userManager.getUserIsGod(executorUUID));
+
+            if (!hasRead) {
+                journal.record(JOURNAL_TARGET, "getMessages", null, executorUUID, conversationUUID, cursor, limit);
+            }
+
+            return messages;
+        });
+    }
+
+    /**
+     * Gets the messages that were sent since a cursor, for a conversation that the user has read access to. Only the
+     * new messages are read, so refreshing a conversation doesn't depend on how long it is. Throws
+     * NoReadAccessException if the user has no read access.
+     * <p>
+     * God users can bypass read-restrictions.
+     *
+     * @param executorUUID     The ID of the User
+     * @param conversationUUID The UUID of the Conversation for which the messages need to be seen
+     * @param cursor           index of the first message to get, usually the number of messages already shown
+     * @return views of the messages sent since the cursor, oldest first
+     */
+    public List<MessageView> getMessagesSince(UUID executorUUID, UUID conversationUUID, int cursor) {
+        return conversationLocks.write(conversationUUID, () -> {
+            boolean hasRead = conversationManager.getUserHasRead(executorUUID, conversationUUID);
+            List<MessageView> messages = conversationManager.getMessages(executorUUID, conversationUUID, cursor, Integer.MAX_VALUE, userManager.getUserIsGod(executorUUID));
+
+            if (!hasRead) {
+                journal.record(JOURNAL_TARGET, "getMessagesSince", null, executorUUID, conversationUUID, cursor);
+            }
+
+            return messages;
+        });
+    }
+
+    /**
+     * Gets the number of messages in a conversation the user has read access to. Throws NoReadAccessException if the
+     * user has no read access.
+     * <p>
+     * God users can bypass read-restrictions.
+     *
+     * @param executorUUID     UUID of the user executing the command
+     * @param conversationUUID conversation in question
+     * @return number of messages
+     */
+    public int getNumMessages(UUID executorUUID, UUID conversationUUID) {
+        return conversationLocks.read(conversationUUID, () -> {
+            conversationManager.testReadAccess(executorUUID, conversationUUID, userManager.getUserIsGod(executorUUID));
+            return conversationManager.getNumMessages(conversationUUID);
+        });
+    }
+
+    /**
+     * Checks if a conversation is in the list of conversations of a user, without getting the whole list
+     *
+     * @param userUUID         user in question
+     * @param conversationUUID conversation in question
+     * @return true iff getConversationList(userUUID) would contain the conversation
+     */
+    public boolean isConversationListed(UUID userUUID, UUID conversationUUID) {
+        return conversationLocks.read(conversationUUID, () -> {
+            // God users can see all conversations
+            if (userManager.getUserIsGod(userUUID)) {
+                return conversationManager.conversationExists(conversationUUID);
+            } else {
+                return conversationManager.isUserInConversation(userUUID, conversationUUID)
+                        && !conversationManager.getUserArchiveConversation(conversationUUID).contains(userUUID);
+            }
+        });
+    }
+
+    /**
+     * Adds a listener that is notified when messages are added or deleted and when the members of a conversation
+     * change. The listener is only referenced weakly.
+     *
+     * @param listener listener to add
+     */
+    public void addConversationListener(IConversationListener listener) {
+        conversationManager.addListener(listener);
+    }
+
+    /**
+     * Removes a listener that was added with addConversationListener
+     *
+     * @param listener listener to remove
+     */
+    public void removeConversationListener(IConversationListener listener) {
+        conversationManager.removeListener(listener);
+    }
+
+    /**
+     * Get the name of a conversation the user has read access to. Throws NoReadAccessException if the user has no read
+     * access.
+     * <p>
+     * God users can bypass read-restrictions.
+     *
+     * @param executorUUID     UUID of the user executing the command
      * @param conversationUUID UUID of the conversation to operate on
      * @return Conversation name
      */
-    public String getConversationName(UUID conversationUUID) {
-        return conversationManager.getConversationName(conversationUUID);
+    public String getConversationName(UUID executorUUID, UUID conversationUUID) {
+        return conversationLocks.read(conversationUUID, () -> {
+            conversationManager.testReadAccess(executorUUID, conversationUUID, userManager.getUserIsGod(executorUUID));
+            return conversationManager.getConversationName(conversationUUID);
+        });
     }
 
     /**
@@ -112,7 +293,7 @@ public class ConversationController {
             //return conversationManager.getConversationList(userUUID);
             Set<UUID> conversationList = new HashSet<>();
             for (UUID conversationUUID : conversationManager.getConversationList(userUUID)) {
-                if (!conversationManager.getUserArchiveConversation(conversationUUID).contains(userUUID)) {
+                if (!conversationLocks.read(conversationUUID, () -> conversationManager.getUserArchiveConversation(conversationUUID).contains(userUUID))) {
                     conversationList.add(conversationUUID);
                 }
             }
@@ -121,13 +302,21 @@ public class ConversationController {
     }
 
     /**
-     * adds a specific user to a specific conversation
+     * adds a specific user to a specific conversation. Only users with write access to the conversation can add users,
+     * so NoWriteAccessException is thrown otherwise.
+     * <p>
+     * God users can bypass write-restrictions.
      *
+     * @param executorUUID     UUID of the user executing the command
      * @param conversationUUID UUID of the specific conversation
      * @param userUUID         UUID of the specific user
      */
-    public void addUserToConversation(UUID conversationUUID, UUID userUUID) {
-        conversationManager.addUser(userUUID, conversationUUID);
+    public void addUserToConversation(UUID executorUUID, UUID conversationUUID, UUID userUUID) {
+        conversationLocks.write(conversationUUID, () -> {
+            conversationManager.testWriteAccess(executorUUID, conversationUUID, userManager.getUserIsGod(executorUUID));
+            conversationManager.addUser(userUUID, conversationUUID);
+            journal.record(JOURNAL_TARGET, "addUserToConversation", null, executorUUID, conversationUUID, userUUID);
+        });
     }
 
     /**
@@ -137,17 +326,27 @@ public class ConversationController {
      * @param userUUID         UUID of the specific user
      */
     public void removeUserFromConversation(UUID conversationUUID, UUID userUUID) {
-        conversationManager.removeUser(userUUID, conversationUUID);
+        conversationLocks.write(conversationUUID, () -> {
+            conversationManager.removeUser(userUUID, conversationUUID);
+            journal.record(JOURNAL_TARGET, "removeUserFromConversation", null, conversationUUID, userUUID);
+        });
     }
 
     /**
-     * gets the UUID's of all users in a specific conversation
+     * gets the UUID's of all users in a conversation the user has read access to. Throws NoReadAccessException if the
+     * user has no read access.
+     * <p>
+     * God users can bypass read-restrictions.
      *
+     * @param executorUUID     UUID of the user executing the command
      * @param conversationUUID the UUID of the conversation in question
      * @return the list of users in this conversation
      */
-    public Set<UUID> getUsersInConversation(UUID conversationUUID) {
-        return conversationManager.getUsers(conversationUUID);
+    public Set<UUID> getUsersInConversation(UUID executorUUID, UUID conversationUUID) {
+        return conversationLocks.read(conversationUUID, () -> {
+            conversationManager.testReadAccess(executorUUID, conversationUUID, userManager.getUserIsGod(executorUUID));
+            return conversationManager.getUsers(conversationUUID);
+        });
     }
 
     /**
@@ -157,7 +356,10 @@ public class ConversationController {
      * @param conversationUUID conversation in question
      */
     public void userArchiveConversation(UUID userUUID, UUID conversationUUID) {
-        conversationManager.userArchiveConversation(userUUID, conversationUUID);
+        conversationLocks.write(conversationUUID, () -> {
+            conversationManager.userArchiveConversation(userUUID, conversationUUID);
+            journal.record(JOURNAL_TARGET, "userArchiveConversation", null, userUUID, conversationUUID);
+        });
     }
 
     /**
@@ -167,7 +369,10 @@ public class ConversationController {
      * @param conversationUUID conversation in question
      */
     public void userUnreadConversation(UUID userUUID, UUID conversationUUID) {
-        conversationManager.userUnreadConversation(userUUID, conversationUUID);
+        conversationLocks.write(conversationUUID, () -> {
+            conversationManager.userUnreadConversation(userUUID, conversationUUID);
+            journal.record(JOURNAL_TARGET, "userUnreadConversation", null, userUUID, conversationUUID);
+        });
     }
 
     /**
@@ -178,7 +383,7 @@ public class ConversationController {
      * @return true if that user has read that conversation, false otherwise
      */
     public boolean getUserHasRead(UUID userUUID, UUID conversationUUID) {
-        return conversationManager.getUserHasRead(userUUID, conversationUUID);
+        return conversationLocks.read(conversationUUID, () -> conversationManager.getUserHasRead(userUUID, conversationUUID));
     }
 
 
@@ -190,9 +395,12 @@ public class ConversationController {
      * @param index            index of the message in question
      */
     public void deleteMessage(UUID conversationUUID, UUID userUUID, int index) {
-        if (checkIfSender(conversationUUID, userUUID, index)) {
-            conversationManager.userDeleteMessage(conversationUUID, index);
-        }
+        conversationLocks.write(conversationUUID, () -> {
+            if (checkIfSender(conversationUUID, userUUID, index)) {
+                conversationManager.userDeleteMessage(conversationUUID, index);
+                journal.record(JOURNAL_TARGET, "deleteMessage", null, conversationUUID, userUUID, index);
+            }
+        });
     }
 
     /**
@@ -204,8 +412,10 @@ public class ConversationController {
      * @return true if that user is a god user or the sender of the message
      */
     public boolean checkIfSender(UUID conversationUUID, UUID userUUID, int index) {
-        return conversationManager.getConversation(conversationUUID).getConversationMessages().get(index).getSenderUUID() == userUUID
-                || userManager.getUserIsGod(userUUID);
+        return conversationLocks.read(conversationUUID, () -> {
+            return conversationManager.getMessageSender(conversationUUID, index).equals(userUUID)
+                    || userManager.getUserIsGod(userUUID);
+        });
     }
 
 //    /**
@@ -3,20 +3,76 @@ package messaging;
 import messaging.exception.NoReadAccessException;
 import messaging.exception.NoWriteAccessException;
 import messaging.exception.NullConversationException;
+import util.StripedLock;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.lang.ref.WeakReference;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * Manages Conversation entities
  */
 public class ConversationManager implements Serializable {
+    private static final long serialVersionUID = -3201268868022236467L;
+
+    private static final int LOCK_STRIPES = 64;
 
     // Note that the userUUIDtoConversationUUIDs HashMap is only there for efficiency reasons
     // the permissions are decided based on the read/write access to each conversation
     // (looping thru all the conversations is O(n), but accessing the HashMap is O(1) time)
-    private final Map<UUID, Set<UUID>> userUUIDtoConversationUUIDs = new HashMap<>();
-    private final Map<UUID, Conversation> conversationUUIDsToEntity = new HashMap<>();
+    // The maps and the sets in them are concurrent so that they can be read without holding a conversation lock, and
+    // changed by operations on different conversations at the same time.
+    private Map<UUID, Set<UUID>> userUUIDtoConversationUUIDs = new ConcurrentHashMap<>();
+    private Map<UUID, Conversation> conversationUUIDsToEntity = new ConcurrentHashMap<>();
+
+    // Reverse of userUUIDtoConversationUUIDs, so that the members of a conversation can be found without looping thru
+    // every user. Only updated alongside userUUIDtoConversationUUIDs, and rebuilt from it when deserialized.
+    private transient Map<UUID, Set<UUID>> conversationUUIDtoUserUUIDs = new ConcurrentHashMap<>();
+
+    // Operations on a conversation hold its stripe. Recreated when deserialized.
+    private transient StripedLock conversationLocks = new StripedLock(LOCK_STRIPES);
+
+    // Where older messages of new conversations are written, or null to keep every message in memory
+    private transient MessageLog messageLog;
+
+    // Listeners are only referenced weakly, so that views that were thrown away without removing their listener can
+    // still be garbage collected
+    private transient List<WeakReference<IConversationListener>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs an empty ConversationManager that keeps every message in memory
+     */
+    public ConversationManager() {
+        this(null);
+    }
+
+    /**
+     * Constructs an empty ConversationManager that writes older messages to a message log
+     *
+     * @param messageLog log to write older messages to, or null to keep every message in memory
+     */
+    public ConversationManager(MessageLog messageLog) {
+        this.messageLog = messageLog;
+    }
+
+    /**
+     * Constructs a ConversationManager holding conversations that were saved to disk
+     *
+     * @param userUUIDtoConversationUUIDs map from user UUID to the UUIDs of their conversations
+     * @param conversationUUIDsToEntity   map from conversation UUID to Conversation object
+     * @param messageLog                  log the older messages are in, or null to keep every message in memory
+     */
+    ConversationManager(Map<UUID, Set<UUID>> userUUIDtoConversationUUIDs, Map<UUID, Conversation> conversationUUIDsToEntity, MessageLog messageLog) {
+        this.conversationUUIDsToEntity.putAll(conversationUUIDsToEntity);
+        this.messageLog = messageLog;
+        buildIndexes(userUUIDtoConversationUUIDs);
+    }
 
     /**
      * Creates an instance of Conversation
@@ -29,14 +85,30 @@ public class ConversationManager implements Serializable {
      * @return A chat with the given specifications
      */
     public UUID createConversation(String conversationName, Set<UUID> usersWrite, Set<UUID> usersRead, UUID senderUUID, String messageContent) {
+        return createConversation(conversationName, usersWrite, usersRead, senderUUID, messageContent, LocalDateTime.now());
+    }
+
+    /**
+     * Creates an instance of Conversation whose initial message was sent at the given time, such as when replaying the
+     * journal
+     *
+     * @param conversationName name of the conversation
+     * @param usersWrite       The set of users that have writing access to this conversation
+     * @param usersRead        The set of users that have reading access to this conversation
+     * @param senderUUID       the UUID of the sender of the message
+     * @param messageContent   The content of the message to be sent
+     * @param timestamp        the date and time the initial message was sent
+     * @return A chat with the given specifications
+     */
+    public UUID createConversation(String conversationName, Set<UUID> usersWrite, Set<UUID> usersRead, UUID senderUUID, String messageContent, LocalDateTime timestamp) {
         // Create an initial message that initiates a conversation
-        Message initialMessage = new Message(senderUUID, messageContent);
+        Message initialMessage = new Message(senderUUID, messageContent, timestamp);
         // Adds the initial messages
         List<Message> messages = new ArrayList<>();
         messages.add(initialMessage);
 
         // Add conversation object to UUID -> Conversation map
-        Conversation newConversation = new Conversation(conversationName, usersWrite, usersRead, messages);
+        Conversation newConversation = new Conversation(conversationName, usersWrite, usersRead, messages, messageLog);
         UUID conversationUUID = newConversation.getConversationUUID();
         conversationUUIDsToEntity.put(conversationUUID, newConversation);
 
@@ -50,6 +122,8 @@ public class ConversationManager implements Serializable {
             addConversationToUserList(user, conversationUUID);
         }
 
+        notifyListeners(listener -> listener.membersChanged(conversationUUID));
+
         return conversationUUID;
     }
 
@@ -68,15 +142,20 @@ public class ConversationManager implements Serializable {
     }
 
     private void addConversationToUserList(UUID userUUID, UUID conversationUUID) {
-        userUUIDtoConversationUUIDs.computeIfAbsent(userUUID, k -> new HashSet<>());
-
-        userUUIDtoConversationUUIDs.get(userUUID).add(conversationUUID);
+        userUUIDtoConversationUUIDs.computeIfAbsent(userUUID, k -> ConcurrentHashMap.newKeySet()).add(conversationUUID);
+        conversationUUIDtoUserUUIDs.computeIfAbsent(conversationUUID, k -> ConcurrentHashMap.newKeySet()).add(userUUID);
     }
 
     private void removeConversationFromUserList(UUID userUUID, UUID conversationUUID) {
         if (userUUIDtoConversationUUIDs.get(userUUID) != null) {
             userUUIDtoConversationUUIDs.get(userUUID).remove(conversationUUID);
         }
+
+        // Only removed while empty, so that a user added by another thread in the meantime isn't lost
+        conversationUUIDtoUserUUIDs.computeIfPresent(conversationUUID, (k, userUUIDs) -> {
+            userUUIDs.remove(userUUID);
+            return userUUIDs.isEmpty() ? null : userUUIDs;
+        });
     }
 
     /**
@@ -98,6 +177,8 @@ public class ConversationManager implements Serializable {
         }
 
         conversationUUIDsToEntity.remove(conversationUUID);
+
+        notifyListeners(listener -> listener.membersChanged(conversationUUID));
     }
 
     /**
@@ -115,6 +196,8 @@ public class ConversationManager implements Serializable {
 
         // Add conversation to user's list
         addConversationToUserList(userUUID, conversationUUID);
+
+        notifyListeners(listener -> listener.membersChanged(conversationUUID));
     }
 
     /**
@@ -124,15 +207,7 @@ public class ConversationManager implements Serializable {
      * @return set of users in the conversation
      */
     public Set<UUID> getUsers(UUID conversationUUID) {
-        Set<UUID> usersInConversation = new HashSet<>();
-        Set<UUID> allUsersUUID = userUUIDtoConversationUUIDs.keySet();
-        for (UUID userUUID : allUsersUUID) {
-            if (userUUIDtoConversationUUIDs.get(userUUID).contains(conversationUUID)) {
-                usersInConversation.add(userUUID);
-            }
-
-        }
-        return usersInConversation;
+        return new HashSet<>(conversationUUIDtoUserUUIDs.getOrDefault(conversationUUID, Collections.emptySet()));
     }
 
     /**
@@ -150,6 +225,8 @@ public class ConversationManager implements Serializable {
 
         // Add conversation to user's list
         removeConversationFromUserList(userUUID, conversationUUID);
+
+        notifyListeners(listener -> listener.membersChanged(conversationUUID));
     }
 
     /**
@@ -190,9 +267,10 @@ public class ConversationManager implements Serializable {
      * @param messageContent    The content of the message to be sent
      * @param conversationUUID  the conversation UUID of the conversation to which this message has to be added
      * @param bypassRestriction whether to bypass write access restrictions
+     * @param timestamp         the date and time the message was sent
      */
-    void sendMessage(UUID senderUUID, String messageContent, UUID conversationUUID, boolean bypassRestriction) {
-        Message message = new Message(senderUUID, messageContent);
+    void sendMessage(UUID senderUUID, String messageContent, UUID conversationUUID, boolean bypassRestriction, LocalDateTime timestamp) {
+        Message message = new Message(senderUUID, messageContent, timestamp);
         Conversation conversation = getConversation(conversationUUID);
 
         UUID userUUID = message.getSenderUUID();
@@ -201,6 +279,9 @@ public class ConversationManager implements Serializable {
             conversation.addMessage(message);
             conversation.resetUserArchivedUUIDs();
             conversation.resetUsersHaveRead();
+
+            int index = conversation.getNumMessages() - 1;
+            notifyListeners(listener -> listener.messageAdded(conversationUUID, index));
         } else {
             throw new NoWriteAccessException();
         }
@@ -216,28 +297,103 @@ public class ConversationManager implements Serializable {
      * @return returns an List of Maps. Each Map stores information about a message in the conversation.
      */
     List<Map<String, String>> getMessages(UUID userUUID, UUID conversationUUID, boolean bypassRestriction) {
+        List<Map<String, String>> newList = new ArrayList<>();
+
+        for (MessageView message : getMessages(userUUID, conversationUUID, 0, Integer.MAX_VALUE, bypassRestriction)) {
+            Map<String, String> messageMap = new HashMap<>();
+            messageMap.put("sender", message.getSenderUUID().toString());
+            messageMap.put("timestamp", message.getTimestamp().toString());
+            messageMap.put("content", message.getContent());
+            newList.add(messageMap);
+        }
+
+        return newList;
+    }
+
+    /**
+     * Gets a page of messages for a conversation a user has read access to. Older messages are read from the message
+     * log, so only the page that is needed should be requested. Throws NoReadAccessException if the user has no read
+     * access.
+     *
+     * @param userUUID          The ID of the User
+     * @param conversationUUID  The UUID of the Conversation for which the messages need to be seen
+     * @param cursor            index of the first message, where 0 is the oldest message
+     * @param limit             maximum number of messages to get
+     * @param bypassRestriction whether to bypass read access restrictions
+     * @return views of the messages in the page, oldest first
+     */
+    List<MessageView> getMessages(UUID userUUID, UUID conversationUUID, int cursor, int limit, boolean bypassRestriction) {
         Conversation conversation = getConversation(conversationUUID);
 
         conversation.getUsersHaveRead().add(userUUID);
         if (conversation.getReadAccessUsers().contains(userUUID) || bypassRestriction) {
-            List<Map<String, String>> newList = new ArrayList<>();
-
             // Mark this conversation as read
             conversation.readConversation(userUUID);
 
-            for (Message message : conversation.getConversationMessages()) {
-                Map<String, String> messageMap = new HashMap<>();
-                messageMap.put("sender", message.getSenderUUID().toString());
-                messageMap.put("timestamp", message.getTimestamp().toString());
-                messageMap.put("content", message.getContent());
-                newList.add(messageMap);
+            int numMessages = conversation.getNumMessages();
+            int fromIndex = Math.min(cursor, numMessages);
+            int toIndex = fromIndex + Math.min(limit, numMessages - fromIndex);
+
+            List<Message> messages = conversation.getMessages(fromIndex, toIndex);
+            List<MessageView> messageViews = new ArrayList<>(messages.size());
+
+            for (int i = 0; i < messages.size(); i++) {
+                messageViews.add(new MessageView(fromIndex + i, messages.get(i)));
             }
-            return newList;
+
+            return messageViews;
         } else {
             throw new NoReadAccessException();
         }
     }
 
+    /**
+     * Tests whether a user can read a conversation. Throws NoReadAccessException if the user has no read access.
+     *
+     * @param userUUID          user in question
+     * @param conversationUUID  conversation in question
+     * @param bypassRestriction whether to bypass read access restrictions
+     */
+    void testReadAccess(UUID userUUID, UUID conversationUUID, boolean bypassRestriction) {
+        if (!bypassRestriction && !getConversation(conversationUUID).getReadAccessUsers().contains(userUUID)) {
+            throw new NoReadAccessException();
+        }
+    }
+
+    /**
+     * Tests whether a user can write to a conversation. Throws NoWriteAccessException if the user has no write access.
+     *
+     * @param userUUID          user in question
+     * @param conversationUUID  conversation in question
+     * @param bypassRestriction whether to bypass write access restrictions
+     */
+    void testWriteAccess(UUID userUUID, UUID conversationUUID, boolean bypassRestriction) {
+        if (!bypassRestriction && !getConversation(conversationUUID).getWriteAccessUsers().contains(userUUID)) {
+            throw new NoWriteAccessException();
+        }
+    }
+
+    /**
+     * Gets the number of messages in a conversation
+     *
+     * @param conversationUUID conversation in question
+     * @return number of messages
+     */
+    int getNumMessages(UUID conversationUUID) {
+        return getConversation(conversationUUID).getNumMessages();
+    }
+
+    /**
+     * Gets the sender of a message
+     *
+     * @param conversationUUID conversation in question
+     * @param index            index of the message, where 0 is the oldest message
+     * @return UUID of the sender
+     */
+    UUID getMessageSender(UUID conversationUUID, int index) {
+        return getConversation(conversationUUID).getMessage(index).getSenderUUID();
+    }
+
     /**
      * Marks a conversation as unread for a specific user
      *
@@ -289,7 +445,134 @@ public class ConversationManager implements Serializable {
     public void userDeleteMessage(UUID conversationUUID, int index) {
         getConversation(conversationUUID).deleteMessage(index);
 
+        notifyListeners(listener -> listener.messageDeleted(conversationUUID, index));
+    }
+
+    /**
+     * Checks if a conversation exists
+     *
+     * @param conversationUUID conversation in question
+     * @return true iff the conversation exists
+     */
+    public boolean conversationExists(UUID conversationUUID) {
+        return conversationUUIDsToEntity.containsKey(conversationUUID);
+    }
+
+    /**
+     * Checks if a user is a member of a conversation
+     *
+     * @param userUUID         user in question
+     * @param conversationUUID conversation in question
+     * @return true iff the user is in the conversation
+     */
+    public boolean isUserInConversation(UUID userUUID, UUID conversationUUID) {
+        Set<UUID> conversationUUIDs = userUUIDtoConversationUUIDs.get(userUUID);
+        return conversationUUIDs != null && conversationUUIDs.contains(conversationUUID);
+    }
+
+    /**
+     * Adds a listener that is notified of changes to every conversation. The listener is only referenced weakly, so
+     * the caller has to keep a reference to it for as long as it should be notified.
+     *
+     * @param listener listener to add
+     */
+    public void addListener(IConversationListener listener) {
+        listeners.add(new WeakReference<>(listener));
+    }
+
+    /**
+     * Removes a listener so that it is no longer notified
+     *
+     * @param listener listener to remove
+     */
+    public void removeListener(IConversationListener listener) {
+        listeners.removeIf(reference -> reference.get() == null || reference.get() == listener);
+    }
+
+    private void notifyListeners(Consumer<IConversationListener> notification) {
+        // Listeners may remove themselves while being notified, which the copy on write list allows
+        for (WeakReference<IConversationListener> reference : listeners) {
+            IConversationListener listener = reference.get();
+
+            if (listener == null) {
+                listeners.remove(reference);
+            } else {
+                notification.accept(listener);
+            }
+        }
+    }
+
+    /**
+     * Gets the locks of the conversations. Operations on a conversation that may run at the same time as other
+     * operations should hold its stripe, and operations that create a conversation should use create(). When a
+     * conference stripe is needed too, it has to be taken first.
+     *
+     * @return striped lock keyed by conversation UUID
+     */
+    public StripedLock getConversationLocks() {
+        return conversationLocks;
+    }
+
+    /**
+     * Gets the conversations of every user so that they can be saved to disk
+     *
+     * @return map from user UUID to the UUIDs of their conversations
+     */
+    Map<UUID, Set<UUID>> getUserConversationMap() {
+        return userUUIDtoConversationUUIDs;
+    }
+
+    /**
+     * Gets the conversations so that they can be saved to disk
+     *
+     * @return map from conversation UUID to Conversation object
+     */
+    Map<UUID, Conversation> getConversationMap() {
+        return conversationUUIDsToEntity;
+    }
+
+    /**
+     * Gets the pages of older messages that every conversation refers to
+     *
+     * @return UUIDs of the segments in the message log
+     */
+    Set<UUID> getMessageSegmentUUIDs() {
+        Set<UUID> segmentUUIDs = new HashSet<>();
+
+        for (Conversation conversation : conversationUUIDsToEntity.values()) {
+            for (MessageSegment segment : conversation.getMessageSegments()) {
+                segmentUUIDs.add(segment.getSegmentUUID());
+            }
+        }
+
+        return segmentUUIDs;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+
+        // Older files hold plain hash maps
+        conversationUUIDsToEntity = new ConcurrentHashMap<>(conversationUUIDsToEntity);
+
+        listeners = new CopyOnWriteArrayList<>();
+        conversationLocks = new StripedLock(LOCK_STRIPES);
+        buildIndexes(userUUIDtoConversationUUIDs);
     }
 
+    /**
+     * Copies the conversations of every user into concurrent sets, and builds the index of the members of each
+     * conversation from them
+     *
+     * @param userConversations map from user UUID to the UUIDs of their conversations
+     */
+    private void buildIndexes(Map<UUID, Set<UUID>> userConversations) {
+        userUUIDtoConversationUUIDs = new ConcurrentHashMap<>();
+        conversationUUIDtoUserUUIDs = new ConcurrentHashMap<>();
 
-}
\ No newline at end of file
+        for (Map.Entry<UUID, Set<UUID>> entry : userConversations.entrySet()) {
+            for (UUID conversationUUID : entry.getValue()) {
+                addConversationToUserList(entry.getKey(), conversationUUID);
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package messaging;
+
+import gateway.BinaryReader;
+import gateway.BinaryWriter;
+import gateway.Codec;
+
+import java.io.IOException;
+
+/**
+ * Codec for ConversationManager. The members of each conversation are not written, they are rebuilt from the
+ * conversations of each user.
+ * <p>
+ * Reading a ConversationManager also removes the pages in the message log that it doesn't refer to. Those are either
+ * from operations after the snapshot was saved, which are written again when the journal is replayed, or from
+ * deleted messages and conversations.
+ */
+public class ConversationManagerCodec implements Codec<ConversationManager> {
+    private final ConversationCodec conversationCodec;
+    private final MessageLog messageLog;
+
+    /**
+     * Creates a codec for a ConversationManager that keeps every message in memory
+     */
+    public ConversationManagerCodec() {
+        this(null);
+    }
+
+    /**
+     * Creates a codec for a ConversationManager that keeps older messages in a message log
+     *
+     * @param messageLog log the older messages are in, or null to keep every message in memory
+     */
+    public ConversationManagerCodec(MessageLog messageLog) {
+        this.messageLog = messageLog;
+        this.conversationCodec = new ConversationCodec(messageLog);
+    }
+
+    @Override
+    public void write(BinaryWriter out, ConversationManager conversationManager) throws IOException {
+        out.writeUUIDSetMap(conversationManager.getUserConversationMap());
+        out.writeUUIDMap(conversationManager.getConversationMap(), conversationCodec);
+    }
+
+    @Override
+    public ConversationManager read(BinaryReader in) throws IOException {
+        ConversationManager conversationManager = new ConversationManager(in.readUUIDSetMap(), in.readUUIDMap(conversationCodec), messageLog);
+
+        if (messageLog != null) {
+            messageLog.retain(conversationManager.getMessageSegmentUUIDs());
+        }
+
+        return conversationManager;
+    }
+}
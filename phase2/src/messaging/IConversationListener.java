@@ -0,0 +1,33 @@
+package messaging;
+
+import java.util.UUID;
+
+/**
+ * Interface for being notified of changes to conversations, so that views can update only what changed instead of
+ * reading every conversation again
+ */
+public interface IConversationListener {
+    /**
+     * Called after a message is added to the end of a conversation
+     *
+     * @param conversationUUID conversation the message was added to
+     * @param index            index of the new message
+     */
+    void messageAdded(UUID conversationUUID, int index);
+
+    /**
+     * Called after a message is deleted from a conversation. The messages after it move back by one.
+     *
+     * @param conversationUUID conversation the message was deleted from
+     * @param index            index the message had
+     */
+    void messageDeleted(UUID conversationUUID, int index);
+
+    /**
+     * Called after users are added to or removed from a conversation, including when the conversation is created or
+     * deleted
+     *
+     * @param conversationUUID conversation whose members changed
+     */
+    void membersChanged(UUID conversationUUID);
+}
@@ -8,6 +8,8 @@ import java.util.UUID;
  * Contains information about individual messages, such as the sender, timestamp, etc.
  */
 class Message implements Serializable {
+    private static final long serialVersionUID = -7453064121014083970L;
+
     private final String content;
     private final LocalDateTime timestamp;
     private final UUID senderUUID;
@@ -24,6 +26,19 @@ class Message implements Serializable {
         this.senderUUID = senderUUID;
     }
 
+    /**
+     * Constructor for a message that was saved to disk
+     *
+     * @param senderUUID     The UUID of the sender of the message
+     * @param messageContent The content of the message
+     * @param timestamp      The date and time the message was sent
+     */
+    Message(UUID senderUUID, String messageContent, LocalDateTime timestamp) {
+        content = messageContent;
+        this.timestamp = timestamp;
+        this.senderUUID = senderUUID;
+    }
+
     /**
      * returns the UUID of the sender of the message
      *
@@ -0,0 +1,24 @@
+package messaging;
+
+import gateway.BinaryReader;
+import gateway.BinaryWriter;
+import gateway.Codec;
+
+import java.io.IOException;
+
+/**
+ * Codec for Message
+ */
+class MessageCodec implements Codec<Message> {
+    @Override
+    public void write(BinaryWriter out, Message message) throws IOException {
+        out.writeUUID(message.getSenderUUID());
+        out.writeString(message.getContent());
+        out.writeDateTime(message.getTimestamp());
+    }
+
+    @Override
+    public Message read(BinaryReader in) throws IOException {
+        return new Message(in.readUUID(), in.readString(), in.readDateTime());
+    }
+}
@@ -0,0 +1,127 @@
+package messaging;
+
+import gateway.BinaryReader;
+import gateway.BinaryWriter;
+import messaging.exception.MessageLogException;
+
+import java.io.*;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Stores the older messages of every conversation on disk, so that they don't have to stay in memory.
+ * <p>
+ * Messages are written in segments, one file per segment. Segments are never modified once written: deleting a message
+ * writes a new segment without it. This way the segments referenced by the last snapshot of the ConversationManager
+ * are always intact, even if the program stops before the next snapshot is saved. Segments that are no longer
+ * referenced are removed with retain().
+ */
+public class MessageLog {
+    private static final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    private static final String EXTENSION = ".seg";
+    private static final int VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 14;
+
+    private final Path directory;
+    private final MessageCodec messageCodec = new MessageCodec();
+
+    /**
+     * Creates a message log that stores segments in a directory. The directory is created when the first segment is
+     * written.
+     *
+     * @param directory name of the directory to store segments in
+     */
+    public MessageLog(String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    private Path getPath(UUID segmentUUID) {
+        return directory.resolve(segmentUUID + EXTENSION);
+    }
+
+    /**
+     * Writes messages to a new segment and forces it to disk
+     *
+     * @param messages messages to write
+     * @return UUID of the new segment
+     * @throws IOException if the segment could not be written
+     */
+    UUID write(List<Message> messages) throws IOException {
+        UUID segmentUUID = UUID.randomUUID();
+
+        Files.createDirectories(directory);
+
+        try (FileOutputStream fileOutputStream = new FileOutputStream(getPath(segmentUUID).toFile())) {
+            BinaryWriter binaryWriter = new BinaryWriter(new BufferedOutputStream(fileOutputStream, BUFFER_SIZE));
+
+            binaryWriter.writeVarInt(VERSION);
+            binaryWriter.writeCollection(messages, messageCodec);
+            binaryWriter.flush();
+            fileOutputStream.getFD().sync();
+        }
+
+        return segmentUUID;
+    }
+
+    /**
+     * Reads the messages in a segment
+     *
+     * @param segmentUUID UUID of the segment
+     * @return messages in the segment, in the order they were written
+     */
+    List<Message> read(UUID segmentUUID) {
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(getPath(segmentUUID)), BUFFER_SIZE)) {
+            BinaryReader binaryReader = new BinaryReader(inputStream, VERSION);
+
+            int version = binaryReader.readVarInt();
+
+            if (version > VERSION) {
+                throw new IOException(String.format("Segment was written with a newer version (%d)", version));
+            }
+
+            return binaryReader.readList(messageCodec);
+        } catch (IOException e) {
+            throw new MessageLogException(segmentUUID, e);
+        }
+    }
+
+    /**
+     * Deletes every segment that is not in a set. Should only be called when no segments are being written, with the
+     * segments referenced by the last snapshot.
+     *
+     * @param segmentUUIDs UUIDs of the segments to keep
+     */
+    void retain(Set<UUID> segmentUUIDs) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path path : paths) {
+                String fileName = path.getFileName().toString();
+                UUID segmentUUID;
+
+                try {
+                    segmentUUID = UUID.fromString(fileName.substring(0, fileName.length() - EXTENSION.length()));
+                } catch (IllegalArgumentException e) {
+                    // Not a segment
+                    continue;
+                }
+
+                if (!segmentUUIDs.contains(segmentUUID)) {
+                    Files.delete(path);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, String.format("Unable to remove unused segments from %s", directory), e);
+        }
+    }
+}
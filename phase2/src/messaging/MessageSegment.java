@@ -0,0 +1,42 @@
+package messaging;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * A page of older messages of a Conversation that was written to the message log. Only the UUID and size of the page
+ * are kept in memory.
+ */
+class MessageSegment implements Serializable {
+    private final UUID segmentUUID;
+    private final int size;
+
+    /**
+     * Constructor for MessageSegment
+     *
+     * @param segmentUUID UUID of the segment in the message log
+     * @param size        number of messages in the segment
+     */
+    MessageSegment(UUID segmentUUID, int size) {
+        this.segmentUUID = segmentUUID;
+        this.size = size;
+    }
+
+    /**
+     * Gets the UUID of the segment in the message log
+     *
+     * @return UUID of the segment
+     */
+    UUID getSegmentUUID() {
+        return segmentUUID;
+    }
+
+    /**
+     * Gets the number of messages in the segment
+     *
+     * @return number of messages
+     */
+    int getSize() {
+        return size;
+    }
+}
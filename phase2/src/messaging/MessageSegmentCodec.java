@@ -0,0 +1,23 @@
+package messaging;
+
+import gateway.BinaryReader;
+import gateway.BinaryWriter;
+import gateway.Codec;
+
+import java.io.IOException;
+
+/**
+ * Codec for MessageSegment
+ */
+class MessageSegmentCodec implements Codec<MessageSegment> {
+    @Override
+    public void write(BinaryWriter out, MessageSegment segment) throws IOException {
+        out.writeUUID(segment.getSegmentUUID());
+        out.writeVarInt(segment.getSize());
+    }
+
+    @Override
+    public MessageSegment read(BinaryReader in) throws IOException {
+        return new MessageSegment(in.readUUID(), in.readVarInt());
+    }
+}
@@ -0,0 +1,64 @@
+package messaging;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only view of a message in a conversation. Refers to the message itself instead of copying it, since messages
+ * never change once they are sent. Can be sent to clients of the convention server.
+ */
+public final class MessageView implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final int index;
+    private final Message message;
+
+    /**
+     * Constructor for MessageView
+     *
+     * @param index   index of the message in its conversation
+     * @param message the message
+     */
+    MessageView(int index, Message message) {
+        this.index = index;
+        this.message = message;
+    }
+
+    /**
+     * Gets the index of the message in its conversation, where 0 is the oldest message. The index of the next message
+     * can be used as a cursor to get the messages sent after this one.
+     *
+     * @return index of the message
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the UUID of the sender
+     *
+     * @return UUID of the sender
+     */
+    public UUID getSenderUUID() {
+        return message.getSenderUUID();
+    }
+
+    /**
+     * Gets the content of the message
+     *
+     * @return content of the message
+     */
+    public String getContent() {
+        return message.getContent();
+    }
+
+    /**
+     * Gets the date and time the message was sent
+     *
+     * @return timestamp of the message
+     */
+    public LocalDateTime getTimestamp() {
+        return message.getTimestamp();
+    }
+}
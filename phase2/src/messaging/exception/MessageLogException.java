@@ -0,0 +1,12 @@
+package messaging.exception;
+
+import java.util.UUID;
+
+/**
+ * raises an error if a page of messages could not be read from or written to the message log
+ */
+public class MessageLogException extends RuntimeException {
+    public MessageLogException(UUID segmentUUID, Throwable cause) {
+        super(String.format("Unable to access message segment %s", segmentUUID), cause);
+    }
+}
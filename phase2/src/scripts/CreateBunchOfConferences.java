@@ -1,14 +1,19 @@
 package scripts;
 
 import contact.ContactManager;
+import contact.ContactManagerCodec;
 import convention.EventController;
 import convention.calendar.TimeRange;
 import convention.conference.ConferenceManager;
+import convention.conference.ConferenceManagerCodec;
 import convention.event.EventManager;
 import convention.room.RoomManager;
 import gateway.Serializer;
 import messaging.ConversationManager;
+import messaging.ConversationManagerCodec;
+import messaging.MessageLog;
 import user.UserManager;
+import user.UserManagerCodec;
 
 import java.time.LocalDateTime;
 import java.time.Month;
@@ -25,14 +30,15 @@ import java.util.UUID;
  */
 public class CreateBunchOfConferences {
     public static void main(String[] args) {
-        Serializer<ConversationManager> conversationManagerSerializer = new Serializer<>("conversationManager.ser");
-        Serializer<UserManager> userManagerSerializer = new Serializer<>("userManager.ser");
-        Serializer<ContactManager> contactManagerSerializer = new Serializer<>("contactManager.ser");
-        Serializer<ConferenceManager> conferenceManagerSerializer = new Serializer<>("conferenceManager.ser");
+        MessageLog messageLog = new MessageLog("messages");
+        Serializer<ConversationManager> conversationManagerSerializer = new Serializer<>("conversationManager.bin", new ConversationManagerCodec(messageLog), "conversationManager.ser");
+        Serializer<UserManager> userManagerSerializer = new Serializer<>("userManager.bin", new UserManagerCodec(), "userManager.ser");
+        Serializer<ContactManager> contactManagerSerializer = new Serializer<>("contactManager.bin", new ContactManagerCodec(), "contactManager.ser");
+        Serializer<ConferenceManager> conferenceManagerSerializer = new Serializer<>("conferenceManager.bin", new ConferenceManagerCodec(), "conferenceManager.ser");
 
         UserManager userManager = userManagerSerializer.load(new UserManager());
         ContactManager contactManager = contactManagerSerializer.load(new ContactManager());
-        ConversationManager conversationManager = conversationManagerSerializer.load(new ConversationManager());
+        ConversationManager conversationManager = conversationManagerSerializer.load(new ConversationManager(messageLog));
         ConferenceManager conferenceManager = conferenceManagerSerializer.load(new ConferenceManager());
 
         EventController eventController = new EventController(conferenceManager, conversationManager, userManager);
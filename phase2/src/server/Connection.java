@@ -0,0 +1,121 @@
+package server;
+
+import java.io.*;
+import java.net.Socket;
+
+/**
+ * Sends and receives objects over a socket. Each object is serialized on its own and length prefixed, the same way as
+ * journal entries, so a request that can't be read or a result that can't be written doesn't break the stream.
+ * <p>
+ * Only the types the controllers take and return, and the exceptions they throw, can be read. This way a client can't
+ * make the server create arbitrary objects.
+ */
+class Connection implements Closeable {
+    // Large enough for any schedule or conversation page, small enough that a bad length can't exhaust the heap
+    private static final int MAX_MESSAGE_SIZE = 16 * 1024 * 1024;
+
+    private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(String.join(";",
+            "maxdepth=32",
+            "maxarray=1000000",
+            "java.lang.*",
+            "java.util.**",
+            "java.time.*",
+            "convention.calendar.TimeRange",
+            "messaging.Message",
+            "messaging.MessageView",
+            "util.UUIDSet",
+            "server.*",
+            "server.exception.*",
+            "contact.exception.*",
+            "convention.exception.*",
+            "messaging.exception.*",
+            "user.exception.*",
+            "!*"
+    ));
+
+    private final Socket socket;
+    private final DataInputStream dataInputStream;
+    private final DataOutputStream dataOutputStream;
+
+    /**
+     * Creates a connection over a socket that is already connected
+     *
+     * @param socket connected socket
+     * @throws IOException if the socket's streams could not be opened
+     */
+    Connection(Socket socket) throws IOException {
+        this.socket = socket;
+
+        dataInputStream = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        dataOutputStream = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    /**
+     * Waits for the next object from the other side
+     *
+     * @param type type of object expected
+     * @param <T>  type of object expected
+     * @return the object, or null if the other side closed the connection
+     * @throws ObjectStreamException if the object could not be read, in which case the connection can still be used
+     * @throws IOException           if the connection failed
+     */
+    <T> T read(Class<T> type) throws IOException {
+        int length;
+
+        try {
+            length = dataInputStream.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+
+        if (length < 0 || length > MAX_MESSAGE_SIZE) {
+            throw new IOException(String.format("Message of %d bytes is too large", length));
+        }
+
+        byte[] bytes = new byte[length];
+        dataInputStream.readFully(bytes);
+
+        try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            objectInputStream.setObjectInputFilter(FILTER);
+
+            Object object = objectInputStream.readObject();
+
+            if (!type.isInstance(object)) {
+                throw new InvalidObjectException(String.format("Expected %s but got %s", type.getSimpleName(), object == null ? null : object.getClass().getName()));
+            }
+
+            return type.cast(object);
+        } catch (ClassNotFoundException e) {
+            throw new InvalidClassException(e.getMessage());
+        }
+    }
+
+    /**
+     * Sends an object to the other side
+     *
+     * @param object object to send
+     * @throws NotSerializableException if the object could not be serialized, in which case nothing was sent
+     * @throws IOException              if the connection failed
+     */
+    void write(Object object) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream)) {
+            objectOutputStream.writeObject(object);
+        }
+
+        dataOutputStream.writeInt(byteArrayOutputStream.size());
+        byteArrayOutputStream.writeTo(dataOutputStream);
+        dataOutputStream.flush();
+    }
+
+    /**
+     * Closes the connection
+     *
+     * @throws IOException if the socket could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
@@ -0,0 +1,90 @@
+package server;
+
+import server.exception.ConnectionException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.UUID;
+
+/**
+ * Connection to a convention server on this machine. Controller methods are called by name, and exceptions thrown by
+ * the controllers on the server are thrown again here, so callers can handle them the same way as local calls.
+ * <p>
+ * Each client has its own session on the server, so several clients can be signed in as different users at once. A
+ * client sends one request at a time; threads that share a client wait for each other.
+ */
+public class ConventionClient implements Closeable {
+    private final Connection connection;
+
+    /**
+     * Connects to a server on this machine
+     *
+     * @param port port the server is listening on
+     */
+    public ConventionClient(int port) {
+        try {
+            connection = new Connection(new Socket(InetAddress.getLoopbackAddress(), port));
+        } catch (IOException e) {
+            throw new ConnectionException(e.getMessage());
+        }
+    }
+
+    /**
+     * Calls a controller method on the server
+     *
+     * @param target    name of the controller, such as EventController
+     * @param operation name of the method
+     * @param arguments arguments to call the method with
+     * @param <T>       type of the value the method returns
+     * @return value the method returned, or null if none
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T call(String target, String operation, Object... arguments) {
+        Response response;
+
+        try {
+            connection.write(new Request(target, operation, arguments));
+            response = connection.read(Response.class);
+        } catch (IOException e) {
+            throw new ConnectionException(e.getMessage());
+        }
+
+        if (response == null) {
+            throw new ConnectionException("The server closed the connection.");
+        }
+
+        return (T) response.get();
+    }
+
+    /**
+     * Signs in on this connection
+     *
+     * @param username user's username
+     * @param password user's password
+     * @return UUID of the signed in user, or null if the credentials don't match
+     */
+    public UUID login(String username, String password) {
+        return call("UserController", "login", username, password);
+    }
+
+    /**
+     * Signs out on this connection
+     */
+    public void logout() {
+        call("UserController", "logout");
+    }
+
+    /**
+     * Disconnects from the server
+     */
+    @Override
+    public void close() {
+        try {
+            connection.close();
+        } catch (IOException e) {
+            // Nothing left to clean up
+        }
+    }
+}
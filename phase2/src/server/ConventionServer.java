@@ -0,0 +1,381 @@
+package server;
+
+import convention.exception.PermissionException;
+import server.exception.NotSignedInException;
+import server.exception.RemoteOperationException;
+import server.exception.UnknownOperationException;
+import user.UserController;
+import util.ControllerBundle;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectStreamException;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Serves the controllers to many clients at once without a UI. Clients connect over a local socket and send requests
+ * that name a controller, one of its methods and the arguments to call it with, just like the operations recorded in
+ * the journal. Each request gets a response with the value the method returned or the exception it threw.
+ * <p>
+ * Every connection has its own session. Signing in, registering, signing out and getting the current user are handled
+ * per connection instead of through the user manager, which only has room for one signed in user, and signing in
+ * isn't journaled. Everything else needs a signed in session.
+ * <p>
+ * Clients can't be trusted to say who they are, so each argument that names the user making a call is replaced with
+ * the user signed in on the session, and users can only change their own account unless they are a god user. Only
+ * the operations listed in OperationRules can be called. The controllers lock the conferences and conversations they
+ * change, so connections call them directly instead of through the controller bundle's lock.
+ */
+public class ConventionServer implements Closeable {
+    /**
+     * Port the server listens on if none is given
+     */
+    public static final int DEFAULT_PORT = 7070;
+
+    private static final String USER_CONTROLLER = "UserController";
+
+    private final Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    private final Map<String, Object> controllers;
+    private final UserController userController;
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService connectionExecutor = createConnectionExecutor();
+
+    // Closed along with the server, since threads blocked reading a socket can't be interrupted
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a server and starts listening on the loopback interface. Clients are only served once run() is called.
+     *
+     * @param controllerBundle controllers to serve
+     * @param port             port to listen on, or 0 to pick any free port
+     * @throws IOException if the port could not be opened
+     */
+    public ConventionServer(ControllerBundle controllerBundle, int port) throws IOException {
+        this.controllers = controllerBundle.getControllers();
+        this.userController = controllerBundle.getUserController();
+
+        serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+    }
+
+    /**
+     * Creates the executor that each connection runs on. A connection spends most of its time waiting for the next
+     * request, so each one gets a virtual thread where the runtime has them (Java 21 and up). Older runtimes get a
+     * platform thread per connection.
+     *
+     * @return executor with a thread per task
+     */
+    private static ExecutorService createConnectionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "Client connection");
+
+                // Connections must not keep the program running once the server is closed
+                thread.setDaemon(true);
+
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Gets the port the server is listening on
+     *
+     * @return port number
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Accepts clients until the server is closed. Each client is served on its own thread.
+     */
+    public void run() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connectionExecutor.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    LOGGER.log(Level.WARNING, "Unable to accept a client", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops accepting clients and closes every connection. Requests already being carried out are finished, but their
+     * responses are not sent.
+     */
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Unable to close the server socket", e);
+        }
+
+        for (Connection connection : connections) {
+            try {
+                connection.close();
+            } catch (IOException e) {
+                // Already closed by the client
+            }
+        }
+
+        connectionExecutor.shutdown();
+    }
+
+    /**
+     * Answers requests from one client until it disconnects
+     *
+     * @param socket socket connected to the client
+     */
+    private void serve(Socket socket) {
+        Session session = new Session();
+        Connection connection;
+
+        try {
+            connection = new Connection(socket);
+        } catch (IOException e) {
+            return;
+        }
+
+        connections.add(connection);
+
+        try (connection) {
+            // The server may have been closed before the connection was added
+            if (serverSocket.isClosed()) {
+                return;
+            }
+
+            while (true) {
+                Response response;
+
+                try {
+                    Request request = connection.read(Request.class);
+
+                    if (request == null) {
+                        return;
+                    }
+
+                    response = handle(session, request);
+                } catch (ObjectStreamException e) {
+                    response = Response.failure(new RemoteOperationException(String.format("Unable to read request: %s", e.getMessage())));
+                }
+
+                try {
+                    connection.write(response);
+                } catch (NotSerializableException e) {
+                    connection.write(Response.failure(new RemoteOperationException(String.format("Unable to send result: %s", e.getMessage()))));
+                }
+            }
+        } catch (IOException e) {
+            // The client disconnected part way through a request, or the server was closed
+        } finally {
+            connections.remove(connection);
+        }
+    }
+
+    /**
+     * Carries out a request
+     *
+     * @param session session of the connection the request came from
+     * @param request request to carry out
+     * @return response to send back
+     */
+    private Response handle(Session session, Request request) {
+        try {
+            return Response.success(invoke(session, request));
+        } catch (RuntimeException e) {
+            return Response.failure(e);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                return Response.failure((RuntimeException) e.getCause());
+            }
+
+            LOGGER.log(Level.WARNING, String.format("Unable to carry out %s", request), e.getCause());
+            return Response.failure(new RemoteOperationException(String.format("%s failed: %s", request, e.getCause())));
+        } catch (ReflectiveOperationException e) {
+            LOGGER.log(Level.WARNING, String.format("Unable to carry out %s", request), e);
+            return Response.failure(new RemoteOperationException(String.format("%s failed: %s", request, e)));
+        }
+    }
+
+    private Object invoke(Session session, Request request) throws ReflectiveOperationException {
+        Object[] arguments = request.getArguments() == null ? new Object[0] : request.getArguments().clone();
+
+        if (request.getTarget().equals(USER_CONTROLLER)) {
+            UUID userUUID;
+
+            switch (request.getOperation()) {
+                case "login":
+                    checkStrings(request, arguments, 2);
+                    userUUID = userController.authenticate((String) arguments[0], (String) arguments[1]);
+                    break;
+                case "registerUser":
+                    // Registering signs in as the new user, like it does in the GUI
+                    checkStrings(request, arguments, 4);
+                    userUUID = userController.createUser((String) arguments[0], (String) arguments[1], (String) arguments[2], (String) arguments[3]);
+                    break;
+                case "logout":
+                    session.signedInUserUUID = null;
+                    return null;
+                case "getCurrentUser":
+                    return session.signedInUserUUID;
+                default:
+                    return invokeSignedIn(session, request, arguments);
+            }
+
+            if (userUUID != null) {
+                session.signedInUserUUID = userUUID;
+            }
+
+            return userUUID;
+        }
+
+        return invokeSignedIn(session, request, arguments);
+    }
+
+    /**
+     * Carries out a request that needs a signed in session, checking it against the operation's rule
+     *
+     * @param session   session of the connection the request came from
+     * @param request   request to carry out
+     * @param arguments copy of the arguments of the request, which may be changed
+     * @return value returned by the operation
+     * @throws ReflectiveOperationException if the operation could not be called
+     */
+    private Object invokeSignedIn(Session session, Request request, Object[] arguments) throws ReflectiveOperationException {
+        if (session.signedInUserUUID == null) {
+            throw new NotSignedInException();
+        }
+
+        OperationRules.Rule rule = OperationRules.get(request.getTarget(), request.getOperation());
+
+        if (rule == null) {
+            throw new UnknownOperationException(request.toString());
+        }
+
+        int argument = rule.getArgument();
+
+        switch (rule.getCheck()) {
+            case EXECUTOR:
+                checkArguments(request, arguments, argument + 1);
+                arguments[argument] = session.signedInUserUUID;
+                break;
+            case SELF_OR_GOD:
+                checkArguments(request, arguments, argument + 1);
+
+                if (!session.signedInUserUUID.equals(arguments[argument]) && !userController.getUserIsGod(session.signedInUserUUID)) {
+                    throw new PermissionException("Only god users can change other users.");
+                }
+
+                break;
+            case OPEN:
+                break;
+        }
+
+        return invoke(request, arguments);
+    }
+
+    /**
+     * Checks that a request has the argument its rule names. Types are checked when the method is found.
+     *
+     * @param request      request to check
+     * @param arguments    arguments of the request
+     * @param numArguments least number of arguments needed
+     */
+    private void checkArguments(Request request, Object[] arguments, int numArguments) {
+        if (arguments.length < numArguments) {
+            throw new UnknownOperationException(request.toString());
+        }
+    }
+
+    /**
+     * Checks that a request handled by the server itself has exactly the given number of string arguments
+     *
+     * @param request      request to check
+     * @param arguments    arguments of the request
+     * @param numArguments number of arguments needed
+     */
+    private void checkStrings(Request request, Object[] arguments, int numArguments) {
+        if (arguments.length != numArguments) {
+            throw new UnknownOperationException(request.toString());
+        }
+
+        for (Object argument : arguments) {
+            if (!(argument instanceof String)) {
+                throw new UnknownOperationException(request.toString());
+            }
+        }
+    }
+
+    private Object invoke(Request request, Object[] arguments) throws ReflectiveOperationException {
+        Object controller = controllers.get(request.getTarget());
+
+        if (controller == null) {
+            throw new UnknownOperationException(request.toString());
+        }
+
+        return findMethod(controller, request.getOperation(), arguments).invoke(controller, arguments);
+    }
+
+    /**
+     * Finds the public method of a controller that can be called with the given arguments. Unlike journal replay, the
+     * argument types are checked too, since requests come from clients instead of from the controllers themselves.
+     *
+     * @param controller controller to search
+     * @param operation  name of the method
+     * @param arguments  arguments the method will be called with
+     * @return the method
+     */
+    private Method findMethod(Object controller, String operation, Object[] arguments) {
+        for (Method method : controller.getClass().getMethods()) {
+            if (method.getName().equals(operation) && method.getDeclaringClass() != Object.class && accepts(method.getParameterTypes(), arguments)) {
+                return method;
+            }
+        }
+
+        throw new UnknownOperationException(String.format("%s.%s", controller.getClass().getSimpleName(), operation));
+    }
+
+    private boolean accepts(Class<?>[] parameterTypes, Object[] arguments) {
+        if (parameterTypes.length != arguments.length) {
+            return false;
+        }
+
+        for (int i = 0; i < arguments.length; i++) {
+            if (arguments[i] == null ? parameterTypes[i].isPrimitive() : !MethodType.methodType(parameterTypes[i]).wrap().returnType().isInstance(arguments[i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * State kept for each connection
+     */
+    private static class Session {
+        // Only used by the thread serving the connection
+        private UUID signedInUserUUID;
+    }
+}
@@ -0,0 +1,125 @@
+package server;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Operations clients may call, and how each one is checked against the user signed in on the session. Operations that
+ * aren't listed can't be called, so new controller methods stay private to the GUI until they are added here.
+ */
+final class OperationRules {
+    /**
+     * How an operation is checked
+     */
+    enum Check {
+        // Reads that don't depend on who is asking
+        OPEN,
+
+        // The argument names the user making the call, so it is replaced with the signed in user
+        EXECUTOR,
+
+        // The argument names the user being changed, which has to be the signed in user unless they are a god user
+        SELF_OR_GOD
+    }
+
+    /**
+     * Rule for one operation
+     */
+    static final class Rule {
+        private final Check check;
+        private final int argument;
+
+        private Rule(Check check, int argument) {
+            this.check = check;
+            this.argument = argument;
+        }
+
+        /**
+         * Gets how the operation is checked
+         *
+         * @return check to make
+         */
+        Check getCheck() {
+            return check;
+        }
+
+        /**
+         * Gets the index of the argument that names a user
+         *
+         * @return argument index, or -1 for open operations
+         */
+        int getArgument() {
+            return argument;
+        }
+    }
+
+    private static final Map<String, Rule> RULES = new HashMap<>();
+
+    static {
+        open("UserController", "getUserIsGod", "isUser", "getUserFullName", "getUserFullNames", "getUserFirstName",
+                "getUserLastName", "getUserUsername", "getUsers");
+        selfOrGod("UserController", 0, "setUserFirstName", "setUserLastName", "setUserUsername", "setUserPassword");
+
+        executor("ContactController", 0, "sendRequest", "acceptRequest", "rejectRequest", "deleteContacts",
+                "showContacts", "showRequests", "showSentRequests");
+
+        executor("ConversationController", 0, "sendMessage", "getMessages", "getMessagesSince", "getNumMessages",
+                "getConversationName", "getUsersInConversation", "isConversationListed", "getConversationList",
+                "userArchiveConversation", "userUnreadConversation", "getUserHasRead", "addUserToConversation");
+        executor("ConversationController", 1, "initiateConversation", "deleteMessage", "checkIfSender");
+        selfOrGod("ConversationController", 1, "removeUserFromConversation");
+
+        executor("RoomController", 1, "getRooms", "createRoom", "setRoomLocation", "setRoomCapacity", "deleteRoom",
+                "getRoomLocation", "getRoomCapacity", "getRoomSchedule");
+
+        open("ConferenceController", "getConferences", "isAffiliated", "conferenceExists", "getConferenceName",
+                "getConferenceTimeRange");
+        executor("ConferenceController", 0, "getUserConferences", "getNotUserConferences");
+        executor("ConferenceController", 1, "setConferenceTimeRange", "setConferenceName", "deleteConference",
+                "addAttendee", "leaveConference", "createConversationWithUsers", "addOrganizer", "removeOrganizer",
+                "getOrganizers", "isOrganizer", "getSpeakers", "isSpeaker", "getAttendees", "isAttendee", "getUsers");
+        executor("ConferenceController", 2, "createConference");
+
+        open("EventController", "getDayEvents");
+        executor("EventController", 1, "getEvents", "getAttendeeEvents", "getSpeakerEvents", "registerForEvent",
+                "joinWaitlist", "leaveWaitlist", "unregisterForEvent", "createEvent", "addEventSpeaker",
+                "removeEventSpeaker", "deleteEvent", "setEventTitle", "setEventRoom", "setEventTimeRange",
+                "getEventRoom", "getEventConversationUUID", "isRegistered", "getEventTitle", "getEventSpeakers",
+                "getEventTimeRange", "getEventAttendees", "getNumRegistered", "getEventWaitlist", "isOnWaitlist",
+                "createEventConversation");
+
+        // Schedules are written to the server's disk, where clients can't read them, so they are made with --export
+    }
+
+    private OperationRules() {
+    }
+
+    private static void open(String target, String... operations) {
+        add(target, new Rule(Check.OPEN, -1), operations);
+    }
+
+    private static void executor(String target, int argument, String... operations) {
+        add(target, new Rule(Check.EXECUTOR, argument), operations);
+    }
+
+    private static void selfOrGod(String target, int argument, String... operations) {
+        add(target, new Rule(Check.SELF_OR_GOD, argument), operations);
+    }
+
+    private static void add(String target, Rule rule, String... operations) {
+        for (String operation : operations) {
+            RULES.put(target + "." + operation, rule);
+        }
+    }
+
+    /**
+     * Gets the rule for an operation
+     *
+     * @param target    simple name of the controller
+     * @param operation name of the method
+     * @return the rule, or null if clients may not call the operation
+     */
+    static Rule get(String target, String operation) {
+        return RULES.get(target + "." + operation);
+    }
+}
@@ -0,0 +1,64 @@
+package server;
+
+import java.io.Serializable;
+
+/**
+ * Call of a controller method sent from a client to the server
+ */
+class Request implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final String target;
+    private final String operation;
+    private final Object[] arguments;
+
+    /**
+     * Creates a request
+     *
+     * @param target    name of the controller to call, such as EventController
+     * @param operation name of the method to call
+     * @param arguments arguments to call the method with
+     */
+    Request(String target, String operation, Object[] arguments) {
+        this.target = target;
+        this.operation = operation;
+        this.arguments = arguments;
+    }
+
+    /**
+     * Gets the name of the controller to call
+     *
+     * @return name of the controller
+     */
+    String getTarget() {
+        return target;
+    }
+
+    /**
+     * Gets the name of the method to call
+     *
+     * @return name of the method
+     */
+    String getOperation() {
+        return operation;
+    }
+
+    /**
+     * Gets the arguments to call the method with
+     *
+     * @return arguments of the call
+     */
+    Object[] getArguments() {
+        return arguments;
+    }
+
+    /**
+     * Gets the string representation of this request
+     *
+     * @return
+     */
+    @Override
+    public String toString() {
+        return String.format("%s.%s", target, operation);
+    }
+}
@@ -0,0 +1,52 @@
+package server;
+
+import java.io.Serializable;
+
+/**
+ * Result of a request, sent from the server back to the client. Holds either the value the controller returned or the
+ * exception it threw.
+ */
+class Response implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Object result;
+    private final RuntimeException exception;
+
+    private Response(Object result, RuntimeException exception) {
+        this.result = result;
+        this.exception = exception;
+    }
+
+    /**
+     * Creates a response for a request that succeeded
+     *
+     * @param result value returned by the controller, or null if none
+     * @return the response
+     */
+    static Response success(Object result) {
+        return new Response(result, null);
+    }
+
+    /**
+     * Creates a response for a request that failed
+     *
+     * @param exception exception thrown by the controller
+     * @return the response
+     */
+    static Response failure(RuntimeException exception) {
+        return new Response(null, exception);
+    }
+
+    /**
+     * Gets the result of the request, or throws the exception the controller threw
+     *
+     * @return value returned by the controller
+     */
+    Object get() {
+        if (exception != null) {
+            throw exception;
+        }
+
+        return result;
+    }
+}
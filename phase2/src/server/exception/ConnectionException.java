@@ -0,0 +1,10 @@
+package server.exception;
+
+/**
+ * Thrown when the client is unable to reach the server, or the connection fails part way through a request
+ */
+public class ConnectionException extends RuntimeException {
+    public ConnectionException(String message) {
+        super(String.format("Lost connection to the server.\n%s", message));
+    }
+}
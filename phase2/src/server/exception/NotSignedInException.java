@@ -0,0 +1,10 @@
+package server.exception;
+
+/**
+ * Thrown when a client calls a controller before signing in on its connection
+ */
+public class NotSignedInException extends RuntimeException {
+    public NotSignedInException() {
+        super("You need to sign in before performing this action.");
+    }
+}
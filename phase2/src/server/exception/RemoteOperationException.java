@@ -0,0 +1,11 @@
+package server.exception;
+
+/**
+ * Thrown when a request couldn't be carried out for a reason other than an exception from the controller, such as a
+ * request or result that couldn't be sent
+ */
+public class RemoteOperationException extends RuntimeException {
+    public RemoteOperationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package server.exception;
+
+/**
+ * Thrown when a client requests a controller or method that doesn't exist, or passes arguments it doesn't accept
+ */
+public class UnknownOperationException extends RuntimeException {
+    public UnknownOperationException(String operation) {
+        super(String.format("Unknown operation %s.", operation));
+    }
+}
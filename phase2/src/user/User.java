@@ -7,6 +7,7 @@ import java.util.UUID;
  * Stores name, username, password, UUID of a user
  */
 class User implements Serializable {
+    private static final long serialVersionUID = 8168763426448050140L;
 
     private String firstName;
     private String lastName;
@@ -35,6 +36,25 @@ class User implements Serializable {
         this.isGod = isGod;
     }
 
+    /**
+     * Constructor for a User that was saved to disk
+     *
+     * @param uuid      UUID of the user
+     * @param firstName first name of the user
+     * @param lastName  last name of the user
+     * @param username  username of the user
+     * @param password  password of the user
+     * @param isGod     whether a user is a god
+     */
+    User(UUID uuid, String firstName, String lastName, String username, String password, boolean isGod) {
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.username = username;
+        this.password = password;
+        this.uuid = uuid;
+        this.isGod = isGod;
+    }
+
     /**
      * Setter for first name
      *
@@ -0,0 +1,27 @@
+package user;
+
+import gateway.BinaryReader;
+import gateway.BinaryWriter;
+import gateway.Codec;
+
+import java.io.IOException;
+
+/**
+ * Codec for User
+ */
+class UserCodec implements Codec<User> {
+    @Override
+    public void write(BinaryWriter out, User user) throws IOException {
+        out.writeUUID(user.getUuid());
+        out.writeString(user.getFirstName());
+        out.writeString(user.getLastName());
+        out.writeString(user.getUsername());
+        out.writeString(user.getPassword());
+        out.writeBoolean(user.getIsGod());
+    }
+
+    @Override
+    public User read(BinaryReader in) throws IOException {
+        return new User(in.readUUID(), in.readString(), in.readString(), in.readString(), in.readString(), in.readBoolean());
+    }
+}
@@ -1,5 +1,9 @@
 package user;
 
+import gateway.IJournal;
+
+import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -18,7 +22,12 @@ public class UserController {
      * - Handles account registration (i.e. given a username + password pair, create a user)
      */
 
+    private static final String JOURNAL_TARGET = "UserController";
+
+    // Changes to users are made while holding the monitor of the user manager, so that they are journaled in the
+    // order they were made and aren't split by a snapshot. Reads don't need it.
     UserManager userManager;
+    private final IJournal journal;
 
     /**
      * Creating an instance of the UserManager class
@@ -26,7 +35,18 @@ public class UserController {
      * @param userManager instance of the class
      */
     public UserController(UserManager userManager) {
+        this(userManager, IJournal.NONE);
+    }
+
+    /**
+     * Creating an instance of the UserManager class that records changes to a journal
+     *
+     * @param userManager instance of the class
+     * @param journal     journal to record changes to
+     */
+    public UserController(UserManager userManager, IJournal journal) {
         this.userManager = userManager;
+        this.journal = journal;
     }
 
     /**
@@ -36,7 +56,10 @@ public class UserController {
      * @param firstName user's first name
      */
     public void setUserFirstName(UUID userUUID, String firstName) {
-        userManager.setUserFirstName(userUUID, firstName);
+        synchronized (userManager) {
+            userManager.setUserFirstName(userUUID, firstName);
+            journal.record(JOURNAL_TARGET, "setUserFirstName", null, userUUID, firstName);
+        }
     }
 
     /**
@@ -69,6 +92,16 @@ public class UserController {
         return userManager.getUserFullName(userUUID);
     }
 
+    /**
+     * Returns the full names of many users at once, such as for a list of users
+     *
+     * @param userUUIDs unique user ids
+     * @return map from each user's unique id to their full name
+     */
+    public Map<UUID, String> getUserFullNames(Collection<UUID> userUUIDs) {
+        return userManager.getUserFullNames(userUUIDs);
+    }
+
     /**
      * Returns the first name
      *
@@ -86,7 +119,10 @@ public class UserController {
      * @param lastName user's last name
      */
     public void setUserLastName(UUID userUUID, String lastName) {
-        userManager.setUserLastName(userUUID, lastName);
+        synchronized (userManager) {
+            userManager.setUserLastName(userUUID, lastName);
+            journal.record(JOURNAL_TARGET, "setUserLastName", null, userUUID, lastName);
+        }
     }
 
     /**
@@ -106,7 +142,10 @@ public class UserController {
      * @param username user's username
      */
     public void setUserUsername(UUID userUUID, String username) {
-        userManager.setUserUsername(userUUID, username);
+        synchronized (userManager) {
+            userManager.setUserUsername(userUUID, username);
+            journal.record(JOURNAL_TARGET, "setUserUsername", null, userUUID, username);
+        }
     }
 
     /**
@@ -126,7 +165,10 @@ public class UserController {
      * @param password user's password
      */
     public void setUserPassword(UUID userUUID, String password) {
-        userManager.setUserPassword(userUUID, password);
+        synchronized (userManager) {
+            userManager.setUserPassword(userUUID, password);
+            journal.record(JOURNAL_TARGET, "setUserPassword", null, userUUID, password);
+        }
     }
 
     /**
@@ -139,7 +181,48 @@ public class UserController {
      * @return user id of the registered user
      */
     public UUID registerUser(String firstName, String lastName, String username, String password) {
-        return userManager.registerUser(firstName, lastName, username, password);
+        synchronized (userManager) {
+            UUID userUUID = userManager.registerUser(firstName, lastName, username, password);
+
+            // Replayed without signing in, since signing in isn't journaled
+            if (userUUID != null) {
+                journal.record(JOURNAL_TARGET, "createUser", userUUID, firstName, lastName, username, password);
+            }
+
+            return userUUID;
+        }
+    }
+
+    /**
+     * Registers a user without signing in as them, for callers that keep track of who is signed in themselves
+     *
+     * @param firstName user's first name
+     * @param lastName  user's last name
+     * @param username  user's username
+     * @param password  user's password
+     * @return user id of the registered user, or null if the username is taken
+     */
+    public UUID createUser(String firstName, String lastName, String username, String password) {
+        synchronized (userManager) {
+            UUID userUUID = userManager.registerUser(firstName, lastName, username, password, false, false);
+
+            if (userUUID != null) {
+                journal.record(JOURNAL_TARGET, "createUser", userUUID, firstName, lastName, username, password);
+            }
+
+            return userUUID;
+        }
+    }
+
+    /**
+     * Checks a username and password without signing in. Nothing changes, so nothing is journaled.
+     *
+     * @param username user's username
+     * @param password user's password
+     * @return the user id of the user, or null if the username or password is wrong
+     */
+    public UUID authenticate(String username, String password) {
+        return userManager.authenticate(username, password);
     }
 
     /**
@@ -150,14 +233,18 @@ public class UserController {
      * @return the user id of the logged in User
      */
     public UUID login(String username, String password) {
-        return userManager.login(username, password);
+        synchronized (userManager) {
+            return userManager.login(username, password);
+        }
     }
 
     /**
      * Logout the user
      */
     public void logout() {
-        userManager.clearCurrentUser();
+        synchronized (userManager) {
+            userManager.clearCurrentUser();
+        }
     }
 
     /**
@@ -2,13 +2,17 @@ package user;
 
 import user.exception.NullUserException;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * manages the user entity
  */
 public class UserManager implements Serializable {
+    private static final long serialVersionUID = -110200571554682946L;
 
     /**
      * Responsibilities:
@@ -18,8 +22,37 @@ public class UserManager implements Serializable {
      * - Method to logout the user
      */
 
-    private UUID signedInUserUUID;
-    private Map<UUID, User> userMap = new HashMap<>();
+    private volatile UUID signedInUserUUID;
+
+    // Concurrent so that users can be looked up without a lock. Changes are made while holding the monitor of this
+    // manager, see UserController.
+    private Map<UUID, User> userMap = new ConcurrentHashMap<>();
+
+    // Index of users by username so that logging in doesn't loop through every user. Rebuilt from userMap when
+    // deserialized.
+    private transient Map<String, UUID> usernameToUUID = new ConcurrentHashMap<>();
+
+    // Full names are shown for every row of pickers, member lists and schedules, so each one is only built once.
+    // Entries are removed when the user's first or last name changes.
+    private transient Map<UUID, String> fullNames = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs an empty UserManager
+     */
+    public UserManager() {
+    }
+
+    /**
+     * Constructs a UserManager holding users that were saved to disk
+     *
+     * @param userMap          map from user UUID to User object
+     * @param signedInUserUUID UUID of the signed in user, or null if nobody is signed in
+     */
+    UserManager(Map<UUID, User> userMap, UUID signedInUserUUID) {
+        this.userMap = new ConcurrentHashMap<>(userMap);
+        this.signedInUserUUID = signedInUserUUID;
+        buildIndexes();
+    }
 
     /**
      * Returns the full name
@@ -28,7 +61,23 @@ public class UserManager implements Serializable {
      * @return the full name of the user associated with their unique id
      */
     public String getUserFullName(UUID userUUID) {
-        return getUser(userUUID).getName();
+        return fullNames.computeIfAbsent(userUUID, uuid -> getUser(uuid).getName());
+    }
+
+    /**
+     * Returns the full names of many users at once
+     *
+     * @param userUUIDs unique user ids
+     * @return map from each user's unique id to their full name
+     */
+    public Map<UUID, String> getUserFullNames(Collection<UUID> userUUIDs) {
+        Map<UUID, String> names = new HashMap<>();
+
+        for (UUID userUUID : userUUIDs) {
+            names.put(userUUID, getUserFullName(userUUID));
+        }
+
+        return names;
     }
 
     /**
@@ -38,7 +87,13 @@ public class UserManager implements Serializable {
      * @param firstName user's first name
      */
     public void setUserFirstName(UUID userUUID, String firstName) {
-        getUser(userUUID).setFirstName(firstName);
+        User user = getUser(userUUID);
+
+        // Changed while holding the cached name's entry, so that a name being cached at the same time can't be stale
+        fullNames.compute(userUUID, (uuid, fullName) -> {
+            user.setFirstName(firstName);
+            return null;
+        });
     }
 
     /**
@@ -58,7 +113,12 @@ public class UserManager implements Serializable {
      * @param lastName user's last name
      */
     public void setUserLastName(UUID userUUID, String lastName) {
-        getUser(userUUID).setLastName(lastName);
+        User user = getUser(userUUID);
+
+        fullNames.compute(userUUID, (uuid, fullName) -> {
+            user.setLastName(lastName);
+            return null;
+        });
     }
 
     /**
@@ -78,7 +138,11 @@ public class UserManager implements Serializable {
      * @param username user's username
      */
     public void setUserUsername(UUID userUUID, String username) {
-        getUser(userUUID).setUsername(username);
+        User user = getUser(userUUID);
+
+        usernameToUUID.remove(user.getUsername(), userUUID);
+        user.setUsername(username);
+        usernameToUUID.putIfAbsent(username, userUUID);
     }
 
     /**
@@ -128,10 +192,12 @@ public class UserManager implements Serializable {
      * @return the User based on their unique id
      */
     private User getUser(UUID uuid) {
-        if (userMap.get(uuid) == null) {
+        User user = userMap.get(uuid);
+
+        if (user == null) {
             throw new NullUserException(uuid);
         }
-        return userMap.get(uuid);
+        return user;
     }
 
     /**
@@ -141,13 +207,9 @@ public class UserManager implements Serializable {
      * @return the user given their username
      */
     private User getUserByUsername(String username) {
-        for (User user : userMap.values()) {
-            if (user.getUsername().equals(username)) {
-                return user;
-            }
-        }
+        UUID userUUID = usernameToUUID.get(username);
 
-        return null;
+        return userUUID == null ? null : userMap.get(userUUID);
     }
 
     /**
@@ -167,6 +229,7 @@ public class UserManager implements Serializable {
             UUID newUserUUID = newUser.getUuid();
 
             userMap.put(newUserUUID, newUser);
+            usernameToUUID.put(username, newUserUUID);
 
             if (autoLogin) {
                 signedInUserUUID = newUserUUID;
@@ -199,19 +262,32 @@ public class UserManager implements Serializable {
      * @return set of the UUIDs of the new god users
      */
     public Set<UUID> loadGodUsers(List<String[]> entries) {
-        Set<UUID> newGodUserUUIDs = new HashSet<>();
+        return registerUsers(entries, true);
+    }
+
+    /**
+     * Registers many users at once without logging in as any of them. Only user names which are not already
+     * registered are added. Each user name is looked up in the username index, so this takes linear time in the
+     * number of entries.
+     *
+     * @param entries list of string arrays containing the user details, in the order: First Name, Last Name, Username,
+     *                Password
+     * @param isGod   whether the new users have god mode
+     * @return set of the UUIDs of the new users
+     */
+    public Set<UUID> registerUsers(List<String[]> entries, boolean isGod) {
+        Set<UUID> newUserUUIDs = new HashSet<>();
 
-        // Columns are in this order: First Name, Last Name, Username, Password
         for (String[] entry : entries) {
 
-            // Test if the god user was created successfully
+            // Test if the user was created successfully
             UUID newUUID;
-            if ((newUUID = registerUser(entry[0], entry[1], entry[2], entry[3], true, false)) != null) {
-                newGodUserUUIDs.add(newUUID);
+            if ((newUUID = registerUser(entry[0], entry[1], entry[2], entry[3], isGod, false)) != null) {
+                newUserUUIDs.add(newUUID);
             }
         }
 
-        return newGodUserUUIDs;
+        return newUserUUIDs;
     }
 
     /**
@@ -222,10 +298,26 @@ public class UserManager implements Serializable {
      * @return the user id of the user of the credentials match
      */
     public UUID login(String username, String password) {
+        UUID userUUID = authenticate(username, password);
+
+        if (userUUID != null) {
+            signedInUserUUID = userUUID;
+        }
+
+        return userUUID;
+    }
+
+    /**
+     * Checks a username and password without signing in, for callers that keep track of who is signed in themselves
+     *
+     * @param username user's username
+     * @param password user's password
+     * @return the UUID of the user, or null if the username or password is wrong
+     */
+    public UUID authenticate(String username, String password) {
         User user = getUserByUsername(username);
 
         if (user != null && user.getPassword().equals(password)) {
-            signedInUserUUID = user.getUuid();
             return user.getUuid();
         }
 
@@ -251,11 +343,38 @@ public class UserManager implements Serializable {
     /**
      * Returns a set of UUID's of all users
      *
-     * @return a set of all users registered
+     * @return a read-only view of the set of all users registered
      */
     public Set<UUID> getAllUsers() {
-        return new HashSet<>(userMap.keySet());
+        return Collections.unmodifiableSet(userMap.keySet());
     }
 
-}
+    /**
+     * Gets the users so that they can be saved to disk
+     *
+     * @return map from user UUID to User object
+     */
+    Map<UUID, User> getUserMap() {
+        return userMap;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+
+        // Older files hold a plain hash map
+        userMap = new ConcurrentHashMap<>(userMap);
+        fullNames = new ConcurrentHashMap<>();
+        buildIndexes();
+    }
 
+    /**
+     * Builds the username index from the users
+     */
+    private void buildIndexes() {
+        usernameToUUID = new ConcurrentHashMap<>();
+
+        for (User user : userMap.values()) {
+            usernameToUUID.putIfAbsent(user.getUsername(), user.getUuid());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package user;
+
+import gateway.BinaryReader;
+import gateway.BinaryWriter;
+import gateway.Codec;
+
+import java.io.IOException;
+
+/**
+ * Codec for UserManager. The username index is not written, it is rebuilt from the users.
+ */
+public class UserManagerCodec implements Codec<UserManager> {
+    private final UserCodec userCodec = new UserCodec();
+
+    @Override
+    public void write(BinaryWriter out, UserManager userManager) throws IOException {
+        out.writeUUIDMap(userManager.getUserMap(), userCodec);
+        out.writeNullableUUID(userManager.getSignedInUserUUID());
+    }
+
+    @Override
+    public UserManager read(BinaryReader in) throws IOException {
+        return new UserManager(in.readUUIDMap(userCodec), in.readNullableUUID());
+    }
+}
@@ -8,6 +8,11 @@ import convention.ScheduleController;
 import messaging.ConversationController;
 import user.UserController;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
 /**
  * Stores all the controllers in the system as a single object to make it easier to pass around the UI
  */
@@ -25,10 +30,24 @@ public class ControllerBundle {
     private ConferenceController conferenceController;
     private ScheduleController scheduleController;
 
+    // Bus the controllers publish changes on
+    private DomainEventBus eventBus;
+
+    // Held by every thread while it calls the controllers
+    private Lock lock;
+
+    /**
+     * Constructs a controller bundle with only the user controller, for logging in while the other stores are loading
+     */
+    public ControllerBundle(UserController userController) {
+        this.userController = userController;
+        this.lock = new ReentrantLock();
+    }
+
     /**
      * Constructs controller bundle
      */
-    public ControllerBundle(UserController userController, ContactController contactController, ConversationController conversationController, RoomController roomController, EventController eventController, ConferenceController conferenceController, ScheduleController scheduleController) {
+    public ControllerBundle(UserController userController, ContactController contactController, ConversationController conversationController, RoomController roomController, EventController eventController, ConferenceController conferenceController, ScheduleController scheduleController, DomainEventBus eventBus, Lock lock) {
         this.userController = userController;
         this.contactController = contactController;
         this.conversationController = conversationController;
@@ -36,6 +55,8 @@ public class ControllerBundle {
         this.eventController = eventController;
         this.conferenceController = conferenceController;
         this.scheduleController = scheduleController;
+        this.eventBus = eventBus;
+        this.lock = lock;
     }
 
     /**
@@ -95,4 +116,42 @@ public class ControllerBundle {
     public ScheduleController getScheduleController() {
         return scheduleController;
     }
+
+    /**
+     * Gets every controller by the name of its class, which is also the name the journal records operations under
+     *
+     * @return map of controller names to controllers
+     */
+    public Map<String, Object> getControllers() {
+        Map<String, Object> controllers = new HashMap<>();
+
+        for (Object controller : new Object[]{userController, contactController, conversationController, roomController, eventController, conferenceController, scheduleController}) {
+            if (controller != null) {
+                controllers.put(controller.getClass().getSimpleName(), controller);
+            }
+        }
+
+        return controllers;
+    }
+
+    /**
+     * Gets the bus the controllers publish changes to conferences on. Changes to conversations are passed to the
+     * listeners added with ConversationController.addConversationListener instead.
+     *
+     * @return bus of conference changes
+     */
+    public DomainEventBus getEventBus() {
+        return eventBus;
+    }
+
+    /**
+     * Gets the lock that keeps the GUI's calls to the controllers from running part way through a background task, and
+     * the other way around. Presenters only hold it while calling the controllers, so that input is still handled while
+     * a background task runs. Each controller call is safe on its own, since the controllers lock what they change.
+     *
+     * @return lock held by background tasks and by presenters calling the controllers
+     */
+    public Lock getLock() {
+        return lock;
+    }
 }
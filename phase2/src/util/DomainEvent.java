@@ -0,0 +1,8 @@
+package util;
+
+/**
+ * Base class for notifications that something in the system changed. Domain events are published on a DomainEventBus
+ * after the change is made, and only describe what changed; subscribers read the new state from the controllers.
+ */
+public abstract class DomainEvent {
+}
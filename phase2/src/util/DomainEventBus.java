@@ -0,0 +1,131 @@
+package util;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+/**
+ * Typed publish/subscribe bus for domain events, so that views can update only what changed instead of reading
+ * everything from the controllers again.
+ * <p>
+ * Subscribers are only referenced weakly, so that views that were thrown away without unsubscribing can still be
+ * garbage collected. For this to work, handlers must not capture the subscriber; it is passed to the handler instead,
+ * which is what a method reference such as {@code Presenter::eventCreated} does.
+ * <p>
+ * Events are delivered through an executor, so that changes made on a background thread can be passed to the thread
+ * the subscribers expect to be called on.
+ */
+public class DomainEventBus {
+    private final List<Subscription<?, ?>> subscriptions = new ArrayList<>();
+    private final Executor executor;
+
+    /**
+     * Creates a bus that delivers events on the thread that publishes them
+     */
+    public DomainEventBus() {
+        this(Runnable::run);
+    }
+
+    /**
+     * Creates a bus that delivers events through an executor. Events are delivered in the order they were published
+     * as long as the executor runs tasks in the order they were submitted.
+     *
+     * @param executor executor the handlers are called on
+     */
+    public DomainEventBus(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Subscribes to events of a type, including its subclasses
+     *
+     * @param subscriber object the handler is called on
+     * @param eventType  type of events to receive
+     * @param handler    function called with the subscriber and each published event of the type
+     * @param <S>        type of the subscriber
+     * @param <E>        type of the events
+     */
+    public synchronized <S, E extends DomainEvent> void subscribe(S subscriber, Class<E> eventType, BiConsumer<? super S, ? super E> handler) {
+        subscriptions.add(new Subscription<>(subscriber, eventType, handler));
+    }
+
+    /**
+     * Removes every subscription of a subscriber
+     *
+     * @param subscriber object to unsubscribe
+     */
+    public synchronized void unsubscribe(Object subscriber) {
+        subscriptions.removeIf(subscription -> {
+            Object other = subscription.subscriber.get();
+            return other == null || other == subscriber;
+        });
+    }
+
+    /**
+     * Calls the handlers subscribed to the type of an event through the executor. Only the handlers subscribed when the
+     * event is published are called. Handlers may subscribe or unsubscribe while being called.
+     *
+     * @param event event to publish
+     */
+    public void publish(DomainEvent event) {
+        List<Subscription<?, ?>> snapshot;
+
+        synchronized (this) {
+            if (subscriptions.isEmpty()) {
+                return;
+            }
+
+            snapshot = new ArrayList<>(subscriptions);
+        }
+
+        executor.execute(() -> deliver(snapshot, event));
+    }
+
+    private void deliver(List<Subscription<?, ?>> snapshot, DomainEvent event) {
+        boolean collected = false;
+
+        for (Subscription<?, ?> subscription : snapshot) {
+            collected |= !subscription.deliver(event);
+        }
+
+        if (collected) {
+            synchronized (this) {
+                subscriptions.removeIf(subscription -> subscription.subscriber.get() == null);
+            }
+        }
+    }
+
+    private static class Subscription<S, E extends DomainEvent> {
+        private final WeakReference<S> subscriber;
+        private final Class<E> eventType;
+        private final BiConsumer<? super S, ? super E> handler;
+
+        private Subscription(S subscriber, Class<E> eventType, BiConsumer<? super S, ? super E> handler) {
+            this.subscriber = new WeakReference<>(subscriber);
+            this.eventType = eventType;
+            this.handler = handler;
+        }
+
+        /**
+         * Calls the handler if the event has the subscribed type
+         *
+         * @param event event that was published
+         * @return false iff the subscriber was garbage collected
+         */
+        private boolean deliver(DomainEvent event) {
+            S target = subscriber.get();
+
+            if (target == null) {
+                return false;
+            }
+
+            if (eventType.isInstance(event)) {
+                handler.accept(target, eventType.cast(event));
+            }
+
+            return true;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package util;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * Fixed set of locks shared by any number of keys, so that operations on different keys can usually run at the same
+ * time without needing a lock per key. Each key always maps to the same stripe.
+ * <p>
+ * Writers hold their stripe exclusively. The same thread may lock a stripe again while holding it, so operations can
+ * call each other. Readers share their stripe's read lock, so any number of them can run at the same time.
+ * <p>
+ * Readers that only read a few fields can skip the lock with readOptimistic() unless a writer gets in their way: the
+ * reader runs, and its result is only used if no writer held the stripe in the meantime. Otherwise it runs again while
+ * holding the read lock. An optimistic reader can see data part way through a change, so it must not have side effects
+ * or walk collections, which can fail in ways that can't be recovered from (or never finish) while they are changed.
+ */
+public class StripedLock {
+    private final Stripe[] stripes;
+
+    /**
+     * Creates a striped lock
+     *
+     * @param numStripes number of stripes, which bounds how many writers can run at the same time
+     */
+    public StripedLock(int numStripes) {
+        stripes = new Stripe[numStripes];
+
+        for (int i = 0; i < numStripes; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    private Stripe getStripe(Object key) {
+        // Spread the hash code, since UUID hash codes are already well mixed but other keys may not be
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+
+        return stripes[Math.floorMod(hash, stripes.length)];
+    }
+
+    /**
+     * Runs an operation that only reads the data of a key
+     *
+     * @param key    key the data belongs to
+     * @param reader operation to run, which must not have side effects
+     * @param <T>    type of the result
+     * @return result of the operation
+     */
+    public <T> T read(Object key, Supplier<T> reader) {
+        return getStripe(key).read(reader);
+    }
+
+    /**
+     * Runs an operation that only reads a few fields of the data of a key, without taking a lock unless a writer gets
+     * in the way. Exceptions thrown by the operation are only passed on if no writer got in the way.
+     *
+     * @param key    key the data belongs to
+     * @param reader operation to run, which must not have side effects or walk collections
+     * @param <T>    type of the result
+     * @return result of the operation
+     */
+    public <T> T readOptimistic(Object key, Supplier<T> reader) {
+        return getStripe(key).readOptimistic(reader);
+    }
+
+    /**
+     * Runs an operation that changes the data of a key, while holding the key's stripe
+     *
+     * @param key       key the data belongs to
+     * @param operation operation to run
+     * @param <T>       type of the result
+     * @return result of the operation
+     */
+    public <T> T write(Object key, Supplier<T> operation) {
+        Stripe stripe = getStripe(key);
+        stripe.lock();
+
+        try {
+            return operation.get();
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * Runs an operation that changes the data of a key, while holding the key's stripe
+     *
+     * @param key       key the data belongs to
+     * @param operation operation to run
+     */
+    public void write(Object key, Runnable operation) {
+        write(key, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs an operation that adds a new key. Only one stripe is held, so operations on other keys can still run, but
+     * writeAll() has to wait for it to finish.
+     *
+     * @param operation operation to run
+     * @param <T>       type of the result
+     * @return result of the operation
+     */
+    public <T> T create(Supplier<T> operation) {
+        return write(Thread.currentThread(), operation);
+    }
+
+    /**
+     * Runs an operation while holding every stripe, such as saving a snapshot of every key. The stripes are taken in
+     * order, so this must not be called while holding a stripe of the same lock.
+     *
+     * @param operation operation to run
+     */
+    public void writeAll(Runnable operation) {
+        lockAll(0, operation);
+    }
+
+    private void lockAll(int index, Runnable operation) {
+        if (index == stripes.length) {
+            operation.run();
+            return;
+        }
+
+        stripes[index].lock();
+
+        try {
+            lockAll(index + 1, operation);
+        } finally {
+            stripes[index].unlock();
+        }
+    }
+
+    private static class Stripe {
+        // Lets the holder lock the stripe again. The stamped lock is only taken by the outermost lock() call.
+        private final ReentrantLock mutex = new ReentrantLock();
+        private final StampedLock stampedLock = new StampedLock();
+
+        // Only used by the thread holding the mutex
+        private long writeStamp;
+
+        private void lock() {
+            mutex.lock();
+
+            if (mutex.getHoldCount() == 1) {
+                writeStamp = stampedLock.writeLock();
+            }
+        }
+
+        private void unlock() {
+            if (mutex.getHoldCount() == 1) {
+                stampedLock.unlockWrite(writeStamp);
+            }
+
+            mutex.unlock();
+        }
+
+        private <T> T read(Supplier<T> reader) {
+            // A writer reading its own data doesn't need to wait for itself
+            if (mutex.isHeldByCurrentThread()) {
+                return reader.get();
+            }
+
+            long stamp = stampedLock.readLock();
+
+            try {
+                return reader.get();
+            } finally {
+                stampedLock.unlockRead(stamp);
+            }
+        }
+
+        private <T> T readOptimistic(Supplier<T> reader) {
+            if (mutex.isHeldByCurrentThread()) {
+                return reader.get();
+            }
+
+            long stamp = stampedLock.tryOptimisticRead();
+
+            if (stamp != 0) {
+                try {
+                    T result = reader.get();
+
+                    if (stampedLock.validate(stamp)) {
+                        return result;
+                    }
+                } catch (RuntimeException e) {
+                    if (stampedLock.validate(stamp)) {
+                        throw e;
+                    }
+                }
+            }
+
+            return read(reader);
+        }
+    }
+}
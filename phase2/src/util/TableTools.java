@@ -1,6 +1,8 @@
 package util;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -14,7 +16,8 @@ public class TableTools {
     }
 
     /**
-     * Format a 2D string array into a table
+     * Format a 2D string array into a table. Large tables should be written with a TableWriter instead, which doesn't
+     * need the whole table in memory.
      *
      * @param title title for the table
      * @return table formatted as a string
@@ -24,79 +27,22 @@ public class TableTools {
             return "";
         }
 
-        List<Integer> colWidths = new ArrayList<>();
-        for (String s : this.table.get(0)) {
-            colWidths.add(Math.floorDiv(150, this.table.get(0).size()));
-        }
-        int width = 0;
-        for (int i : colWidths) {
-            width = width + i;
-        }
-
-        width = width + this.table.get(0).size() - 1;
-        StringBuilder table = new StringBuilder();
-        StringBuilder topLine = new StringBuilder();
-        StringBuilder bottomLine = new StringBuilder();
-        topLine.append("╔");
-        bottomLine.append("╚");
-
-        for (int i = 0; i < width; i++) {
-            topLine.append("═");
-            bottomLine.append("═");
-        }
-
-        topLine.append("╗\r\n<br />");
-        bottomLine.append("╝");
-        table.append(topLine);
-
-        StringBuilder titleLine = new StringBuilder();
-        titleLine.append("║");
-        titleLine.append(title);
-
-        int numWhitespace = topLine.length() - titleLine.length() - 9;
-
-        for (int j = 0; j < numWhitespace; j++) {
-            titleLine.append("&nbsp;");
-        }
+        StringWriter stringWriter = new StringWriter();
+        TableWriter tableWriter = new TableWriter(stringWriter, this.table.get(0).size());
 
-        titleLine.append("║\r\n<br />");
-        table.append(titleLine);
+        try {
+            tableWriter.writeTitle(title);
 
-        StringBuilder hLine = new StringBuilder();
-        hLine.append("╠");
-
-        while (hLine.length() <= width) {
-            hLine.append("-");
-        }
-
-        hLine.append("╣\r\n<br />");
-        table.append(hLine);
-
-        for (List<String> sub : this.table) {
-            StringBuilder row = new StringBuilder();
-            row.append("║");
-            for (int i = 0; i < colWidths.size(); i++) {
-                StringBuilder cell = new StringBuilder();
-
-                cell.append(sub.get(i));
-
-                int numWhiteSpace = colWidths.get(i) - cell.length();
-
-                for (int k = 0; k < numWhiteSpace; k++) {
-                    cell.append("&nbsp;");
-                }
-
-                cell.append("│");
-                row.append(cell);
+            for (List<String> row : this.table) {
+                tableWriter.writeRow(row);
             }
-            row.deleteCharAt(row.length() - 1);
-            table.append(row);
 
-            table.append("║\r\n<br />");
+            tableWriter.writeEnd();
+        } catch (IOException e) {
+            // A string writer never fails
+            throw new UncheckedIOException(e);
         }
 
-        table.append(bottomLine);
-        return table.toString();
+        return stringWriter.toString();
     }
 }
-
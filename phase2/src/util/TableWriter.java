@@ -0,0 +1,106 @@
+package util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes a table one row at a time, so that tables of any size can be written without holding them in memory. The
+ * table is drawn with box characters, and cells are padded with non-breaking spaces so that the columns line up in
+ * HTML.
+ */
+public class TableWriter {
+    // Total width of the columns, not counting the borders between them
+    private static final int TABLE_WIDTH = 150;
+
+    private static final String NEW_LINE = "\r\n<br />";
+    private static final String SPACE = "&nbsp;";
+
+    // Long enough to pad any cell in one write
+    private static final String PADDING = SPACE.repeat(TABLE_WIDTH + 1);
+
+    private final Writer writer;
+    private final int numColumns;
+    private final int columnWidth;
+    private final int width;
+
+    // Borders only depend on the width, so they are built once
+    private final String border;
+    private final String separator;
+
+    /**
+     * Creates a table writer
+     *
+     * @param writer     writer to write the table to
+     * @param numColumns number of columns in each row
+     */
+    public TableWriter(Writer writer, int numColumns) {
+        this.writer = writer;
+        this.numColumns = numColumns;
+
+        columnWidth = Math.floorDiv(TABLE_WIDTH, numColumns);
+        width = columnWidth * numColumns + numColumns - 1;
+
+        border = "═".repeat(width);
+        separator = "-".repeat(width);
+    }
+
+    /**
+     * Writes the top border and the title of the table. Must be called before any rows are written.
+     *
+     * @param title title of the table
+     * @throws IOException if the writer fails
+     */
+    public void writeTitle(String title) throws IOException {
+        writer.write("╔" + border + "╗" + NEW_LINE);
+
+        writer.write("║");
+        writer.write(title);
+        writePadding(width - title.length());
+        writer.write("║" + NEW_LINE);
+
+        writer.write("╠" + separator + "╣" + NEW_LINE);
+    }
+
+    /**
+     * Writes a row of the table. Cells longer than their column are written in full, which pushes the rest of the row
+     * to the right.
+     *
+     * @param row cells of the row, one for each column
+     * @throws IOException if the writer fails
+     */
+    public void writeRow(List<String> row) throws IOException {
+        writer.write("║");
+
+        for (int i = 0; i < numColumns; i++) {
+            if (i > 0) {
+                writer.write("│");
+            }
+
+            String cell = row.get(i);
+
+            writer.write(cell);
+            writePadding(columnWidth - cell.length());
+        }
+
+        writer.write("║" + NEW_LINE);
+    }
+
+    /**
+     * Writes the bottom border of the table. Nothing else should be written to the table after this.
+     *
+     * @throws IOException if the writer fails
+     */
+    public void writeEnd() throws IOException {
+        writer.write("╚" + border + "╝");
+    }
+
+    private void writePadding(int numSpaces) throws IOException {
+        while (numSpaces > 0) {
+            int numWritten = Math.min(numSpaces, TABLE_WIDTH + 1);
+            writer.write(PADDING, 0, numWritten * SPACE.length());
+
+            numSpaces -= numWritten;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package util;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gives each UUID a small integer ID, so that sets of UUIDs can be stored as integers. IDs are handed out in order
+ * from 0 and only last as long as the process, so they must never be written to disk or sent to clients.
+ * <p>
+ * IDs are never freed, since any set may still hold one. A UUID keeps its entry, about 100 bytes, until the process
+ * exits, even after what it names is deleted. Only UUIDs that were added to a UUIDSet get an entry, and every UUIDSet
+ * holds users, so this grows with the number of users loaded or created while the program runs rather than with the
+ * number of events or conversations.
+ */
+final class UUIDInterner {
+    private static final Map<UUID, Integer> ids = new ConcurrentHashMap<>();
+
+    // UUID of each ID. Replaced by a larger copy when full, which still holds every ID a reader could have been given.
+    private static volatile UUID[] uuids = new UUID[1024];
+
+    // Guarded by the lock
+    private static int numIds;
+    private static final Object lock = new Object();
+
+    private UUIDInterner() {
+    }
+
+    /**
+     * Gets the ID of a UUID, giving it one if it doesn't have one yet
+     *
+     * @param uuid UUID to get the ID of
+     * @return ID of the UUID
+     */
+    static int intern(UUID uuid) {
+        Integer id = ids.get(uuid);
+
+        if (id != null) {
+            return id;
+        }
+
+        synchronized (lock) {
+            id = ids.get(uuid);
+
+            if (id != null) {
+                return id;
+            }
+
+            if (numIds == uuids.length) {
+                uuids = Arrays.copyOf(uuids, numIds * 2);
+            }
+
+            // The UUID is stored before the ID is published, so anyone who finds the ID can also get the UUID
+            uuids[numIds] = uuid;
+            ids.put(uuid, numIds);
+
+            return numIds++;
+        }
+    }
+
+    /**
+     * Gets the ID of a UUID without giving it one, so that looking up UUIDs that aren't in any set doesn't use memory
+     *
+     * @param uuid UUID to get the ID of
+     * @return ID of the UUID, or -1 if it doesn't have one
+     */
+    static int find(UUID uuid) {
+        Integer id = ids.get(uuid);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Gets the UUID with an ID
+     *
+     * @param id ID returned by intern
+     * @return UUID with the ID
+     */
+    static UUID get(int id) {
+        return uuids[id];
+    }
+}
@@ -0,0 +1,382 @@
+package util;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Set of UUIDs that stores the integer ID of each UUID instead of the UUID, for sets of users that can hold tens of
+ * thousands of members. A HashSet costs a UUID and a hash node for each member. This set costs 4 bytes for each member
+ * while it is small, and one bit for every ID once a bitmap is smaller than that, like the containers of a Roaring
+ * bitmap. The set goes back to an array whenever that becomes smaller again, such as when a member with a much later ID
+ * joins a bitmap, so it never costs much more than 4 bytes for each member. The UUIDs themselves are shared by every
+ * set through UUIDInterner.
+ * <p>
+ * Members are iterated in the order their UUIDs were first added to any set. Null can't be added. Like HashSet, this
+ * set isn't thread safe. Reads that happen during a change may fail or see part of the change, but they always end,
+ * so they can be used by optimistic readers of a StripedLock.
+ */
+public class UUIDSet extends AbstractSet<UUID> implements Serializable {
+    private static final long serialVersionUID = 4127730482209315342L;
+
+    // Small sets stay sorted arrays even if a bitmap would be smaller, since they are cheap to change either way
+    private static final int MIN_BITMAP_SIZE = 64;
+
+    private static final int[] EMPTY_IDS = new int[0];
+
+    // Sorted IDs of the members, used while words is null. Only the first size entries are members.
+    private transient int[] ids = EMPTY_IDS;
+
+    // Bitmap of the IDs of the members, where bit i of words[i / 64] is set if ID i is a member
+    private transient long[] words;
+
+    private transient int size;
+    private transient int modCount;
+
+    /**
+     * Creates an empty set
+     */
+    public UUIDSet() {
+    }
+
+    /**
+     * Creates a set holding the UUIDs of a collection
+     *
+     * @param uuids UUIDs to add
+     */
+    public UUIDSet(Collection<UUID> uuids) {
+        addAll(uuids);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof UUID)) {
+            return false;
+        }
+
+        int id = UUIDInterner.find((UUID) o);
+
+        if (id < 0) {
+            return false;
+        }
+
+        long[] words = this.words;
+
+        if (words != null) {
+            int word = id >>> 6;
+            return word < words.length && (words[word] & (1L << id)) != 0;
+        }
+
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    @Override
+    public boolean add(UUID uuid) {
+        int id = UUIDInterner.intern(Objects.requireNonNull(uuid));
+
+        // IDs are shared by every set, so a new member's ID can be far past the end of the bitmap
+        if (words != null && id >>> 6 >= words.length && !useBitmap(size + 1, id)) {
+            toSortedArray();
+        }
+
+        if (words != null) {
+            int word = id >>> 6;
+
+            if (word >= words.length) {
+                words = Arrays.copyOf(words, Math.max(word + 1, words.length * 2));
+            }
+
+            if ((words[word] & (1L << id)) != 0) {
+                return false;
+            }
+
+            words[word] |= 1L << id;
+        } else {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+
+            if (index >= 0) {
+                return false;
+            }
+
+            index = -index - 1;
+
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(4, size + (size >> 1)));
+            }
+
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+        }
+
+        size++;
+        modCount++;
+
+        if (words == null && useBitmap(size, ids[size - 1])) {
+            toBitmap();
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends UUID> uuids) {
+        if (!isEmpty() || uuids.size() < MIN_BITMAP_SIZE) {
+            return super.addAll(uuids);
+        }
+
+        // Filling an empty set is done by sorting, since inserting each ID into the array would take quadratic time
+        int[] newIds = new int[uuids.size()];
+        int numNewIds = 0;
+
+        for (UUID uuid : uuids) {
+            newIds[numNewIds++] = UUIDInterner.intern(Objects.requireNonNull(uuid));
+        }
+
+        Arrays.sort(newIds, 0, numNewIds);
+
+        // Remove duplicates, which other collections may have
+        int numUnique = 0;
+
+        for (int i = 0; i < numNewIds; i++) {
+            if (numUnique == 0 || newIds[numUnique - 1] != newIds[i]) {
+                newIds[numUnique++] = newIds[i];
+            }
+        }
+
+        ids = numUnique == newIds.length ? newIds : Arrays.copyOf(newIds, numUnique);
+        size = numUnique;
+        modCount++;
+
+        if (size > 0 && useBitmap(size, ids[size - 1])) {
+            toBitmap();
+        }
+
+        return size > 0;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof UUID)) {
+            return false;
+        }
+
+        int id = UUIDInterner.find((UUID) o);
+        return id >= 0 && removeId(id);
+    }
+
+    @Override
+    public void clear() {
+        ids = EMPTY_IDS;
+        words = null;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Iterator<UUID> iterator() {
+        return new UUIDIterator();
+    }
+
+    private boolean removeId(int id) {
+        if (words != null) {
+            int word = id >>> 6;
+
+            if (word >= words.length || (words[word] & (1L << id)) == 0) {
+                return false;
+            }
+
+            words[word] &= ~(1L << id);
+        } else {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+
+            if (index < 0) {
+                return false;
+            }
+
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        }
+
+        size--;
+        modCount++;
+
+        // The bitmap has to be well past the size of the array before going back, so sets near the threshold don't
+        // keep switching between the two
+        if (words != null && (size < MIN_BITMAP_SIZE || (long) size * Integer.SIZE * 2 < (long) words.length * Long.SIZE)) {
+            toSortedArray();
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if a bitmap would take less memory than the sorted array. The array takes 32 bits for each member, while
+     * the bitmap takes a bit for every ID up to the largest.
+     *
+     * @param size  number of members
+     * @param maxId largest ID of a member
+     * @return true if the set should be a bitmap
+     */
+    private static boolean useBitmap(int size, int maxId) {
+        return size >= MIN_BITMAP_SIZE && (long) size * Integer.SIZE > maxId;
+    }
+
+    /**
+     * Turns the sorted array into a bitmap
+     */
+    private void toBitmap() {
+        long[] newWords = new long[(ids[size - 1] >>> 6) + 1];
+
+        for (int i = 0; i < size; i++) {
+            newWords[ids[i] >>> 6] |= 1L << ids[i];
+        }
+
+        words = newWords;
+        ids = null;
+    }
+
+    /**
+     * Turns the bitmap into a sorted array
+     */
+    private void toSortedArray() {
+        int[] newIds = new int[Math.max(4, size + (size >> 1))];
+        int numIds = 0;
+
+        for (int id = nextSetBit(words, 0); id >= 0; id = nextSetBit(words, id + 1)) {
+            newIds[numIds++] = id;
+        }
+
+        ids = newIds;
+        words = null;
+    }
+
+    /**
+     * Gets the next member of a bitmap
+     *
+     * @param words bitmap to search
+     * @param from  first ID to check
+     * @return smallest ID of a member that is at least from, or -1 if there is none
+     */
+    private static int nextSetBit(long[] words, int from) {
+        int word = from >>> 6;
+
+        if (word >= words.length) {
+            return -1;
+        }
+
+        long bits = words[word] & (-1L << from);
+
+        while (bits == 0) {
+            if (++word == words.length) {
+                return -1;
+            }
+
+            bits = words[word];
+        }
+
+        return word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        // IDs depend on the order UUIDs were seen in, so the UUIDs themselves are written
+        out.defaultWriteObject();
+        out.writeInt(size);
+
+        for (UUID uuid : this) {
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+
+        int numUUIDs = in.readInt();
+
+        if (numUUIDs < 0) {
+            throw new InvalidObjectException("Negative size: " + numUUIDs);
+        }
+
+        List<UUID> uuids = new ArrayList<>(Math.min(numUUIDs, 1 << 16));
+
+        for (int i = 0; i < numUUIDs; i++) {
+            uuids.add(new UUID(in.readLong(), in.readLong()));
+        }
+
+        ids = EMPTY_IDS;
+        addAll(uuids);
+    }
+
+    /**
+     * Iterates the members in order of their IDs
+     */
+    private class UUIDIterator implements Iterator<UUID> {
+        // Index of the next member in the array, or the next member's ID in the bitmap
+        private int cursor;
+        private int lastId = -1;
+        private int expectedModCount = modCount;
+
+        UUIDIterator() {
+            if (words != null) {
+                cursor = nextSetBit(words, 0);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return words != null ? cursor >= 0 : cursor < size;
+        }
+
+        @Override
+        public UUID next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            long[] words = UUIDSet.this.words;
+
+            if (words != null) {
+                lastId = cursor;
+                cursor = nextSetBit(words, cursor + 1);
+            } else {
+                lastId = ids[cursor++];
+            }
+
+            return UUIDInterner.get(lastId);
+        }
+
+        @Override
+        public void remove() {
+            if (lastId < 0) {
+                throw new IllegalStateException();
+            }
+
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            boolean wasBitmap = words != null;
+            removeId(lastId);
+
+            // The rest of the array moved back by one. If the bitmap was just turned into an array, the cursor is the
+            // ID of the next member, and becomes its index instead.
+            if (words == null) {
+                cursor = wasBitmap ? -Arrays.binarySearch(ids, 0, size, lastId) - 1 : cursor - 1;
+            }
+
+            lastId = -1;
+            expectedModCount = modCount;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+import convention.calendar.Calendar;
+import convention.calendar.CalendarManager;
+import convention.calendar.TimeRange;
+import convention.exception.CalendarDoubleBookingException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.*;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class CalendarTest {
+    CalendarManager calendarManager;
+
+    UUID eventA = UUID.randomUUID();
+    UUID eventB = UUID.randomUUID();
+
+    TimeRange hour(int hour) {
+        return new TimeRange(LocalDateTime.of(2020, Month.MAY, 1, hour, 0), LocalDateTime.of(2020, Month.MAY, 1, hour + 1, 0));
+    }
+
+    @Before
+    public void init() {
+        calendarManager = new CalendarManager(new Calendar());
+
+        calendarManager.addTimeBlock(eventA, hour(9));
+        calendarManager.addTimeBlock(eventB, hour(13));
+    }
+
+    @Test(timeout = 100)
+    public void testConflicts() {
+        assertTrue(calendarManager.timeRangeOccupied(hour(9)));
+        assertTrue(calendarManager.timeRangeOccupied(hour(13)));
+
+        // Touching endpoints count as a conflict
+        assertTrue(calendarManager.timeRangeOccupied(hour(8)));
+        assertTrue(calendarManager.timeRangeOccupied(hour(10)));
+        assertTrue(calendarManager.timeRangeOccupied(new TimeRange(hour(7).getStart(), hour(15).getEnd())));
+
+        assertFalse(calendarManager.timeRangeOccupied(hour(11)));
+        assertFalse(calendarManager.timeRangeOccupied(hour(6)));
+        assertFalse(calendarManager.timeRangeOccupied(hour(15)));
+    }
+
+    @Test(timeout = 100, expected = CalendarDoubleBookingException.class)
+    public void testDoubleBooking() {
+        calendarManager.addTimeBlock(UUID.randomUUID(), new TimeRange(hour(9).getStart().plusMinutes(30), hour(11).getStart()));
+    }
+
+    @Test(timeout = 100)
+    public void testRemoveTimeBlock() {
+        calendarManager.removeTimeBlock(eventA);
+
+        assertFalse(calendarManager.timeRangeOccupied(hour(9)));
+        assertTrue(calendarManager.timeRangeOccupied(hour(13)));
+        assertEquals(1, calendarManager.getUUIDtoTimeRanges().size());
+    }
+
+    @Test(timeout = 100)
+    public void testConflictingTimeBlocksKept() {
+        UUID eventC = UUID.randomUUID();
+        calendarManager.addConflictingTimeBlock(eventC, new TimeRange(hour(9).getStart().plusMinutes(30), hour(11).getStart()));
+
+        assertEquals(3, calendarManager.getUUIDtoTimeRanges().size());
+
+        // The conflicting booking still blocks its time after the one it overlaps is removed
+        calendarManager.removeTimeBlock(eventA);
+
+        assertTrue(calendarManager.timeRangeOccupied(hour(10)));
+        assertFalse(calendarManager.timeRangeOccupied(new TimeRange(hour(11).getStart().plusMinutes(30), hour(12).getStart())));
+
+        calendarManager.removeTimeBlock(eventC);
+
+        assertFalse(calendarManager.timeRangeOccupied(hour(10)));
+    }
+
+    @Test(timeout = 1000)
+    public void testSerialization() throws IOException, ClassNotFoundException {
+        Calendar calendar = new Calendar();
+        new CalendarManager(calendar).addTimeBlock(eventA, hour(9));
+
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        new ObjectOutputStream(byteArrayOutputStream).writeObject(calendar);
+
+        ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(byteArrayOutputStream.toByteArray()));
+        CalendarManager loaded = new CalendarManager((Calendar) objectInputStream.readObject());
+
+        assertTrue(loaded.timeRangeOccupied(hour(10)));
+        assertEquals(hour(9), loaded.getUUIDtoTimeRanges().get(eventA));
+    }
+}
@@ -0,0 +1,242 @@
+import convention.ConferenceController;
+import convention.EventController;
+import convention.RoomController;
+import convention.calendar.TimeRange;
+import convention.conference.ConferenceManager;
+import convention.exception.FullEventException;
+import messaging.ConversationManager;
+import org.junit.Before;
+import org.junit.Test;
+import user.UserManager;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ConcurrencyStressTest {
+    static final int NUM_THREADS = 16;
+    static final int NUM_ATTENDEES = 200;
+    static final int ROOM_CAPACITY = 37;
+
+    UserManager userManager;
+    RoomController roomController;
+    EventController eventController;
+    ConferenceController conferenceController;
+
+    UUID organizerUUID;
+    List<UUID> attendeeUUIDs = new ArrayList<>();
+
+    TimeRange conferenceTimeRange = new TimeRange(LocalDateTime.of(2015, Month.JULY, 1, 0, 0), LocalDateTime.of(2015, Month.JULY, 31, 0, 0));
+    TimeRange eventTimeRange = new TimeRange(LocalDateTime.of(2015, Month.JULY, 2, 10, 0), LocalDateTime.of(2015, Month.JULY, 2, 11, 0));
+
+    @Before
+    public void init() {
+        userManager = new UserManager();
+        ConferenceManager conferenceManager = new ConferenceManager();
+        ConversationManager conversationManager = new ConversationManager();
+
+        eventController = new EventController(conferenceManager, conversationManager, userManager);
+        roomController = new RoomController(eventController, conferenceManager, userManager);
+        conferenceController = new ConferenceController(conversationManager, eventController, conferenceManager, userManager);
+
+        organizerUUID = userManager.registerUser("Organizer", "Organizer", "organizer", "organizer");
+
+        for (int i = 0; i < NUM_ATTENDEES; i++) {
+            String name = "attendee" + i;
+            attendeeUUIDs.add(userManager.registerUser(name, name, name, name, false, false));
+        }
+    }
+
+    /**
+     * Creates a conference with a capacity limited event that every attendee has joined
+     *
+     * @return UUIDs of the conference and of the event
+     */
+    UUID[] createFullConference() {
+        UUID conferenceUUID = conferenceController.createConference("Conference", conferenceTimeRange, organizerUUID);
+        UUID roomUUID = roomController.createRoom(conferenceUUID, organizerUUID, "Room", ROOM_CAPACITY);
+        UUID eventUUID = eventController.createEvent(conferenceUUID, organizerUUID, "Event", eventTimeRange, roomUUID, new HashSet<>());
+
+        for (UUID attendeeUUID : attendeeUUIDs) {
+            conferenceController.addAttendee(conferenceUUID, attendeeUUID);
+        }
+
+        return new UUID[]{conferenceUUID, eventUUID};
+    }
+
+    /**
+     * Runs tasks on many threads at once, and rethrows the first unexpected exception
+     *
+     * @param tasks tasks to run
+     */
+    void runConcurrently(List<Callable<Void>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+
+        try {
+            for (Callable<Void> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw (Exception) e.getCause();
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testRegisterForEventDoesNotOverbook() throws Exception {
+        UUID[] conference = createFullConference();
+        UUID conferenceUUID = conference[0];
+        UUID eventUUID = conference[1];
+
+        AtomicInteger numRegistered = new AtomicInteger();
+        AtomicInteger numRejected = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<>();
+
+        for (UUID attendeeUUID : attendeeUUIDs) {
+            tasks.add(() -> {
+                try {
+                    eventController.registerForEvent(conferenceUUID, attendeeUUID, attendeeUUID, eventUUID);
+                    numRegistered.incrementAndGet();
+                } catch (FullEventException e) {
+                    numRejected.incrementAndGet();
+                }
+
+                return null;
+            });
+        }
+
+        runConcurrently(tasks);
+
+        assertEquals(ROOM_CAPACITY, numRegistered.get());
+        assertEquals(NUM_ATTENDEES - ROOM_CAPACITY, numRejected.get());
+        assertEquals(ROOM_CAPACITY, eventController.getNumRegistered(conferenceUUID, organizerUUID, eventUUID));
+        assertEquals(ROOM_CAPACITY, eventController.getEventAttendees(conferenceUUID, organizerUUID, eventUUID).size());
+    }
+
+    @Test(timeout = 10000)
+    public void testReadsDuringRegistration() throws Exception {
+        UUID[] conference = createFullConference();
+        UUID conferenceUUID = conference[0];
+        UUID eventUUID = conference[1];
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+
+        for (UUID attendeeUUID : attendeeUUIDs) {
+            tasks.add(() -> {
+                try {
+                    eventController.registerForEvent(conferenceUUID, attendeeUUID, attendeeUUID, eventUUID);
+                } catch (FullEventException e) {
+                    // Expected once the room is full
+                }
+
+                return null;
+            });
+
+            // Readers never see more attendees than the room holds, and never fail part way through a registration
+            tasks.add(() -> {
+                Set<UUID> attendees = eventController.getEventAttendees(conferenceUUID, organizerUUID, eventUUID);
+                assertTrue(attendees.size() <= ROOM_CAPACITY);
+                assertTrue(eventController.getNumRegistered(conferenceUUID, organizerUUID, eventUUID) <= ROOM_CAPACITY);
+
+                return null;
+            });
+        }
+
+        runConcurrently(tasks);
+
+        assertEquals(ROOM_CAPACITY, eventController.getNumRegistered(conferenceUUID, organizerUUID, eventUUID));
+    }
+
+    @Test(timeout = 10000)
+    public void testWaitlistDuringUnregistration() throws Exception {
+        UUID[] conference = createFullConference();
+        UUID conferenceUUID = conference[0];
+        UUID eventUUID = conference[1];
+
+        List<UUID> seatedUUIDs = attendeeUUIDs.subList(0, ROOM_CAPACITY);
+
+        for (UUID attendeeUUID : seatedUUIDs) {
+            eventController.registerForEvent(conferenceUUID, attendeeUUID, attendeeUUID, eventUUID);
+        }
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+
+        // Half of the seated attendees leave while everyone else queues for a seat
+        for (UUID attendeeUUID : seatedUUIDs.subList(0, ROOM_CAPACITY / 2)) {
+            tasks.add(() -> {
+                eventController.unregisterForEvent(conferenceUUID, attendeeUUID, attendeeUUID, eventUUID);
+                return null;
+            });
+        }
+
+        for (UUID attendeeUUID : attendeeUUIDs.subList(ROOM_CAPACITY, NUM_ATTENDEES)) {
+            tasks.add(() -> {
+                eventController.joinWaitlist(conferenceUUID, attendeeUUID, attendeeUUID, eventUUID);
+                return null;
+            });
+        }
+
+        runConcurrently(tasks);
+
+        // Every free seat was given to someone from the waitlist, and nobody is both seated and waiting
+        Set<UUID> registered = eventController.getEventAttendees(conferenceUUID, organizerUUID, eventUUID);
+        List<UUID> waitlist = eventController.getEventWaitlist(conferenceUUID, organizerUUID, eventUUID);
+
+        assertEquals(ROOM_CAPACITY, registered.size());
+        assertEquals(ROOM_CAPACITY, eventController.getNumRegistered(conferenceUUID, organizerUUID, eventUUID));
+        assertEquals(NUM_ATTENDEES - ROOM_CAPACITY - ROOM_CAPACITY / 2, waitlist.size());
+
+        for (UUID attendeeUUID : waitlist) {
+            assertFalse(registered.contains(attendeeUUID));
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testConferencesRegisterIndependently() throws Exception {
+        List<UUID[]> conferences = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            conferences.add(createFullConference());
+        }
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+
+        for (UUID attendeeUUID : attendeeUUIDs) {
+            for (UUID[] conference : conferences) {
+                tasks.add(() -> {
+                    try {
+                        eventController.registerForEvent(conference[0], attendeeUUID, attendeeUUID, conference[1]);
+                    } catch (FullEventException e) {
+                        // Expected once the room is full
+                    }
+
+                    return null;
+                });
+            }
+        }
+
+        runConcurrently(tasks);
+
+        for (UUID[] conference : conferences) {
+            assertEquals(ROOM_CAPACITY, eventController.getNumRegistered(conference[0], organizerUUID, conference[1]));
+        }
+    }
+}
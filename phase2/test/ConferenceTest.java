@@ -11,6 +11,7 @@ import org.junit.Before;
 import org.junit.Test;
 import user.UserManager;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.util.HashSet;
@@ -83,8 +84,8 @@ public class ConferenceTest {
 
         // Convention controllers
         conversationController = new ConversationController(contactManager, conversationManager, userManager);
-        roomController = new RoomController(conferenceManager, userManager);
         eventController = new EventController(conferenceManager, conversationManager, userManager);
+        roomController = new RoomController(eventController, conferenceManager, userManager);
         conferenceController = new ConferenceController(conversationManager, eventController, conferenceManager, userManager);
 
         someAttendee = userManager.registerUser("A", "A", "A", "A");
@@ -481,6 +482,105 @@ public class ConferenceTest {
         eventController.registerForEvent(conferenceUUID, someAttendee, someAttendee, eventUUID);
     }
 
+    @Test(timeout = 500)
+    public void testWaitlistPromotedOnUnregister() {
+        UUID conferenceUUID = conferenceController.createConference(conferenceNameA, timeRangeA, myUser);
+        UUID roomUUID = roomController.createRoom(conferenceUUID, myUser, roomA, 1);
+
+        UUID eventUUID = eventController.createEvent(conferenceUUID, myUser, eventNameA, timeRangeA, roomUUID, new HashSet<UUID>() {
+            {
+                add(someSpeaker);
+            }
+        });
+
+        conferenceController.addAttendee(conferenceUUID, randomUser);
+        conferenceController.addAttendee(conferenceUUID, someAttendee);
+        conferenceController.addAttendee(conferenceUUID, someAttendeeB);
+
+        assertTrue(eventController.joinWaitlist(conferenceUUID, randomUser, randomUser, eventUUID));
+        assertFalse(eventController.joinWaitlist(conferenceUUID, someAttendee, someAttendee, eventUUID));
+        assertFalse(eventController.joinWaitlist(conferenceUUID, someAttendeeB, someAttendeeB, eventUUID));
+
+        assertTrue(eventController.isOnWaitlist(conferenceUUID, someAttendee, eventUUID));
+        assertEquals(eventController.getEventWaitlist(conferenceUUID, myUser, eventUUID).get(0), someAttendee);
+
+        // The user who joined the waitlist first gets the free seat
+        eventController.unregisterForEvent(conferenceUUID, randomUser, randomUser, eventUUID);
+
+        assertEquals(eventController.getEventAttendees(conferenceUUID, myUser, eventUUID).size(), 1);
+        assertTrue(eventController.isRegistered(conferenceUUID, someAttendee, eventUUID));
+        assertFalse(eventController.isOnWaitlist(conferenceUUID, someAttendee, eventUUID));
+        assertTrue(eventController.isOnWaitlist(conferenceUUID, someAttendeeB, eventUUID));
+
+        eventController.leaveWaitlist(conferenceUUID, someAttendeeB, someAttendeeB, eventUUID);
+        eventController.unregisterForEvent(conferenceUUID, someAttendee, someAttendee, eventUUID);
+
+        assertEquals(eventController.getEventAttendees(conferenceUUID, myUser, eventUUID).size(), 0);
+        assertTrue(eventController.getEventWaitlist(conferenceUUID, myUser, eventUUID).isEmpty());
+    }
+
+    @Test(timeout = 500)
+    public void testWaitlistPromotedOnLeaveConference() {
+        UUID conferenceUUID = conferenceController.createConference(conferenceNameA, timeRangeA, myUser);
+        UUID roomUUID = roomController.createRoom(conferenceUUID, myUser, roomA, 1);
+
+        UUID eventUUID = eventController.createEvent(conferenceUUID, myUser, eventNameA, timeRangeA, roomUUID, new HashSet<UUID>() {
+            {
+                add(someSpeaker);
+            }
+        });
+
+        conferenceController.addAttendee(conferenceUUID, randomUser);
+        conferenceController.addAttendee(conferenceUUID, someAttendee);
+        conferenceController.addAttendee(conferenceUUID, someAttendeeB);
+
+        eventController.registerForEvent(conferenceUUID, randomUser, randomUser, eventUUID);
+        eventController.joinWaitlist(conferenceUUID, someAttendee, someAttendee, eventUUID);
+        eventController.joinWaitlist(conferenceUUID, someAttendeeB, someAttendeeB, eventUUID);
+
+        // Users leaving the conference give up both their seats and their places on waitlists
+        conferenceController.leaveConference(conferenceUUID, someAttendee, someAttendee);
+        conferenceController.leaveConference(conferenceUUID, randomUser, randomUser);
+
+        assertEquals(eventController.getEventAttendees(conferenceUUID, myUser, eventUUID).size(), 1);
+        assertTrue(eventController.isRegistered(conferenceUUID, someAttendeeB, eventUUID));
+        assertTrue(eventController.getEventWaitlist(conferenceUUID, myUser, eventUUID).isEmpty());
+    }
+
+    @Test(timeout = 500)
+    public void testWaitlistPromotedOnMoreSeats() {
+        UUID conferenceUUID = conferenceController.createConference(conferenceNameA, timeRangeA, myUser);
+        UUID roomUUID = roomController.createRoom(conferenceUUID, myUser, roomA, 1);
+        UUID largerRoomUUID = roomController.createRoom(conferenceUUID, myUser, "Larger room", 3);
+
+        UUID eventUUID = eventController.createEvent(conferenceUUID, myUser, eventNameA, timeRangeA, roomUUID, new HashSet<UUID>() {
+            {
+                add(someSpeaker);
+            }
+        });
+
+        conferenceController.addAttendee(conferenceUUID, randomUser);
+        conferenceController.addAttendee(conferenceUUID, someAttendee);
+        conferenceController.addAttendee(conferenceUUID, someAttendeeB);
+
+        eventController.registerForEvent(conferenceUUID, randomUser, randomUser, eventUUID);
+        eventController.joinWaitlist(conferenceUUID, someAttendee, someAttendee, eventUUID);
+        eventController.joinWaitlist(conferenceUUID, someAttendeeB, someAttendeeB, eventUUID);
+
+        // Adding a seat gives it to the first user on the waitlist
+        roomController.setRoomCapacity(conferenceUUID, myUser, roomUUID, 2);
+
+        assertTrue(eventController.isRegistered(conferenceUUID, someAttendee, eventUUID));
+        assertTrue(eventController.isOnWaitlist(conferenceUUID, someAttendeeB, eventUUID));
+
+        // Moving to a larger room gives its extra seats to the rest of the waitlist
+        eventController.setEventRoom(conferenceUUID, myUser, eventUUID, largerRoomUUID);
+
+        assertEquals(eventController.getEventAttendees(conferenceUUID, myUser, eventUUID).size(), 3);
+        assertTrue(eventController.isRegistered(conferenceUUID, someAttendeeB, eventUUID));
+        assertTrue(eventController.getEventWaitlist(conferenceUUID, myUser, eventUUID).isEmpty());
+    }
+
     @Test(timeout = 500, expected = PermissionException.class)
     public void testJoinConferenceRandomUser() {
         UUID conferenceUUID = conferenceController.createConference(conferenceNameA, timeRangeA, myUser);
@@ -564,6 +664,48 @@ public class ConferenceTest {
         assertEquals(eventController.getAttendeeEvents(conferenceUUID, myUser).size(), 1);
     }
 
+    @Test(timeout = 500)
+    public void testGetDayEvents() {
+        UUID conferenceUUID = conferenceController.createConference(conferenceNameA, timeRangeA, myUser);
+        UUID roomUUID = roomController.createRoom(conferenceUUID, myUser, roomA, 2);
+        UUID room2UUID = roomController.createRoom(conferenceUUID, myUser, roomA, 2);
+
+        // One event spans three days and the other spans a year
+        TimeRange shortTimeRange = new TimeRange(LocalDateTime.of(2016, Month.MAY, 1, 22, 0), LocalDateTime.of(2016, Month.MAY, 3, 2, 0));
+        TimeRange longTimeRange = new TimeRange(LocalDateTime.of(2016, Month.JANUARY, 1, 0, 0), LocalDateTime.of(2016, Month.DECEMBER, 31, 0, 0));
+
+        UUID shortEventUUID = eventController.createEvent(conferenceUUID, myUser, eventNameA, shortTimeRange, roomUUID, new HashSet<>());
+        UUID longEventUUID = eventController.createEvent(conferenceUUID, myUser, eventNameB, longTimeRange, room2UUID, new HashSet<>());
+
+        Set<UUID> dayEvents = eventController.getDayEvents(conferenceUUID, LocalDate.of(2016, Month.MAY, 2));
+        assertEquals(2, dayEvents.size());
+        assertTrue(dayEvents.contains(shortEventUUID) && dayEvents.contains(longEventUUID));
+
+        assertEquals(1, eventController.getDayEvents(conferenceUUID, LocalDate.of(2016, Month.MAY, 4)).size());
+        assertEquals(0, eventController.getDayEvents(conferenceUUID, LocalDate.of(2017, Month.MAY, 2)).size());
+
+        // Moving the event moves it to other days
+        eventController.setEventTimeRange(conferenceUUID, myUser, shortEventUUID, new TimeRange(LocalDateTime.of(2017, Month.MAY, 2, 10, 0), LocalDateTime.of(2017, Month.MAY, 2, 11, 0)));
+        assertEquals(1, eventController.getDayEvents(conferenceUUID, LocalDate.of(2016, Month.MAY, 2)).size());
+        assertTrue(eventController.getDayEvents(conferenceUUID, LocalDate.of(2017, Month.MAY, 2)).contains(shortEventUUID));
+
+        eventController.deleteEvent(conferenceUUID, myUser, longEventUUID);
+        assertEquals(0, eventController.getDayEvents(conferenceUUID, LocalDate.of(2016, Month.MAY, 2)).size());
+    }
+
+    @Test(timeout = 500)
+    public void testAttendeeEventsAfterDeleteEvent() {
+        UUID conferenceUUID = conferenceController.createConference(conferenceNameA, timeRangeA, myUser);
+        UUID roomUUID = roomController.createRoom(conferenceUUID, myUser, roomA, 2);
+
+        UUID eventUUID = eventController.createEvent(conferenceUUID, myUser, eventNameA, timeRangeA, roomUUID, new HashSet<>());
+
+        eventController.registerForEvent(conferenceUUID, myUser, myUser, eventUUID);
+        eventController.deleteEvent(conferenceUUID, myUser, eventUUID);
+
+        assertEquals(eventController.getAttendeeEvents(conferenceUUID, myUser).size(), 0);
+    }
+
     @Test(timeout = 500, expected = NullEventException.class)
     public void testRegisterForEventInvalidEvent() {
         UUID conferenceUUID = conferenceController.createConference(conferenceNameA, timeRangeA, myUser);
@@ -757,6 +899,31 @@ public class ConferenceTest {
         });
     }
 
+    @Test(timeout = 500)
+    public void testSpeakerFreedAfterEventChanges() {
+        UUID conferenceUUID = conferenceController.createConference(conferenceNameA, timeRangeA, myUser);
+
+        UUID roomUUID = roomController.createRoom(conferenceUUID, myUser, roomA, 2);
+        UUID room2UUID = roomController.createRoom(conferenceUUID, myUser, roomA, 2);
+
+        UUID eventUUID = eventController.createEvent(conferenceUUID, myUser, eventNameA, timeRangeA, roomUUID, new HashSet<UUID>() {
+            {
+                add(someSpeaker);
+            }
+        });
+        UUID event2UUID = eventController.createEvent(conferenceUUID, myUser, eventNameB, timeRangeA, room2UUID, new HashSet<>());
+
+        // Removing the speaker frees them up for another event at the same time
+        eventController.removeEventSpeaker(conferenceUUID, myUser, eventUUID, someSpeaker);
+        eventController.addEventSpeaker(conferenceUUID, myUser, event2UUID, someSpeaker);
+
+        // Deleting the event frees them up again
+        eventController.deleteEvent(conferenceUUID, myUser, event2UUID);
+        eventController.addEventSpeaker(conferenceUUID, myUser, eventUUID, someSpeaker);
+
+        assertTrue(eventController.getEventSpeakers(conferenceUUID, myUser, eventUUID).contains(someSpeaker));
+    }
+
     @Test(timeout = 500)
     public void testGetSpeakerEvents() {
         UUID conferenceUUID = conferenceController.createConference(conferenceNameA, timeRangeD, myUser);
@@ -0,0 +1,313 @@
+import contact.ContactController;
+import contact.ContactManager;
+import convention.ConferenceController;
+import convention.EventController;
+import convention.RoomController;
+import convention.ScheduleController;
+import convention.calendar.TimeRange;
+import convention.conference.ConferenceManager;
+import convention.exception.FullEventException;
+import convention.exception.PermissionException;
+import gateway.DocumentPrinter;
+import messaging.ConversationController;
+import messaging.ConversationManager;
+import messaging.exception.NoReadAccessException;
+import messaging.exception.NoWriteAccessException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import server.ConventionClient;
+import server.ConventionServer;
+import server.exception.NotSignedInException;
+import server.exception.UnknownOperationException;
+import user.UserController;
+import user.UserManager;
+import util.ControllerBundle;
+import util.DomainEventBus;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.Assert.*;
+
+public class ConventionServerTest {
+    static final int NUM_CLIENTS = 40;
+    static final int ROOM_CAPACITY = 13;
+
+    ConventionServer server;
+    Thread serverThread;
+    List<ConventionClient> clients = new ArrayList<>();
+
+    UserManager userManager;
+
+    UUID organizerUUID;
+    UUID conferenceUUID;
+    UUID eventUUID;
+
+    @Before
+    public void init() throws Exception {
+        userManager = new UserManager();
+        ContactManager contactManager = new ContactManager();
+        ConversationManager conversationManager = new ConversationManager();
+        ConferenceManager conferenceManager = new ConferenceManager();
+
+        UserController userController = new UserController(userManager);
+        EventController eventController = new EventController(conferenceManager, conversationManager, userManager);
+        RoomController roomController = new RoomController(eventController, conferenceManager, userManager);
+        ConferenceController conferenceController = new ConferenceController(conversationManager, eventController, conferenceManager, userManager);
+        ScheduleController scheduleController = new ScheduleController(new DocumentPrinter(), userManager, conferenceManager, eventController);
+
+        ControllerBundle controllerBundle = new ControllerBundle(userController, new ContactController(contactManager), new ConversationController(contactManager, conversationManager, userManager), roomController, eventController, conferenceController, scheduleController, new DomainEventBus(), new ReentrantLock());
+
+        organizerUUID = userManager.registerUser("Organizer", "Organizer", "organizer", "organizer");
+        userManager.registerUser("God", "God", "god", "god", true, false);
+
+        TimeRange conferenceTimeRange = new TimeRange(LocalDateTime.of(2015, Month.JULY, 1, 0, 0), LocalDateTime.of(2015, Month.JULY, 31, 0, 0));
+        TimeRange eventTimeRange = new TimeRange(LocalDateTime.of(2015, Month.JULY, 2, 10, 0), LocalDateTime.of(2015, Month.JULY, 2, 11, 0));
+
+        conferenceUUID = conferenceController.createConference("Conference", conferenceTimeRange, organizerUUID);
+        UUID roomUUID = roomController.createRoom(conferenceUUID, organizerUUID, "Room", ROOM_CAPACITY);
+        eventUUID = eventController.createEvent(conferenceUUID, organizerUUID, "Event", eventTimeRange, roomUUID, new HashSet<>());
+
+        for (int i = 0; i < NUM_CLIENTS; i++) {
+            String name = "attendee" + i;
+            conferenceController.addAttendee(conferenceUUID, userManager.registerUser(name, name, name, name, false, false));
+        }
+
+        // Any free port, so that tests can run alongside a real server
+        server = new ConventionServer(controllerBundle, 0);
+        serverThread = new Thread(server::run);
+        serverThread.start();
+    }
+
+    @After
+    public void cleanup() throws InterruptedException {
+        for (ConventionClient client : clients) {
+            client.close();
+        }
+
+        server.close();
+        serverThread.join();
+    }
+
+    ConventionClient connect() {
+        ConventionClient client = new ConventionClient(server.getPort());
+        clients.add(client);
+
+        return client;
+    }
+
+    @Test(timeout = 5000)
+    public void testSessionsAreSeparate() {
+        ConventionClient organizer = connect();
+        ConventionClient attendee = connect();
+
+        assertEquals(organizerUUID, organizer.login("organizer", "organizer"));
+        UUID attendeeUUID = attendee.login("attendee0", "attendee0");
+
+        assertEquals(organizerUUID, organizer.call("UserController", "getCurrentUser"));
+        assertEquals(attendeeUUID, attendee.call("UserController", "getCurrentUser"));
+
+        attendee.logout();
+
+        assertNull(attendee.call("UserController", "getCurrentUser"));
+        assertEquals(organizerUUID, organizer.call("UserController", "getCurrentUser"));
+    }
+
+    @Test(timeout = 5000)
+    public void testResultsAndExceptionsPassedOn() {
+        ConventionClient organizer = connect();
+        ConventionClient attendee = connect();
+
+        organizer.login("organizer", "organizer");
+        UUID attendeeUUID = attendee.login("attendee0", "attendee0");
+
+        attendee.call("EventController", "registerForEvent", conferenceUUID, attendeeUUID, attendeeUUID, eventUUID);
+
+        Set<UUID> attendees = organizer.call("EventController", "getEventAttendees", conferenceUUID, organizerUUID, eventUUID);
+        assertEquals(Collections.singleton(attendeeUUID), attendees);
+
+        int numRegistered = organizer.call("EventController", "getNumRegistered", conferenceUUID, organizerUUID, eventUUID);
+        assertEquals(1, numRegistered);
+
+        try {
+            attendee.call("RoomController", "setRoomCapacity", conferenceUUID, attendeeUUID, UUID.randomUUID(), 1);
+            fail();
+        } catch (PermissionException e) {
+            // Thrown by the controller on the server
+        }
+
+        // The connection can still be used after an exception
+        assertEquals(attendeeUUID, attendee.call("UserController", "getCurrentUser"));
+    }
+
+    @Test(timeout = 5000)
+    public void testSigningInLeavesCurrentUser() {
+        ConventionClient attendee = connect();
+        ConventionClient newUser = connect();
+
+        UUID attendeeUUID = attendee.login("attendee0", "attendee0");
+        UUID newUserUUID = newUser.call("UserController", "registerUser", "New", "User", "newuser", "newuser");
+
+        assertNotNull(attendeeUUID);
+        assertEquals(newUserUUID, newUser.call("UserController", "getCurrentUser"));
+        assertNull(connect().login("attendee0", "wrong"));
+
+        // The organizer signed in through the GUI is still the current user of the shared user manager
+        assertEquals(organizerUUID, userManager.getSignedInUserUUID());
+    }
+
+    @Test(timeout = 5000)
+    public void testExecutorIsSignedInUser() {
+        ConventionClient attendee = connect();
+        attendee.login("attendee0", "attendee0");
+        UUID otherAttendeeUUID = userManager.authenticate("attendee1", "attendee1");
+
+        try {
+            // Claiming to be the organizer doesn't let an attendee register someone else
+            attendee.call("EventController", "registerForEvent", conferenceUUID, organizerUUID, otherAttendeeUUID, eventUUID);
+            fail();
+        } catch (PermissionException e) {
+            // Expected
+        }
+
+        ConventionClient organizer = connect();
+        organizer.login("organizer", "organizer");
+
+        int numRegistered = organizer.call("EventController", "getNumRegistered", conferenceUUID, organizerUUID, eventUUID);
+        assertEquals(0, numRegistered);
+    }
+
+    @Test(timeout = 5000)
+    public void testOnlyGodsChangeOtherUsers() {
+        ConventionClient attendee = connect();
+        ConventionClient god = connect();
+
+        UUID attendeeUUID = attendee.login("attendee0", "attendee0");
+        god.login("god", "god");
+
+        try {
+            attendee.call("UserController", "setUserPassword", organizerUUID, "stolen");
+            fail();
+        } catch (PermissionException e) {
+            // Expected
+        }
+
+        attendee.call("UserController", "setUserFirstName", attendeeUUID, "Renamed");
+        god.call("UserController", "setUserPassword", attendeeUUID, "reset");
+
+        assertEquals("Renamed", userManager.getUserFirstName(attendeeUUID));
+        assertEquals(organizerUUID, connect().login("organizer", "organizer"));
+        assertEquals(attendeeUUID, connect().login("attendee0", "reset"));
+    }
+
+    @Test(timeout = 5000)
+    public void testOnlyMembersChangeConversations() {
+        ConventionClient god = connect();
+        ConventionClient member = connect();
+        ConventionClient outsider = connect();
+
+        UUID godUUID = god.login("god", "god");
+        UUID memberUUID = member.login("attendee0", "attendee0");
+        UUID outsiderUUID = outsider.login("attendee1", "attendee1");
+
+        UUID conversationUUID = god.call("ConversationController", "initiateConversation", "Private", godUUID, new HashSet<>(Collections.singleton(memberUUID)), "Secret");
+
+        for (String operation : new String[]{"getMessages", "getNumMessages", "getConversationName", "getUsersInConversation"}) {
+            try {
+                outsider.call("ConversationController", operation, outsiderUUID, conversationUUID);
+                fail();
+            } catch (NoReadAccessException e) {
+                // Expected
+            }
+        }
+
+        try {
+            // Users can't add themselves to a conversation they aren't in
+            outsider.call("ConversationController", "addUserToConversation", outsiderUUID, conversationUUID, outsiderUUID);
+            fail();
+        } catch (NoWriteAccessException e) {
+            // Expected
+        }
+
+        member.call("ConversationController", "addUserToConversation", memberUUID, conversationUUID, outsiderUUID);
+
+        int numMessages = outsider.call("ConversationController", "getNumMessages", outsiderUUID, conversationUUID);
+        assertEquals(1, numMessages);
+    }
+
+    @Test(timeout = 5000, expected = NotSignedInException.class)
+    public void testNotSignedIn() {
+        connect().call("EventController", "getNumRegistered", conferenceUUID, organizerUUID, eventUUID);
+    }
+
+    @Test(timeout = 5000)
+    public void testUnknownOperation() {
+        ConventionClient client = connect();
+        client.login("organizer", "organizer");
+
+        for (Object[] request : new Object[][]{
+                {"GodController", "getEverything"},
+                {"EventController", "getEverything"},
+                {"EventController", "getNumRegistered", conferenceUUID},
+                {"EventController", "getNumRegistered", conferenceUUID, organizerUUID, "not a UUID"},
+                {"EventController", "wait"},
+        }) {
+            try {
+                client.call((String) request[0], (String) request[1], Arrays.copyOfRange(request, 2, request.length));
+                fail();
+            } catch (UnknownOperationException e) {
+                // Expected
+            }
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testConcurrentClients() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(NUM_CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < NUM_CLIENTS; i++) {
+                ConventionClient client = connect();
+                String name = "attendee" + i;
+
+                futures.add(executor.submit(() -> {
+                    UUID userUUID = client.login(name, name);
+                    start.await();
+
+                    try {
+                        client.call("EventController", "registerForEvent", conferenceUUID, userUUID, userUUID, eventUUID);
+                        return true;
+                    } catch (FullEventException e) {
+                        return false;
+                    }
+                }));
+            }
+
+            start.countDown();
+
+            int numRegistered = 0;
+
+            for (Future<Boolean> future : futures) {
+                if (future.get()) {
+                    numRegistered++;
+                }
+            }
+
+            assertEquals(ROOM_CAPACITY, numRegistered);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ConventionClient organizer = connect();
+        organizer.login("organizer", "organizer");
+
+        int numRegistered = organizer.call("EventController", "getNumRegistered", conferenceUUID, organizerUUID, eventUUID);
+        assertEquals(ROOM_CAPACITY, numRegistered);
+    }
+}
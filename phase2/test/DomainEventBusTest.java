@@ -0,0 +1,128 @@
+import convention.ConferenceController;
+import convention.EventController;
+import convention.RoomController;
+import convention.calendar.TimeRange;
+import convention.conference.ConferenceManager;
+import convention.notification.*;
+import gateway.IJournal;
+import messaging.ConversationManager;
+import org.junit.Before;
+import org.junit.Test;
+import user.UserManager;
+import util.DomainEvent;
+import util.DomainEventBus;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class DomainEventBusTest {
+    DomainEventBus eventBus;
+
+    RoomController roomController;
+    EventController eventController;
+    ConferenceController conferenceController;
+
+    UUID organizerUUID;
+    UUID attendeeUUID;
+    UUID conferenceUUID;
+    UUID roomUUID;
+    UUID eventUUID;
+
+    List<DomainEvent> received = new ArrayList<>();
+
+    @Before
+    public void init() {
+        eventBus = new DomainEventBus();
+
+        UserManager userManager = new UserManager();
+        ConferenceManager conferenceManager = new ConferenceManager();
+        ConversationManager conversationManager = new ConversationManager();
+
+        eventController = new EventController(conferenceManager, conversationManager, userManager, IJournal.NONE, eventBus);
+        roomController = new RoomController(eventController, conferenceManager, userManager, IJournal.NONE, eventBus);
+        conferenceController = new ConferenceController(conversationManager, eventController, conferenceManager, userManager, IJournal.NONE, eventBus);
+
+        organizerUUID = userManager.registerUser("A", "A", "a", "a");
+        attendeeUUID = userManager.registerUser("B", "B", "b", "b");
+
+        TimeRange conferenceTimeRange = new TimeRange(LocalDateTime.of(2015, Month.JULY, 1, 0, 0), LocalDateTime.of(2015, Month.JULY, 31, 0, 0));
+        TimeRange eventTimeRange = new TimeRange(LocalDateTime.of(2015, Month.JULY, 2, 10, 0), LocalDateTime.of(2015, Month.JULY, 2, 11, 0));
+
+        conferenceUUID = conferenceController.createConference("Conference", conferenceTimeRange, organizerUUID);
+        roomUUID = roomController.createRoom(conferenceUUID, organizerUUID, "Room", 10);
+        eventUUID = eventController.createEvent(conferenceUUID, organizerUUID, "Event", eventTimeRange, roomUUID, new HashSet<>());
+        conferenceController.addAttendee(conferenceUUID, attendeeUUID);
+    }
+
+    @Test(timeout = 1000)
+    public void testSubscribeToSubclasses() {
+        eventBus.subscribe(this, ConferenceDomainEvent.class, (test, event) -> test.received.add(event));
+
+        roomController.setRoomCapacity(conferenceUUID, organizerUUID, roomUUID, 20);
+        eventController.setEventTitle(conferenceUUID, organizerUUID, eventUUID, "Renamed");
+
+        assertEquals(2, received.size());
+        assertEquals(roomUUID, ((RoomChanged) received.get(0)).getRoomUUID());
+        assertEquals(eventUUID, ((EventChanged) received.get(1)).getEventUUID());
+        assertEquals(conferenceUUID, ((EventChanged) received.get(1)).getConferenceUUID());
+    }
+
+    @Test(timeout = 1000)
+    public void testOnlyMatchingTypeReceived() {
+        eventBus.subscribe(this, AttendeeRegistered.class, (test, event) -> test.received.add(event));
+
+        eventController.setEventTitle(conferenceUUID, organizerUUID, eventUUID, "Renamed");
+        eventController.registerForEvent(conferenceUUID, attendeeUUID, attendeeUUID, eventUUID);
+
+        assertEquals(1, received.size());
+        assertEquals(attendeeUUID, ((AttendeeRegistered) received.get(0)).getUserUUID());
+    }
+
+    @Test(timeout = 1000)
+    public void testUnsubscribe() {
+        eventBus.subscribe(this, ConferenceDomainEvent.class, (test, event) -> test.received.add(event));
+        eventBus.unsubscribe(this);
+
+        roomController.setRoomCapacity(conferenceUUID, organizerUUID, roomUUID, 20);
+
+        assertTrue(received.isEmpty());
+    }
+
+    @Test(timeout = 1000)
+    public void testLeaveConferencePublishedAfterLeaving() {
+        eventController.registerForEvent(conferenceUUID, attendeeUUID, attendeeUUID, eventUUID);
+
+        // Subscribers should see the conference after the user has left, not part way through
+        List<Boolean> affiliated = new ArrayList<>();
+        eventBus.subscribe(this, ConferenceDomainEvent.class, (test, event) -> {
+            test.received.add(event);
+            affiliated.add(test.conferenceController.isAffiliated(test.conferenceUUID, test.attendeeUUID));
+        });
+
+        conferenceController.leaveConference(conferenceUUID, attendeeUUID, attendeeUUID);
+
+        assertEquals(2, received.size());
+        assertTrue(received.get(0) instanceof AttendeeUnregistered);
+        assertEquals(attendeeUUID, ((ConferenceUsersChanged) received.get(1)).getUserUUID());
+        assertEquals(Arrays.asList(false, false), affiliated);
+    }
+
+    @Test(timeout = 1000)
+    public void testDeliveredThroughExecutor() {
+        List<Runnable> queued = new ArrayList<>();
+        DomainEventBus queuedEventBus = new DomainEventBus(queued::add);
+
+        queuedEventBus.subscribe(this, RoomChanged.class, (test, event) -> test.received.add(event));
+        queuedEventBus.publish(new RoomChanged(conferenceUUID, roomUUID));
+
+        // Nothing is delivered until the executor runs the task
+        assertTrue(received.isEmpty());
+        assertEquals(1, queued.size());
+
+        queued.get(0).run();
+        assertEquals(roomUUID, ((RoomChanged) received.get(0)).getRoomUUID());
+    }
+}
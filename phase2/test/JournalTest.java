@@ -0,0 +1,261 @@
+import contact.ContactManager;
+import contact.ContactManagerCodec;
+import convention.ConferenceController;
+import convention.EventController;
+import convention.RoomController;
+import convention.calendar.TimeRange;
+import convention.conference.ConferenceManager;
+import convention.conference.ConferenceManagerCodec;
+import gateway.Checkpoint;
+import gateway.Journal;
+import gateway.Serializer;
+import messaging.ConversationController;
+import messaging.ConversationManager;
+import messaging.ConversationManagerCodec;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import user.UserController;
+import user.UserManager;
+import user.UserManagerCodec;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class JournalTest {
+    File directory;
+
+    LocalDateTime dateA = LocalDateTime.of(2015, Month.JULY, 29, 19, 30, 40);
+    LocalDateTime dateB = LocalDateTime.of(2015, Month.AUGUST, 29, 19, 30, 40);
+    LocalDateTime dateC = LocalDateTime.of(2015, Month.JULY, 30, 10, 0, 0);
+    LocalDateTime dateD = LocalDateTime.of(2015, Month.JULY, 30, 11, 0, 0);
+
+    TimeRange conferenceTimeRange = new TimeRange(dateA, dateB);
+    TimeRange eventTimeRange = new TimeRange(dateC, dateD);
+
+    /**
+     * Simulates one run of the program against the files in the test directory
+     */
+    class Session {
+        Journal journal;
+        Checkpoint checkpoint;
+
+        UserManager userManager;
+        ContactManager contactManager;
+        ConversationManager conversationManager;
+        ConferenceManager conferenceManager;
+
+        UserController userController;
+        ConversationController conversationController;
+        RoomController roomController;
+        EventController eventController;
+        ConferenceController conferenceController;
+
+        int numReplayed;
+
+        Session(int compactionThreshold) {
+            Serializer<UserManager> userManagerSerializer = new Serializer<>(path("userManager.bin"), new UserManagerCodec());
+            Serializer<ContactManager> contactManagerSerializer = new Serializer<>(path("contactManager.bin"), new ContactManagerCodec());
+            Serializer<ConversationManager> conversationManagerSerializer = new Serializer<>(path("conversationManager.bin"), new ConversationManagerCodec());
+            Serializer<ConferenceManager> conferenceManagerSerializer = new Serializer<>(path("conferenceManager.bin"), new ConferenceManagerCodec());
+
+            journal = new Journal(path("journal.log"), compactionThreshold);
+            checkpoint = new Checkpoint(path("checkpoint.pending"), journal, userManagerSerializer, contactManagerSerializer, conversationManagerSerializer, conferenceManagerSerializer);
+            checkpoint.recover();
+
+            userManager = userManagerSerializer.load(new UserManager());
+            contactManager = contactManagerSerializer.load(new ContactManager());
+            conversationManager = conversationManagerSerializer.load(new ConversationManager());
+            conferenceManager = conferenceManagerSerializer.load(new ConferenceManager());
+
+            userController = new UserController(userManager, journal);
+            conversationController = new ConversationController(contactManager, conversationManager, userManager, journal);
+            eventController = new EventController(conferenceManager, conversationManager, userManager, journal);
+            roomController = new RoomController(eventController, conferenceManager, userManager, journal);
+            conferenceController = new ConferenceController(conversationManager, eventController, conferenceManager, userManager, journal);
+
+            Map<String, Object> targets = new HashMap<>();
+            targets.put("UserController", userController);
+            targets.put("ConversationController", conversationController);
+            targets.put("RoomController", roomController);
+            targets.put("EventController", eventController);
+            targets.put("ConferenceController", conferenceController);
+
+            numReplayed = journal.replay(targets);
+
+            journal.setCompaction(this::compact);
+
+            if (numReplayed > 0) {
+                compact();
+            }
+        }
+
+        void compact() {
+            checkpoint.run(userManager, contactManager, conversationManager, conferenceManager);
+        }
+    }
+
+    @Before
+    public void init() throws IOException {
+        directory = Files.createTempDirectory("journal").toFile();
+    }
+
+    @After
+    public void cleanup() {
+        for (File file : Objects.requireNonNull(directory.listFiles())) {
+            file.delete();
+        }
+
+        directory.delete();
+    }
+
+    String path(String fileName) {
+        return new File(directory, fileName).getPath();
+    }
+
+    UUID populate(Session session) {
+        UUID organizerUUID = session.userController.registerUser("A", "A", "a", "a");
+        UUID attendeeUUID = session.userController.registerUser("B", "B", "b", "b");
+
+        UUID conferenceUUID = session.conferenceController.createConference("Conference", conferenceTimeRange, organizerUUID);
+        UUID roomUUID = session.roomController.createRoom(conferenceUUID, organizerUUID, "Room", 10);
+        UUID eventUUID = session.eventController.createEvent(conferenceUUID, organizerUUID, "Event", eventTimeRange, roomUUID, new HashSet<>());
+
+        session.conferenceController.addAttendee(conferenceUUID, attendeeUUID);
+        session.eventController.registerForEvent(conferenceUUID, attendeeUUID, attendeeUUID, eventUUID);
+
+        UUID conversationUUID = session.eventController.createEventConversation(conferenceUUID, organizerUUID, eventUUID);
+        session.conversationController.sendMessage(attendeeUUID, "Hello", conversationUUID);
+
+        return conferenceUUID;
+    }
+
+    void assertPopulated(Session session) {
+        UUID organizerUUID = session.userManager.login("a", "a");
+        UUID attendeeUUID = session.userManager.login("b", "b");
+
+        assertNotNull(organizerUUID);
+        assertNotNull(attendeeUUID);
+
+        Set<UUID> conferenceUUIDs = session.conferenceController.getConferences();
+        assertEquals(1, conferenceUUIDs.size());
+
+        UUID conferenceUUID = conferenceUUIDs.iterator().next();
+        assertTrue(session.conferenceController.isOrganizer(conferenceUUID, organizerUUID, organizerUUID));
+
+        Set<UUID> eventUUIDs = session.eventController.getAttendeeEvents(conferenceUUID, attendeeUUID);
+        assertEquals(1, eventUUIDs.size());
+
+        UUID eventUUID = eventUUIDs.iterator().next();
+        UUID conversationUUID = session.eventController.getEventConversationUUID(conferenceUUID, organizerUUID, eventUUID);
+
+        List<Map<String, String>> messages = session.conversationController.getMessages(attendeeUUID, conversationUUID);
+        assertEquals(2, messages.size());
+        assertEquals("Hello", messages.get(1).get("content"));
+        assertEquals(attendeeUUID.toString(), messages.get(1).get("sender"));
+    }
+
+    @Test(timeout = 5000)
+    public void testReplayWithoutSnapshot() {
+        populate(new Session(1000));
+
+        // The first session never saved a snapshot, so everything has to come from the journal
+        Session session = new Session(1000);
+        assertEquals(9, session.numReplayed);
+        assertPopulated(session);
+    }
+
+    @Test(timeout = 5000)
+    public void testCompaction() {
+        Session first = new Session(4);
+        populate(first);
+
+        // Compaction runs after every 4th operation, leaving 1 of the 9 operations in the journal
+        assertEquals(1, first.journal.size());
+
+        Session session = new Session(4);
+        assertEquals(1, session.numReplayed);
+        assertPopulated(session);
+    }
+
+    @Test(timeout = 5000)
+    public void testReplayAfterReplay() {
+        populate(new Session(1000));
+        new Session(1000);
+
+        // The second session compacted after replaying, so nothing is replayed twice
+        Session session = new Session(1000);
+        assertEquals(0, session.numReplayed);
+        assertPopulated(session);
+    }
+
+    @Test(timeout = 5000)
+    public void testRecoverIncompleteCheckpoint() throws IOException {
+        Session first = new Session(1000);
+        populate(first);
+
+        // Simulate a crash after writing one of the temporary snapshots
+        new Serializer<>(path("conferenceManager.bin"), new ConferenceManagerCodec()).saveTemporary(new ConferenceManager());
+
+        Session session = new Session(1000);
+        assertEquals(9, session.numReplayed);
+        assertPopulated(session);
+    }
+
+    @Test(timeout = 5000)
+    public void testEntriesAfterPartialEntry() throws IOException {
+        Journal journal = new Journal(path("journal.log"), 1000);
+        journal.record("Target", "first", null);
+        journal.record("Target", "second", null);
+
+        // Simulate a crash part way through writing an entry
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(path("journal.log"), true))) {
+            out.writeInt(1000);
+            out.writeInt(42);
+        }
+
+        // The partly written entry is cut off before anything is written after it
+        Journal next = new Journal(path("journal.log"), 1000);
+        next.record("Target", "third", null);
+
+        assertEquals(3, new Journal(path("journal.log"), 1000).replay(new HashMap<>()));
+    }
+
+    @Test(timeout = 5000)
+    public void testReplayKeepsTimestampsAndSignsNoOneIn() {
+        Session first = new Session(1000);
+        UUID conferenceUUID = populate(first);
+        UUID organizerUUID = first.userManager.login("a", "a");
+
+        UUID eventUUID = first.eventController.getEvents(conferenceUUID, organizerUUID).iterator().next();
+        UUID conversationUUID = first.eventController.getEventConversationUUID(conferenceUUID, organizerUUID, eventUUID);
+        List<Map<String, String>> messages = first.conversationController.getMessages(organizerUUID, conversationUUID);
+
+        Session session = new Session(1000);
+
+        // Signing in isn't journaled, and registering is replayed without signing in
+        assertNull(session.userManager.getSignedInUserUUID());
+
+        // Replayed entities get new UUIDs
+        organizerUUID = session.userManager.login("a", "a");
+        conferenceUUID = session.conferenceController.getConferences().iterator().next();
+        eventUUID = session.eventController.getEvents(conferenceUUID, organizerUUID).iterator().next();
+        conversationUUID = session.eventController.getEventConversationUUID(conferenceUUID, organizerUUID, eventUUID);
+
+        List<Map<String, String>> replayedMessages = session.conversationController.getMessages(organizerUUID, conversationUUID);
+        assertEquals(messages.size(), replayedMessages.size());
+
+        for (int i = 0; i < messages.size(); i++) {
+            assertEquals(messages.get(i).get("content"), replayedMessages.get(i).get("content"));
+            assertEquals(messages.get(i).get("timestamp"), replayedMessages.get(i).get("timestamp"));
+        }
+    }
+}
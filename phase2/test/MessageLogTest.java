@@ -0,0 +1,134 @@
+import contact.ContactManager;
+import gateway.Serializer;
+import messaging.ConversationController;
+import messaging.ConversationManager;
+import messaging.ConversationManagerCodec;
+import messaging.MessageLog;
+import messaging.MessageView;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import user.UserManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class MessageLogTest {
+    File directory;
+    File messagesDirectory;
+
+    UserManager userManager;
+    ConversationManager conversationManager;
+    ConversationController conversationController;
+
+    UUID senderUUID;
+    UUID conversationUUID;
+
+    @Before
+    public void init() throws IOException {
+        directory = Files.createTempDirectory("messageLog").toFile();
+        messagesDirectory = new File(directory, "messages");
+
+        userManager = new UserManager();
+        conversationManager = new ConversationManager(new MessageLog(messagesDirectory.getPath()));
+        conversationController = new ConversationController(new ContactManager(), conversationManager, userManager);
+
+        senderUUID = userManager.registerUser("A", "A", "a", "a");
+        Set<UUID> users = new HashSet<>(Collections.singleton(senderUUID));
+
+        conversationUUID = conversationManager.createConversation("Chat", users, users, senderUUID, "0");
+
+        for (int i = 1; i < 450; i++) {
+            conversationController.sendMessage(senderUUID, String.valueOf(i), conversationUUID);
+        }
+    }
+
+    @After
+    public void cleanup() {
+        for (File file : Objects.requireNonNull(messagesDirectory.listFiles())) {
+            file.delete();
+        }
+
+        messagesDirectory.delete();
+
+        for (File file : Objects.requireNonNull(directory.listFiles())) {
+            file.delete();
+        }
+
+        directory.delete();
+    }
+
+    int getNumSegments() {
+        return Objects.requireNonNull(messagesDirectory.list()).length;
+    }
+
+    List<String> getContents(ConversationController conversationController, int fromIndex, int toIndex) {
+        List<String> contents = new ArrayList<>();
+
+        for (MessageView message : conversationController.getMessages(senderUUID, conversationUUID, fromIndex, toIndex - fromIndex)) {
+            contents.add(message.getContent());
+        }
+
+        return contents;
+    }
+
+    @Test(timeout = 5000)
+    public void testOlderMessagesWrittenInPages() {
+        // Between one and two pages of the most recent messages stay in memory
+        assertEquals(3, getNumSegments());
+        assertEquals(450, conversationController.getNumMessages(senderUUID, conversationUUID));
+
+        assertEquals(Arrays.asList("98", "99", "100", "101"), getContents(conversationController, 98, 102));
+        assertEquals(Arrays.asList("299", "300", "301"), getContents(conversationController, 299, 302));
+        assertEquals(450, conversationController.getMessages(senderUUID, conversationUUID).size());
+    }
+
+    @Test(timeout = 5000)
+    public void testMessagesSinceCursor() {
+        int cursor = conversationController.getNumMessages(senderUUID, conversationUUID);
+        assertTrue(conversationController.getMessagesSince(senderUUID, conversationUUID, cursor).isEmpty());
+
+        conversationController.sendMessage(senderUUID, "450", conversationUUID);
+        conversationController.sendMessage(senderUUID, "451", conversationUUID);
+
+        List<MessageView> messages = conversationController.getMessagesSince(senderUUID, conversationUUID, cursor);
+        assertEquals(2, messages.size());
+        assertEquals(450, messages.get(0).getIndex());
+        assertEquals("451", messages.get(1).getContent());
+        assertEquals(senderUUID, messages.get(1).getSenderUUID());
+
+        // The limit is capped at the end of the conversation
+        assertEquals(Collections.singletonList("451"), getContents(conversationController, 451, 1000));
+    }
+
+    @Test(timeout = 5000)
+    public void testDeleteOlderMessage() {
+        conversationController.deleteMessage(conversationUUID, senderUUID, 150);
+
+        assertEquals(449, conversationController.getNumMessages(senderUUID, conversationUUID));
+        assertEquals(Arrays.asList("149", "151"), getContents(conversationController, 149, 151));
+        assertEquals(Arrays.asList("448", "449"), getContents(conversationController, 447, 449));
+    }
+
+    @Test(timeout = 5000)
+    public void testRoundTripRemovesUnusedSegments() {
+        conversationController.deleteMessage(conversationUUID, senderUUID, 0);
+
+        // The page without the deleted message is written to a new segment
+        assertEquals(4, getNumSegments());
+
+        MessageLog messageLog = new MessageLog(messagesDirectory.getPath());
+        Serializer<ConversationManager> serializer = new Serializer<>(new File(directory, "conversationManager.bin").getPath(), new ConversationManagerCodec(messageLog));
+        serializer.save(conversationManager);
+
+        ConversationManager loadedConversationManager = serializer.load(null);
+        ConversationController loadedConversationController = new ConversationController(new ContactManager(), loadedConversationManager, userManager);
+
+        assertEquals(3, getNumSegments());
+        assertEquals(getContents(conversationController, 0, 449), getContents(loadedConversationController, 0, 449));
+    }
+}
@@ -0,0 +1,287 @@
+import convention.ConferenceController;
+import convention.EventController;
+import convention.RoomController;
+import convention.ScheduleController;
+import convention.calendar.TimeRange;
+import convention.conference.ConferenceManager;
+import convention.schedule.ScheduleConstants;
+import gateway.FilePrinter;
+import gateway.IDocumentContent;
+import gateway.IDocumentPrinter;
+import messaging.ConversationManager;
+import org.junit.Before;
+import org.junit.Test;
+import user.UserManager;
+import util.TableTools;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.*;
+
+public class ScheduleTest {
+    static final int NUM_ROOMS = 20;
+    static final int EVENTS_PER_ROOM = 50;
+
+    UserManager userManager;
+    RoomController roomController;
+    EventController eventController;
+    ConferenceController conferenceController;
+    ScheduleController scheduleController;
+
+    UUID organizerUUID;
+    UUID speakerUUID;
+    UUID conferenceUUID;
+
+    LocalDateTime start = LocalDateTime.of(2015, Month.JULY, 2, 0, 0);
+
+    // Each document printed or exported, as written by the schedule controller
+    List<String> documents = new ArrayList<>();
+    List<String> fileNames = new ArrayList<>();
+
+    ConferenceManager conferenceManager;
+
+    @Before
+    public void init() {
+        userManager = new UserManager();
+        conferenceManager = new ConferenceManager();
+        ConversationManager conversationManager = new ConversationManager();
+
+        eventController = new EventController(conferenceManager, conversationManager, userManager);
+        roomController = new RoomController(eventController, conferenceManager, userManager);
+        conferenceController = new ConferenceController(conversationManager, eventController, conferenceManager, userManager);
+        scheduleController = new ScheduleController(new IDocumentPrinter() {
+            @Override
+            public void print(String document, String fileName) {
+                documents.add(document);
+            }
+
+            @Override
+            public void print(IDocumentContent content, String fileName) throws IOException {
+                StringWriter writer = new StringWriter();
+                content.writeTo(writer);
+                documents.add(writer.toString());
+            }
+
+            @Override
+            public void export(IDocumentContent content, String fileName) throws IOException {
+                fileNames.add(fileName);
+                print(content, fileName);
+            }
+        }, userManager, conferenceManager, eventController);
+
+        organizerUUID = userManager.registerUser("Organizer", "Organizer", "organizer", "organizer");
+        speakerUUID = userManager.registerUser("Speaker", "Speaker", "speaker", "speaker");
+
+        conferenceUUID = conferenceController.createConference("Conference", new TimeRange(start.minusDays(1), start.plusDays(1)), organizerUUID);
+    }
+
+    @Test(timeout = 10000)
+    public void testDateSchedule() throws IOException {
+        List<List<String>> expected = new ArrayList<>();
+        expected.add(Arrays.asList("Conference Name", "Event Title", "Speakers", "Location"));
+
+        for (int i = 0; i < NUM_ROOMS; i++) {
+            UUID roomUUID = roomController.createRoom(conferenceUUID, organizerUUID, "Room " + i, 10);
+
+            for (int j = 0; j < EVENTS_PER_ROOM; j++) {
+                String title = String.format("Event %d-%d", i, j);
+                TimeRange timeRange = new TimeRange(start.plusMinutes(j * 20), start.plusMinutes(j * 20 + 15));
+
+                // Only the first room has a speaker, since a speaker can't be in two rooms at once
+                Set<UUID> speakers = i == 0 ? Collections.singleton(speakerUUID) : new HashSet<>();
+
+                eventController.createEvent(conferenceUUID, organizerUUID, title, timeRange, roomUUID, speakers);
+                expected.add(Arrays.asList("Conference", title, i == 0 ? "Speaker Speaker" : "", "Room " + i));
+            }
+        }
+
+        scheduleController.printSchedule(ScheduleConstants.sortByMethods.DATE, Collections.singletonMap("date", start.toLocalDate()));
+
+        assertEquals(1, documents.size());
+
+        String document = documents.get(0);
+        String title = String.format("Schedule of events on %s", start.toLocalDate());
+
+        // Same table as TableTools makes, although the rows may be in any order
+        String header = new TableTools(expected.subList(0, 1)).stringifyTable(title);
+        String[] expectedLines = new TableTools(expected).stringifyTable(title).split("\r\n");
+        String[] lines = document.split("\r\n");
+
+        assertTrue(document.startsWith(header.substring(0, header.lastIndexOf("\r\n"))));
+        assertEquals(expectedLines.length, lines.length);
+        assertEquals(new HashSet<>(Arrays.asList(expectedLines)), new HashSet<>(Arrays.asList(lines)));
+        assertEquals(expectedLines[expectedLines.length - 1], lines[lines.length - 1]);
+    }
+
+    @Test(timeout = 1000)
+    public void testEmptySchedule() throws IOException {
+        scheduleController.printSchedule(ScheduleConstants.sortByMethods.SPEAKER, Collections.singletonMap("speakerUUID", speakerUUID));
+
+        assertEquals(1, documents.size());
+        assertTrue(documents.get(0).endsWith("<br/><br/>NO RECORDS FOUND"));
+    }
+
+    @Test(timeout = 1000)
+    public void testCsvExport() throws IOException {
+        UUID roomUUID = roomController.createRoom(conferenceUUID, organizerUUID, "Room, \"A\"", 10);
+        eventController.createEvent(conferenceUUID, organizerUUID, "Plain", new TimeRange(start, start.plusHours(1)), roomUUID, Collections.singleton(speakerUUID));
+
+        scheduleController.printSchedule(ScheduleConstants.sortByMethods.DATE, ScheduleConstants.exportFormats.CSV, Collections.singletonMap("date", start.toLocalDate()));
+
+        assertEquals(Collections.singletonList("schedule.csv"), fileNames);
+        assertEquals("Conference Name,Event Title,Speakers,Location,Start,End\r\n" +
+                "Conference,Plain,Speaker Speaker,\"Room, \"\"A\"\"\",2015-07-02T00:00,2015-07-02T01:00\r\n", documents.get(0));
+    }
+
+    @Test(timeout = 1000)
+    public void testJsonExport() throws IOException {
+        UUID roomUUID = roomController.createRoom(conferenceUUID, organizerUUID, "Room", 10);
+        UUID eventUUID = eventController.createEvent(conferenceUUID, organizerUUID, "Say \"hi\"\n\\ \u0001", new TimeRange(start, start.plusHours(1)), roomUUID, new HashSet<>());
+
+        scheduleController.printSchedule(ScheduleConstants.sortByMethods.DATE, ScheduleConstants.exportFormats.JSON, Collections.singletonMap("date", start.toLocalDate()));
+
+        assertEquals(Collections.singletonList("schedule.json"), fileNames);
+        assertTrue(documents.get(0).contains("\"eventUUID\":\"" + eventUUID + "\""));
+        assertTrue(documents.get(0).contains("\"eventTitle\":\"Say \\\"hi\\\"\\n\\\\ \\u0001\""));
+        assertTrue(documents.get(0).contains("\"speakers\":[]"));
+    }
+
+    @Test(timeout = 1000)
+    public void testICalendarExport() throws IOException {
+        String title = "Éé, talk; " + "x".repeat(100);
+
+        UUID roomUUID = roomController.createRoom(conferenceUUID, organizerUUID, "Room", 10);
+        UUID eventUUID = eventController.createEvent(conferenceUUID, organizerUUID, title, new TimeRange(start, start.plusHours(1)), roomUUID, new HashSet<>());
+
+        scheduleController.printSchedule(ScheduleConstants.sortByMethods.DATE, ScheduleConstants.exportFormats.ICALENDAR, Collections.singletonMap("date", start.toLocalDate()));
+
+        assertEquals(Collections.singletonList("schedule.ics"), fileNames);
+
+        String document = documents.get(0);
+
+        for (String line : document.split("\r\n")) {
+            assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75);
+        }
+
+        // Unfolding the lines gives back the escaped title
+        String unfolded = document.replace("\r\n ", "");
+
+        assertTrue(unfolded.startsWith("BEGIN:VCALENDAR\r\n"));
+        assertTrue(unfolded.endsWith("END:VCALENDAR\r\n"));
+        assertTrue(unfolded.contains("UID:" + eventUUID + "\r\n"));
+        assertTrue(unfolded.contains("DTSTART:20150702T000000\r\n"));
+        assertTrue(unfolded.contains("SUMMARY:" + title.replace(",", "\\,").replace(";", "\\;") + "\r\n"));
+    }
+
+    @Test(timeout = 5000)
+    public void testExportUserSchedules() throws IOException {
+        UUID attendeeUUID = userManager.registerUser("Attendee", "Attendee", "attendee", "attendee");
+        UUID roomUUID = roomController.createRoom(conferenceUUID, organizerUUID, "Room", 10);
+        UUID eventUUID = eventController.createEvent(conferenceUUID, organizerUUID, "Talk", new TimeRange(start, start.plusHours(1)), roomUUID, new HashSet<>());
+
+        conferenceController.addAttendee(conferenceUUID, attendeeUUID);
+        eventController.registerForEvent(conferenceUUID, attendeeUUID, attendeeUUID, eventUUID);
+
+        File directory = new File(Files.createTempDirectory("schedules").toFile(), "nightly");
+
+        try {
+            ScheduleController fileScheduleController = new ScheduleController(new FilePrinter(directory.getPath()), userManager, conferenceManager, eventController);
+
+            assertEquals(3, fileScheduleController.exportUserSchedules(ScheduleConstants.exportFormats.CSV));
+            assertEquals(3, directory.list().length);
+
+            List<String> attendeeLines = Files.readAllLines(new File(directory, "schedule-" + attendeeUUID + ".csv").toPath());
+            List<String> speakerLines = Files.readAllLines(new File(directory, "schedule-" + speakerUUID + ".csv").toPath());
+
+            assertEquals(2, attendeeLines.size());
+            assertTrue(attendeeLines.get(1).startsWith("Conference,Talk,,Room,"));
+            assertEquals(1, speakerLines.size());
+        } finally {
+            for (File file : directory.listFiles()) {
+                file.delete();
+            }
+
+            directory.delete();
+            directory.getParentFile().delete();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testExportUserSchedulesMatchesPrintSchedule() throws IOException {
+        List<UUID> attendeeUUIDs = new ArrayList<>();
+        List<UUID> conferenceUUIDs = Arrays.asList(conferenceUUID, conferenceController.createConference("Other", new TimeRange(start.minusDays(1), start.plusDays(1)), organizerUUID));
+        List<UUID> eventUUIDs = new ArrayList<>();
+
+        for (int i = 0; i < 30; i++) {
+            attendeeUUIDs.add(userManager.registerUser("Attendee", String.valueOf(i), "attendee" + i, "attendee"));
+        }
+
+        for (UUID conferenceUUID : conferenceUUIDs) {
+            UUID roomUUID = roomController.createRoom(conferenceUUID, organizerUUID, "Room", 100);
+
+            for (int i = 0; i < 10; i++) {
+                TimeRange timeRange = new TimeRange(start.plusHours(i), start.plusHours(i).plusMinutes(30));
+                eventUUIDs.add(eventController.createEvent(conferenceUUID, organizerUUID, "Event " + i, timeRange, roomUUID, new HashSet<>()));
+            }
+        }
+
+        // Attendee i signs up for every i-th event, and only joins the conferences of those events
+        for (int i = 0; i < attendeeUUIDs.size(); i++) {
+            for (int j = 0; j < eventUUIDs.size(); j += i + 1) {
+                UUID conferenceUUID = conferenceUUIDs.get(j / 10);
+
+                if (!conferenceManager.isAttendee(conferenceUUID, attendeeUUIDs.get(i))) {
+                    conferenceController.addAttendee(conferenceUUID, attendeeUUIDs.get(i));
+                }
+
+                eventController.registerForEvent(conferenceUUID, attendeeUUIDs.get(i), attendeeUUIDs.get(i), eventUUIDs.get(j));
+            }
+        }
+
+        // Written from several threads at once
+        Map<String, String> exported = new ConcurrentHashMap<>();
+
+        ScheduleController bulkScheduleController = new ScheduleController(new IDocumentPrinter() {
+            @Override
+            public void print(String document, String fileName) {
+                fail();
+            }
+
+            @Override
+            public void print(IDocumentContent content, String fileName) {
+                fail();
+            }
+
+            @Override
+            public void export(IDocumentContent content, String fileName) throws IOException {
+                StringWriter writer = new StringWriter();
+                content.writeTo(writer);
+                assertNull(exported.put(fileName, writer.toString()));
+            }
+        }, userManager, conferenceManager, eventController);
+
+        assertEquals(userManager.getAllUsers().size(), bulkScheduleController.exportUserSchedules(ScheduleConstants.exportFormats.CSV));
+        assertEquals(userManager.getAllUsers().size(), exported.size());
+
+        for (UUID userUUID : userManager.getAllUsers()) {
+            documents.clear();
+            scheduleController.printSchedule(ScheduleConstants.sortByMethods.REGISTERED, ScheduleConstants.exportFormats.CSV, Collections.singletonMap("userUUID", userUUID));
+
+            // The events may be in any order
+            Set<String> expectedLines = new HashSet<>(Arrays.asList(documents.get(0).split("\r\n")));
+            Set<String> lines = new HashSet<>(Arrays.asList(exported.get("schedule-" + userUUID + ".csv").split("\r\n")));
+
+            assertEquals(expectedLines, lines);
+        }
+
+        assertEquals(11, exported.get("schedule-" + attendeeUUIDs.get(1) + ".csv").split("\r\n").length);
+    }
+}
@@ -0,0 +1,173 @@
+import contact.ContactManager;
+import contact.ContactManagerCodec;
+import convention.ConferenceController;
+import convention.EventController;
+import convention.RoomController;
+import convention.calendar.TimeRange;
+import convention.conference.ConferenceManager;
+import convention.conference.ConferenceManagerCodec;
+import gateway.Serializer;
+import messaging.ConversationController;
+import messaging.ConversationManager;
+import messaging.ConversationManagerCodec;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import user.UserManager;
+import user.UserManagerCodec;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class SerializerTest {
+    File directory;
+
+    UserManager userManager;
+    ContactManager contactManager;
+    ConversationManager conversationManager;
+    ConferenceManager conferenceManager;
+
+    ConversationController conversationController;
+    EventController eventController;
+
+    UUID organizerUUID;
+    UUID attendeeUUID;
+    UUID waitlistedUUID;
+    UUID conferenceUUID;
+    UUID roomUUID;
+    UUID eventUUID;
+    UUID conversationUUID;
+
+    // The event starts part way through a second to check that nanoseconds are kept
+    TimeRange conferenceTimeRange = new TimeRange(LocalDateTime.of(2015, Month.JULY, 29, 19, 30, 40), LocalDateTime.of(2015, Month.AUGUST, 29, 19, 30, 40));
+    TimeRange eventTimeRange = new TimeRange(LocalDateTime.of(2015, Month.JULY, 30, 10, 0, 0, 123456789), LocalDateTime.of(2015, Month.JULY, 30, 11, 0, 0));
+
+    @Before
+    public void init() throws IOException {
+        directory = Files.createTempDirectory("serializer").toFile();
+
+        userManager = new UserManager();
+        contactManager = new ContactManager();
+        conversationManager = new ConversationManager();
+        conferenceManager = new ConferenceManager();
+
+        conversationController = new ConversationController(contactManager, conversationManager, userManager);
+        eventController = new EventController(conferenceManager, conversationManager, userManager);
+        RoomController roomController = new RoomController(eventController, conferenceManager, userManager);
+        ConferenceController conferenceController = new ConferenceController(conversationManager, eventController, conferenceManager, userManager);
+
+        organizerUUID = userManager.registerUser("A", "A", "a", "a");
+        attendeeUUID = userManager.registerUser("B", "B", "b", "b");
+        waitlistedUUID = userManager.registerUser("C", "C", "c", "c");
+
+        contactManager.setContacts(organizerUUID, new HashSet<>(Collections.singleton(attendeeUUID)));
+        contactManager.setRequests(attendeeUUID, new HashSet<>(Collections.singleton(organizerUUID)));
+
+        conferenceUUID = conferenceController.createConference("Conference", conferenceTimeRange, organizerUUID);
+        roomUUID = roomController.createRoom(conferenceUUID, organizerUUID, "Room", 1);
+        eventUUID = eventController.createEvent(conferenceUUID, organizerUUID, "Event", eventTimeRange, roomUUID, new HashSet<>(Collections.singleton(organizerUUID)));
+
+        conferenceController.addAttendee(conferenceUUID, attendeeUUID);
+        eventController.registerForEvent(conferenceUUID, attendeeUUID, attendeeUUID, eventUUID);
+
+        // The room only has one seat, so this user has to wait for it
+        conferenceController.addAttendee(conferenceUUID, waitlistedUUID);
+        eventController.joinWaitlist(conferenceUUID, waitlistedUUID, waitlistedUUID, eventUUID);
+
+        conversationUUID = eventController.createEventConversation(conferenceUUID, organizerUUID, eventUUID);
+        conversationController.sendMessage(attendeeUUID, "Hello", conversationUUID);
+    }
+
+    @After
+    public void cleanup() {
+        for (File file : Objects.requireNonNull(directory.listFiles())) {
+            file.delete();
+        }
+
+        directory.delete();
+    }
+
+    String path(String fileName) {
+        return new File(directory, fileName).getPath();
+    }
+
+    void assertLoaded(UserManager userManager, ContactManager contactManager, ConversationManager conversationManager, ConferenceManager conferenceManager) {
+        assertEquals(organizerUUID, userManager.login("a", "a"));
+        assertEquals(attendeeUUID, userManager.login("b", "b"));
+
+        assertTrue(contactManager.isContact(organizerUUID, attendeeUUID));
+        assertTrue(contactManager.hasRequest(attendeeUUID, organizerUUID));
+
+        EventController eventController = new EventController(conferenceManager, conversationManager, userManager);
+        ConversationController conversationController = new ConversationController(contactManager, conversationManager, userManager);
+
+        assertEquals(eventTimeRange, eventController.getEventTimeRange(conferenceUUID, organizerUUID, eventUUID));
+        assertEquals(roomUUID, eventController.getEventRoom(conferenceUUID, organizerUUID, eventUUID));
+        assertEquals(conversationUUID, eventController.getEventConversationUUID(conferenceUUID, organizerUUID, eventUUID));
+        assertEquals(Collections.singleton(eventUUID), eventController.getAttendeeEvents(conferenceUUID, attendeeUUID));
+        assertEquals(Collections.singletonList(waitlistedUUID), eventController.getEventWaitlist(conferenceUUID, organizerUUID, eventUUID));
+        assertEquals(1, eventController.getNumRegistered(conferenceUUID, organizerUUID, eventUUID));
+        assertEquals(Collections.singleton(eventUUID), eventController.getSpeakerEvents(conferenceUUID, organizerUUID));
+        assertEquals(Collections.singleton(eventUUID), eventController.getDayEvents(conferenceUUID, eventTimeRange.getStart().toLocalDate()));
+
+        RoomController roomController = new RoomController(eventController, conferenceManager, userManager);
+        assertEquals(Collections.singletonMap(eventUUID, eventTimeRange), roomController.getRoomSchedule(conferenceUUID, organizerUUID, roomUUID));
+
+        List<Map<String, String>> expected = this.conversationController.getMessages(attendeeUUID, conversationUUID);
+        assertEquals(expected, conversationController.getMessages(attendeeUUID, conversationUUID));
+        assertEquals(conversationManager.getUsers(conversationUUID), this.conversationManager.getUsers(conversationUUID));
+    }
+
+    @Test(timeout = 5000)
+    public void testRoundTrip() {
+        Serializer<UserManager> userManagerSerializer = new Serializer<>(path("userManager.bin"), new UserManagerCodec());
+        Serializer<ContactManager> contactManagerSerializer = new Serializer<>(path("contactManager.bin"), new ContactManagerCodec());
+        Serializer<ConversationManager> conversationManagerSerializer = new Serializer<>(path("conversationManager.bin"), new ConversationManagerCodec());
+        Serializer<ConferenceManager> conferenceManagerSerializer = new Serializer<>(path("conferenceManager.bin"), new ConferenceManagerCodec());
+
+        userManagerSerializer.save(userManager);
+        contactManagerSerializer.save(contactManager);
+        conversationManagerSerializer.save(conversationManager);
+        conferenceManagerSerializer.save(conferenceManager);
+
+        assertLoaded(userManagerSerializer.load(null), contactManagerSerializer.load(null), conversationManagerSerializer.load(null), conferenceManagerSerializer.load(null));
+    }
+
+    @Test(timeout = 5000)
+    public void testMigrateLegacyFile() throws IOException {
+        for (Object manager : Arrays.asList(userManager, contactManager, conversationManager, conferenceManager)) {
+            String fileName = manager.getClass().getSimpleName() + ".ser";
+
+            try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(new FileOutputStream(path(fileName)))) {
+                objectOutputStream.writeObject(manager);
+            }
+        }
+
+        Serializer<UserManager> userManagerSerializer = new Serializer<>(path("userManager.bin"), new UserManagerCodec(), path("UserManager.ser"));
+        Serializer<ContactManager> contactManagerSerializer = new Serializer<>(path("contactManager.bin"), new ContactManagerCodec(), path("ContactManager.ser"));
+        Serializer<ConversationManager> conversationManagerSerializer = new Serializer<>(path("conversationManager.bin"), new ConversationManagerCodec(), path("ConversationManager.ser"));
+        Serializer<ConferenceManager> conferenceManagerSerializer = new Serializer<>(path("conferenceManager.bin"), new ConferenceManagerCodec(), path("ConferenceManager.ser"));
+
+        assertLoaded(userManagerSerializer.load(null), contactManagerSerializer.load(null), conversationManagerSerializer.load(null), conferenceManagerSerializer.load(null));
+
+        // The first load saved the new files, so the legacy files are no longer needed
+        for (String fileName : Arrays.asList("UserManager.ser", "ContactManager.ser", "ConversationManager.ser", "ConferenceManager.ser")) {
+            assertTrue(new File(path(fileName)).delete());
+        }
+
+        assertLoaded(userManagerSerializer.load(null), contactManagerSerializer.load(null), conversationManagerSerializer.load(null), conferenceManagerSerializer.load(null));
+    }
+
+    @Test(timeout = 5000)
+    public void testCorruptFileFallsBack() throws IOException {
+        Files.write(new File(path("userManager.bin")).toPath(), new byte[]{1, 2, 3});
+
+        UserManager fallback = new UserManager();
+        assertSame(fallback, new Serializer<>(path("userManager.bin"), new UserManagerCodec()).load(fallback));
+    }
+}
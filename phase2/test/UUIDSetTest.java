@@ -0,0 +1,154 @@
+import org.junit.Test;
+import util.UUIDSet;
+
+import java.io.*;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class UUIDSetTest {
+    @Test(timeout = 5000)
+    public void testMatchesHashSet() {
+        Random random = new Random(42);
+        List<UUID> uuids = new ArrayList<>();
+
+        for (int i = 0; i < 2000; i++) {
+            uuids.add(UUID.randomUUID());
+        }
+
+        // Small sets stay arrays, while sets holding most of the UUIDs become bitmaps
+        for (int numMembers : new int[]{10, 200, 1500}) {
+            Set<UUID> expected = new HashSet<>();
+            UUIDSet set = new UUIDSet();
+
+            for (int i = 0; i < numMembers * 4; i++) {
+                UUID uuid = uuids.get(random.nextInt(numMembers * 4 / 3));
+
+                if (random.nextInt(4) == 0) {
+                    assertEquals(expected.remove(uuid), set.remove(uuid));
+                } else {
+                    assertEquals(expected.add(uuid), set.add(uuid));
+                }
+
+                assertEquals(expected.size(), set.size());
+            }
+
+            assertEquals(expected, set);
+            assertEquals(set, expected);
+            assertEquals(expected.hashCode(), set.hashCode());
+
+            for (UUID uuid : uuids) {
+                assertEquals(expected.contains(uuid), set.contains(uuid));
+            }
+
+            assertFalse(set.contains(UUID.randomUUID()));
+            assertFalse(set.contains("not a UUID"));
+            assertEquals(expected, new UUIDSet(expected));
+        }
+    }
+
+    @Test(timeout = 1000)
+    public void testIteratorRemove() {
+        List<UUID> uuids = new ArrayList<>();
+
+        for (int i = 0; i < 500; i++) {
+            uuids.add(UUID.randomUUID());
+        }
+
+        for (int numMembers : new int[]{20, 500}) {
+            UUIDSet set = new UUIDSet(uuids.subList(0, numMembers));
+            Set<UUID> expected = new HashSet<>(set);
+
+            Iterator<UUID> iterator = set.iterator();
+            int index = 0;
+
+            while (iterator.hasNext()) {
+                UUID uuid = iterator.next();
+
+                if (index++ % 3 == 0) {
+                    iterator.remove();
+                    expected.remove(uuid);
+                }
+            }
+
+            assertEquals(expected, set);
+
+            iterator = set.iterator();
+            iterator.next();
+            set.add(UUID.randomUUID());
+
+            try {
+                iterator.next();
+                fail();
+            } catch (ConcurrentModificationException e) {
+                // Expected
+            }
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void testLateMembers() {
+        List<UUID> uuids = new ArrayList<>();
+
+        for (int i = 0; i < 200; i++) {
+            uuids.add(UUID.randomUUID());
+        }
+
+        UUIDSet set = new UUIDSet(uuids);
+
+        // Gives out enough IDs that the bitmap would be far larger than an array if it grew to the next one
+        List<UUID> others = new ArrayList<>();
+
+        for (int i = 0; i < 100000; i++) {
+            others.add(UUID.randomUUID());
+        }
+
+        new UUIDSet(others);
+
+        Set<UUID> expected = new HashSet<>(uuids);
+        UUID late = UUID.randomUUID();
+
+        assertTrue(set.add(late));
+        assertTrue(expected.add(late));
+        assertEquals(expected, set);
+
+        // Removing most of the members turns the set back into an array part way through iterating
+        Iterator<UUID> iterator = set.iterator();
+
+        while (iterator.hasNext()) {
+            UUID uuid = iterator.next();
+
+            if (!uuid.equals(late)) {
+                iterator.remove();
+                expected.remove(uuid);
+            }
+        }
+
+        assertEquals(Collections.singleton(late), set);
+        assertEquals(expected, set);
+    }
+
+    @Test(timeout = 1000)
+    public void testSerialization() throws IOException, ClassNotFoundException {
+        List<UUID> uuids = new ArrayList<>();
+
+        for (int i = 0; i < 300; i++) {
+            uuids.add(UUID.randomUUID());
+        }
+
+        for (Set<UUID> set : Arrays.asList(new UUIDSet(), new UUIDSet(uuids.subList(0, 5)), new UUIDSet(uuids))) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(set);
+            }
+
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                Set<?> read = (Set<?>) in.readObject();
+
+                assertTrue(read instanceof UUIDSet);
+                assertEquals(set, read);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+import org.junit.Before;
+import org.junit.Test;
+import user.UserManager;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class UserManagerTest {
+    UserManager userManager;
+
+    @Before
+    public void init() {
+        userManager = new UserManager();
+    }
+
+    @Test(timeout = 100)
+    public void testChangeUsername() {
+        UUID userUUID = userManager.registerUser("A", "A", "a", "password");
+
+        userManager.setUserUsername(userUUID, "b");
+
+        assertNull(userManager.login("a", "password"));
+        assertEquals(userUUID, userManager.login("b", "password"));
+
+        // The old username is free again
+        assertNotNull(userManager.registerUser("A", "A", "a", "password"));
+        assertNull(userManager.registerUser("B", "B", "b", "password"));
+    }
+
+    @Test(timeout = 100)
+    public void testFullNameChanges() {
+        UUID userUUID = userManager.registerUser("A", "A", "a", "password");
+        UUID otherUUID = userManager.registerUser("B", "B", "b", "password");
+
+        assertEquals("A A", userManager.getUserFullName(userUUID));
+
+        userManager.setUserFirstName(userUUID, "C");
+        assertEquals("C A", userManager.getUserFullName(userUUID));
+
+        userManager.setUserLastName(userUUID, "D");
+
+        Map<UUID, String> names = userManager.getUserFullNames(Arrays.asList(userUUID, otherUUID));
+
+        assertEquals(2, names.size());
+        assertEquals("C D", names.get(userUUID));
+        assertEquals("B B", names.get(otherUUID));
+    }
+
+    @Test(timeout = 2000)
+    public void testRegisterUsers() throws IOException, ClassNotFoundException {
+        List<String[]> entries = new ArrayList<>();
+
+        for (int i = 0; i < 20000; i++) {
+            entries.add(new String[]{"User", "Userson", "user" + i, "password"});
+        }
+
+        // Duplicate user names are skipped
+        entries.add(new String[]{"User", "Userson", "user0", "password"});
+
+        Set<UUID> userUUIDs = userManager.registerUsers(entries, false);
+        assertEquals(20000, userUUIDs.size());
+        assertNull(userManager.getSignedInUserUUID());
+
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        new ObjectOutputStream(byteArrayOutputStream).writeObject(userManager);
+
+        ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(byteArrayOutputStream.toByteArray()));
+        UserManager loaded = (UserManager) objectInputStream.readObject();
+
+        assertTrue(userUUIDs.contains(loaded.login("user19999", "password")));
+    }
+}
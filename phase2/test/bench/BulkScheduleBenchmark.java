@@ -0,0 +1,108 @@
+package bench;
+
+import convention.ScheduleController;
+import convention.schedule.ScheduleConstants;
+import gateway.IDocumentContent;
+import gateway.IDocumentPrinter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures writing the schedule of every user at once, compared with one printSchedule call per user. The printer
+ * throws each file away as it is written, so the numbers cover reading the events and writing the schedules, not the
+ * disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkScheduleBenchmark {
+    @Param({"CSV", "ICALENDAR"})
+    String exportFormatName;
+
+    @Param({"20"})
+    int numConferences;
+
+    @Param({"100"})
+    int eventsPerConference;
+
+    @Param({"2000"})
+    int numAttendees;
+
+    SyntheticWorld world;
+    ScheduleController scheduleController;
+    ScheduleConstants.exportFormats exportFormat;
+
+    LongAdder numCharacters = new LongAdder();
+
+    @Setup
+    public void setup() {
+        world = new SyntheticWorld(numConferences, eventsPerConference, numAttendees);
+        scheduleController = new ScheduleController(new DiscardingPrinter(), world.userManager, world.conferenceManager, world.eventController);
+        exportFormat = ScheduleConstants.exportFormats.valueOf(exportFormatName);
+    }
+
+    @Benchmark
+    public long exportUserSchedules() throws IOException {
+        numCharacters.reset();
+        scheduleController.exportUserSchedules(exportFormat);
+        return numCharacters.sum();
+    }
+
+    @Benchmark
+    public long printScheduleForEachUser() throws IOException {
+        numCharacters.reset();
+
+        for (UUID userUUID : world.userManager.getAllUsers()) {
+            scheduleController.printSchedule(ScheduleConstants.sortByMethods.REGISTERED, exportFormat, Collections.singletonMap("userUUID", userUUID));
+        }
+
+        return numCharacters.sum();
+    }
+
+    /**
+     * Counts the characters of each file instead of keeping them. Files are written from several threads at once.
+     */
+    class DiscardingPrinter implements IDocumentPrinter {
+        @Override
+        public void print(String document, String fileName) {
+            numCharacters.add(document.length());
+        }
+
+        @Override
+        public void print(IDocumentContent content, String fileName) throws IOException {
+            export(content, fileName);
+        }
+
+        @Override
+        public void export(IDocumentContent content, String fileName) throws IOException {
+            content.writeTo(new Writer() {
+                @Override
+                public void write(char[] buffer, int offset, int length) {
+                    numCharacters.add(length);
+                }
+
+                @Override
+                public void write(String string, int offset, int length) {
+                    numCharacters.add(length);
+                }
+
+                @Override
+                public void flush() {
+                }
+
+                @Override
+                public void close() {
+                }
+            });
+        }
+    }
+}
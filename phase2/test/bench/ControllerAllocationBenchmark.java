@@ -0,0 +1,90 @@
+package bench;
+
+import convention.ConferenceController;
+import convention.EventController;
+import convention.RoomController;
+import convention.calendar.TimeRange;
+import convention.conference.ConferenceManager;
+import messaging.ConversationManager;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import user.UserManager;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the controller hot paths that look up EventManager, RoomManager and CalendarManager objects several times
+ * per call. Run with the GC profiler (-prof gc) to compare the allocation rate (gc.alloc.rate.norm) against a build
+ * where ConferenceManager and RoomManager create a new manager on every call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ControllerAllocationBenchmark {
+    @Param({"100", "1000"})
+    int numEvents;
+
+    EventController eventController;
+    ConferenceController conferenceController;
+
+    UUID organizerUUID;
+    UUID attendeeUUID;
+    UUID conferenceUUID;
+    UUID roomUUID;
+    UUID eventUUID;
+
+    TimeRange freeTimeRange;
+
+    @Setup
+    public void setup() {
+        UserManager userManager = new UserManager();
+        ConversationManager conversationManager = new ConversationManager();
+        ConferenceManager conferenceManager = new ConferenceManager();
+
+        eventController = new EventController(conferenceManager, conversationManager, userManager);
+        conferenceController = new ConferenceController(conversationManager, eventController, conferenceManager, userManager);
+        RoomController roomController = new RoomController(eventController, conferenceManager, userManager);
+
+        organizerUUID = userManager.registerUser("Organizer", "Organizer", "organizer", "password");
+        attendeeUUID = userManager.registerUser("Attendee", "Attendee", "attendee", "password");
+
+        LocalDateTime start = LocalDateTime.of(2020, Month.JANUARY, 1, 0, 0);
+        conferenceUUID = conferenceController.createConference("Conference", new TimeRange(start, start.plusYears(1)), organizerUUID);
+        conferenceController.addAttendee(conferenceUUID, attendeeUUID);
+
+        roomUUID = roomController.createRoom(conferenceUUID, organizerUUID, "Room", numEvents);
+
+        // Fill the room with one hour events, each with its own speaker
+        for (int i = 0; i < numEvents; i++) {
+            UUID speakerUUID = userManager.registerUser("Speaker", "Speaker", "speaker" + i, "password");
+            TimeRange timeRange = new TimeRange(start.plusHours(2 * i), start.plusHours(2 * i + 1));
+
+            eventUUID = eventController.createEvent(conferenceUUID, organizerUUID, "Event " + i, timeRange, roomUUID, new HashSet<>(Collections.singleton(speakerUUID)));
+        }
+
+        freeTimeRange = new TimeRange(start.plusHours(2 * numEvents), start.plusHours(2 * numEvents + 1));
+    }
+
+    @Benchmark
+    public void createAndDeleteEvent() {
+        UUID newEventUUID = eventController.createEvent(conferenceUUID, organizerUUID, "New event", freeTimeRange, roomUUID, new HashSet<>());
+        eventController.deleteEvent(conferenceUUID, organizerUUID, newEventUUID);
+    }
+
+    @Benchmark
+    public void registerAndUnregister() {
+        eventController.registerForEvent(conferenceUUID, attendeeUUID, attendeeUUID, eventUUID);
+        eventController.unregisterForEvent(conferenceUUID, attendeeUUID, attendeeUUID, eventUUID);
+    }
+
+    @Benchmark
+    public void getAttendeeEvents(Blackhole blackhole) {
+        blackhole.consume(eventController.getAttendeeEvents(conferenceUUID, attendeeUUID));
+    }
+}
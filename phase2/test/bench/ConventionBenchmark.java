@@ -0,0 +1,66 @@
+package bench;
+
+import convention.calendar.TimeRange;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures event creation and registration against a synthetic world. Both benchmarks undo their change in the same
+ * invocation so that the world stays the same size for the whole run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConventionBenchmark {
+    @Param({"100"})
+    int numConferences;
+
+    @Param({"500"})
+    int eventsPerConference;
+
+    @Param({"5000"})
+    int numAttendees;
+
+    SyntheticWorld world;
+
+    UUID conferenceUUID;
+    UUID roomUUID;
+    UUID eventUUID;
+    UUID attendeeUUID;
+
+    TimeRange freeTimeRange;
+
+    @Setup
+    public void setup() {
+        world = new SyntheticWorld(numConferences, eventsPerConference, numAttendees);
+
+        // The first attendee is a member of the first conference, but is not registered for its last event
+        conferenceUUID = world.conferenceUUIDs.get(0);
+        roomUUID = world.conferenceRoomUUIDs.get(conferenceUUID).get(0);
+        attendeeUUID = world.attendeeUUIDs.get(0);
+
+        List<UUID> eventUUIDs = world.conferenceEventUUIDs.get(conferenceUUID);
+        eventUUID = eventUUIDs.get(eventUUIDs.size() - 1);
+
+        freeTimeRange = world.getFreeTimeRange();
+    }
+
+    @Benchmark
+    public void createEvent() {
+        UUID newEventUUID = world.eventController.createEvent(conferenceUUID, world.organizerUUID, "New event", freeTimeRange, roomUUID, new HashSet<>());
+        world.eventController.deleteEvent(conferenceUUID, world.organizerUUID, newEventUUID);
+    }
+
+    @Benchmark
+    public void registerForEvent() {
+        world.eventController.registerForEvent(conferenceUUID, attendeeUUID, attendeeUUID, eventUUID);
+        world.eventController.unregisterForEvent(conferenceUUID, attendeeUUID, attendeeUUID, eventUUID);
+    }
+}
@@ -0,0 +1,39 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures UserManager.login for an existing account and for a username that does not exist
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoginBenchmark {
+    @Param({"5000"})
+    int numAttendees;
+
+    SyntheticWorld world;
+    String username;
+
+    @Setup
+    public void setup() {
+        world = new SyntheticWorld(0, 0, numAttendees);
+        username = "attendee" + (numAttendees - 1);
+    }
+
+    @Benchmark
+    public UUID login() {
+        return world.userManager.login(username, SyntheticWorld.PASSWORD);
+    }
+
+    @Benchmark
+    public UUID loginUnknownUser() {
+        return world.userManager.login("unknown", SyntheticWorld.PASSWORD);
+    }
+}
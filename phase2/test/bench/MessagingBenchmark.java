@@ -0,0 +1,75 @@
+package bench;
+
+import messaging.MessageView;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures sending and reading messages through ConversationController, which is the only public entry point to
+ * ConversationManager.sendMessage and ConversationManager.getMessages.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessagingBenchmark {
+    @Param({"1000"})
+    int numConversations;
+
+    @Param({"20"})
+    int membersPerConversation;
+
+    @Param({"100", "1000"})
+    int messagesPerConversation;
+
+    @Param({"5000"})
+    int numAttendees;
+
+    SyntheticWorld world;
+    UUID readerUUID;
+    UUID readConversationUUID;
+    int lastMessageCursor;
+    UUID sendConversationUUID;
+
+    @Setup
+    public void setup() {
+        world = new SyntheticWorld(1, 0, numAttendees);
+
+        List<UUID> conversationUUIDs = world.populateConversations(numConversations, membersPerConversation, messagesPerConversation);
+        readConversationUUID = conversationUUIDs.get(0);
+        readerUUID = world.attendeeUUIDs.get(0);
+        lastMessageCursor = world.conversationController.getNumMessages(readerUUID, readConversationUUID) - 1;
+    }
+
+    /**
+     * Sends go to a fresh conversation every iteration, otherwise it would keep growing for the whole run
+     */
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        sendConversationUUID = world.populateConversations(1, membersPerConversation, messagesPerConversation).get(0);
+    }
+
+    @Benchmark
+    public void sendMessage() {
+        world.conversationController.sendMessage(world.organizerUUID, "Message", sendConversationUUID);
+    }
+
+    @Benchmark
+    public List<Map<String, String>> getMessages() {
+        return world.conversationController.getMessages(readerUUID, readConversationUUID);
+    }
+
+    /**
+     * Refreshing a conversation after one new message, which shouldn't depend on the length of the conversation
+     */
+    @Benchmark
+    public List<MessageView> getMessagesSince() {
+        return world.conversationController.getMessagesSince(readerUUID, readConversationUUID, lastMessageCursor);
+    }
+}
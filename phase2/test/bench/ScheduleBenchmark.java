@@ -0,0 +1,110 @@
+package bench;
+
+import convention.ScheduleController;
+import convention.schedule.ScheduleConstants;
+import gateway.IDocumentContent;
+import gateway.IDocumentPrinter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures schedule generation for each sort method and export format. The document printer throws the document away as it is written,
+ * so the numbers cover collecting the events and writing the table, not writing the file. The DATE schedule has a row
+ * for every event, 50,000 with the default parameters. Run with the GC profiler (-prof gc) to check that the
+ * allocation per row doesn't grow with the size of the schedule.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScheduleBenchmark {
+    @Param({"DATE", "REGISTERED", "SPEAKER"})
+    String sortByMethod;
+
+    @Param({"HTML", "CSV", "ICALENDAR", "JSON"})
+    String exportFormatName;
+
+    @Param({"100"})
+    int numConferences;
+
+    @Param({"500"})
+    int eventsPerConference;
+
+    @Param({"5000"})
+    int numAttendees;
+
+    ScheduleController scheduleController;
+    ScheduleConstants.sortByMethods sortBy;
+    ScheduleConstants.exportFormats exportFormat;
+    Map<String, Object> arguments = new HashMap<>();
+
+    long numCharacters;
+
+    @Setup
+    public void setup() {
+        SyntheticWorld world = new SyntheticWorld(numConferences, eventsPerConference, numAttendees);
+        scheduleController = new ScheduleController(new DiscardingPrinter(), world.userManager, world.conferenceManager, world.eventController);
+
+        sortBy = ScheduleConstants.sortByMethods.valueOf(sortByMethod);
+        exportFormat = ScheduleConstants.exportFormats.valueOf(exportFormatName);
+        arguments.put("date", SyntheticWorld.START.toLocalDate());
+        arguments.put("userUUID", world.attendeeUUIDs.get(0));
+        arguments.put("speakerUUID", world.speakerUUIDs.get(0));
+    }
+
+    @Benchmark
+    public long printSchedule() throws IOException {
+        numCharacters = 0;
+        scheduleController.printSchedule(sortBy, exportFormat, arguments);
+        return numCharacters;
+    }
+
+    /**
+     * Counts the characters of each document instead of keeping them
+     */
+    class DiscardingPrinter implements IDocumentPrinter {
+        @Override
+        public void print(String document, String fileName) {
+            numCharacters += document.length();
+        }
+
+        @Override
+        public void print(IDocumentContent content, String fileName) throws IOException {
+            count(content);
+        }
+
+        @Override
+        public void export(IDocumentContent content, String fileName) throws IOException {
+            count(content);
+        }
+
+        private void count(IDocumentContent content) throws IOException {
+            content.writeTo(new Writer() {
+                @Override
+                public void write(char[] buffer, int offset, int length) {
+                    numCharacters += length;
+                }
+
+                @Override
+                public void write(String string, int offset, int length) {
+                    numCharacters += length;
+                }
+
+                @Override
+                public void flush() {
+                }
+
+                @Override
+                public void close() {
+                }
+            });
+        }
+    }
+}
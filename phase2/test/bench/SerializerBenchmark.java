@@ -0,0 +1,89 @@
+package bench;
+
+import convention.conference.ConferenceManagerCodec;
+import gateway.Codec;
+import gateway.Serializer;
+import messaging.ConversationManagerCodec;
+import org.openjdk.jmh.annotations.*;
+import user.UserManagerCodec;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures saving and loading each manager of a synthetic world with Serializer
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializerBenchmark {
+    @Param({"conferenceManager", "userManager", "conversationManager"})
+    String manager;
+
+    @Param({"100"})
+    int numConferences;
+
+    @Param({"500"})
+    int eventsPerConference;
+
+    @Param({"5000"})
+    int numAttendees;
+
+    File file;
+    Serializer<Object> serializer;
+    Object snapshot;
+
+    @Setup
+    public void setup() throws IOException {
+        SyntheticWorld world = new SyntheticWorld(numConferences, eventsPerConference, numAttendees);
+        world.populateConversations(numAttendees, 10, 10);
+
+        file = File.createTempFile(manager, ".bin");
+
+        switch (manager) {
+            case "conferenceManager":
+                select(world.conferenceManager, new ConferenceManagerCodec());
+                break;
+            case "userManager":
+                select(world.userManager, new UserManagerCodec());
+                break;
+            case "conversationManager":
+                select(world.conversationManager, new ConversationManagerCodec());
+                break;
+            default:
+                throw new IllegalArgumentException(manager);
+        }
+
+        serializer.save(snapshot);
+
+        // Serializer.load falls back silently, so make sure the benchmark is not measuring a failed load
+        if (serializer.load(null) == null) {
+            throw new IllegalStateException(String.format("Unable to load %s", file));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void select(T snapshot, Codec<T> codec) {
+        this.snapshot = snapshot;
+        this.serializer = (Serializer<Object>) (Serializer<?>) new Serializer<>(file.getPath(), codec);
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public void save() {
+        serializer.save(snapshot);
+    }
+
+    @Benchmark
+    public Object load() {
+        return serializer.load(null);
+    }
+}
@@ -0,0 +1,193 @@
+package bench;
+
+import contact.ContactManager;
+import convention.ConferenceController;
+import convention.EventController;
+import convention.RoomController;
+import convention.calendar.TimeRange;
+import convention.conference.ConferenceManager;
+import messaging.ConversationController;
+import messaging.ConversationManager;
+import user.UserManager;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Builds a populated set of managers and controllers for the benchmarks, going through the controllers so that every
+ * index is filled in the same way as in the program.
+ * <p>
+ * Each conference gets ROOMS_PER_CONFERENCE rooms and a pool of SPEAKERS_PER_CONFERENCE speakers. Events are one hour
+ * long and spread over the rooms so that no room or speaker is double booked. Every attendee joins
+ * CONFERENCES_PER_ATTENDEE conferences and registers for EVENTS_PER_ATTENDEE events in each of them.
+ */
+public class SyntheticWorld {
+    static final int ROOMS_PER_CONFERENCE = 10;
+    static final int SPEAKERS_PER_CONFERENCE = 50;
+    static final int CONFERENCES_PER_ATTENDEE = 2;
+    static final int EVENTS_PER_ATTENDEE = 5;
+
+    static final String PASSWORD = "password";
+    static final LocalDateTime START = LocalDateTime.of(2020, Month.JANUARY, 1, 0, 0);
+
+    public final UserManager userManager = new UserManager();
+    public final ContactManager contactManager = new ContactManager();
+    public final ConversationManager conversationManager = new ConversationManager();
+    public final ConferenceManager conferenceManager = new ConferenceManager();
+
+    public final EventController eventController = new EventController(conferenceManager, conversationManager, userManager);
+    public final ConferenceController conferenceController = new ConferenceController(conversationManager, eventController, conferenceManager, userManager);
+    public final RoomController roomController = new RoomController(eventController, conferenceManager, userManager);
+    public final ConversationController conversationController = new ConversationController(contactManager, conversationManager, userManager);
+
+    public final UUID organizerUUID;
+    public final List<UUID> conferenceUUIDs = new ArrayList<>();
+    public final List<UUID> speakerUUIDs = new ArrayList<>();
+    public final List<UUID> attendeeUUIDs = new ArrayList<>();
+
+    // UUIDs of the rooms and events of each conference
+    public final Map<UUID, List<UUID>> conferenceRoomUUIDs = new HashMap<>();
+    public final Map<UUID, List<UUID>> conferenceEventUUIDs = new HashMap<>();
+
+    private final int eventsPerConference;
+
+    /**
+     * Creates a synthetic world
+     *
+     * @param numConferences      number of conferences
+     * @param eventsPerConference number of events in each conference
+     * @param numAttendees        number of attendee accounts
+     */
+    public SyntheticWorld(int numConferences, int eventsPerConference, int numAttendees) {
+        this.eventsPerConference = eventsPerConference;
+
+        // The controllers log every operation, which would otherwise dominate the setup time
+        Logger.getLogger(Logger.GLOBAL_LOGGER_NAME).setLevel(Level.WARNING);
+
+        organizerUUID = userManager.registerUser("Organizer", "Organizer", "organizer", PASSWORD);
+
+        for (int i = 0; i < SPEAKERS_PER_CONFERENCE; i++) {
+            speakerUUIDs.add(userManager.registerUser("Speaker", String.valueOf(i), "speaker" + i, PASSWORD));
+        }
+
+        for (int i = 0; i < numAttendees; i++) {
+            attendeeUUIDs.add(userManager.registerUser("Attendee", String.valueOf(i), "attendee" + i, PASSWORD));
+        }
+
+        TimeRange conferenceTimeRange = new TimeRange(START, getSlotStart(getNumSlots() + 1));
+
+        for (int i = 0; i < numConferences; i++) {
+            UUID conferenceUUID = conferenceController.createConference("Conference " + i, conferenceTimeRange, organizerUUID);
+            conferenceUUIDs.add(conferenceUUID);
+
+            populateConference(conferenceUUID, numAttendees);
+        }
+
+        for (int i = 0; i < numAttendees; i++) {
+            registerAttendee(i);
+        }
+    }
+
+    private void populateConference(UUID conferenceUUID, int numAttendees) {
+        List<UUID> roomUUIDs = new ArrayList<>();
+        List<UUID> eventUUIDs = new ArrayList<>();
+
+        for (int i = 0; i < ROOMS_PER_CONFERENCE; i++) {
+            roomUUIDs.add(roomController.createRoom(conferenceUUID, organizerUUID, "Room " + i, numAttendees));
+        }
+
+        // Event i runs in room (i % rooms) during slot (i / rooms). Consecutive events of the same speaker are
+        // SPEAKERS_PER_CONFERENCE / ROOMS_PER_CONFERENCE slots apart, so speakers are never double booked.
+        for (int i = 0; i < eventsPerConference; i++) {
+            int slot = i / ROOMS_PER_CONFERENCE;
+            TimeRange timeRange = new TimeRange(getSlotStart(slot), getSlotStart(slot).plusHours(1));
+            Set<UUID> speakers = new HashSet<>(Collections.singleton(speakerUUIDs.get(i % SPEAKERS_PER_CONFERENCE)));
+
+            eventUUIDs.add(eventController.createEvent(conferenceUUID, organizerUUID, "Event " + i, timeRange, roomUUIDs.get(i % ROOMS_PER_CONFERENCE), speakers));
+        }
+
+        conferenceRoomUUIDs.put(conferenceUUID, roomUUIDs);
+        conferenceEventUUIDs.put(conferenceUUID, eventUUIDs);
+    }
+
+    private void registerAttendee(int attendeeIndex) {
+        UUID attendeeUUID = attendeeUUIDs.get(attendeeIndex);
+
+        for (int i = 0; i < Math.min(CONFERENCES_PER_ATTENDEE, conferenceUUIDs.size()); i++) {
+            UUID conferenceUUID = conferenceUUIDs.get((attendeeIndex + i) % conferenceUUIDs.size());
+            List<UUID> eventUUIDs = conferenceEventUUIDs.get(conferenceUUID);
+
+            conferenceController.addAttendee(conferenceUUID, attendeeUUID);
+
+            for (int j = 0; j < Math.min(EVENTS_PER_ATTENDEE, eventUUIDs.size()); j++) {
+                UUID eventUUID = eventUUIDs.get((attendeeIndex * EVENTS_PER_ATTENDEE + j) % eventUUIDs.size());
+                eventController.registerForEvent(conferenceUUID, attendeeUUID, attendeeUUID, eventUUID);
+            }
+        }
+    }
+
+    /**
+     * Creates conversations between consecutive attendees. The organizer is a member of every conversation so that it
+     * can be used to read and write to all of them.
+     *
+     * @param numConversations        number of conversations to create
+     * @param membersPerConversation  number of attendees in each conversation
+     * @param messagesPerConversation number of messages in each conversation, including the initial message
+     * @return UUIDs of the new conversations
+     */
+    public List<UUID> populateConversations(int numConversations, int membersPerConversation, int messagesPerConversation) {
+        List<UUID> conversationUUIDs = new ArrayList<>();
+
+        for (int i = 0; i < numConversations; i++) {
+            Set<UUID> members = new HashSet<>();
+
+            for (int j = 0; j < membersPerConversation; j++) {
+                members.add(attendeeUUIDs.get((i + j) % attendeeUUIDs.size()));
+            }
+
+            members.add(organizerUUID);
+
+            UUID conversationUUID = conversationManager.createConversation("Conversation " + i, members, members, organizerUUID, "Message 0");
+
+            for (int j = 1; j < messagesPerConversation; j++) {
+                conversationController.sendMessage(organizerUUID, "Message " + j, conversationUUID);
+            }
+
+            conversationUUIDs.add(conversationUUID);
+        }
+
+        return conversationUUIDs;
+    }
+
+    /**
+     * Gets the number of one hour slots used by the events of a conference
+     *
+     * @return number of slots
+     */
+    int getNumSlots() {
+        return (eventsPerConference + ROOMS_PER_CONFERENCE - 1) / ROOMS_PER_CONFERENCE;
+    }
+
+    /**
+     * Gets the start of a slot. Slots are two hours apart so that events never touch.
+     *
+     * @param slot index of the slot
+     * @return start time of the slot
+     */
+    LocalDateTime getSlotStart(int slot) {
+        return START.plusHours(2L * slot);
+    }
+
+    /**
+     * Gets a time range that no event of the world uses
+     *
+     * @return free time range inside every conference
+     */
+    public TimeRange getFreeTimeRange() {
+        LocalDateTime start = getSlotStart(getNumSlots());
+        return new TimeRange(start, start.plusHours(1));
+    }
+}
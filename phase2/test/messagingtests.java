@@ -3,10 +3,19 @@ import contact.ContactManager;
 import contact.exception.GhostAcceptDeniedException;
 import contact.exception.GhostDeleteException;
 import contact.exception.RequestDeniedException;
+import messaging.ConversationController;
+import messaging.ConversationManager;
+import messaging.IConversationListener;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import user.UserManager;
 
 public class messagingtests {
     UUID myUser1 = UUID.randomUUID();
@@ -111,4 +120,67 @@ public class messagingtests {
         assert contactController.showContacts(myUser3).contains(myUser2) == false;
         assert contactController.showContacts(myUser2).contains(myUser3) == false;
     }
+
+    @Test(timeout = 50)
+    public void testConversationMembers(){
+        ConversationManager conversationManager = new ConversationManager();
+        Set<UUID> users = new HashSet<>();
+        users.add(myUser1);
+        users.add(myUser2);
+
+        UUID conversationUUID = conversationManager.createConversation("Chat", users, users, myUser1, "Hello");
+        conversationManager.addUser(myUser3, conversationUUID);
+        conversationManager.removeUser(myUser1, conversationUUID);
+
+        Set<UUID> members = conversationManager.getUsers(conversationUUID);
+        assert members.size() == 2;
+        assert members.contains(myUser2) && members.contains(myUser3);
+
+        conversationManager.deleteConversation(conversationUUID);
+        assert conversationManager.getUsers(conversationUUID).isEmpty();
+    }
+
+    @Test(timeout = 1000)
+    public void testConversationListener(){
+        UserManager userManager = new UserManager();
+        ConversationManager conversationManager = new ConversationManager();
+        ConversationController conversationController = new ConversationController(contactManager, conversationManager, userManager);
+        UUID user1 = userManager.registerUser("A", "A", "a", "a");
+        UUID user2 = userManager.registerUser("B", "B", "b", "b");
+        UUID user3 = userManager.registerUser("C", "C", "c", "c");
+
+        List<String> notifications = new ArrayList<>();
+        IConversationListener listener = new IConversationListener() {
+            @Override
+            public void messageAdded(UUID conversationUUID, int index) {
+                notifications.add("added " + index);
+            }
+
+            @Override
+            public void messageDeleted(UUID conversationUUID, int index) {
+                notifications.add("deleted " + index);
+            }
+
+            @Override
+            public void membersChanged(UUID conversationUUID) {
+                notifications.add("members");
+            }
+        };
+        conversationController.addConversationListener(listener);
+
+        Set<UUID> users = new HashSet<>();
+        users.add(user1);
+        users.add(user2);
+
+        UUID conversationUUID = conversationManager.createConversation("Chat", users, new HashSet<>(users), user1, "Hello");
+        conversationController.sendMessage(user2, "Hi", conversationUUID);
+        conversationController.deleteMessage(conversationUUID, user1, 0);
+        conversationController.addUserToConversation(user1, conversationUUID, user3);
+
+        conversationController.removeConversationListener(listener);
+        conversationController.sendMessage(user2, "Bye", conversationUUID);
+
+        assert notifications.equals(Arrays.asList("members", "added 1", "deleted 0", "members"));
+        assert conversationController.isConversationListed(user3, conversationUUID);
+    }
 }